@@ -15,6 +15,17 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
+    }
+
+    sourceSets {
+        // Exported Room schemas feed MigrationTestHelper
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
     }
 
     buildTypes {
@@ -46,6 +57,10 @@ dependencies {
     implementation(libs.room.runtime)
     annotationProcessor(libs.room.compiler)
     
+    // SQLCipher (encrypted Room database, see DatabaseEncryption)
+    implementation("net.zetetic:sqlcipher-android:4.5.6@aar")
+    implementation("androidx.sqlite:sqlite:2.4.0")
+    
     // Lifecycle components
     implementation(libs.lifecycle.viewmodel)
     implementation(libs.lifecycle.livedata)
@@ -104,12 +119,16 @@ dependencies {
     
     // Paging 3 for Large Lists
     implementation("androidx.paging:paging-runtime:3.2.1")
+    implementation("androidx.paging:paging-guava:3.2.1")
     
     // Navigation Component
     implementation("androidx.navigation:navigation-fragment:2.7.6")
     implementation("androidx.navigation:navigation-ui:2.7.6")
     
     testImplementation(libs.junit)
+    testImplementation("org.robolectric:robolectric:4.11.1")
+    testImplementation("androidx.test:core:1.5.0")
     androidTestImplementation(libs.ext.junit)
+    androidTestImplementation("androidx.room:room-testing:2.6.1")
     androidTestImplementation(libs.espresso.core)
 }
@@ -0,0 +1,177 @@
+package com.example.blottermanagementsystem.data.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.blottermanagementsystem.data.dao.BlotterReportDao;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.entity.User;
+
+import net.zetetic.database.sqlcipher.SupportOpenHelperFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SQLCipher mode: the one-time plaintext conversion, and the latency of the
+ * hot dashboard/list queries on an encrypted database next to a plaintext one
+ * with the same rows. Medians are logged (tag EncryptionBenchmark); the
+ * assertion only catches a gross regression, not device noise.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseEncryptionTest {
+
+    private static final String TAG = "EncryptionBenchmark";
+    private static final String PLAIN_DB = "encryption-test-plain";
+    private static final String ENCRYPTED_DB = "encryption-test-encrypted";
+    private static final int REPORTS = 3000;
+    private static final int OWNERS = 50;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    /** Encrypted median may be at most this many times the plaintext one (plus slack) */
+    private static final double MAX_OVERHEAD_RATIO = 3.0;
+    private static final long SLACK_NANOS = 200_000;
+
+    private Context context;
+    private BlotterDatabase plain;
+    private BlotterDatabase encrypted;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        deleteDatabases();
+        DatabaseEncryption.loadLibrary();
+    }
+
+    @After
+    public void tearDown() {
+        if (plain != null) plain.close();
+        if (encrypted != null) encrypted.close();
+        deleteDatabases();
+    }
+
+    @Test
+    public void encryptIfPlaintext_convertsExistingDatabaseInPlace() {
+        plain = Room.databaseBuilder(context, BlotterDatabase.class, PLAIN_DB).build();
+        insertReports(plain, 10);
+        plain.close();
+        plain = null;
+        assertTrue(DatabaseEncryption.isPlaintext(context.getDatabasePath(PLAIN_DB)));
+
+        DatabaseEncryption.encryptIfPlaintext(context, PLAIN_DB);
+
+        assertFalse(DatabaseEncryption.isPlaintext(context.getDatabasePath(PLAIN_DB)));
+        encrypted = Room.databaseBuilder(context, BlotterDatabase.class, PLAIN_DB)
+                .openHelperFactory(DatabaseEncryption.openHelperFactory(context))
+                .build();
+        assertEquals(10, encrypted.blotterReportDao().getActiveReportCount());
+        assertNotNull(encrypted.blotterReportDao().getReportById(1));
+    }
+
+    @Test
+    public void hotQueries_encryptedLatencyCloseToPlaintext() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        plain = Room.databaseBuilder(context, BlotterDatabase.class, PLAIN_DB).build();
+        long openStart = System.nanoTime();
+        encrypted = open(ENCRYPTED_DB, new SupportOpenHelperFactory(DatabaseEncryption.rawKey(key)));
+        encrypted.getOpenHelper().getWritableDatabase();
+        Log.i(TAG, "Encrypted open (raw key): " + (System.nanoTime() - openStart) / 1000 + "µs");
+
+        insertReports(plain, REPORTS);
+        insertReports(encrypted, REPORTS);
+
+        compare("getActiveReportsPage",
+                dao -> dao.getActiveReportsPage(Long.MAX_VALUE, Integer.MAX_VALUE, 20));
+        compare("getActiveReportCount", BlotterReportDao::getActiveReportCount);
+        compare("getReportCountByStatus", dao -> dao.getReportCountByStatus("Pending"));
+        compare("getActiveCaseloadCount", dao -> dao.getActiveCaseloadCount(3));
+        compare("getReportById", dao -> dao.getReportById(REPORTS / 2));
+    }
+
+    private interface Query {
+        Object run(BlotterReportDao dao);
+    }
+
+    private void compare(String name, Query query) {
+        long plainMedian = median(plain.blotterReportDao(), query);
+        long encryptedMedian = median(encrypted.blotterReportDao(), query);
+        Log.i(TAG, name + ": plaintext " + plainMedian / 1000 + "µs, encrypted " + encryptedMedian / 1000
+                + "µs (" + String.format("%.2f", encryptedMedian / (double) Math.max(1, plainMedian)) + "x)");
+        assertTrue(name + " is more than " + MAX_OVERHEAD_RATIO + "x slower encrypted",
+                encryptedMedian <= plainMedian * MAX_OVERHEAD_RATIO + SLACK_NANOS);
+    }
+
+    private static long median(BlotterReportDao dao, Query query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run(dao);
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run(dao);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+
+    private BlotterDatabase open(String name, SupportSQLiteOpenHelper.Factory factory) {
+        return Room.databaseBuilder(context, BlotterDatabase.class, name)
+                .openHelperFactory(factory)
+                .build();
+    }
+
+    /**
+     * Owners first, in the same transaction: blotter_reports.userId references users.id
+     */
+    private static void insertReports(BlotterDatabase database, int count) {
+        database.runInTransaction(() -> {
+            for (int id = 1; id <= OWNERS; id++) {
+                User owner = new User("Owner", String.valueOf(id), "owner" + id, "password", "User");
+                owner.setId(id);
+                database.userDao().insertUser(owner);
+            }
+            insertReports(database.blotterReportDao(), count);
+        });
+    }
+
+    private static void insertReports(BlotterReportDao dao, int count) {
+        String[] statuses = {"Pending", "Under Investigation", "Resolved", "Closed"};
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= count; i++) {
+            BlotterReport report = new BlotterReport();
+            report.setCaseNumber("BLT-TEST-" + i);
+            report.setStatus(statuses[i % statuses.length]);
+            report.setDateFiled(now - i * 60_000L);
+            report.setIncidentDate(now - i * 60_000L);
+            report.setUserId(i % OWNERS + 1);
+            report.setAssignedOfficerIds(String.valueOf(i % 10));
+            report.setComplainantName("Complainant " + i);
+            report.setNarrative("Narrative for report " + i);
+            dao.insertReport(report);
+        }
+    }
+
+    private void deleteDatabases() {
+        context.deleteDatabase(PLAIN_DB);
+        context.deleteDatabase(ENCRYPTED_DB);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.blottermanagementsystem.data.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.blottermanagementsystem.data.entity.Hearing;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Migration tests for BlotterDatabase.
+ *
+ * Versions 21-23 predate exported schemas, so their migrations are exercised
+ * directly against hand-built tables holding the columns each step touches.
+ * From 24 on, MigrationTestHelper creates the old schema from app/schemas and
+ * validates the migrated result against the entities.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+
+    /** Oldest schema JSON in app/schemas. */
+    private static final int FIRST_EXPORTED_VERSION = 24;
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), BlotterDatabase.class);
+
+    private SupportSQLiteOpenHelper legacyHelper;
+
+    @After
+    public void tearDown() {
+        if (legacyHelper != null) {
+            legacyHelper.close();
+        }
+    }
+
+    @Test
+    public void migrate21To22_keepsRowsAndAddsSyncColumns() {
+        SupportSQLiteDatabase db = openLegacy(21,
+                "CREATE TABLE `users` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `username` TEXT, "
+                        + "`accountCreated` INTEGER NOT NULL)",
+                "CREATE TABLE `blotter_reports` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `caseNumber` TEXT, "
+                        + "`dateFiled` INTEGER NOT NULL, `userId` INTEGER NOT NULL)");
+        db.execSQL("INSERT INTO users (id, username, accountCreated) VALUES (1, 'desk', 1000)");
+        db.execSQL("INSERT INTO blotter_reports (id, caseNumber, dateFiled, userId) VALUES (7, 'BLT-7', 5000, 1)");
+
+        BlotterDatabase.MIGRATION_21_22.migrate(db);
+
+        try (Cursor c = db.query("SELECT caseNumber, updatedAt, version FROM blotter_reports WHERE id = 7")) {
+            assertTrue(c.moveToFirst());
+            assertEquals("BLT-7", c.getString(0));
+            assertEquals(5000L, c.getLong(1));
+            assertEquals(0, c.getInt(2));
+        }
+        try (Cursor c = db.query("SELECT username, updatedAt, version FROM users WHERE id = 1")) {
+            assertTrue(c.moveToFirst());
+            assertEquals("desk", c.getString(0));
+            assertEquals(1000L, c.getLong(1));
+            assertEquals(0, c.getInt(2));
+        }
+        db.execSQL("INSERT INTO sync_cursors (stream, cursor, updatedAt) VALUES ('changes', 'c1', 1)");
+    }
+
+    @Test
+    public void migrate22To23_backfillsReportOfficer() {
+        SupportSQLiteDatabase db = openLegacy(22,
+                "CREATE TABLE `blotter_reports` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                        + "`assignedOfficerId` INTEGER, `assignedOfficerIds` TEXT)");
+        db.execSQL("INSERT INTO blotter_reports (id, assignedOfficerId, assignedOfficerIds) VALUES (1, 3, '3, 4')");
+        db.execSQL("INSERT INTO blotter_reports (id, assignedOfficerId, assignedOfficerIds) VALUES (2, NULL, NULL)");
+
+        BlotterDatabase.MIGRATION_22_23.migrate(db);
+
+        try (Cursor c = db.query("SELECT reportId, officerId FROM report_officer ORDER BY reportId, officerId")) {
+            assertEquals(2, c.getCount());
+            c.moveToNext();
+            assertEquals(1, c.getInt(0));
+            assertEquals(3, c.getInt(1));
+            c.moveToNext();
+            assertEquals(1, c.getInt(0));
+            assertEquals(4, c.getInt(1));
+        }
+    }
+
+    @Test
+    public void migrate23To24_createsTheIndicesRoomExpects() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        BlotterDatabase database = Room.inMemoryDatabaseBuilder(context, BlotterDatabase.class).build();
+        try {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            Map<String, String> expected = indexSql(db);
+
+            // Strip the indices back to a bare schema, restore the two 23-era
+            // single-column ones, then replay the migration.
+            for (String name : expected.keySet()) {
+                db.execSQL("DROP INDEX `" + name + "`");
+            }
+            db.execSQL("CREATE INDEX `index_blotter_reports_userId` ON `blotter_reports` (`userId`)");
+            db.execSQL("CREATE INDEX `index_hearings_blotterReportId` ON `hearings` (`blotterReportId`)");
+
+            BlotterDatabase.MIGRATION_23_24.migrate(db);
+
+            Map<String, String> migrated = indexSql(db);
+            assertFalse(migrated.containsKey("index_blotter_reports_userId"));
+            assertFalse(migrated.containsKey("index_hearings_blotterReportId"));
+            // Replaced by (status, scheduledAt) in 25 -> 26
+            migrated.remove("index_hearings_status_hearingDate");
+            for (Map.Entry<String, String> index : migrated.entrySet()) {
+                assertEquals(index.getKey(), expected.get(index.getKey()), index.getValue());
+            }
+        } finally {
+            database.close();
+        }
+    }
+
+    @Test
+    public void migrate24To25_backfillsReportMedia() {
+        SupportSQLiteDatabase db = openLegacy(24,
+                "CREATE TABLE `blotter_reports` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `imageUris` TEXT, "
+                        + "`videoUris` TEXT, `videoDurations` TEXT, `audioUri` TEXT, `audioUris` TEXT, `audioDurations` TEXT)");
+        db.execSQL("INSERT INTO blotter_reports (id, imageUris, videoUris, videoDurations, audioUri, audioUris, audioDurations) "
+                + "VALUES (1, 'content://a, https://cdn/b', 'content://v', '4200', 'file:///old.m4a', '', '')");
+        db.execSQL("INSERT INTO blotter_reports (id, imageUris, videoUris, videoDurations, audioUri, audioUris, audioDurations) "
+                + "VALUES (2, '', NULL, NULL, NULL, NULL, NULL)");
+
+        BlotterDatabase.MIGRATION_24_25.migrate(db);
+
+        try (Cursor c = db.query("SELECT reportId, mediaType, position, uri, remoteUrl, durationMs, uploadState "
+                + "FROM report_media ORDER BY reportId, mediaType, position")) {
+            assertEquals(4, c.getCount());
+            c.moveToNext();
+            assertEquals("AUDIO", c.getString(1));
+            assertEquals("file:///old.m4a", c.getString(3));
+            c.moveToNext();
+            assertEquals("IMAGE", c.getString(1));
+            assertEquals(0, c.getInt(2));
+            assertEquals("content://a", c.getString(3));
+            assertEquals("LOCAL", c.getString(6));
+            c.moveToNext();
+            assertEquals(1, c.getInt(2));
+            assertEquals("https://cdn/b", c.getString(4));
+            assertEquals("UPLOADED", c.getString(6));
+            c.moveToNext();
+            assertEquals("VIDEO", c.getString(1));
+            assertEquals(4200L, c.getLong(5));
+        }
+    }
+
+    @Test
+    public void migrate25To26_backfillsHearingScheduledAt() {
+        SupportSQLiteDatabase db = openLegacy(25,
+                "CREATE TABLE `hearings` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `hearingDate` TEXT, "
+                        + "`hearingTime` TEXT, `status` TEXT)",
+                "CREATE INDEX `index_hearings_status_hearingDate` ON `hearings` (`status`, `hearingDate`)");
+        String date = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault()).format(new Date(1_700_000_000_000L));
+        db.execSQL("INSERT INTO hearings (id, hearingDate, hearingTime, status) VALUES (1, ?, '09:30 AM', 'Scheduled')",
+                new Object[]{date});
+        db.execSQL("INSERT INTO hearings (id, hearingDate, hearingTime, status) VALUES (2, 'next week', '', 'Scheduled')");
+
+        BlotterDatabase.MIGRATION_25_26.migrate(db);
+
+        try (Cursor c = db.query("SELECT id, scheduledAt FROM hearings ORDER BY id")) {
+            c.moveToNext();
+            assertEquals(Hearing.parseSchedule(date, "09:30 AM"), c.getLong(1));
+            assertTrue(c.getLong(1) > 0);
+            c.moveToNext();
+            assertEquals(0L, c.getLong(1));
+        }
+        Map<String, String> indices = indexSql(db);
+        assertFalse(indices.containsKey("index_hearings_status_hearingDate"));
+        assertTrue(indices.containsKey("index_hearings_status_scheduledAt"));
+    }
+
+    @Test
+    public void migrate26To27_replacesPersonHistoryIndices() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        BlotterDatabase database = Room.inMemoryDatabaseBuilder(context, BlotterDatabase.class).build();
+        try {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            Map<String, String> expected = indexSql(db);
+
+            // Put back the 26-era single-column indices, then replay the migration
+            db.execSQL("DROP INDEX `index_person_history_personId_blotterReportId`");
+            db.execSQL("DROP INDEX `index_person_history_blotterReportId_personId`");
+            db.execSQL("CREATE INDEX `index_person_history_personId` ON `person_history` (`personId`)");
+            db.execSQL("CREATE INDEX `index_person_history_blotterReportId` ON `person_history` (`blotterReportId`)");
+
+            BlotterDatabase.MIGRATION_26_27.migrate(db);
+
+            assertEquals(expected, indexSql(db));
+        } finally {
+            database.close();
+        }
+    }
+
+    @Test
+    public void migrateFromFirstExportedVersion_validatesAgainstEntities() throws IOException {
+        helper.createDatabase(TEST_DB, FIRST_EXPORTED_VERSION).close();
+
+        helper.runMigrationsAndValidate(TEST_DB, BlotterDatabase.DATABASE_VERSION, true,
+                BlotterDatabase.ALL_MIGRATIONS);
+    }
+
+    private SupportSQLiteDatabase openLegacy(int version, String... createStatements) {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        SupportSQLiteOpenHelper.Configuration config = SupportSQLiteOpenHelper.Configuration.builder(context)
+                .name(null)
+                .callback(new SupportSQLiteOpenHelper.Callback(version) {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        for (String sql : createStatements) {
+                            db.execSQL(sql);
+                        }
+                    }
+
+                    @Override
+                    public void onUpgrade(@NonNull SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                    }
+                })
+                .build();
+        legacyHelper = new FrameworkSQLiteOpenHelperFactory().create(config);
+        return legacyHelper.getWritableDatabase();
+    }
+
+    private static Map<String, String> indexSql(SupportSQLiteDatabase db) {
+        Map<String, String> indices = new HashMap<>();
+        try (Cursor c = db.query("SELECT name, sql FROM sqlite_master WHERE type = 'index' AND name LIKE 'index_%'")) {
+            while (c.moveToNext()) {
+                indices.put(c.getString(0), c.getString(1));
+            }
+        }
+        return indices;
+    }
+}
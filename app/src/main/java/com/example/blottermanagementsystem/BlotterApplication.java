@@ -5,6 +5,8 @@ import android.util.Log;
 
 import com.example.blottermanagementsystem.config.AppConfig;
 import com.example.blottermanagementsystem.data.api.ApiClient;
+import com.example.blottermanagementsystem.utils.HearingReminderManager;
+import com.example.blottermanagementsystem.workers.DatabaseBackupWorker;
 
 /**
  * BlotterApplication - Main application class
@@ -24,6 +26,12 @@ public class BlotterApplication extends Application {
         ApiClient.initApiClient(this);
         Log.d(TAG, "✅ API Client initialized");
         
+        // Daily local database backup (kept unless already scheduled)
+        DatabaseBackupWorker.schedule(this);
+        
+        // Hearing reminders: re-arm the single dispatch job from the database
+        HearingReminderManager.rebuildReminders(this);
+        
         // Initialize other app components here
         // Example: Cloudinary, Firebase, Biometric, etc.
         
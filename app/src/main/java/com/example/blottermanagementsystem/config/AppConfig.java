@@ -15,6 +15,7 @@ public class AppConfig {
     public static final boolean ENABLE_IMAGE_UPLOAD = true;
     
     // Database settings
+    public static final boolean ENCRYPT_DATABASE = true;   // SQLCipher, key wrapped by the Android Keystore
     public static final String DATABASE_NAME = "blotter_management.db";
     public static final int DATABASE_VERSION = 1;
     
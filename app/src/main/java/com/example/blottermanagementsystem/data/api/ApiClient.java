@@ -7,13 +7,19 @@ import com.example.blottermanagementsystem.config.ApiConfig;
 import com.example.blottermanagementsystem.config.AppConfig;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.interceptors.AuthInterceptor;
+import com.example.blottermanagementsystem.data.interceptors.CachePolicyInterceptor;
 import com.example.blottermanagementsystem.data.interceptors.LoggingInterceptor;
+import com.example.blottermanagementsystem.data.interceptors.OfflineCacheInterceptor;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -29,8 +35,11 @@ import retrofit2.converter.gson.GsonConverterFactory;
 public class ApiClient {
     
     private static final String TAG = AppConfig.LOG_TAG;
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE = 20L * 1024 * 1024;   // 20 MB, LRU-evicted by OkHttp
     
     private static Retrofit retrofit;
+    private static Cache httpCache;
     private static ApiService apiService;
     private static Context appContext;
     
@@ -45,10 +54,21 @@ public class ApiClient {
             AuthInterceptor authInterceptor = new AuthInterceptor(appContext);
             LoggingInterceptor loggingInterceptor = new LoggingInterceptor();
             
+            // Disk cache shared across re-inits (one Cache per directory)
+            if (httpCache == null) {
+                httpCache = new Cache(new File(appContext.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_SIZE);
+                Cache cache = httpCache;
+                AppExecutors.getInstance().diskIO().execute(() -> CachePolicyInterceptor.evictNoStoreEntries(cache));
+            }
+            
             // Create OkHttpClient with interceptors and timeout settings
+            // Offline fallback runs first so its cache-only retry still gets the auth header
             OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                    .cache(httpCache)
+                    .addInterceptor(new OfflineCacheInterceptor(appContext))
                     .addInterceptor(authInterceptor)
                     .addInterceptor(loggingInterceptor)
+                    .addNetworkInterceptor(new CachePolicyInterceptor(httpCache))
                     .connectTimeout(ApiConfig.CONNECT_TIMEOUT, TimeUnit.SECONDS)
                     .readTimeout(ApiConfig.READ_TIMEOUT, TimeUnit.SECONDS)
                     .writeTimeout(ApiConfig.WRITE_TIMEOUT, TimeUnit.SECONDS)
@@ -85,6 +105,35 @@ public class ApiClient {
         }
     }
     
+    /**
+     * Drop every cached response (call on logout)
+     */
+    public static void clearHttpCache() {
+        if (httpCache == null) {
+            return;
+        }
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            try {
+                httpCache.evictAll();
+                Log.d(TAG, "✅ HTTP cache cleared");
+            } catch (IOException e) {
+                Log.e(TAG, "❌ Error clearing HTTP cache: " + e.getMessage(), e);
+            }
+        });
+    }
+    
+    /**
+     * HTTP cache hit statistics, for logging
+     */
+    public static String getHttpCacheStats() {
+        if (httpCache == null) {
+            return "HTTP cache not initialized";
+        }
+        return "requests=" + httpCache.requestCount()
+                + ", network=" + httpCache.networkCount()
+                + ", hits=" + httpCache.hitCount();
+    }
+    
     /**
      * Get API Service instance
      */
@@ -316,6 +365,49 @@ public class ApiClient {
         }
     }
     
+    /**
+     * Get one page of reports filtered on the server (userId, officerId, status, updatedSince)
+     * Prefer this over getAllReports() when only a slice is needed
+     */
+    public static void getReports(ReportQuery query, ApiCallback<List<BlotterReport>> callback) {
+        try {
+            query.toCall(getApiService()).enqueue(new Callback<List<BlotterReport>>() {
+                @Override
+                public void onResponse(Call<List<BlotterReport>> call, Response<List<BlotterReport>> response) {
+                    if (response.isSuccessful() && response.body() != null) {
+                        Log.d(TAG, "✅ Retrieved " + response.body().size() + " reports for " + query);
+                        callback.onSuccess(response.body());
+                    } else {
+                        Log.e(TAG, "❌ Error fetching reports: " + response.code());
+                        callback.onError("Error: " + response.code());
+                    }
+                }
+                
+                @Override
+                public void onFailure(Call<List<BlotterReport>> call, Throwable t) {
+                    Log.e(TAG, "❌ Network error: " + t.getMessage(), t);
+                    callback.onError("Network error: " + t.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Exception: " + e.getMessage(), e);
+            callback.onError("Exception: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Lazily walk every page matching the query (blocking; call from a background thread)
+     * Uses ReportQuery.DEFAULT_PAGE_SIZE when the query sets no limit
+     */
+    public static ReportPager pageReports(ReportQuery query) {
+        // Copy so later changes to the caller's query don't affect pages still to come
+        ReportQuery paged = query.withCursor(query.getCursor());
+        if (paged.getLimit() == null) {
+            paged.limit(ReportQuery.DEFAULT_PAGE_SIZE);
+        }
+        return new ReportPager(getApiService(), paged);
+    }
+    
     /**
      * Get report by ID
      */
@@ -9,9 +9,11 @@ import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * ApiService - Retrofit interface for Elysia backend API
@@ -59,6 +61,14 @@ public interface ApiService {
     @POST("api/reports")
     Call<BlotterReport> createReport(@Body BlotterReport report);
     
+    /**
+     * Create a report exactly once (outbox retries)
+     * POST /api/reports with Idempotency-Key: the BLT- case number
+     * A replay returns the already-created report (or 409 Conflict on older servers)
+     */
+    @POST("api/reports")
+    Call<BlotterReport> createReport(@Header("Idempotency-Key") String idempotencyKey, @Body BlotterReport report);
+    
     /**
      * Get all reports
      * GET /api/reports
@@ -66,6 +76,21 @@ public interface ApiService {
     @GET("api/reports")
     Call<List<BlotterReport>> getAllReports();
     
+    /**
+     * Get one page of reports filtered on the server
+     * GET /api/reports?userId=&officerId=&status=&updatedSince=&limit=&cursor=
+     * Null parameters are left out of the URL. The cursor for the next page is
+     * returned in the X-Next-Cursor header (absent on the last page).
+     * Use ApiClient.getReports() / ApiClient.pageReports() rather than calling this directly.
+     */
+    @GET("api/reports")
+    Call<List<BlotterReport>> getReports(@Query("userId") Integer userId,
+                                         @Query("officerId") Integer officerId,
+                                         @Query("status") String status,
+                                         @Query("updatedSince") Long updatedSince,
+                                         @Query("limit") Integer limit,
+                                         @Query("cursor") String cursor);
+    
     /**
      * Get report by ID
      * GET /api/reports/{id}
@@ -79,6 +79,13 @@ public interface BlotterApiService {
     @GET("api/sync/download")
     Call<ApiResponse<SyncData>> syncDownload(@Query("lastSync") long lastSync);
     
+    // Delta sync: push outbox operations in batches, pull changes after a server cursor
+    @POST("api/sync/push")
+    Call<ApiResponse<SyncPushResponse>> syncPush(@Body SyncPushRequest request);
+    
+    @GET("api/sync/changes")
+    Call<ApiResponse<SyncChanges>> syncChanges(@Query("cursor") String cursor, @Query("limit") int limit);
+    
     // ==================== Request/Response Models ====================
     
     class LoginRequest {
@@ -117,6 +124,46 @@ public interface BlotterApiService {
         public String message;
     }
     
+    class SyncOperation {
+        public int queueId;
+        public String entityType;
+        public int entityId;
+        public Integer serverId;
+        public String action;
+        public int baseVersion;
+        public Object payload;
+        public long timestamp;
+    }
+    
+    class SyncPushRequest {
+        public List<SyncOperation> operations;
+        public long timestamp;
+        
+        public SyncPushRequest(List<SyncOperation> operations) {
+            this.operations = operations;
+            this.timestamp = System.currentTimeMillis();
+        }
+    }
+    
+    class SyncOperationResult {
+        public int queueId;
+        public String status;      // "applied", "conflict" or "rejected"
+        public Integer serverId;
+        public int version;
+        public String error;
+    }
+    
+    class SyncPushResponse {
+        public List<SyncOperationResult> results;
+    }
+    
+    class SyncChanges {
+        public List<BlotterReport> reports;
+        public List<User> users;
+        public String nextCursor;
+        public boolean hasMore;
+    }
+    
     class SyncData {
         public List<BlotterReport> reports;
         public List<User> users;
@@ -0,0 +1,95 @@
+package com.example.blottermanagementsystem.data.api;
+
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.blottermanagementsystem.config.AppConfig;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.interceptors.OfflineCacheInterceptor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import retrofit2.Response;
+
+/**
+ * ReportPager - Walks GET /api/reports one page at a time
+ *
+ * Nothing is fetched until next() is called, and each next() makes exactly one
+ * blocking request, so a caller that stops early never downloads the rest.
+ * Must be used off the main thread (e.g. AppExecutors.networkIO()).
+ * A failed request surfaces as UncheckedIOException from next(). So does a page
+ * the offline fallback served from the disk cache: callers mirror reports in
+ * Room, and a copy up to a week old must not prune rows or count as a refresh.
+ *
+ * Older servers ignore the query parameters and send no X-Next-Cursor header;
+ * the pager then yields the whole list as a single page.
+ */
+public class ReportPager implements Iterator<List<BlotterReport>> {
+    private static final String TAG = AppConfig.LOG_TAG;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final ApiService service;
+    private final ReportQuery query;
+    private final Set<String> seenCursors = new HashSet<>();
+    private String nextCursor;
+    private boolean started;
+    private boolean exhausted;
+    private int pagesFetched;
+
+    ReportPager(ApiService service, ReportQuery query) {
+        this.service = service;
+        this.query = query;
+        this.nextCursor = query.getCursor();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !exhausted;
+    }
+
+    @Override
+    public List<BlotterReport> next() {
+        if (exhausted) {
+            throw new NoSuchElementException("No more report pages");
+        }
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            throw new IllegalStateException("ReportPager makes blocking calls; use a background thread");
+        }
+
+        ReportQuery page = started ? query.withCursor(nextCursor) : query;
+        started = true;
+        try {
+            Response<List<BlotterReport>> response = page.toCall(service).execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Error: " + response.code());
+            }
+            if (response.headers().get(OfflineCacheInterceptor.OFFLINE_HEADER) != null) {
+                throw new IOException("Offline - cached report page not applied");
+            }
+
+            List<BlotterReport> reports = response.body();
+            pagesFetched++;
+            nextCursor = response.headers().get(NEXT_CURSOR_HEADER);
+            // A repeated cursor would loop forever; treat it as the end
+            if (nextCursor == null || nextCursor.isEmpty() || reports.isEmpty() || !seenCursors.add(nextCursor)) {
+                exhausted = true;
+            }
+            Log.d(TAG, "✅ Report page " + pagesFetched + ": " + reports.size() + " reports" + (exhausted ? " (last)" : ""));
+            return reports;
+        } catch (IOException e) {
+            exhausted = true;
+            Log.e(TAG, "❌ Report page " + (pagesFetched + 1) + " failed: " + e.getMessage(), e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+}
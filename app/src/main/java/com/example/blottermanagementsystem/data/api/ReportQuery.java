@@ -0,0 +1,97 @@
+package com.example.blottermanagementsystem.data.api;
+
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+
+import java.util.List;
+
+import retrofit2.Call;
+
+/**
+ * ReportQuery - Server-side filter for GET /api/reports
+ * Every field is optional; unset fields are not sent.
+ *
+ * Example: new ReportQuery().userId(5).status("Pending").limit(50)
+ */
+public class ReportQuery {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private Integer userId;
+    private Integer officerId;
+    private String status;
+    private Long updatedSince;
+    private Integer limit;
+    private String cursor;
+
+    /** Reports filed by this user */
+    public ReportQuery userId(Integer userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    /** Reports assigned to this officer */
+    public ReportQuery officerId(Integer officerId) {
+        this.officerId = officerId;
+        return this;
+    }
+
+    public ReportQuery status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    /** Only reports changed after this epoch-millis timestamp */
+    public ReportQuery updatedSince(Long updatedSince) {
+        this.updatedSince = updatedSince;
+        return this;
+    }
+
+    /** Page size */
+    public ReportQuery limit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /** Opaque cursor from a previous page's X-Next-Cursor header */
+    public ReportQuery cursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    public Integer getUserId() { return userId; }
+    public Integer getOfficerId() { return officerId; }
+    public String getStatus() { return status; }
+    public Long getUpdatedSince() { return updatedSince; }
+    public Integer getLimit() { return limit; }
+    public String getCursor() { return cursor; }
+
+    /** True when no filter is set, i.e. the query walks every report */
+    public boolean isUnfiltered() {
+        return userId == null && officerId == null && status == null && updatedSince == null;
+    }
+
+    /** Same filters, different cursor (cursor is the only thing that changes between pages) */
+    ReportQuery withCursor(String cursor) {
+        return new ReportQuery()
+                .userId(userId)
+                .officerId(officerId)
+                .status(status)
+                .updatedSince(updatedSince)
+                .limit(limit)
+                .cursor(cursor);
+    }
+
+    Call<List<BlotterReport>> toCall(ApiService service) {
+        return service.getReports(userId, officerId, status, updatedSince, limit, cursor);
+    }
+
+    /** Identifies the filter (not the page), e.g. for caching per scope */
+    public String key() {
+        return "userId=" + userId + "&officerId=" + officerId + "&status=" + status
+                + "&updatedSince=" + updatedSince;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportQuery{" + key() + "&limit=" + limit + "&cursor=" + cursor + "}";
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.blottermanagementsystem.data.dao;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.*;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.entity.ReportMedia;
+import com.example.blottermanagementsystem.data.entity.ReportOfficer;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Dao
 public interface BlotterReportDao {
@@ -18,13 +24,17 @@ public interface BlotterReportDao {
     @Query("SELECT * FROM blotter_reports WHERE id = :reportId")
     BlotterReport getReportById(int reportId);
     
+    @Query("SELECT * FROM blotter_reports WHERE apiId = :apiId LIMIT 1")
+    BlotterReport getReportByApiId(int apiId);
+    
     @Query("SELECT * FROM blotter_reports WHERE caseNumber = :caseNumber")
     BlotterReport getReportByCaseNumber(String caseNumber);
     
     @Query("SELECT * FROM blotter_reports WHERE assignedOfficer = :officerName AND isArchived = 0")
     List<BlotterReport> getReportsByOfficer(String officerName);
     
-    @Query("SELECT * FROM blotter_reports WHERE (assignedOfficerId = :officerId OR assignedOfficerIds LIKE '%' || :officerId || '%') AND isArchived = 0")
+    @Query("SELECT r.* FROM blotter_reports r INNER JOIN report_officer ro ON ro.reportId = r.id " +
+           "WHERE ro.officerId = :officerId AND r.isArchived = 0 ORDER BY r.dateFiled DESC")
     List<BlotterReport> getReportsByOfficerId(int officerId);
     
     @Query("SELECT * FROM blotter_reports WHERE status = :status AND isArchived = 0")
@@ -33,11 +43,140 @@ public interface BlotterReportDao {
     @Query("SELECT * FROM blotter_reports WHERE userId = :userId AND isArchived = 0")
     List<BlotterReport> getReportsByUser(int userId);
     
+    // ==================== Observable (ReportRepository) ====================
+    
+    @Query("SELECT * FROM blotter_reports WHERE isArchived = 0 ORDER BY dateFiled DESC")
+    LiveData<List<BlotterReport>> observeActiveReports();
+    
+    @Query("SELECT * FROM blotter_reports WHERE userId = :userId AND isArchived = 0 ORDER BY dateFiled DESC")
+    LiveData<List<BlotterReport>> observeReportsByUser(int userId);
+    
+    @Query("SELECT r.* FROM blotter_reports r INNER JOIN report_officer ro ON ro.reportId = r.id " +
+           "WHERE ro.officerId = :officerId AND r.isArchived = 0 ORDER BY r.dateFiled DESC")
+    LiveData<List<BlotterReport>> observeReportsByAssignedOfficer(int officerId);
+    
+    // Rows that came from the server; used to prune ones deleted upstream
+    @Query("SELECT id FROM blotter_reports WHERE apiId IS NOT NULL")
+    List<Integer> getServerReportIds();
+    
+    @Query("SELECT id FROM blotter_reports WHERE userId = :userId AND apiId IS NOT NULL")
+    List<Integer> getServerReportIdsByUser(int userId);
+    
+    // Includes archived rows (dashboard counts cover every report a user filed)
+    @Query("SELECT * FROM blotter_reports WHERE userId = :userId ORDER BY dateFiled DESC")
+    List<BlotterReport> getAllReportsByUser(int userId);
+    
+    @Query("DELETE FROM blotter_reports WHERE id IN (:reportIds)")
+    void deleteReportsByIds(List<Integer> reportIds);
+    
+    // Unsent local drafts take ids below this so they never collide with server ids
+    @Query("SELECT COALESCE(MIN(id), 0) FROM blotter_reports")
+    int getMinReportId();
+    
+    // ==================== Writes ====================
+    // insertReport/updateReport/upsertReports keep report_officer and report_media in
+    // step with the assignment and attachment columns; the *Row methods touch blotter_reports only.
+    
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    long insertReport(BlotterReport report);
+    long insertReportRow(BlotterReport report);
+    
+    @Update
+    void updateReportRow(BlotterReport report);
+    
+    // Bulk insert-or-update by primary key; unlike REPLACE this never deletes
+    // the old row, so child rows are not cascaded away.
+    // Returns the new rowId for inserted rows and -1 for updated ones.
+    @Upsert
+    List<Long> upsertReportRows(List<BlotterReport> reports);
+    
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertOfficerAssignments(List<ReportOfficer> assignments);
+    
+    @Query("DELETE FROM report_officer WHERE reportId = :reportId")
+    void clearOfficerAssignments(int reportId);
+    
+    @Transaction
+    default long insertReport(BlotterReport report) {
+        long id = insertReportRow(report);
+        if (report.getId() == 0) report.setId((int) id);
+        syncOfficerAssignments(report);
+        syncMedia(report);
+        return id;
+    }
+    
+    @Transaction
+    default void updateReport(BlotterReport report) {
+        updateReportRow(report);
+        syncOfficerAssignments(report);
+        syncMedia(report);
+    }
+    
+    @Transaction
+    default void upsertReports(List<BlotterReport> reports) {
+        List<Long> rowIds = upsertReportRows(reports);
+        for (int i = 0; i < reports.size(); i++) {
+            BlotterReport report = reports.get(i);
+            if (report.getId() == 0 && rowIds.get(i) > 0) report.setId(rowIds.get(i).intValue());
+            syncOfficerAssignments(report);
+            syncMedia(report);
+        }
+    }
+    
+    default void syncOfficerAssignments(BlotterReport report) {
+        clearOfficerAssignments(report.getId());
+        List<ReportOfficer> assignments = new ArrayList<>();
+        for (int officerId : ReportOfficer.parseOfficerIds(report.getAssignedOfficerId(), report.getAssignedOfficerIds())) {
+            assignments.add(new ReportOfficer(report.getId(), officerId));
+        }
+        if (!assignments.isEmpty()) {
+            insertOfficerAssignments(assignments);
+        }
+    }
+    
+    @Query("SELECT * FROM report_media WHERE reportId = :reportId ORDER BY mediaType, position")
+    List<ReportMedia> getMediaRows(int reportId);
+    
+    @Insert
+    void insertMediaRows(List<ReportMedia> media);
     
     @Update
-    void updateReport(BlotterReport report);
+    void updateMediaRows(List<ReportMedia> media);
+    
+    @Query("DELETE FROM report_media WHERE id IN (:ids)")
+    void deleteMediaRows(List<Long> ids);
+    
+    /**
+     * Rewrites report_media from the legacy columns. Rows whose type and URI are
+     * unchanged are kept (only position/duration are refreshed), so hashes and
+     * upload state survive a server round trip.
+     */
+    default void syncMedia(BlotterReport report) {
+        Map<String, ReportMedia> existing = new HashMap<>();
+        for (ReportMedia row : getMediaRows(report.getId())) {
+            existing.put(row.getMediaType() + "|" + row.getUri(), row);
+        }
+        
+        List<ReportMedia> inserts = new ArrayList<>();
+        List<ReportMedia> updates = new ArrayList<>();
+        for (ReportMedia wanted : ReportMedia.fromReport(report)) {
+            ReportMedia row = existing.remove(wanted.getMediaType() + "|" + wanted.getUri());
+            if (row == null) {
+                inserts.add(wanted);
+            } else if (row.getPosition() != wanted.getPosition()
+                    || (wanted.getDurationMs() > 0 && row.getDurationMs() != wanted.getDurationMs())) {
+                row.setPosition(wanted.getPosition());
+                if (wanted.getDurationMs() > 0) row.setDurationMs(wanted.getDurationMs());
+                updates.add(row);
+            }
+        }
+        if (!existing.isEmpty()) {
+            List<Long> stale = new ArrayList<>();
+            for (ReportMedia row : existing.values()) stale.add(row.getId());
+            deleteMediaRows(stale);
+        }
+        if (!updates.isEmpty()) updateMediaRows(updates);
+        if (!inserts.isEmpty()) insertMediaRows(inserts);
+    }
     
     @Delete
     void deleteReport(BlotterReport report);
@@ -58,6 +197,123 @@ public interface BlotterReportDao {
     @Query("SELECT * FROM blotter_reports WHERE userId = :userId AND isArchived = 0")
     List<BlotterReport> getReportsByUserId(int userId);
     
-    @Query("SELECT * FROM blotter_reports WHERE (assignedOfficerId = :officerId OR assignedOfficerIds LIKE '%' || :officerId || '%') AND isArchived = 0")
+    @Query("SELECT r.* FROM blotter_reports r INNER JOIN report_officer ro ON ro.reportId = r.id " +
+           "WHERE ro.officerId = :officerId AND r.isArchived = 0 ORDER BY r.dateFiled DESC")
     List<BlotterReport> getReportsByAssignedOfficer(int officerId);
+    
+    @Query("SELECT COUNT(*) FROM blotter_reports r INNER JOIN report_officer ro ON ro.reportId = r.id " +
+           "WHERE ro.officerId = :officerId AND r.isArchived = 0")
+    int getActiveCaseloadCount(int officerId);
+    
+    @Query("SELECT COUNT(*) FROM blotter_reports r INNER JOIN report_officer ro ON ro.reportId = r.id " +
+           "WHERE ro.officerId = :officerId AND r.status = :status AND r.isArchived = 0")
+    int getCaseloadCountByStatus(int officerId, String status);
+    
+    @Query("SELECT officerId FROM report_officer WHERE reportId = :reportId")
+    List<Integer> getAssignedOfficerIdsForReport(int reportId);
+    
+    // ==================== Keyset pages (newest first) ====================
+    // Each page continues strictly after (beforeDate, beforeId); the first page passes
+    // Long.MAX_VALUE / Integer.MAX_VALUE. Ties on dateFiled are broken by id.
+    
+    @Query("SELECT * FROM blotter_reports WHERE isArchived = 0 AND (dateFiled < :beforeDate OR (dateFiled = :beforeDate AND id < :beforeId)) ORDER BY dateFiled DESC, id DESC LIMIT :limit")
+    List<BlotterReport> getActiveReportsPage(long beforeDate, int beforeId, int limit);
+    
+    @Query("SELECT * FROM blotter_reports WHERE isArchived = 1 AND (dateFiled < :beforeDate OR (dateFiled = :beforeDate AND id < :beforeId)) ORDER BY dateFiled DESC, id DESC LIMIT :limit")
+    List<BlotterReport> getArchivedReportsPage(long beforeDate, int beforeId, int limit);
+    
+    @Query("SELECT * FROM blotter_reports WHERE userId = :userId AND isArchived = 0 AND (dateFiled < :beforeDate OR (dateFiled = :beforeDate AND id < :beforeId)) ORDER BY dateFiled DESC, id DESC LIMIT :limit")
+    List<BlotterReport> getReportsByUserPage(int userId, long beforeDate, int beforeId, int limit);
+    
+    @Query("SELECT r.* FROM blotter_reports r INNER JOIN report_officer ro ON ro.reportId = r.id " +
+           "WHERE ro.officerId = :officerId AND r.isArchived = 0 AND (r.dateFiled < :beforeDate OR (r.dateFiled = :beforeDate AND r.id < :beforeId)) " +
+           "ORDER BY r.dateFiled DESC, r.id DESC LIMIT :limit")
+    List<BlotterReport> getReportsByOfficerPage(int officerId, long beforeDate, int beforeId, int limit);
+    
+    @Query("SELECT * FROM blotter_reports WHERE status IN (:statuses) AND isArchived = 0 AND (dateFiled < :beforeDate OR (dateFiled = :beforeDate AND id < :beforeId)) ORDER BY dateFiled DESC, id DESC LIMIT :limit")
+    List<BlotterReport> getReportsByStatusPage(List<String> statuses, long beforeDate, int beforeId, int limit);
+    
+    // Oldest first, archived included (case-file printouts). isArchived IN (0, 1) lets the
+    // (isArchived, dateFiled) index serve the date range.
+    @Query("SELECT * FROM blotter_reports WHERE isArchived IN (0, 1) AND dateFiled >= :fromDate AND dateFiled < :toDate " +
+           "AND (dateFiled > :afterDate OR (dateFiled = :afterDate AND id > :afterId)) ORDER BY dateFiled, id LIMIT :limit")
+    List<BlotterReport> getReportsFiledBetweenPage(long fromDate, long toDate, long afterDate, int afterId, int limit);
+
+    @Query("SELECT COUNT(*) FROM blotter_reports WHERE isArchived IN (0, 1) AND dateFiled >= :fromDate AND dateFiled < :toDate")
+    int countReportsFiledBetween(long fromDate, long toDate);
+
+    // Every report in primary-key order (full exports); start with afterId = Integer.MIN_VALUE so negative-id outbox drafts are included
+    @Query("SELECT * FROM blotter_reports WHERE id > :afterId ORDER BY id LIMIT :limit")
+    List<BlotterReport> getAllReportsPage(int afterId, int limit);
+    
+    // Dashboard "recent N" without loading the user's whole history
+    @Query("SELECT * FROM blotter_reports WHERE userId = :userId ORDER BY dateFiled DESC, id DESC LIMIT :limit")
+    List<BlotterReport> getRecentReportsByUser(int userId, int limit);
+    
+    @Query("SELECT COUNT(*) AS total, " +
+           "SUM(CASE WHEN LOWER(status) = 'pending' THEN 1 ELSE 0 END) AS pending, " +
+           "SUM(CASE WHEN LOWER(status) IN ('ongoing', 'in-progress') THEN 1 ELSE 0 END) AS ongoing, " +
+           "SUM(CASE WHEN LOWER(status) = 'resolved' THEN 1 ELSE 0 END) AS resolved " +
+           "FROM blotter_reports WHERE userId = :userId")
+    ReportStatusCounts getStatusCountsByUser(int userId);
+    
+    class ReportStatusCounts {
+        public int total;
+        public int pending;
+        public int ongoing;
+        public int resolved;
+    }
+    
+    // ==================== Case progress ====================
+    
+    // Report state plus every timeline count in one statement; each subquery is
+    // a COUNT over the child table's blotterReportId index
+    @Query("SELECT r.id AS reportId, r.status, r.assignedOfficer, r.assignedOfficerId, r.assignedOfficerIds, " +
+           "(SELECT COUNT(*) FROM witnesses WHERE blotterReportId = r.id) AS witnessCount, " +
+           "(SELECT COUNT(*) FROM suspects WHERE blotterReportId = r.id) AS suspectCount, " +
+           "(SELECT COUNT(*) FROM evidence WHERE blotterReportId = r.id) AS evidenceCount, " +
+           "(SELECT COUNT(*) FROM hearings WHERE blotterReportId = r.id) AS hearingCount, " +
+           "(SELECT COUNT(*) FROM resolutions WHERE blotterReportId = r.id) AS resolutionCount " +
+           "FROM blotter_reports r WHERE r.id = :reportId")
+    CaseProgress getCaseProgress(int reportId);
+    
+    @Query("SELECT r.id AS reportId, r.status, r.assignedOfficer, r.assignedOfficerId, r.assignedOfficerIds, " +
+           "(SELECT COUNT(*) FROM witnesses WHERE blotterReportId = r.id) AS witnessCount, " +
+           "(SELECT COUNT(*) FROM suspects WHERE blotterReportId = r.id) AS suspectCount, " +
+           "(SELECT COUNT(*) FROM evidence WHERE blotterReportId = r.id) AS evidenceCount, " +
+           "(SELECT COUNT(*) FROM hearings WHERE blotterReportId = r.id) AS hearingCount, " +
+           "(SELECT COUNT(*) FROM resolutions WHERE blotterReportId = r.id) AS resolutionCount " +
+           "FROM blotter_reports r WHERE r.id IN (:reportIds)")
+    List<CaseProgress> getCaseProgressForReports(List<Integer> reportIds);
+    
+    /**
+     * Progress for a whole list (e.g. badges in a case list), keyed by report id.
+     * One query per QueryChunks.MAX_IDS ids instead of six per report.
+     */
+    default Map<Integer, CaseProgress> getCaseProgressMap(List<Integer> reportIds) {
+        Map<Integer, CaseProgress> byReport = new HashMap<>();
+        for (CaseProgress progress : QueryChunks.query(reportIds, this::getCaseProgressForReports)) {
+            byReport.put(progress.reportId, progress);
+        }
+        return byReport;
+    }
+    
+    class CaseProgress {
+        public int reportId;
+        public String status;
+        public String assignedOfficer;
+        public Integer assignedOfficerId;
+        public String assignedOfficerIds;
+        public int witnessCount;
+        public int suspectCount;
+        public int evidenceCount;
+        public int hearingCount;
+        public int resolutionCount;
+        
+        public boolean isAssigned() {
+            return assignedOfficerId != null
+                || (assignedOfficerIds != null && !assignedOfficerIds.isEmpty())
+                || (assignedOfficer != null && !assignedOfficer.isEmpty());
+        }
+    }
 }
@@ -32,4 +32,8 @@ public interface EvidenceDao {
     
     @Query("SELECT * FROM evidence WHERE blotterReportId = :reportId")
     List<Evidence> getEvidenceByReport(int reportId);
+    
+    // Keyset chunks by id, for long printouts (start with afterId = 0)
+    @Query("SELECT * FROM evidence WHERE blotterReportId = :reportId AND id > :afterId ORDER BY id LIMIT :limit")
+    List<Evidence> getEvidenceByReportPage(int reportId, int afterId, int limit);
 }
@@ -15,23 +15,58 @@ public interface HearingDao {
     @Query("SELECT * FROM hearings ORDER BY hearingDate DESC")
     List<Hearing> getAllHearings();
 
-    @Query("SELECT * FROM hearings WHERE status = 'Scheduled' OR status = 'Upcoming' ORDER BY hearingDate ASC")
+    @Query("SELECT * FROM hearings WHERE status IN ('Scheduled', 'Upcoming') ORDER BY scheduledAt ASC")
     List<Hearing> getUpcomingHearings();
 
-    @Query("SELECT * FROM hearings WHERE status = 'Completed' OR status = 'Concluded' ORDER BY hearingDate DESC")
+    @Query("SELECT * FROM hearings WHERE status IN ('Completed', 'Concluded') ORDER BY scheduledAt DESC")
     List<Hearing> getCompletedHearings();
 
-    @Query("SELECT * FROM hearings WHERE status IN ('Scheduled', 'Upcoming') AND hearingDate >= :currentDate ORDER BY hearingDate ASC")
-    List<Hearing> getUpcomingHearingsFromDate(String currentDate);
-
-    @Query("SELECT * FROM hearings WHERE status = 'Canceled' OR status = 'Cancelled' ORDER BY hearingDate DESC")
+    @Query("SELECT * FROM hearings WHERE status IN ('Canceled', 'Cancelled') ORDER BY scheduledAt DESC")
     List<Hearing> getCanceledHearings();
 
+    // ==================== Time ranges (index on status, scheduledAt) ====================
+
+    // Scheduled hearings from fromTime on (epoch millis), soonest first
+    @Query("SELECT * FROM hearings WHERE status IN ('Scheduled', 'Upcoming') AND scheduledAt >= :fromTime ORDER BY scheduledAt ASC")
+    List<Hearing> getUpcomingHearingsFrom(long fromTime);
+
+    // Day/week calendar: scheduled hearings in [fromTime, toTime)
+    @Query("SELECT * FROM hearings WHERE status IN ('Scheduled', 'Upcoming') " +
+           "AND scheduledAt >= :fromTime AND scheduledAt < :toTime ORDER BY scheduledAt ASC")
+    List<Hearing> getUpcomingHearingsBetween(long fromTime, long toTime);
+
+    @Query("SELECT * FROM hearings WHERE status IN (:statuses) " +
+           "AND scheduledAt >= :fromTime AND scheduledAt < :toTime ORDER BY scheduledAt ASC")
+    List<Hearing> getHearingsBetween(List<String> statuses, long fromTime, long toTime);
+
+    // One index seek per status; see getNextScheduledAtAfter(long)
+    @Query("SELECT scheduledAt FROM hearings WHERE status = :status AND scheduledAt > :afterTime ORDER BY scheduledAt LIMIT 1")
+    Long getNextScheduledAtAfter(String status, long afterTime);
+
+    // Reminder dispatcher: earliest scheduled hearing after a time, null if none
+    default Long getNextScheduledAtAfter(long afterTime) {
+        Long scheduled = getNextScheduledAtAfter("Scheduled", afterTime);
+        Long upcoming = getNextScheduledAtAfter("Upcoming", afterTime);
+        if (scheduled == null) return upcoming;
+        return upcoming == null ? scheduled : Math.min(scheduled, upcoming);
+    }
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    long insertHearing(Hearing hearing);
+    long insertHearingRow(Hearing hearing);
 
     @Update
-    void updateHearing(Hearing hearing);
+    void updateHearingRow(Hearing hearing);
+
+    // Rows always go in with scheduledAt matching their date/time strings
+    default long insertHearing(Hearing hearing) {
+        hearing.refreshScheduledAt();
+        return insertHearingRow(hearing);
+    }
+
+    default void updateHearing(Hearing hearing) {
+        hearing.refreshScheduledAt();
+        updateHearingRow(hearing);
+    }
 
     @Delete
     void deleteHearing(Hearing hearing);
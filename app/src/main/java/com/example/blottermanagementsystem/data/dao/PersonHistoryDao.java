@@ -17,4 +17,24 @@ public interface PersonHistoryDao {
     
     @Delete
     void deletePersonHistory(PersonHistory personHistory);
+    
+    // ==================== Co-occurrence ====================
+    
+    // People who share cases with this person, most shared cases first. The
+    // (personId, blotterReportId) / (blotterReportId, personId) index pair covers
+    // both sides of the self-join, so no history rows are read.
+    @Query("SELECT p.id AS personId, TRIM(COALESCE(p.firstName, '') || ' ' || COALESCE(p.lastName, '')) AS name, " +
+           "COUNT(DISTINCT other.blotterReportId) AS sharedCases " +
+           "FROM person_history me " +
+           "JOIN person_history other ON other.blotterReportId = me.blotterReportId AND other.personId != me.personId " +
+           "JOIN person p ON p.id = other.personId " +
+           "WHERE me.personId = :personId " +
+           "GROUP BY p.id ORDER BY sharedCases DESC, p.id LIMIT :limit")
+    List<CoOccurrence> getCoOccurringPersons(int personId, int limit);
+    
+    class CoOccurrence {
+        public int personId;
+        public String name;
+        public int sharedCases;
+    }
 }
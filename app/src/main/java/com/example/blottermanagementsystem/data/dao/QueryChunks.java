@@ -0,0 +1,29 @@
+package com.example.blottermanagementsystem.data.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs an IN (:ids) query in slices small enough for SQLite's bind limit.
+ */
+public final class QueryChunks {
+
+    // SQLite's default host-parameter limit is 999; leaves room for other arguments
+    public static final int MAX_IDS = 900;
+
+    private QueryChunks() {}
+
+    /**
+     * Calls query once per slice of at most MAX_IDS ids and concatenates the rows.
+     * Row order follows each query's ORDER BY within a slice, slices in id-list order.
+     */
+    public static <K, R> List<R> query(List<K> ids, Function<List<K>, List<R>> query) {
+        List<R> rows = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) return rows;
+        for (int from = 0; from < ids.size(); from += MAX_IDS) {
+            rows.addAll(query.apply(ids.subList(from, Math.min(from + MAX_IDS, ids.size()))));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.blottermanagementsystem.data.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.*;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.entity.ReportMedia;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and upload-state updates for report_media. Rows are created and
+ * removed by BlotterReportDao.syncMedia whenever a report is written.
+ */
+@Dao
+public interface ReportMediaDao {
+    @Query("SELECT * FROM report_media WHERE reportId = :reportId ORDER BY mediaType, position")
+    List<ReportMedia> getMediaForReport(int reportId);
+
+    @Query("SELECT * FROM report_media WHERE reportId = :reportId ORDER BY mediaType, position")
+    LiveData<List<ReportMedia>> observeMediaForReport(int reportId);
+
+    @Query("SELECT * FROM report_media WHERE reportId = :reportId AND mediaType = :mediaType ORDER BY position")
+    List<ReportMedia> getMediaForReportByType(int reportId, String mediaType);
+
+    @Query("SELECT * FROM report_media WHERE uploadState IN (:states) ORDER BY reportId, position")
+    List<ReportMedia> getMediaByUploadState(List<String> states);
+
+    @Query("SELECT * FROM report_media WHERE sha256 = :sha256")
+    List<ReportMedia> getMediaByHash(String sha256);
+
+    // ==================== Counts ====================
+
+    @Query("SELECT reportId, " +
+           "SUM(CASE WHEN mediaType = 'IMAGE' THEN 1 ELSE 0 END) AS imageCount, " +
+           "SUM(CASE WHEN mediaType = 'VIDEO' THEN 1 ELSE 0 END) AS videoCount, " +
+           "SUM(CASE WHEN mediaType = 'AUDIO' THEN 1 ELSE 0 END) AS audioCount " +
+           "FROM report_media WHERE reportId IN (:reportIds) GROUP BY reportId")
+    List<MediaCounts> getMediaCounts(List<Integer> reportIds);
+
+    @Query("SELECT COUNT(*) FROM report_media WHERE reportId = :reportId AND mediaType = :mediaType")
+    int countMedia(int reportId, String mediaType);
+
+    // Listed rather than != 'UPLOADED' so the uploadState index is seeked, not scanned
+    @Query("SELECT COUNT(*) FROM report_media WHERE uploadState IN ('LOCAL', 'UPLOADING', 'FAILED')")
+    int countPendingUploads();
+
+    /**
+     * Fills BlotterReport image/video counts for a list about to be shown,
+     * so adapters don't split the URI strings on every bind.
+     */
+    default void attachCounts(List<BlotterReport> reports) {
+        if (reports == null || reports.isEmpty()) return;
+        Map<Integer, MediaCounts> byReport = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(reports.size());
+        for (BlotterReport report : reports) ids.add(report.getId());
+        for (MediaCounts counts : QueryChunks.query(ids, this::getMediaCounts)) {
+            byReport.put(counts.reportId, counts);
+        }
+        for (BlotterReport report : reports) {
+            MediaCounts counts = byReport.get(report.getId());
+            report.setMediaCounts(counts != null ? counts.imageCount : 0, counts != null ? counts.videoCount : 0);
+        }
+    }
+
+    // ==================== Upload state ====================
+
+    // Maintained by MediaUploadManager.enqueueReportMedia() and MediaUploadWorker
+
+    @Query("UPDATE report_media SET uploadState = :state, uploadId = :uploadId WHERE id = :id")
+    void setUploadState(long id, String state, String uploadId);
+
+    @Query("UPDATE report_media SET uploadState = 'UPLOADED', remoteUrl = :remoteUrl, uploadId = NULL WHERE id = :id")
+    void markUploaded(long id, String remoteUrl);
+
+    @Query("UPDATE report_media SET sha256 = :sha256, sizeBytes = :sizeBytes, " +
+           "durationMs = CASE WHEN :durationMs > 0 THEN :durationMs ELSE durationMs END " +
+           "WHERE reportId = :reportId AND uri = :uri")
+    void updateMetadata(int reportId, String uri, String sha256, long sizeBytes, long durationMs);
+
+    class MediaCounts {
+        public int reportId;
+        public int imageCount;
+        public int videoCount;
+        public int audioCount;
+    }
+}
@@ -29,4 +29,17 @@ public interface SuspectDao {
     
     @Query("SELECT * FROM suspects WHERE blotterReportId = :reportId")
     List<Suspect> getSuspectsByReport(int reportId);
+    
+    // Keyset chunks by id, for long printouts (start with afterId = 0)
+    @Query("SELECT * FROM suspects WHERE blotterReportId = :reportId AND id > :afterId ORDER BY id LIMIT :limit")
+    List<Suspect> getSuspectsByReportPage(int reportId, int afterId, int limit);
+    
+    // Children of a page of reports in one query (exports)
+    @Query("SELECT * FROM suspects WHERE blotterReportId IN (:reportIds) ORDER BY blotterReportId, id")
+    List<Suspect> getSuspectsByReportIds(List<Integer> reportIds);
+    
+    // Same, for id lists of any length
+    default List<Suspect> getSuspectsForReports(List<Integer> reportIds) {
+        return QueryChunks.query(reportIds, this::getSuspectsByReportIds);
+    }
 }
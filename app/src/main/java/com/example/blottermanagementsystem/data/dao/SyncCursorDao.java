@@ -0,0 +1,16 @@
+package com.example.blottermanagementsystem.data.dao;
+
+import androidx.room.*;
+import com.example.blottermanagementsystem.data.entity.SyncCursor;
+
+@Dao
+public interface SyncCursorDao {
+    @Query("SELECT cursor FROM sync_cursors WHERE stream = :stream")
+    String getCursor(String stream);
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void saveCursor(SyncCursor syncCursor);
+    
+    @Query("DELETE FROM sync_cursors WHERE stream = :stream")
+    void clearCursor(String stream);
+}
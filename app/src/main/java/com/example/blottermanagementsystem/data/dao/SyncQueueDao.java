@@ -6,6 +6,9 @@ import java.util.List;
 
 @Dao
 public interface SyncQueueDao {
+    // lastError prefix of rows whose push lost to a newer server copy (HybridSyncManager)
+    String CONFLICT_PREFIX = "Conflict:";
+    
     @Query("SELECT * FROM sync_queue WHERE synced = 0 ORDER BY timestamp ASC")
     List<SyncQueue> getPendingSync();
     
@@ -13,6 +16,40 @@ public interface SyncQueueDao {
     @Query("SELECT * FROM sync_queue WHERE synced = 0 ORDER BY timestamp ASC")
     List<SyncQueue> getPendingSyncItems();
     
+    // Oldest-first slice of the outbox, pushed by HybridSyncManager in bounded batches.
+    // SUBMIT rows belong to ReportOutboxWorker and are never pushed twice.
+    @Query("SELECT * FROM sync_queue WHERE synced = 0 AND retryCount < :maxRetries AND action != 'SUBMIT' ORDER BY timestamp ASC, id ASC LIMIT :limit")
+    List<SyncQueue> getPendingSyncBatch(int maxRetries, int limit);
+    
+    // Outbox rows for one entity type and action, oldest first (ReportOutboxWorker)
+    @Query("SELECT * FROM sync_queue WHERE synced = 0 AND entityType = :entityType AND action = :action AND retryCount < :maxRetries ORDER BY timestamp ASC, id ASC")
+    List<SyncQueue> getPendingByAction(String entityType, String action, int maxRetries);
+    
+    @Query("SELECT COUNT(*) FROM sync_queue WHERE synced = 0")
+    int getPendingSyncCount();
+    
+    // Rows with unpushed local edits must not be overwritten by a pull
+    @Query("SELECT COUNT(*) FROM sync_queue WHERE synced = 0 AND entityType = :entityType AND entityId = :entityId")
+    int getPendingCountForEntity(String entityType, int entityId);
+    
+    @Query("SELECT DISTINCT entityId FROM sync_queue WHERE synced = 0 AND entityType = :entityType")
+    List<Integer> getPendingEntityIds(String entityType);
+    
+    @Query("UPDATE sync_queue SET synced = 1, lastError = NULL WHERE id IN (:ids)")
+    void markSynced(List<Integer> ids);
+    
+    // Gives up on rows that used every push attempt: synced = 1 with lastError kept
+    // marks them failed, so they stop blocking pulls but stay visible until deleteOldSynced
+    @Query("UPDATE sync_queue SET synced = 1 WHERE synced = 0 AND retryCount >= :maxRetries AND action != 'SUBMIT'")
+    int markExhaustedFailed(int maxRetries);
+    
+    // Pushes the server rejected as stale; data holds the local version that lost
+    @Query("SELECT * FROM sync_queue WHERE synced = 1 AND lastError LIKE 'Conflict:%' ORDER BY timestamp DESC")
+    List<SyncQueue> getConflicts();
+    
+    @Query("SELECT COUNT(*) FROM sync_queue WHERE synced = 1 AND lastError LIKE 'Conflict:%'")
+    int getConflictCount();
+    
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     long insertSyncQueue(SyncQueue syncQueue);
     
@@ -30,6 +67,7 @@ public interface SyncQueueDao {
     @Delete
     void deleteSyncQueue(SyncQueue syncQueue);
     
-    @Query("DELETE FROM sync_queue WHERE synced = 1 AND timestamp < :timestamp")
+    // Conflicts stay until resolved and deleted one by one
+    @Query("DELETE FROM sync_queue WHERE synced = 1 AND timestamp < :timestamp AND (lastError IS NULL OR lastError NOT LIKE 'Conflict:%')")
     void deleteOldSynced(long timestamp);
 }
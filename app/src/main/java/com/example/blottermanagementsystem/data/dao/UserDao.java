@@ -12,6 +12,13 @@ public interface UserDao {
     @Query("SELECT * FROM users WHERE id = :userId")
     User getUserById(int userId);
     
+    @Query("SELECT * FROM users WHERE apiId = :apiId LIMIT 1")
+    User getUserByApiId(int apiId);
+    
+    // Which of these ids are already cached (reports need their owner row first)
+    @Query("SELECT id FROM users WHERE id IN (:userIds)")
+    List<Integer> getExistingUserIds(List<Integer> userIds);
+    
     @Query("SELECT * FROM users WHERE username = :username")
     User getUserByUsername(String username);
     
@@ -33,6 +40,10 @@ public interface UserDao {
     @Update
     void updateUser(User user);
     
+    // Bulk insert-or-update by primary key in a single transaction (used by SyncManager)
+    @Upsert
+    void upsertUsers(List<User> users);
+    
     @Delete
     void deleteUser(User user);
     
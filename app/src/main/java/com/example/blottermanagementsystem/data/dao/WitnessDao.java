@@ -29,4 +29,12 @@ public interface WitnessDao {
     
     @Query("SELECT * FROM witnesses WHERE blotterReportId = :reportId")
     List<Witness> getWitnessesByReport(int reportId);
+    
+    // Keyset chunks by id, for long printouts (start with afterId = 0)
+    @Query("SELECT * FROM witnesses WHERE blotterReportId = :reportId AND id > :afterId ORDER BY id LIMIT :limit")
+    List<Witness> getWitnessesByReportPage(int reportId, int afterId, int limit);
+    
+    // Children of a page of reports in one query (exports)
+    @Query("SELECT * FROM witnesses WHERE blotterReportId IN (:reportIds) ORDER BY blotterReportId, id")
+    List<Witness> getWitnessesByReportIds(List<Integer> reportIds);
 }
@@ -1,11 +1,19 @@
 package com.example.blottermanagementsystem.data.database;
 
 import android.content.Context;
+import android.database.Cursor;
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.blottermanagementsystem.config.AppConfig;
 import com.example.blottermanagementsystem.data.dao.*;
 import com.example.blottermanagementsystem.data.entity.*;
+import com.example.blottermanagementsystem.utils.AppExecutors;
+import com.example.blottermanagementsystem.utils.DatabaseBackupManager;
+import java.util.List;
 
 @Database(
     entities = {
@@ -14,13 +22,17 @@ import com.example.blottermanagementsystem.data.entity.*;
         Notification.class, Status.class, Person.class, Respondent.class, PersonHistory.class,
         SmsNotification.class, RespondentStatement.class, Summons.class,
         MediationSession.class, CaseTimeline.class, CaseTemplate.class, SyncQueue.class,
-        ConnectedDevice.class, LegalDocument.class, CloudinaryImage.class
+        ConnectedDevice.class, LegalDocument.class, CloudinaryImage.class, SyncCursor.class,
+        ReportOfficer.class, ReportMedia.class
     },
-    version = 21,
-    exportSchema = false
+    version = BlotterDatabase.DATABASE_VERSION,
+    exportSchema = true
 )
 public abstract class BlotterDatabase extends RoomDatabase {
     
+    static final int DATABASE_VERSION = 27;
+    public static final String DATABASE_NAME = "blotter_database";
+    
     public abstract UserDao userDao();
     public abstract BlotterReportDao blotterReportDao();
     public abstract SuspectDao suspectDao();
@@ -46,30 +58,267 @@ public abstract class BlotterDatabase extends RoomDatabase {
     public abstract LegalDocumentDao legalDocumentDao();
     public abstract InvestigationTaskDao investigationTaskDao();
     public abstract CloudinaryImageDao cloudinaryImageDao();
+    public abstract SyncCursorDao syncCursorDao();
+    public abstract ReportMediaDao reportMediaDao();
     
     private static volatile BlotterDatabase INSTANCE;
     
+    /**
+     * Oldest version with a migration path. Anything older is rebuilt; every
+     * bump from here on must ship a Migration (schemas are exported to app/schemas).
+     */
+    static final int FIRST_MIGRATABLE_VERSION = 21;
+    
+    /**
+     * 21 -> 22: delta-sync bookkeeping. updatedAt/version on reports and users,
+     * plus the sync_cursors table. Existing reports start at their filing time.
+     */
+    static final Migration MIGRATION_21_22 = new Migration(21, 22) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `blotter_reports` ADD COLUMN `updatedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `blotter_reports` ADD COLUMN `version` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("UPDATE `blotter_reports` SET `updatedAt` = `dateFiled`");
+            
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `updatedAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE `users` ADD COLUMN `version` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("UPDATE `users` SET `updatedAt` = `accountCreated`");
+            
+            db.execSQL("CREATE TABLE IF NOT EXISTS `sync_cursors` (`stream` TEXT NOT NULL, `cursor` TEXT, "
+                    + "`updatedAt` INTEGER NOT NULL, PRIMARY KEY(`stream`))");
+        }
+    };
+    
+    /**
+     * 22 -> 23: report_officer join table, backfilled by splitting the legacy
+     * assignedOfficerId / assignedOfficerIds columns.
+     */
+    static final Migration MIGRATION_22_23 = new Migration(22, 23) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `report_officer` (`reportId` INTEGER NOT NULL, `officerId` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`reportId`, `officerId`), FOREIGN KEY(`reportId`) REFERENCES `blotter_reports`(`id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_report_officer_officerId_reportId` ON `report_officer` (`officerId`, `reportId`)");
+            
+            try (Cursor cursor = db.query("SELECT id, assignedOfficerId, assignedOfficerIds FROM blotter_reports")) {
+                while (cursor.moveToNext()) {
+                    int reportId = cursor.getInt(0);
+                    Integer officerId = cursor.isNull(1) ? null : cursor.getInt(1);
+                    String officerIds = cursor.isNull(2) ? null : cursor.getString(2);
+                    for (int id : ReportOfficer.parseOfficerIds(officerId, officerIds)) {
+                        db.execSQL("INSERT OR IGNORE INTO report_officer (reportId, officerId) VALUES (?, ?)",
+                                new Object[]{reportId, id});
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * 23 -> 24: secondary indices for the filter/sort columns every list screen
+     * hits. Names follow Room's index_<table>_<columns> convention so the
+     * migrated schema validates against the entity annotations.
+     */
+    static final Migration MIGRATION_23_24 = new Migration(23, 24) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // Reports: userId index widened to (userId, isArchived, dateFiled)
+            db.execSQL("DROP INDEX IF EXISTS `index_blotter_reports_userId`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_blotter_reports_userId_isArchived_dateFiled` ON `blotter_reports` (`userId`, `isArchived`, `dateFiled`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_blotter_reports_isArchived_dateFiled` ON `blotter_reports` (`isArchived`, `dateFiled`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_blotter_reports_status_isArchived_dateFiled` ON `blotter_reports` (`status`, `isArchived`, `dateFiled`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_blotter_reports_caseNumber` ON `blotter_reports` (`caseNumber`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_blotter_reports_apiId` ON `blotter_reports` (`apiId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_blotter_reports_assignedOfficerId` ON `blotter_reports` (`assignedOfficerId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_blotter_reports_assignedOfficer_isArchived` ON `blotter_reports` (`assignedOfficer`, `isArchived`)");
+
+            // Hearings: per-report index widened to cover the hearingDate sort
+            db.execSQL("DROP INDEX IF EXISTS `index_hearings_blotterReportId`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hearings_blotterReportId_hearingDate` ON `hearings` (`blotterReportId`, `hearingDate`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hearings_status_hearingDate` ON `hearings` (`status`, `hearingDate`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hearings_approvalStatus_createdAt` ON `hearings` (`approvalStatus`, `createdAt`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_users_username` ON `users` (`username`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_users_email` ON `users` (`email`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_users_role` ON `users` (`role`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_users_apiId` ON `users` (`apiId`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_officers_userId` ON `officers` (`userId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_officers_badgeNumber` ON `officers` (`badgeNumber`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_officers_name` ON `officers` (`name`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_officers_isAvailable` ON `officers` (`isAvailable`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_userId_isRead_timestamp` ON `notifications` (`userId`, `isRead`, `timestamp`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_person_isActive_lastName_firstName` ON `person` (`isActive`, `lastName`, `firstName`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_person_personType_isActive` ON `person` (`personType`, `isActive`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_status_name` ON `status` (`name`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_case_templates_incidentType_isActive` ON `case_templates` (`incidentType`, `isActive`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_case_templates_isActive_usageCount` ON `case_templates` (`isActive`, `usageCount`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_sync_queue_synced_timestamp` ON `sync_queue` (`synced`, `timestamp`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_sync_queue_synced_entityType_entityId` ON `sync_queue` (`synced`, `entityType`, `entityId`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_connected_devices_deviceId` ON `connected_devices` (`deviceId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_connected_devices_userId_lastActive` ON `connected_devices` (`userId`, `lastActive`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_connected_devices_isActive_lastActive` ON `connected_devices` (`isActive`, `lastActive`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_legal_documents_reportId_createdAt` ON `legal_documents` (`reportId`, `createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_legal_documents_documentType_createdAt` ON `legal_documents` (`documentType`, `createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_legal_documents_status_createdAt` ON `legal_documents` (`status`, `createdAt`)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_cloudinary_images_publicId` ON `cloudinary_images` (`publicId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_cloudinary_images_userId_uploadedAt` ON `cloudinary_images` (`userId`, `uploadedAt`)");
+        }
+    };
+
+    /**
+     * 24 -> 25: report_media attachment table, backfilled by splitting the legacy
+     * imageUris / videoUris / audioUris columns (durations matched by position).
+     */
+    static final Migration MIGRATION_24_25 = new Migration(24, 25) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `report_media` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`reportId` INTEGER NOT NULL, `mediaType` TEXT, `position` INTEGER NOT NULL, `uri` TEXT, "
+                    + "`remoteUrl` TEXT, `sizeBytes` INTEGER NOT NULL, `durationMs` INTEGER NOT NULL, `sha256` TEXT, "
+                    + "`uploadState` TEXT, `uploadId` TEXT, FOREIGN KEY(`reportId`) REFERENCES `blotter_reports`(`id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_report_media_reportId_mediaType_position` ON `report_media` (`reportId`, `mediaType`, `position`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_report_media_uploadState` ON `report_media` (`uploadState`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_report_media_sha256` ON `report_media` (`sha256`)");
+
+            try (Cursor cursor = db.query("SELECT id, imageUris, videoUris, videoDurations, audioUri, audioUris, audioDurations "
+                    + "FROM blotter_reports")) {
+                while (cursor.moveToNext()) {
+                    List<ReportMedia> media = ReportMedia.fromLegacyColumns(cursor.getInt(0),
+                            cursor.getString(1), cursor.getString(2), cursor.getString(3),
+                            cursor.getString(4), cursor.getString(5), cursor.getString(6));
+                    for (ReportMedia row : media) {
+                        db.execSQL("INSERT INTO report_media (reportId, mediaType, position, uri, remoteUrl, sizeBytes, "
+                                + "durationMs, uploadState) VALUES (?, ?, ?, ?, ?, 0, ?, ?)",
+                                new Object[]{row.getReportId(), row.getMediaType(), row.getPosition(), row.getUri(),
+                                        row.getRemoteUrl(), row.getDurationMs(), row.getUploadState()});
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * 25 -> 26: hearings.scheduledAt, the epoch time of the hearingDate/hearingTime
+     * display strings, so upcoming/calendar queries compare numbers instead of
+     * "MMM dd, yyyy" text. The (status, hearingDate) index moves to scheduledAt.
+     * Rows whose strings don't parse keep 0.
+     */
+    static final Migration MIGRATION_25_26 = new Migration(25, 26) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `hearings` ADD COLUMN `scheduledAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("DROP INDEX IF EXISTS `index_hearings_status_hearingDate`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_hearings_status_scheduledAt` ON `hearings` (`status`, `scheduledAt`)");
+
+            try (Cursor cursor = db.query("SELECT id, hearingDate, hearingTime FROM hearings")) {
+                while (cursor.moveToNext()) {
+                    long scheduledAt = Hearing.parseSchedule(cursor.getString(1), cursor.getString(2));
+                    if (scheduledAt > 0) {
+                        db.execSQL("UPDATE hearings SET scheduledAt = ? WHERE id = ?",
+                                new Object[]{scheduledAt, cursor.getInt(0)});
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * 26 -> 27: person_history's single-column indices become the pair
+     * (personId, blotterReportId) / (blotterReportId, personId), which covers
+     * the co-occurrence self-join.
+     */
+    static final Migration MIGRATION_26_27 = new Migration(26, 27) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_person_history_personId`");
+            db.execSQL("DROP INDEX IF EXISTS `index_person_history_blotterReportId`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_person_history_personId_blotterReportId` ON `person_history` (`personId`, `blotterReportId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_person_history_blotterReportId_personId` ON `person_history` (`blotterReportId`, `personId`)");
+        }
+    };
+
+    static final Migration[] ALL_MIGRATIONS = {
+        MIGRATION_21_22, MIGRATION_22_23, MIGRATION_23_24, MIGRATION_24_25, MIGRATION_25_26,
+        MIGRATION_26_27
+    };
+
     public static BlotterDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
             synchronized (BlotterDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
-                            BlotterDatabase.class, "blotter_database")
-                            .fallbackToDestructiveMigration()
+                    RoomDatabase.Builder<BlotterDatabase> builder = Room.databaseBuilder(context.getApplicationContext(),
+                            BlotterDatabase.class, DATABASE_NAME)
+                            .addMigrations(ALL_MIGRATIONS)
+                            // Only pre-export installs and dev downgrades are wiped;
+                            // a missing migration for a newer version fails loudly.
+                            .fallbackToDestructiveMigrationFrom(legacyVersions())
+                            .fallbackToDestructiveMigrationOnDowngrade()
                             .addCallback(new Callback() {
                                 @Override
                                 public void onCreate(androidx.sqlite.db.SupportSQLiteDatabase db) {
                                     super.onCreate(db);
-                                    new Thread(() -> populateDatabase(context)).start();
+                                    AppExecutors.getInstance().diskIO().execute(() -> populateDatabase(context));
                                 }
-                            })
-                            .build();
+                            });
+                    if (AppConfig.ENCRYPT_DATABASE) {
+                        // Existing plaintext installs are converted once, before Room opens the file
+                        DatabaseEncryption.encryptIfPlaintext(context.getApplicationContext(), DATABASE_NAME);
+                        builder.openHelperFactory(DatabaseEncryption.openHelperFactory(context.getApplicationContext()));
+                        // Backups taken before encryption would otherwise keep a readable copy
+                        Context appContext = context.getApplicationContext();
+                        AppExecutors.getInstance().diskIO().execute(() ->
+                                DatabaseBackupManager.deletePlaintextBackups(appContext));
+                    }
+                    INSTANCE = builder.build();
                 }
             }
         }
         return INSTANCE;
     }
     
+    /**
+     * Closes the open instance (if any) so the database files can be replaced,
+     * e.g. by a restore. The next getDatabase() call opens the new file; DAOs
+     * obtained before this call must not be used again. Hold the
+     * BlotterDatabase.class lock from this call until the files are swapped and
+     * reopened; getDatabase() waits on it.
+     */
+    public static void closeDatabase() {
+        synchronized (BlotterDatabase.class) {
+            if (INSTANCE != null) {
+                INSTANCE.close();
+                INSTANCE = null;
+            }
+        }
+    }
+    
+    /**
+     * Whether a database file at this schema version (PRAGMA user_version) can be
+     * opened without being wiped: migratable versions up to the current one.
+     */
+    public static boolean isRestorableVersion(int version) {
+        return version >= FIRST_MIGRATABLE_VERSION && version <= DATABASE_VERSION;
+    }
+    
+    private static int[] legacyVersions() {
+        int[] versions = new int[FIRST_MIGRATABLE_VERSION - 1];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = i + 1;
+        }
+        return versions;
+    }
+    
     private static void populateDatabase(Context context) {
         BlotterDatabase db = getDatabase(context);
         StatusDao statusDao = db.statusDao();
@@ -0,0 +1,223 @@
+package com.example.blottermanagementsystem.data.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import com.example.blottermanagementsystem.utils.KeystoreCipher;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import net.zetetic.database.sqlcipher.SQLiteDatabase;
+import net.zetetic.database.sqlcipher.SupportOpenHelperFactory;
+
+/**
+ * SQLCipher encryption for BlotterDatabase (AppConfig.ENCRYPT_DATABASE)
+ *
+ * The database key is 32 random bytes generated on first use, stored only
+ * wrapped by a Keystore key (KeystoreCipher) in private preferences. It is
+ * passed to SQLCipher as a raw key (x'..'), which skips the PBKDF2 derivation
+ * SQLCipher otherwise runs on every open, so unlocking costs one Keystore
+ * decrypt per process. Pages are then decrypted as they are read; hot queries
+ * that stay in the page cache pay nothing extra (see DatabaseEncryptionTest).
+ *
+ * An existing plaintext database is converted once, in place, with
+ * sqlcipher_export() before Room opens it. The plaintext file is only removed
+ * after the encrypted copy is complete; plaintext backups taken before are
+ * removed by DatabaseBackupManager.deletePlaintextBackups().
+ */
+public final class DatabaseEncryption {
+    private static final String TAG = "DatabaseEncryption";
+    private static final String PREFS_NAME = "blotter_db_key";
+    private static final String KEY_WRAPPED = "wrapped_key";
+    private static final String KEYSTORE_ALIAS = "blotter_db_key";
+    private static final int KEY_BYTES = 32;
+    private static final byte[] SQLITE_HEADER = "SQLite format 3\0".getBytes(StandardCharsets.US_ASCII);
+
+    private static byte[] passphrase;
+    private static boolean libraryLoaded;
+
+    private DatabaseEncryption() {
+    }
+
+    /** Result of inspecting a database file (backups, restores) */
+    public static class FileCheck {
+        public final String quickCheck;
+        public final int version;
+
+        FileCheck(String quickCheck, int version) {
+            this.quickCheck = quickCheck;
+            this.version = version;
+        }
+
+        public boolean isOk() {
+            return "ok".equalsIgnoreCase(quickCheck);
+        }
+    }
+
+    public static SupportSQLiteOpenHelper.Factory openHelperFactory(Context context) {
+        loadLibrary();
+        // Copies: SQLCipher may clear the array it is given once the database is open
+        return new SupportOpenHelperFactory(getPassphrase(context).clone());
+    }
+
+    /**
+     * True for an unencrypted SQLite file (its first 16 bytes are the SQLite header)
+     */
+    public static boolean isPlaintext(File file) {
+        try (InputStream in = new FileInputStream(file)) {
+            return isPlaintext(in);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Same check on a stream positioned at the start of a database (e.g. a
+     * decompressing backup stream). Reads the first 16 bytes.
+     */
+    public static boolean isPlaintext(InputStream in) throws IOException {
+        byte[] header = new byte[SQLITE_HEADER.length];
+        int read = 0;
+        while (read < header.length) {
+            int n = in.read(header, read, header.length - read);
+            if (n == -1) return false;
+            read += n;
+        }
+        return Arrays.equals(header, SQLITE_HEADER);
+    }
+
+    /**
+     * One-time conversion of a plaintext database to SQLCipher. Blocking; runs
+     * before Room opens the file. Nothing is changed if the export fails.
+     */
+    static synchronized void encryptIfPlaintext(Context context, String name) {
+        File database = context.getDatabasePath(name);
+        if (!database.exists() || !isPlaintext(database)) return;
+
+        loadLibrary();
+        long start = System.currentTimeMillis();
+        File encrypted = new File(database.getParentFile(), name + ".encrypting");
+        encrypted.delete();
+
+        SQLiteDatabase plain = null;
+        try {
+            // An empty key opens a plaintext file (its WAL included)
+            plain = SQLiteDatabase.openDatabase(database.getPath(), "", null, SQLiteDatabase.OPEN_READWRITE, null);
+            int version = plain.getVersion();
+            plain.execSQL("ATTACH DATABASE '" + encrypted.getPath().replace("'", "''") + "' AS encrypted KEY \""
+                + new String(getPassphrase(context), StandardCharsets.US_ASCII) + "\"");
+            try (Cursor cursor = plain.rawQuery("SELECT sqlcipher_export('encrypted')", null)) {
+                cursor.moveToFirst();
+            }
+            plain.execSQL("PRAGMA encrypted.user_version = " + version);
+            plain.execSQL("DETACH DATABASE encrypted");
+        } catch (RuntimeException e) {
+            encrypted.delete();
+            throw new IllegalStateException("Could not encrypt the local database", e);
+        } finally {
+            if (plain != null) plain.close();
+        }
+
+        File wal = new File(database.getPath() + "-wal");
+        File shm = new File(database.getPath() + "-shm");
+        File plaintextCopy = new File(database.getParentFile(), name + ".plaintext");
+        if (!database.renameTo(plaintextCopy) || !encrypted.renameTo(database)) {
+            plaintextCopy.renameTo(database);
+            encrypted.delete();
+            throw new IllegalStateException("Could not replace the plaintext database");
+        }
+        wal.delete();
+        shm.delete();
+        plaintextCopy.delete();
+        Log.d(TAG, "🔒 Local database encrypted in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * PRAGMA quick_check and user_version of a database file, plaintext or
+     * encrypted with this device's key. Opened read-only.
+     */
+    public static FileCheck inspect(Context context, File file) throws IOException {
+        if (isPlaintext(file)) {
+            android.database.sqlite.SQLiteDatabase db = null;
+            try {
+                db = android.database.sqlite.SQLiteDatabase.openDatabase(file.getPath(), null,
+                    android.database.sqlite.SQLiteDatabase.OPEN_READONLY);
+                try (Cursor cursor = db.rawQuery("PRAGMA quick_check", null)) {
+                    return new FileCheck(cursor.moveToFirst() ? cursor.getString(0) : null, db.getVersion());
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Not a readable database: " + e.getMessage(), e);
+            } finally {
+                if (db != null) db.close();
+            }
+        }
+
+        loadLibrary();
+        SQLiteDatabase db = null;
+        try {
+            db = SQLiteDatabase.openDatabase(file.getPath(), getPassphrase(context).clone(), null,
+                SQLiteDatabase.OPEN_READONLY, null);
+            try (Cursor cursor = db.rawQuery("PRAGMA quick_check", null)) {
+                return new FileCheck(cursor.moveToFirst() ? cursor.getString(0) : null, db.getVersion());
+            }
+        } catch (RuntimeException e) {
+            // Wrong key (e.g. a backup from another device) looks the same as corruption
+            throw new IOException("Not a readable database for this device: " + e.getMessage(), e);
+        } finally {
+            if (db != null) db.close();
+        }
+    }
+
+    // ==================== Key ====================
+
+    private static synchronized byte[] getPassphrase(Context context) {
+        if (passphrase != null) return passphrase;
+
+        SharedPreferences prefs = context.getApplicationContext()
+            .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String wrapped = prefs.getString(KEY_WRAPPED, null);
+        byte[] key;
+        try {
+            if (wrapped != null) {
+                key = KeystoreCipher.decrypt(KEYSTORE_ALIAS, wrapped);
+            } else {
+                key = new byte[KEY_BYTES];
+                new SecureRandom().nextBytes(key);
+                if (!prefs.edit().putString(KEY_WRAPPED, KeystoreCipher.encrypt(KEYSTORE_ALIAS, key)).commit()) {
+                    throw new IllegalStateException("Could not store the database key");
+                }
+                Log.d(TAG, "🔑 Database key created");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Database key unavailable", e);
+        }
+        passphrase = rawKey(key);
+        Arrays.fill(key, (byte) 0);
+        return passphrase;
+    }
+
+    /**
+     * SQLCipher raw-key syntax: x'<64 hex digits>' (used as is, no key derivation)
+     */
+    static byte[] rawKey(byte[] key) {
+        StringBuilder hex = new StringBuilder(key.length * 2 + 3).append("x'");
+        for (byte b : key) {
+            hex.append(String.format("%02X", b));
+        }
+        return hex.append('\'').toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static synchronized void loadLibrary() {
+        if (!libraryLoaded) {
+            System.loadLibrary("sqlcipher");
+            libraryLoaded = true;
+        }
+    }
+}
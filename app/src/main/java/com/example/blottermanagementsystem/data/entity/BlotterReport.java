@@ -14,7 +14,15 @@ import androidx.room.PrimaryKey;
         childColumns = "userId",
         onDelete = ForeignKey.CASCADE
     ),
-    indices = {@Index("userId")}
+    indices = {
+        @Index(value = {"userId", "isArchived", "dateFiled"}),
+        @Index(value = {"isArchived", "dateFiled"}),
+        @Index(value = {"status", "isArchived", "dateFiled"}),
+        @Index("caseNumber"),
+        @Index("apiId"),
+        @Index("assignedOfficerId"),
+        @Index(value = {"assignedOfficer", "isArchived"})
+    }
 )
 public class BlotterReport {
     @PrimaryKey(autoGenerate = true)
@@ -53,11 +61,21 @@ public class BlotterReport {
     private String audioDurations;
     private double latitude = 0.0;
     private double longitude = 0.0;
+    private long updatedAt;  // Server-side last modification time (delta sync)
+    private int version;     // Row version from backend, bumped on every server write
+
+    // Attachment counts from report_media (ReportMediaDao.attachCounts); -1 until loaded.
+    // Not stored and not sent to the API.
+    @Ignore
+    private transient int imageCount = -1;
+    @Ignore
+    private transient int videoCount = -1;
 
     public BlotterReport() {
         // No-arg constructor for Room
         this.status = "pending";
         this.dateFiled = System.currentTimeMillis();
+        this.updatedAt = this.dateFiled;
         this.isArchived = false;
     }
 
@@ -79,6 +97,7 @@ public class BlotterReport {
         this.respondentAddress = "N/A";
         this.status = "pending";
         this.dateFiled = System.currentTimeMillis();
+        this.updatedAt = this.dateFiled;
         this.assignedOfficer = "";
         this.assignedOfficerIds = "";
         this.isArchived = false;
@@ -212,11 +231,22 @@ public class BlotterReport {
     public long getCreatedAt() { return dateFiled; }
     public void setCreatedAt(long createdAt) { this.dateFiled = createdAt; }
 
-    public long getUpdatedAt() { return dateFiled; }
-    public void setUpdatedAt(long updatedAt) { this.dateFiled = updatedAt; }
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
     
     public double getLatitude() { return latitude; }
     public void setLatitude(double latitude) { this.latitude = latitude; }
     public double getLongitude() { return longitude; }
     public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public boolean hasMediaCounts() { return imageCount >= 0 && videoCount >= 0; }
+    public int getImageCount() { return imageCount; }
+    public int getVideoCount() { return videoCount; }
+    public void setMediaCounts(int imageCount, int videoCount) {
+        this.imageCount = imageCount;
+        this.videoCount = videoCount;
+    }
 }
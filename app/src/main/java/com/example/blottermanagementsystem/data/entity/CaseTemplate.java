@@ -1,9 +1,16 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "case_templates")
+@Entity(
+    tableName = "case_templates",
+    indices = {
+        @Index(value = {"incidentType", "isActive"}),
+        @Index(value = {"isActive", "usageCount"})
+    }
+)
 public class CaseTemplate {
     @PrimaryKey(autoGenerate = true) private int id;
     private String templateName; private String incidentType; private String descriptionTemplate; private String commonQuestions; private boolean isActive; private int usageCount; private String createdBy; private long createdDate;
@@ -1,6 +1,7 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.Ignore;
 
@@ -8,7 +9,13 @@ import androidx.room.Ignore;
  * CloudinaryImage - Stores metadata for images uploaded to Cloudinary
  * Allows images to be synced across all user devices
  */
-@Entity(tableName = "cloudinary_images")
+@Entity(
+    tableName = "cloudinary_images",
+    indices = {
+        @Index("publicId"),
+        @Index(value = {"userId", "uploadedAt"})
+    }
+)
 public class CloudinaryImage {
     
     @PrimaryKey(autoGenerate = true)
@@ -1,9 +1,17 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "connected_devices")
+@Entity(
+    tableName = "connected_devices",
+    indices = {
+        @Index("deviceId"),
+        @Index(value = {"userId", "lastActive"}),
+        @Index(value = {"isActive", "lastActive"})
+    }
+)
 public class ConnectedDevice {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -5,6 +5,10 @@ import androidx.room.ForeignKey;
 import androidx.room.Ignore;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
 
 @Entity(
     tableName = "hearings",
@@ -14,7 +18,11 @@ import androidx.room.PrimaryKey;
         childColumns = "blotterReportId",
         onDelete = ForeignKey.CASCADE
     ),
-    indices = {@Index("blotterReportId")}
+    indices = {
+        @Index(value = {"blotterReportId", "hearingDate"}),
+        @Index(value = {"status", "scheduledAt"}),
+        @Index(value = {"approvalStatus", "createdAt"})
+    }
 )
 public class Hearing {
     @PrimaryKey(autoGenerate = true)
@@ -22,6 +30,7 @@ public class Hearing {
     private int blotterReportId;
     private String hearingDate;
     private String hearingTime;
+    private long scheduledAt; // Epoch millis of hearingDate + hearingTime, 0 if unparseable (set by HearingDao)
     private String location;
     private String purpose;
     private String status;
@@ -72,6 +81,8 @@ public class Hearing {
     public void setHearingDate(String hearingDate) { this.hearingDate = hearingDate; }
     public String getHearingTime() { return hearingTime; }
     public void setHearingTime(String hearingTime) { this.hearingTime = hearingTime; }
+    public long getScheduledAt() { return scheduledAt; }
+    public void setScheduledAt(long scheduledAt) { this.scheduledAt = scheduledAt; }
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     public String getPurpose() { return purpose; }
@@ -124,6 +135,27 @@ public class Hearing {
         return hearingDate != null && hearingTime != null;
     }
     
+    // ✅ Re-derive scheduledAt from the display strings (called before every insert/update)
+    public void refreshScheduledAt() {
+        this.scheduledAt = parseSchedule(hearingDate, hearingTime);
+    }
+    
+    /**
+     * Epoch millis for the "MMM dd, yyyy" / "hh:mm a" strings the hearing dialogs
+     * write, in the device time zone; 0 if either is missing or unparseable
+     */
+    public static long parseSchedule(String hearingDate, String hearingTime) {
+        if (hearingDate == null || hearingTime == null) return 0;
+        SimpleDateFormat format = new SimpleDateFormat("MMM dd, yyyy hh:mm a", Locale.getDefault());
+        format.setLenient(false);
+        try {
+            Date date = format.parse(hearingDate.trim() + " " + hearingTime.trim());
+            return date != null ? date.getTime() : 0;
+        } catch (ParseException e) {
+            return 0;
+        }
+    }
+    
     // Alias for compatibility
     public String getTitle() { return purpose != null ? purpose : "Hearing"; }
 }
@@ -1,9 +1,17 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "legal_documents")
+@Entity(
+    tableName = "legal_documents",
+    indices = {
+        @Index(value = {"reportId", "createdAt"}),
+        @Index(value = {"documentType", "createdAt"}),
+        @Index(value = {"status", "createdAt"})
+    }
+)
 public class LegalDocument {
     @PrimaryKey(autoGenerate = true)
     private int id;
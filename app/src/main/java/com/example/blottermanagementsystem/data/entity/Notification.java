@@ -1,9 +1,15 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "notifications")
+@Entity(
+    tableName = "notifications",
+    indices = {
+        @Index(value = {"userId", "isRead", "timestamp"})
+    }
+)
 public class Notification {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -1,9 +1,18 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "officers")
+@Entity(
+    tableName = "officers",
+    indices = {
+        @Index("userId"),
+        @Index("badgeNumber"),
+        @Index("name"),
+        @Index("isAvailable")
+    }
+)
 public class Officer {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -1,10 +1,17 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "person")
+@Entity(
+    tableName = "person",
+    indices = {
+        @Index(value = {"isActive", "lastName", "firstName"}),
+        @Index(value = {"personType", "isActive"})
+    }
+)
 public class Person {
     @PrimaryKey(autoGenerate = true)
     private int id;
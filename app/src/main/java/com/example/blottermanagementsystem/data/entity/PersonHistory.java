@@ -11,7 +11,10 @@ import androidx.room.PrimaryKey;
         @ForeignKey(entity = Person.class, parentColumns = "id", childColumns = "personId", onDelete = ForeignKey.CASCADE),
         @ForeignKey(entity = BlotterReport.class, parentColumns = "id", childColumns = "blotterReportId", onDelete = ForeignKey.CASCADE)
     },
-    indices = {@Index("personId"), @Index("blotterReportId")}
+    indices = {
+        @Index(value = {"personId", "blotterReportId"}),
+        @Index(value = {"blotterReportId", "personId"})
+    }
 )
 public class PersonHistory {
     @PrimaryKey(autoGenerate = true)
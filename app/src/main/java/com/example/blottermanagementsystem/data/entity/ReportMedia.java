@@ -0,0 +1,141 @@
+package com.example.blottermanagementsystem.data.entity;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One row per attachment (photo, video or audio clip) of a report.
+ * Derived from BlotterReport.imageUris / videoUris / audioUris on every write
+ * (see BlotterReportDao), which stay the wire format; rows keep their hash, size
+ * and upload state across rewrites as long as the URI is unchanged.
+ */
+@Entity(
+    tableName = "report_media",
+    foreignKeys = @ForeignKey(
+        entity = BlotterReport.class,
+        parentColumns = "id",
+        childColumns = "reportId",
+        onDelete = ForeignKey.CASCADE
+    ),
+    indices = {
+        @Index(value = {"reportId", "mediaType", "position"}),
+        @Index(value = {"uploadState"}),
+        @Index(value = {"sha256"})
+    }
+)
+public class ReportMedia {
+    public static final String TYPE_IMAGE = "IMAGE";
+    public static final String TYPE_VIDEO = "VIDEO";
+    public static final String TYPE_AUDIO = "AUDIO";
+
+    public static final String STATE_LOCAL = "LOCAL";         // Only on this device
+    public static final String STATE_UPLOADING = "UPLOADING";
+    public static final String STATE_UPLOADED = "UPLOADED";
+    public static final String STATE_FAILED = "FAILED";
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+    private int reportId;
+    private String mediaType;
+    private int position;       // Order within its type, as in the legacy list
+    private String uri;
+    private String remoteUrl;
+    private long sizeBytes;
+    private long durationMs;
+    private String sha256;
+    private String uploadState;
+    private String uploadId;    // MediaUploadManager id while an upload is running
+
+    public ReportMedia() {
+        this.uploadState = STATE_LOCAL;
+    }
+
+    @Ignore
+    public ReportMedia(int reportId, String mediaType, int position, String uri, long durationMs) {
+        this.reportId = reportId;
+        this.mediaType = mediaType;
+        this.position = position;
+        this.uri = uri;
+        this.durationMs = durationMs;
+        if (isRemote(uri)) {
+            this.remoteUrl = uri;
+            this.uploadState = STATE_UPLOADED;
+        } else {
+            this.uploadState = STATE_LOCAL;
+        }
+    }
+
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+    public int getReportId() { return reportId; }
+    public void setReportId(int reportId) { this.reportId = reportId; }
+    public String getMediaType() { return mediaType; }
+    public void setMediaType(String mediaType) { this.mediaType = mediaType; }
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+    public String getUri() { return uri; }
+    public void setUri(String uri) { this.uri = uri; }
+    public String getRemoteUrl() { return remoteUrl; }
+    public void setRemoteUrl(String remoteUrl) { this.remoteUrl = remoteUrl; }
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public String getUploadState() { return uploadState; }
+    public void setUploadState(String uploadState) { this.uploadState = uploadState; }
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+
+    private static boolean isRemote(String uri) {
+        return uri.startsWith("http://") || uri.startsWith("https://");
+    }
+
+    /**
+     * Splits the legacy comma-separated columns of a report into rows, in
+     * list order. Durations line up with the URIs by index; missing or
+     * malformed ones become 0. The single audioUri column is used only when
+     * audioUris is empty.
+     */
+    public static List<ReportMedia> fromLegacyColumns(int reportId, String imageUris, String videoUris,
+                                                      String videoDurations, String audioUri,
+                                                      String audioUris, String audioDurations) {
+        List<ReportMedia> media = new ArrayList<>();
+        addAll(media, reportId, TYPE_IMAGE, imageUris, null);
+        addAll(media, reportId, TYPE_VIDEO, videoUris, videoDurations);
+        boolean hasAudioList = audioUris != null && !audioUris.trim().isEmpty();
+        addAll(media, reportId, TYPE_AUDIO, hasAudioList ? audioUris : audioUri, audioDurations);
+        return media;
+    }
+
+    public static List<ReportMedia> fromReport(BlotterReport report) {
+        return fromLegacyColumns(report.getId(), report.getImageUris(), report.getVideoUris(),
+                report.getVideoDurations(), report.getAudioUri(), report.getAudioUris(), report.getAudioDurations());
+    }
+
+    private static void addAll(List<ReportMedia> out, int reportId, String type, String uris, String durations) {
+        if (uris == null || uris.trim().isEmpty()) return;
+        String[] durationParts = durations != null ? durations.split(",") : new String[0];
+        int position = 0;
+        String[] parts = uris.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            String uri = parts[i].trim();
+            if (uri.isEmpty()) continue;
+            long duration = 0;
+            if (i < durationParts.length) {
+                try {
+                    duration = Long.parseLong(durationParts[i].trim());
+                } catch (NumberFormatException e) {
+                    // Ignore malformed entries
+                }
+            }
+            out.add(new ReportMedia(reportId, type, position++, uri, duration));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.blottermanagementsystem.data.entity;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * One row per (report, officer) assignment.
+ * Derived from BlotterReport.assignedOfficerId / assignedOfficerIds on every write
+ * (see BlotterReportDao), so officer caseload lookups are index seeks instead of LIKE scans.
+ */
+@Entity(
+    tableName = "report_officer",
+    primaryKeys = {"reportId", "officerId"},
+    foreignKeys = @ForeignKey(
+        entity = BlotterReport.class,
+        parentColumns = "id",
+        childColumns = "reportId",
+        onDelete = ForeignKey.CASCADE
+    ),
+    indices = {@Index(value = {"officerId", "reportId"})}
+)
+public class ReportOfficer {
+    private int reportId;
+    private int officerId;
+
+    public ReportOfficer(int reportId, int officerId) {
+        this.reportId = reportId;
+        this.officerId = officerId;
+    }
+
+    public int getReportId() { return reportId; }
+    public void setReportId(int reportId) { this.reportId = reportId; }
+    public int getOfficerId() { return officerId; }
+    public void setOfficerId(int officerId) { this.officerId = officerId; }
+
+    /**
+     * Parses the legacy single-officer column plus the comma-separated list
+     * into a de-duplicated set of officer IDs. Blank or non-numeric entries are ignored.
+     */
+    public static Set<Integer> parseOfficerIds(Integer assignedOfficerId, String assignedOfficerIds) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        if (assignedOfficerId != null && assignedOfficerId > 0) {
+            ids.add(assignedOfficerId);
+        }
+        if (assignedOfficerIds != null && !assignedOfficerIds.trim().isEmpty()) {
+            for (String part : assignedOfficerIds.split(",")) {
+                try {
+                    int id = Integer.parseInt(part.trim());
+                    if (id > 0) ids.add(id);
+                } catch (NumberFormatException e) {
+                    // Ignore malformed entries
+                }
+            }
+        }
+        return ids;
+    }
+}
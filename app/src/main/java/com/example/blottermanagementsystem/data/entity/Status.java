@@ -1,9 +1,15 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "status")
+@Entity(
+    tableName = "status",
+    indices = {
+        @Index("name")
+    }
+)
 public class Status {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -0,0 +1,24 @@
+package com.example.blottermanagementsystem.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Server-issued delta sync cursor, one row per sync stream (e.g. "changes").
+ * Kept in Room so the cursor advances in the same transaction as the merged rows
+ * and is dropped together with them if the local store is ever rebuilt.
+ */
+@Entity(tableName = "sync_cursors")
+public class SyncCursor {
+    @PrimaryKey @NonNull private String stream;
+    private String cursor; private long updatedAt;
+
+    public SyncCursor(@NonNull String stream, String cursor) {
+        this.stream = stream; this.cursor = cursor; this.updatedAt = System.currentTimeMillis();
+    }
+
+    @NonNull public String getStream() { return stream; } public void setStream(@NonNull String stream) { this.stream = stream; }
+    public String getCursor() { return cursor; } public void setCursor(String cursor) { this.cursor = cursor; }
+    public long getUpdatedAt() { return updatedAt; } public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+}
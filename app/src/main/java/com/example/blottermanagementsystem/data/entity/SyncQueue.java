@@ -1,9 +1,16 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "sync_queue")
+@Entity(
+    tableName = "sync_queue",
+    indices = {
+        @Index(value = {"synced", "timestamp"}),
+        @Index(value = {"synced", "entityType", "entityId"})
+    }
+)
 public class SyncQueue {
     @PrimaryKey(autoGenerate = true) private int id;
     private String entityType; private int entityId; private String action; private String data; private long timestamp; private int retryCount; private String lastError; private boolean synced;
@@ -1,10 +1,19 @@
 package com.example.blottermanagementsystem.data.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "users")
+@Entity(
+    tableName = "users",
+    indices = {
+        @Index("username"),
+        @Index("email"),
+        @Index("role"),
+        @Index("apiId")
+    }
+)
 public class User {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -33,6 +42,10 @@ public class User {
     
     // ✅ Track authentication method: "EMAIL_PASSWORD" or "GOOGLE"
     private String authMethod;
+    
+    // ✅ Delta sync bookkeeping (set by backend)
+    private long updatedAt;
+    private int version;
 
     // No-arg constructor required by Room
     public User() {
@@ -250,4 +263,20 @@ public class User {
     public void setHasSeenTooltips(boolean hasSeenTooltips) {
         this.hasSeenTooltips = hasSeenTooltips;
     }
+    
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
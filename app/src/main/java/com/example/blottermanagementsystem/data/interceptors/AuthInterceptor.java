@@ -1,9 +1,8 @@
 package com.example.blottermanagementsystem.data.interceptors;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 
-import com.example.blottermanagementsystem.config.AppConfig;
+import com.example.blottermanagementsystem.utils.PreferencesManager;
 
 import okhttp3.Interceptor;
 import okhttp3.Request;
@@ -13,22 +12,18 @@ import okhttp3.Response;
  * HTTP Interceptor for adding authentication token to requests
  */
 public class AuthInterceptor implements Interceptor {
-    private final Context context;
+    private final PreferencesManager preferencesManager;
     
     public AuthInterceptor(Context context) {
-        this.context = context;
+        this.preferencesManager = new PreferencesManager(context);
     }
     
     @Override
     public Response intercept(Chain chain) throws java.io.IOException {
         Request originalRequest = chain.request();
         
-        // Get token from SharedPreferences
-        SharedPreferences prefs = context.getSharedPreferences(
-            AppConfig.PREFS_NAME, 
-            Context.MODE_PRIVATE
-        );
-        String token = prefs.getString(AppConfig.PREFS_USER_TOKEN, null);
+        // Token is stored Keystore-encrypted; decrypted once and cached in memory
+        String token = preferencesManager.getAuthToken();
         
         // Add token to request if available
         Request.Builder requestBuilder = originalRequest.newBuilder();
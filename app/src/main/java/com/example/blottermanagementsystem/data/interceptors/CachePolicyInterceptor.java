@@ -0,0 +1,145 @@
+package com.example.blottermanagementsystem.data.interceptors;
+
+import android.util.Log;
+
+import com.example.blottermanagementsystem.config.AppConfig;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HTTP network interceptor applying per-endpoint cache lifetimes
+ *
+ * The backend sends no Cache-Control, so without this nothing would be stored.
+ * Each GET under a known path gets "private, max-age=TTL" (TTL 0 = store, but
+ * revalidate every time). ETag / Last-Modified from the server are kept, so the
+ * OkHttp Cache sends If-None-Match / If-Modified-Since once an entry is stale and
+ * serves the stored body on 304 Not Modified.
+ *
+ * Responses vary on Authorization, so one account never reads another's cached data.
+ * A successful write (POST/PUT/DELETE) under a path drops the cached GETs for it.
+ *
+ * Reports, user profiles and sync deltas are NO_STORE: the disk cache is
+ * plaintext, and Room (encrypted with AppConfig.ENCRYPT_DATABASE) already keeps
+ * them offline.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+    private static final String TAG = AppConfig.LOG_TAG;
+
+    private static final int NO_STORE = -1;
+
+    // Longest prefix first; seconds
+    private static final Map<String, Integer> POLICIES = new LinkedHashMap<>();
+    static {
+        POLICIES.put("api/admin/statistics", 30);     // dashboard counters, cheap to recompute
+        POLICIES.put("api/officers", 60 * 60);        // roster rarely changes
+        POLICIES.put("api/users", NO_STORE);
+        POLICIES.put("api/hearings", 60);
+        POLICIES.put("api/reports", NO_STORE);
+        POLICIES.put("api/notifications", 0);         // always revalidate
+        POLICIES.put("api/sync", NO_STORE);           // report and user deltas
+    }
+
+    private final Cache cache;
+
+    public CachePolicyInterceptor(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        String prefix = matchPolicy(request);
+        if (prefix == null) {
+            return response;
+        }
+
+        if (!"GET".equals(request.method())) {
+            if (response.isSuccessful()) {
+                invalidate(prefix);
+            }
+            return response;
+        }
+
+        String serverPolicy = response.header("Cache-Control");
+        if (serverPolicy != null && serverPolicy.contains("no-store")) {
+            return response;
+        }
+        if (!response.isSuccessful() && response.code() != 304) {
+            return response;
+        }
+
+        int maxAge = POLICIES.get(prefix);
+        if (maxAge == NO_STORE) {
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .header("Cache-Control", "no-store")
+                    .build();
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "private, max-age=" + maxAge)
+                .header("Vary", "Authorization")
+                .build();
+    }
+
+    private static String matchPolicy(Request request) {
+        String path = request.url().encodedPath();
+        for (String prefix : POLICIES.keySet()) {
+            if (path.startsWith("/" + prefix)) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes entries stored before their path became NO_STORE (e.g. by an
+     * older app version). Blocking; call off the main thread.
+     */
+    public static void evictNoStoreEntries(Cache cache) {
+        for (Map.Entry<String, Integer> policy : POLICIES.entrySet()) {
+            if (policy.getValue() == NO_STORE) {
+                invalidate(cache, policy.getKey());
+            }
+        }
+    }
+
+    /**
+     * OkHttp only invalidates the exact URL written to; a PUT to api/officers/5
+     * would otherwise leave the api/officers list cached for an hour.
+     */
+    private void invalidate(String prefix) {
+        invalidate(cache, prefix);
+    }
+
+    private static void invalidate(Cache cache, String prefix) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            int removed = 0;
+            Iterator<String> urls = cache.urls();
+            while (urls.hasNext()) {
+                if (urls.next().contains("/" + prefix)) {
+                    urls.remove();
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                Log.d(TAG, "🗑️ Invalidated " + removed + " cached responses under " + prefix);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "⚠️ Could not invalidate cache for " + prefix + ": " + e.getMessage());
+        }
+    }
+}
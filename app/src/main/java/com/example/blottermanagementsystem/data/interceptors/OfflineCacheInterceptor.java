@@ -0,0 +1,78 @@
+package com.example.blottermanagementsystem.data.interceptors;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.blottermanagementsystem.config.AppConfig;
+import com.example.blottermanagementsystem.utils.NetworkUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HTTP interceptor serving GETs from the disk cache when the network can't
+ *
+ * - No connectivity: the request goes straight to the cache (any age up to MAX_STALE_DAYS)
+ * - Connectivity but the request fails (weak signal, timeout): retried against the cache
+ *
+ * With nothing cached OkHttp answers 504, which callers already treat as an error.
+ * Responses served this way carry OFFLINE_HEADER, so callers that mirror the
+ * data locally (ReportPager) can tell a week-old copy from a live reply.
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+    private static final String TAG = AppConfig.LOG_TAG;
+    private static final int MAX_STALE_DAYS = 7;
+    public static final String OFFLINE_HEADER = "X-Offline-Cache";
+
+    private final Context context;
+
+    public OfflineCacheInterceptor(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+
+        if (!NetworkUtils.isInternetAvailable(context)) {
+            Log.d(TAG, "📴 Offline - serving from cache: " + request.url());
+            return markOffline(chain.proceed(cacheOnly(request)));
+        }
+
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            Response cached = chain.proceed(cacheOnly(request));
+            if (cached.code() == 504) {
+                cached.close();
+                throw e;
+            }
+            Log.w(TAG, "⚠️ Network failed (" + e.getMessage() + ") - serving cached " + request.url());
+            return markOffline(cached);
+        }
+    }
+
+    private static Response markOffline(Response response) {
+        if (response.code() == 504) {
+            return response;
+        }
+        return response.newBuilder().header(OFFLINE_HEADER, "1").build();
+    }
+
+    private static Request cacheOnly(Request request) {
+        return request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(MAX_STALE_DAYS, TimeUnit.DAYS)
+                        .build())
+                .build();
+    }
+}
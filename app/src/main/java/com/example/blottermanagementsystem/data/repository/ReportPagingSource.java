@@ -0,0 +1,140 @@
+package com.example.blottermanagementsystem.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LiveData;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingState;
+import androidx.room.InvalidationTracker;
+import com.example.blottermanagementsystem.data.dao.BlotterReportDao;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ReportPagingSource - Keyset-paged blotter reports, newest first.
+ * Each page seeks past the last (dateFiled, id) seen instead of using OFFSET,
+ * so page N costs the same as page 1. Invalidates itself when blotter_reports changes.
+ */
+public class ReportPagingSource extends ListenableFuturePagingSource<ReportPagingSource.Key, BlotterReport> {
+    
+    public static final int PAGE_SIZE = 20;
+    
+    /**
+     * One keyset page query against BlotterReportDao
+     */
+    public interface PageQuery {
+        List<BlotterReport> load(BlotterReportDao dao, long beforeDate, int beforeId, int limit);
+    }
+    
+    /**
+     * Position after the last row of the previous page
+     */
+    public static class Key {
+        final long beforeDate;
+        final int beforeId;
+        
+        Key(long beforeDate, int beforeId) {
+            this.beforeDate = beforeDate;
+            this.beforeId = beforeId;
+        }
+    }
+    
+    private static final Key FIRST_PAGE = new Key(Long.MAX_VALUE, Integer.MAX_VALUE);
+    
+    private final BlotterDatabase database;
+    private final PageQuery query;
+    private final InvalidationTracker.Observer observer;
+    
+    public ReportPagingSource(BlotterDatabase database, PageQuery query) {
+        this.database = database;
+        this.query = query;
+        this.observer = new InvalidationTracker.Observer("blotter_reports") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        };
+        database.getInvalidationTracker().addObserver(observer);
+        registerInvalidatedCallback(() -> {
+            database.getInvalidationTracker().removeObserver(observer);
+            return kotlin.Unit.INSTANCE;
+        });
+    }
+    
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<Key, BlotterReport>> loadFuture(@NonNull LoadParams<Key> params) {
+        Key key = params.getKey() != null ? params.getKey() : FIRST_PAGE;
+        int limit = params.getLoadSize();
+        
+        ListenableFutureTask<LoadResult<Key, BlotterReport>> task = ListenableFutureTask.create(() -> {
+            try {
+                List<BlotterReport> rows = query.load(database.blotterReportDao(), key.beforeDate, key.beforeId, limit);
+                database.reportMediaDao().attachCounts(rows);
+                Key nextKey = null;
+                if (rows.size() == limit) {
+                    BlotterReport last = rows.get(rows.size() - 1);
+                    nextKey = new Key(last.getDateFiled(), last.getId());
+                }
+                // Append-only: refreshes always restart from the newest report
+                return new LoadResult.Page<>(rows, null, nextKey);
+            } catch (Exception e) {
+                return new LoadResult.Error<>(e);
+            }
+        });
+        database.getQueryExecutor().execute(task);
+        return task;
+    }
+    
+    @Nullable
+    @Override
+    public Key getRefreshKey(@NonNull PagingState<Key, BlotterReport> state) {
+        return null;
+    }
+    
+    // ==================== Factories ====================
+    
+    public static ReportPagingSource activeReports(BlotterDatabase database) {
+        return new ReportPagingSource(database, BlotterReportDao::getActiveReportsPage);
+    }
+    
+    public static ReportPagingSource archivedReports(BlotterDatabase database) {
+        return new ReportPagingSource(database, BlotterReportDao::getArchivedReportsPage);
+    }
+    
+    public static ReportPagingSource reportsByUser(BlotterDatabase database, int userId) {
+        return new ReportPagingSource(database, (dao, beforeDate, beforeId, limit) ->
+                dao.getReportsByUserPage(userId, beforeDate, beforeId, limit));
+    }
+    
+    public static ReportPagingSource reportsByOfficer(BlotterDatabase database, int officerId) {
+        return new ReportPagingSource(database, (dao, beforeDate, beforeId, limit) ->
+                dao.getReportsByOfficerPage(officerId, beforeDate, beforeId, limit));
+    }
+    
+    public static ReportPagingSource reportsByStatus(BlotterDatabase database, List<String> statuses) {
+        return new ReportPagingSource(database, (dao, beforeDate, beforeId, limit) ->
+                dao.getReportsByStatusPage(statuses, beforeDate, beforeId, limit));
+    }
+    
+    /**
+     * Builds a lifecycle-cached PagingData stream. The factory is called again
+     * every time the previous source is invalidated.
+     */
+    public static LiveData<PagingData<BlotterReport>> pagedReports(
+            kotlin.jvm.functions.Function0<ReportPagingSource> factory, Lifecycle lifecycle) {
+        Pager<Key, BlotterReport> pager = new Pager<>(
+                new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, PAGE_SIZE * 2),
+                factory);
+        return PagingLiveData.cachedIn(PagingLiveData.getLiveData(pager), lifecycle);
+    }
+}
@@ -0,0 +1,435 @@
+package com.example.blottermanagementsystem.data.repository;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.example.blottermanagementsystem.data.api.ApiClient;
+import com.example.blottermanagementsystem.data.api.ApiConfig;
+import com.example.blottermanagementsystem.data.api.ApiResponse;
+import com.example.blottermanagementsystem.data.api.ReportPager;
+import com.example.blottermanagementsystem.data.api.ReportQuery;
+import com.example.blottermanagementsystem.data.dao.BlotterReportDao;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.entity.ReportMedia;
+import com.example.blottermanagementsystem.data.entity.SyncQueue;
+import com.example.blottermanagementsystem.data.entity.User;
+import com.example.blottermanagementsystem.utils.AppExecutors;
+import com.example.blottermanagementsystem.utils.MediaUploadManager;
+import com.example.blottermanagementsystem.utils.PreferencesManager;
+import com.example.blottermanagementsystem.workers.ReportOutboxWorker;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import retrofit2.Response;
+
+/**
+ * Single source of truth for blotter reports (stale-while-revalidate).
+ *
+ * Reads always come from Room, so a screen renders whatever is cached at once.
+ * The network is consulted only when the last download is older than FRESH_FOR_MS,
+ * and every caller that asks while a download is running joins that download
+ * instead of starting another. Refreshed rows land in Room, which re-emits to
+ * every LiveData observer.
+ *
+ * Freshness and de-duplication are tracked per scope (all reports, or one
+ * user's reports), so a citizen's dashboard only downloads that citizen's
+ * reports via the server-side userId filter, page by page.
+ *
+ * New reports are written here first (submitReport) and uploaded later by
+ * ReportOutboxWorker, so filing a report never waits on the network.
+ */
+public class ReportRepository {
+    private static final String TAG = "ReportRepository";
+    public static final String ENTITY_REPORT = "BlotterReport";    // SyncQueue.entityType
+    public static final String ACTION_SUBMIT = "SUBMIT";            // SyncQueue.action, drained by ReportOutboxWorker
+    private static final long FRESH_FOR_MS = 30_000;
+    private static final int DELETE_CHUNK = 500;                    // stays under SQLite's bind limit
+    private static final int PAGE_SIZE = 200;
+
+    private static volatile ReportRepository INSTANCE;
+
+    private final Context context;
+    private final AppExecutors executors;
+    private final MutableLiveData<Boolean> refreshing = new MutableLiveData<>(false);
+
+    private final Object lock = new Object();
+    // Keyed by ReportQuery.key(); a key present in inFlight has a download running
+    private final Map<String, List<ApiRepository.ApiCallback<Boolean>>> inFlight = new HashMap<>();
+    private final Map<String, Long> lastRefreshAt = new HashMap<>();   // elapsedRealtime of the last successful download
+
+    private ReportRepository(Context context) {
+        this.context = context;
+        this.executors = AppExecutors.getInstance();
+    }
+
+    public static ReportRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ReportRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ReportRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // Looked up per use: a backup restore closes and reopens the database under this singleton
+    private BlotterDatabase database() {
+        return BlotterDatabase.getDatabase(context);
+    }
+
+    private BlotterReportDao reportDao() {
+        return database().blotterReportDao();
+    }
+
+    // ==================== Observable queries ====================
+
+    public LiveData<List<BlotterReport>> observeActiveReports() {
+        refresh(false, null);
+        return reportDao().observeActiveReports();
+    }
+
+    public LiveData<List<BlotterReport>> observeReportsByUser(int userId) {
+        refresh(forUser(userId), false, null);
+        return reportDao().observeReportsByUser(userId);
+    }
+
+    public LiveData<List<BlotterReport>> observeReportsByAssignedOfficer(int officerId) {
+        refresh(false, null);
+        return reportDao().observeReportsByAssignedOfficer(officerId);
+    }
+
+    public LiveData<Boolean> isRefreshing() {
+        return refreshing;
+    }
+
+    // ==================== One-shot read ====================
+
+    /**
+     * Drop-in for ApiClient.getAllReports(). Cached rows are delivered right away;
+     * if they were stale the callback fires a second time once the refresh lands.
+     * With an empty cache it waits for the network. Callbacks run on the main thread.
+     */
+    public void getAllReports(ApiRepository.ApiCallback<List<BlotterReport>> callback) {
+        load(all(), reportDao()::getAllReports, callback);
+    }
+
+    /**
+     * Every report filed by one user (archived included), refreshed with the
+     * server-side userId filter instead of downloading the whole table.
+     */
+    public void getReportsByUser(int userId, ApiRepository.ApiCallback<List<BlotterReport>> callback) {
+        load(forUser(userId), () -> reportDao().getAllReportsByUser(userId), callback);
+    }
+
+    private void load(ReportQuery scope, Callable<List<BlotterReport>> read,
+                      ApiRepository.ApiCallback<List<BlotterReport>> callback) {
+        executors.diskIO().execute(() -> {
+            List<BlotterReport> cached = readQuietly(read);
+            boolean hasCache = !cached.isEmpty();
+            if (hasCache) {
+                executors.mainThread().execute(() -> callback.onSuccess(cached));
+            }
+
+            refresh(scope, false, new ApiRepository.ApiCallback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean downloaded) {
+                    if (hasCache && !downloaded) return;
+                    executors.diskIO().execute(() -> {
+                        List<BlotterReport> fresh = readQuietly(read);
+                        executors.mainThread().execute(() -> callback.onSuccess(fresh));
+                    });
+                }
+
+                @Override
+                public void onError(String error) {
+                    // Stale data already shown; only a cold cache surfaces the failure
+                    if (!hasCache) callback.onError(error);
+                }
+            });
+        });
+    }
+
+    private List<BlotterReport> readQuietly(Callable<List<BlotterReport>> read) {
+        try {
+            List<BlotterReport> reports = read.call();
+            database().reportMediaDao().attachCounts(reports);
+            return reports;
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Cached report read failed: " + e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    // ==================== Local-first submission ====================
+
+    /**
+     * Saves a new report in Room together with its outbox row and schedules the
+     * upload. The callback fires once the local write commits, online or not.
+     * Until the upload succeeds the report carries a negative local id, so it
+     * can never collide with a server id, and pruning leaves it alone.
+     */
+    public void submitReport(BlotterReport report, ApiRepository.ApiCallback<BlotterReport> callback) {
+        submitReport(report, Collections.emptyList(), callback);
+    }
+
+    /**
+     * Same as submitReport(report, callback), also recording hash, size and
+     * duration for attachments. Collect them first (EvidenceProcessor.handOff);
+     * only the Room write runs on the disk thread. Entries are matched to the
+     * report's attachments by uri.
+     */
+    public void submitReport(BlotterReport report, List<ReportMedia> attachments,
+                             ApiRepository.ApiCallback<BlotterReport> callback) {
+        executors.diskIO().execute(() -> {
+            try {
+                database().runInTransaction(() -> {
+                    ensureLocalOwner(report.getUserId());
+                    report.setId(Math.min(reportDao().getMinReportId(), 0) - 1);
+                    report.setApiId(null);
+                    reportDao().insertReport(report);
+                    for (ReportMedia media : attachments) {
+                        database().reportMediaDao().updateMetadata(report.getId(), media.getUri(),
+                                media.getSha256(), media.getSizeBytes(), media.getDurationMs());
+                    }
+                    // The case number doubles as the idempotency key for every upload attempt
+                    database().syncQueueDao().insertSyncQueue(
+                            new SyncQueue(ENTITY_REPORT, report.getId(), ACTION_SUBMIT, report.getCaseNumber()));
+                });
+                Log.d(TAG, "📥 Report " + report.getCaseNumber() + " saved locally (#" + report.getId() + "), queued for upload");
+
+                ReportOutboxWorker.enqueue(context);
+                executors.mainThread().execute(() -> callback.onSuccess(report));
+            } catch (Exception e) {
+                Log.e(TAG, "❌ Could not save report locally: " + e.getMessage(), e);
+                executors.mainThread().execute(() -> callback.onError("Could not save report: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Called by ReportOutboxWorker once the server holds the report. The local
+     * draft is swapped for the server copy (keyed by server id, like every other
+     * cloud row). A null copy means the server already had it; the next refresh
+     * brings it in.
+     */
+    public void completeSubmission(SyncQueue item, BlotterReport server) {
+        boolean[] needsRefresh = {server == null};
+        database().runInTransaction(() -> {
+            // Attachment hashes were recorded on the draft; carry them over to the server copy
+            List<ReportMedia> draftMedia = database().reportMediaDao().getMediaForReport(item.getEntityId());
+            reportDao().deleteReportsByIds(Collections.singletonList(item.getEntityId()));
+            if (server != null && server.getId() > 0) {
+                if (server.getApiId() == null) server.setApiId(server.getId());
+                if (database().userDao().getUserById(server.getUserId()) != null) {
+                    reportDao().upsertReports(Collections.singletonList(server));
+                    for (ReportMedia media : draftMedia) {
+                        if (media.getSha256() == null) continue;
+                        database().reportMediaDao().updateMetadata(server.getId(), media.getUri(),
+                                media.getSha256(), media.getSizeBytes(), media.getDurationMs());
+                    }
+                } else {
+                    needsRefresh[0] = true;
+                }
+            }
+            database().syncQueueDao().markSynced(Collections.singletonList(item.getId()));
+        });
+        if (needsRefresh[0]) {
+            refresh(true, null);
+        } else {
+            // Evidence still only on this device goes up now that the report has a server id
+            int queued = MediaUploadManager.getInstance(context).uploadLocalMedia(server.getId());
+            if (queued > 0) Log.d(TAG, "📤 Queued " + queued + " attachments of report #" + server.getId());
+        }
+    }
+
+    /**
+     * Reports reference users (foreign key). A reporter working offline may never
+     * have been cached, so a stub is written from the session; the next user
+     * download overwrites it with the full row.
+     */
+    private void ensureLocalOwner(int userId) {
+        if (database().userDao().getUserById(userId) != null) return;
+
+        PreferencesManager session = new PreferencesManager(context);
+        User stub = new User(session.getFirstName(), session.getLastName(), session.getUsername(), null, session.getUserRole());
+        stub.setId(userId);
+        database().userDao().insertUser(stub);
+        Log.d(TAG, "👤 Cached session user #" + userId + " as report owner");
+    }
+
+    // ==================== Refresh ====================
+
+    /**
+     * Downloads the report list unless the cache is fresh (or force is set).
+     * The callback receives true if a download was applied, false if the cache
+     * was fresh enough to skip it.
+     */
+    public void refresh(boolean force, ApiRepository.ApiCallback<Boolean> callback) {
+        refresh(all(), force, callback);
+    }
+
+    private void refresh(ReportQuery scope, boolean force, ApiRepository.ApiCallback<Boolean> callback) {
+        String key = scope.key();
+        synchronized (lock) {
+            List<ApiRepository.ApiCallback<Boolean>> waiters = inFlight.get(key);
+            Long last = lastRefreshAt.get(key);
+            boolean fresh = last != null && SystemClock.elapsedRealtime() - last < FRESH_FOR_MS;
+            if (!force && fresh && waiters == null) {
+                if (callback != null) executors.mainThread().execute(() -> callback.onSuccess(false));
+                return;
+            }
+            if (waiters != null) {
+                if (callback != null) waiters.add(callback);
+                Log.d(TAG, "⏳ Joining in-flight report download (" + key + ")");
+                return;
+            }
+            waiters = new ArrayList<>();
+            if (callback != null) waiters.add(callback);
+            inFlight.put(key, waiters);
+        }
+
+        refreshing.postValue(true);
+        executors.networkIO().execute(() -> download(scope));
+    }
+
+    private void download(ReportQuery scope) {
+        long startedAt = SystemClock.elapsedRealtime();
+        try {
+            // Each page is fetched outside any transaction and written in its own short one;
+            // only the ids are kept. Pruning needs the complete set, so it runs last and is
+            // skipped if any page fails (including an offline-cached page ReportPager rejects).
+            ReportPager pager = ApiClient.pageReports(scope);
+            Set<Integer> pending = new HashSet<>(database().syncQueueDao().getPendingEntityIds(ENTITY_REPORT));
+            Set<Integer> downloadedIds = new HashSet<>();
+            while (pager.hasNext()) {
+                List<BlotterReport> page = pager.next();
+                Set<Integer> ownersPresent = ensureOwners(page);
+                database().runInTransaction(() -> storePage(page, ownersPresent, pending, downloadedIds));
+            }
+            database().runInTransaction(() -> prune(scope, downloadedIds, pending));
+            int stored = downloadedIds.size();
+
+            long now = SystemClock.elapsedRealtime();
+            synchronized (lock) {
+                // A full download also covers every narrower scope
+                if (scope.isUnfiltered()) {
+                    for (Map.Entry<String, Long> entry : lastRefreshAt.entrySet()) entry.setValue(now);
+                }
+                lastRefreshAt.put(scope.key(), now);
+            }
+            Log.d(TAG, "✅ Refreshed " + stored + " reports (" + pager.getPagesFetched() + " pages) in "
+                    + (now - startedAt) + "ms");
+            finish(scope, null);
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Report refresh failed: " + e.getMessage(), e);
+            finish(scope, e.getMessage() != null ? e.getMessage() : "Network error");
+        }
+    }
+
+    /**
+     * Upserts one downloaded page and records its ids. Rows with unpushed local
+     * edits are left alone. Database only; owners are fetched beforehand.
+     */
+    private void storePage(List<BlotterReport> reports, Set<Integer> ownersPresent,
+                           Set<Integer> pending, Set<Integer> downloadedIds) {
+        List<BlotterReport> toWrite = new ArrayList<>();
+        int orphans = 0;
+        for (BlotterReport report : reports) {
+            downloadedIds.add(report.getId());
+            if (pending.contains(report.getId())) continue;
+            if (!ownersPresent.contains(report.getUserId())) {
+                orphans++;
+                continue;
+            }
+            // Cloud rows keep the server id as their local id (same as SyncManager)
+            if (report.getApiId() == null) report.setApiId(report.getId());
+            toWrite.add(report);
+        }
+        if (orphans > 0) {
+            Log.w(TAG, "⚠️ Skipped " + orphans + " reports whose owner could not be cached");
+        }
+
+        reportDao().upsertReports(toWrite);
+    }
+
+    /**
+     * Deletes server rows in the scope that were not downloaded, except rows
+     * with unpushed local edits. Called once the last page has been stored.
+     */
+    private void prune(ReportQuery scope, Set<Integer> downloadedIds, Set<Integer> pending) {
+        List<Integer> candidates = scope.isUnfiltered()
+                ? reportDao().getServerReportIds()
+                : reportDao().getServerReportIdsByUser(scope.getUserId());
+        List<Integer> removed = new ArrayList<>();
+        for (Integer id : candidates) {
+            if (!downloadedIds.contains(id) && !pending.contains(id)) removed.add(id);
+        }
+        for (int from = 0; from < removed.size(); from += DELETE_CHUNK) {
+            reportDao().deleteReportsByIds(removed.subList(from, Math.min(from + DELETE_CHUNK, removed.size())));
+        }
+    }
+
+    /**
+     * Reports reference users (foreign key), so missing owners are fetched
+     * first. Returns the owner ids that are cached afterwards.
+     */
+    private Set<Integer> ensureOwners(List<BlotterReport> reports) {
+        Set<Integer> ownerIds = new HashSet<>();
+        for (BlotterReport report : reports) ownerIds.add(report.getUserId());
+        if (ownerIds.isEmpty()) return ownerIds;
+
+        Set<Integer> present = new HashSet<>(database().userDao().getExistingUserIds(new ArrayList<>(ownerIds)));
+        if (present.size() == ownerIds.size()) return present;
+
+        try {
+            Response<ApiResponse<List<User>>> response = ApiConfig.getApiService().getAllUsers().execute();
+            if (response.isSuccessful() && response.body() != null && response.body().isSuccess()
+                    && response.body().getData() != null) {
+                database().userDao().upsertUsers(response.body().getData());
+                present = new HashSet<>(database().userDao().getExistingUserIds(new ArrayList<>(ownerIds)));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Could not fetch report owners: " + e.getMessage());
+        }
+        return present;
+    }
+
+    private void finish(ReportQuery scope, String error) {
+        List<ApiRepository.ApiCallback<Boolean>> done;
+        boolean stillRefreshing;
+        synchronized (lock) {
+            done = inFlight.remove(scope.key());
+            stillRefreshing = !inFlight.isEmpty();
+        }
+        if (!stillRefreshing) refreshing.postValue(false);
+
+        executors.mainThread().execute(() -> {
+            for (ApiRepository.ApiCallback<Boolean> waiter : done) {
+                if (error == null) {
+                    waiter.onSuccess(true);
+                } else {
+                    waiter.onError(error);
+                }
+            }
+        });
+    }
+
+    // ==================== Scopes ====================
+
+    private static ReportQuery all() {
+        return new ReportQuery().limit(PAGE_SIZE);
+    }
+
+    private static ReportQuery forUser(int userId) {
+        return new ReportQuery().userId(userId).limit(PAGE_SIZE);
+    }
+}
@@ -18,7 +18,6 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.textfield.TextInputEditText;
 import java.util.Random;
-import java.util.concurrent.Executors;
 
 public class AddOfficerActivity extends BaseActivity {
     
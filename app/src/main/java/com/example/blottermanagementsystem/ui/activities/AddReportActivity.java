@@ -24,6 +24,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.entity.ReportMedia;
 import com.example.blottermanagementsystem.ui.adapters.ImageAdapter;
 import com.example.blottermanagementsystem.ui.adapters.VideoAdapter;
 import com.example.blottermanagementsystem.utils.MediaManager;
@@ -31,8 +32,10 @@ import com.example.blottermanagementsystem.utils.NotificationHelper;
 import com.example.blottermanagementsystem.utils.PermissionHelper;
 import com.example.blottermanagementsystem.utils.PhoneNumberValidator;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
-import com.example.blottermanagementsystem.data.api.ApiClient;
+import com.example.blottermanagementsystem.data.repository.ApiRepository;
+import com.example.blottermanagementsystem.data.repository.ReportRepository;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
+import com.example.blottermanagementsystem.utils.EvidenceProcessor;
 import androidx.cardview.widget.CardView;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
@@ -46,7 +49,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.Executors;
 
 public class AddReportActivity extends BaseActivity {
     
@@ -76,6 +78,7 @@ public class AddReportActivity extends BaseActivity {
     private BlotterDatabase database;
     private PreferencesManager preferencesManager;
     private MediaManager mediaManager;
+    private EvidenceProcessor evidenceProcessor;
     private Calendar selectedDate = Calendar.getInstance();
     private Calendar selectedTime = Calendar.getInstance();
     private Uri currentPhotoUri;
@@ -91,6 +94,7 @@ public class AddReportActivity extends BaseActivity {
                 // Check image limit (max 5 images)
                 if (imageList.size() < 5) {
                     imageList.add(0, currentPhotoUri);
+                    evidenceProcessor.submit(currentPhotoUri, EvidenceProcessor.Kind.IMAGE);
                     imageAdapter.notifyItemInserted(0);
                     recyclerImages.scrollToPosition(0);
                     updateImageView();
@@ -136,6 +140,7 @@ public class AddReportActivity extends BaseActivity {
                                 long duration = mediaManager.getVideoDuration(this, uri);
                                 if (duration <= 120000) { // 2 minutes = 120,000 ms
                                     videoList.add(0, uri);
+                                    evidenceProcessor.submit(uri, EvidenceProcessor.Kind.VIDEO);
                                     videosAdded++;
                                 } else {
                                     videosSkipped++;
@@ -148,6 +153,7 @@ public class AddReportActivity extends BaseActivity {
                             // Check image limit (max 5 images)
                             if (imageList.size() < 5) {
                                 imageList.add(0, uri);
+                                evidenceProcessor.submit(uri, EvidenceProcessor.Kind.IMAGE);
                                 imagesAdded++;
                             } else {
                                 imagesSkipped++;
@@ -174,6 +180,7 @@ public class AddReportActivity extends BaseActivity {
                             long duration = mediaManager.getVideoDuration(this, uri);
                             if (duration <= 120000) { // 2 minutes = 120,000 ms
                                 videoList.add(0, uri);
+                                evidenceProcessor.submit(uri, EvidenceProcessor.Kind.VIDEO);
                                 videosAdded++;
                             } else {
                                 videosSkipped++;
@@ -186,6 +193,7 @@ public class AddReportActivity extends BaseActivity {
                         // Check image limit (max 5 images)
                         if (imageList.size() < 5) {
                             imageList.add(0, uri);
+                            evidenceProcessor.submit(uri, EvidenceProcessor.Kind.IMAGE);
                             imagesAdded++;
                         } else {
                             imagesSkipped++;
@@ -254,6 +262,8 @@ public class AddReportActivity extends BaseActivity {
             database = BlotterDatabase.getDatabase(this);
             preferencesManager = new PreferencesManager(this);
             mediaManager = new MediaManager();
+            evidenceProcessor = new EvidenceProcessor(this);
+            evidenceProcessor.setListener(evidenceListener);
             android.util.Log.d("AddReportActivity", "✅ Database and managers initialized");
             
             setupToolbar();
@@ -281,6 +291,45 @@ public class AddReportActivity extends BaseActivity {
         }
     }
     
+    @Override
+    protected void onDestroy() {
+        if (evidenceProcessor != null) {
+            evidenceProcessor.release();
+        }
+        super.onDestroy();
+    }
+    
+    // Attachments are hashed, thumbnailed and downscaled in the background as soon as they're added
+    private final EvidenceProcessor.Listener evidenceListener = new EvidenceProcessor.Listener() {
+        @Override
+        public void onProcessed(EvidenceProcessor.ProcessedMedia media) {
+            android.util.Log.d("AddReportActivity", "✅ Evidence ready: " + media.kind + " " + media.sha256);
+        }
+        
+        @Override
+        public void onDuplicate(Uri uri, Uri original) {
+            evidenceProcessor.remove(uri);
+            int imageIndex = imageList.indexOf(uri);
+            if (imageIndex >= 0) {
+                imageList.remove(imageIndex);
+                imageAdapter.notifyItemRemoved(imageIndex);
+                updateImageView();
+            }
+            int videoIndex = videoList.indexOf(uri);
+            if (videoIndex >= 0) {
+                videoList.remove(videoIndex);
+                videoAdapter.notifyItemRemoved(videoIndex);
+                updateVideoView();
+            }
+            Toast.makeText(AddReportActivity.this, "This file is already attached", Toast.LENGTH_SHORT).show();
+        }
+        
+        @Override
+        public void onFailed(Uri uri, String error) {
+            android.util.Log.e("AddReportActivity", "❌ Could not process evidence " + uri + ": " + error);
+        }
+    };
+    
     private void setupToolbar() {
         Toolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
@@ -375,6 +424,7 @@ public class AddReportActivity extends BaseActivity {
             
             @Override
             public void onImageDelete(int position) {
+                evidenceProcessor.remove(imageList.get(position));
                 imageList.remove(position);
                 imageAdapter.notifyItemRemoved(position);
                 updateImageView();
@@ -393,6 +443,7 @@ public class AddReportActivity extends BaseActivity {
             
             @Override
             public void onVideoDelete(int position) {
+                evidenceProcessor.remove(videoList.get(position));
                 videoList.remove(position);
                 videoAdapter.notifyItemRemoved(position);
                 updateVideoView();
@@ -1350,49 +1401,67 @@ public class AddReportActivity extends BaseActivity {
             report.setVideoUris(uris.toString());
         }
         
-        // Show loading for report submission
-        com.example.blottermanagementsystem.utils.GlobalLoadingManager.show(this, "Submitting report...");
-        
-        // ✅ PURE ONLINE: Check internet first
-        NetworkMonitor networkMonitor = new NetworkMonitor(AddReportActivity.this);
-        if (!networkMonitor.isNetworkAvailable()) {
-            android.util.Log.e("AddReport", "❌ No internet connection");
-            com.example.blottermanagementsystem.utils.GlobalLoadingManager.hide();
-            Toast.makeText(this, "No internet connection. Please check your connection.", Toast.LENGTH_SHORT).show();
-            return;
-        }
-        
-        // Online - proceed with API call
-        android.util.Log.d("AddReport", "🌐 Internet available - Submitting report to API");
-        submitReportViaApi(report);
+        // Attachments were processed while the form was filled in; the hand-off delivers the
+        // results once they are all done, so the report is saved even if the screen closes
+        btnSubmit.setEnabled(false);
+        List<Uri> attachments = new ArrayList<>(imageList);
+        attachments.addAll(videoList);
+        List<Uri> videos = new ArrayList<>(videoList);
+        evidenceProcessor.handOff(attachments, results -> {
+            Map<Uri, EvidenceProcessor.ProcessedMedia> processed = new HashMap<>();
+            for (EvidenceProcessor.ProcessedMedia media : results) {
+                processed.put(media.sourceUri, media);
+            }
+            if (!videos.isEmpty()) {
+                StringBuilder durations = new StringBuilder();
+                for (int i = 0; i < videos.size(); i++) {
+                    EvidenceProcessor.ProcessedMedia media = processed.get(videos.get(i));
+                    durations.append(media != null ? media.durationMs : 0);
+                    if (i < videos.size() - 1) durations.append(",");
+                }
+                report.setVideoDurations(durations.toString());
+            }
+            android.util.Log.d("AddReport", "🔒 " + results.size() + "/" + attachments.size() + " attachments hashed and prepared");
+            
+            // Hash, size and duration go to report_media with the report
+            List<ReportMedia> metadata = new ArrayList<>();
+            for (EvidenceProcessor.ProcessedMedia media : results) {
+                ReportMedia row = new ReportMedia();
+                row.setUri(media.sourceUri.toString());
+                row.setSha256(media.sha256);
+                row.setSizeBytes(media.sizeBytes);
+                row.setDurationMs(media.durationMs);
+                metadata.add(row);
+            }
+            saveReport(report, metadata);
+        });
     }
     
-    /**
-     * Pure Online: Submit report via API (Neon database only)
-     */
-    private void submitReportViaApi(BlotterReport report) {
-        ApiClient.createReport(report, new ApiClient.ApiCallback<BlotterReport>() {
+    private void saveReport(BlotterReport report, List<ReportMedia> metadata) {
+        // Local-first: the report is saved in Room and queued; ReportOutboxWorker uploads it
+        boolean online = new NetworkMonitor(AddReportActivity.this).isNetworkAvailable();
+        android.util.Log.d("AddReport", "📥 Saving report locally (" + (online ? "online" : "offline") + ")");
+        
+        ReportRepository.getInstance(this).submitReport(report, metadata, new ApiRepository.ApiCallback<BlotterReport>() {
             @Override
-            public void onSuccess(BlotterReport result) {
-                android.util.Log.d("AddReport", "✅ Report submitted successfully - Report ID: " + result.getId());
-                
-                com.example.blottermanagementsystem.utils.GlobalLoadingManager.hide();
-                Toast.makeText(AddReportActivity.this, "Report submitted successfully!", Toast.LENGTH_SHORT).show();
+            public void onSuccess(BlotterReport saved) {
+                android.util.Log.d("AddReport", "✅ Report " + saved.getCaseNumber() + " saved and queued for upload");
+                if (isDestroyed()) return;
                 
-                // Navigate to report details
-                Intent detailsIntent = new Intent(AddReportActivity.this, ReportDetailActivity.class);
-                detailsIntent.putExtra("REPORT_ID", result.getId());
-                startActivity(detailsIntent);
+                Toast.makeText(AddReportActivity.this,
+                        online ? "Report submitted successfully!"
+                               : "Report saved. It will be sent automatically when you're back online.",
+                        Toast.LENGTH_LONG).show();
                 finish();
             }
             
             @Override
             public void onError(String errorMessage) {
-                android.util.Log.e("AddReport", "❌ Report submission failed: " + errorMessage);
-                com.example.blottermanagementsystem.utils.GlobalLoadingManager.hide();
+                android.util.Log.e("AddReport", "❌ Report could not be saved: " + errorMessage);
+                if (isDestroyed()) return;
+                btnSubmit.setEnabled(true);
                 Toast.makeText(AddReportActivity.this, "Failed to submit report: " + errorMessage, Toast.LENGTH_SHORT).show();
             }
         });
     }
 }
-
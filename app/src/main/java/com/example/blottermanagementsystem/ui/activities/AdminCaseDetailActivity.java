@@ -29,6 +29,7 @@ import com.example.blottermanagementsystem.ui.adapters.InvestigationStepAdapter;
 import androidx.recyclerview.widget.DividerItemDecoration;
 import androidx.core.content.ContextCompat;
 import com.example.blottermanagementsystem.ui.adapters.SelectableOfficerAdapter;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import java.text.SimpleDateFormat;
@@ -38,7 +39,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
-import java.util.concurrent.Executors;
 
 public class AdminCaseDetailActivity extends BaseActivity {
     
@@ -220,7 +220,7 @@ public class AdminCaseDetailActivity extends BaseActivity {
         
         isTimelineInitializing = true;
         
-        java.util.concurrent.Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 investigationSteps.clear();
                 
@@ -740,7 +740,7 @@ public class AdminCaseDetailActivity extends BaseActivity {
     private void assignCaseToOfficers(List<Officer> officers) {
         GlobalLoadingManager.show(this, "Assigning case...");
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 if (currentReport != null && !officers.isEmpty()) {
                     // Build assigned officer names and IDs
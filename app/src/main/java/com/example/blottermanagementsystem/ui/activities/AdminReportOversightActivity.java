@@ -20,15 +20,15 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.repository.ApiRepository;
+import com.example.blottermanagementsystem.data.repository.ReportRepository;
 import com.example.blottermanagementsystem.ui.adapters.ReportAdapter;
-import com.example.blottermanagementsystem.data.api.ApiClient;
 import com.example.blottermanagementsystem.utils.EmptyStateBuilder;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class AdminReportOversightActivity extends BaseActivity {
     
@@ -361,7 +361,7 @@ public class AdminReportOversightActivity extends BaseActivity {
      * Pure Online: Load all reports via API (Neon database only)
      */
     private void loadReportsViaApi() {
-        ApiClient.getAllReports(new ApiClient.ApiCallback<List<BlotterReport>>() {
+        ReportRepository.getInstance(AdminReportOversightActivity.this).getAllReports(new ApiRepository.ApiCallback<List<BlotterReport>>() {
             @Override
             public void onSuccess(List<BlotterReport> apiReports) {
                 android.util.Log.d("AdminOverview", "✅ Loaded " + apiReports.size() + " reports from API");
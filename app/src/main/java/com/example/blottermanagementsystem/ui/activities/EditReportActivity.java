@@ -30,6 +30,7 @@ import com.example.blottermanagementsystem.utils.PhoneNumberValidator;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.data.api.ApiClient;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import androidx.cardview.widget.CardView;
@@ -40,7 +41,6 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
 public class EditReportActivity extends BaseActivity {
     
@@ -489,7 +489,7 @@ public class EditReportActivity extends BaseActivity {
     }
     
     private void loadReportData() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             report = database.blotterReportDao().getReportById(reportId);
             
             runOnUiThread(() -> {
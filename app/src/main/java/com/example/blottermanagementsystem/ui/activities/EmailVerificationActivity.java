@@ -17,10 +17,10 @@ import androidx.core.content.ContextCompat;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.utils.NeonAuthManager;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 
-import java.util.concurrent.Executors;
 
 public class EmailVerificationActivity extends AppCompatActivity {
 
@@ -341,7 +341,7 @@ public class EmailVerificationActivity extends AppCompatActivity {
         if ("registration".equals(verificationType)) {
             // ✅ PURE ONLINE: Registration flow - User already created via API during registration
             // Email verification just marks the email as verified
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     PreferencesManager preferencesManager = new PreferencesManager(this);
                     
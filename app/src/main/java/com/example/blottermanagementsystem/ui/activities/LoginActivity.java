@@ -18,6 +18,7 @@ import androidx.lifecycle.ViewModelProvider;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.utils.NeonAuthManager;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.gms.auth.api.signin.GoogleSignIn;
 import com.google.android.gms.auth.api.signin.GoogleSignInAccount;
 import com.google.android.gms.auth.api.signin.GoogleSignInClient;
@@ -325,7 +326,7 @@ public class LoginActivity extends BaseActivity {
         android.util.Log.d("LoginActivity", "=== CHECK PROFILE COMPLETION ===");
         android.util.Log.d("LoginActivity", "UserId from PreferencesManager: " + userId);
         
-        java.util.concurrent.Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             // Pure online - no database calls
             com.example.blottermanagementsystem.data.entity.User user = null;
             
@@ -9,10 +9,11 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.repository.ApiRepository;
+import com.example.blottermanagementsystem.data.repository.ReportRepository;
 import com.example.blottermanagementsystem.ui.adapters.ReportAdapter;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
-import com.example.blottermanagementsystem.utils.ApiClient;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -73,7 +74,7 @@ public class MyAssignedCasesActivity extends BaseActivity {
         }
         
         // Load from API (pure online)
-        ApiClient.getAllReports(new ApiClient.ApiCallback<List<BlotterReport>>() {
+        ReportRepository.getInstance(MyAssignedCasesActivity.this).getAllReports(new ApiRepository.ApiCallback<List<BlotterReport>>() {
             @Override
             public void onSuccess(List<BlotterReport> allReports) {
                 if (isFinishing() || isDestroyed()) return;
@@ -125,7 +126,7 @@ public class MyAssignedCasesActivity extends BaseActivity {
     // Quiet loading method to prevent black screen flicker
     private void loadAssignedCasesQuietly() {
         // Load from API quietly (no loading dialog)
-        ApiClient.getAllReports(new ApiClient.ApiCallback<List<BlotterReport>>() {
+        ReportRepository.getInstance(MyAssignedCasesActivity.this).getAllReports(new ApiRepository.ApiCallback<List<BlotterReport>>() {
             @Override
             public void onSuccess(List<BlotterReport> allReports) {
                 if (isFinishing() || isDestroyed()) return;
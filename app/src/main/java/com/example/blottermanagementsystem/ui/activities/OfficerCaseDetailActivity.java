@@ -18,8 +18,10 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import androidx.room.InvalidationTracker;
 
 import com.example.blottermanagementsystem.R;
+import com.example.blottermanagementsystem.data.dao.BlotterReportDao;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.model.InvestigationStep;
@@ -36,6 +38,7 @@ import com.example.blottermanagementsystem.ui.dialogs.ViewWitnessesDialogFragmen
 import com.example.blottermanagementsystem.ui.dialogs.ViewSuspectsDialogFragment;
 import com.example.blottermanagementsystem.ui.dialogs.ViewHearingsDialogFragment;
 import com.example.blottermanagementsystem.ui.dialogs.ViewResolutionDialogFragment;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.example.blottermanagementsystem.utils.MediaManager;
 import com.example.blottermanagementsystem.utils.NotificationHelper;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
@@ -50,7 +53,7 @@ import com.google.android.material.imageview.ShapeableImageView;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.Set;
 
 public class OfficerCaseDetailActivity extends AppCompatActivity {
     
@@ -96,7 +99,20 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
     private InvestigationActionAdapter investigationActionsAdapter;
     private List<InvestigationStep> caseProgressSteps = new ArrayList<>();
     private List<InvestigationStep> investigationActionSteps = new ArrayList<>();
-    private boolean isTimelineInitializing = false;
+    
+    // Timeline follows the database: an InvalidationTracker observer reloads it whenever
+    // one of these tables changes, instead of refreshing after fixed delays
+    private static final String[] CASE_TABLES = {
+        "blotter_reports", "witnesses", "suspects", "evidence", "hearings", "resolutions"
+    };
+    private final Object observerLock = new Object();
+    private InvalidationTracker.Observer caseTablesObserver;
+    private BlotterDatabase observedDatabase;   // guarded by observerLock
+    private boolean observerReleased;     // guarded by observerLock
+    private boolean isScreenStarted;
+    private boolean caseDataStale;        // changed while the screen was stopped
+    private boolean timelineReloadRunning;
+    private boolean timelineReloadPending;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -125,6 +141,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         setupRecyclerViews();
         setupListeners();
         loadCaseDetails();
+        observeCaseTables();
     }
     
     private void initViews() {
@@ -356,20 +373,13 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
      * ⚠️ MUST run on background thread to avoid blocking UI
      */
     private void initializeInvestigationTimeline() {
-        // ✅ Prevent concurrent initialization (avoid duplicates)
-        if (isTimelineInitializing) {
-            android.util.Log.d("OfficerCaseDetail", "⚠️ Timeline initialization already in progress, skipping...");
-            return;
-        }
-        
-        isTimelineInitializing = true;
+        // Steps are built into fresh lists off the main thread and swapped in on it
+        final BlotterReport currentReport = this.currentReport;
         
-        // ✅ Clear lists BEFORE background thread to prevent duplicates
-        caseProgressSteps.clear();
-        investigationActionSteps.clear();
-        
-        // Run on background thread to avoid "Cannot access database on the main thread" error
-        java.util.concurrent.Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            List<InvestigationStep> caseProgressSteps = new ArrayList<>();
+            List<InvestigationStep> investigationActionSteps = new ArrayList<>();
+            try {
             
             // ===== CONTAINER 1: CASE PROGRESS (VIEW-ONLY) =====
             
@@ -421,9 +431,12 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
             // Step 4: Witnesses & Suspects
             // ✅ Check if witness AND suspect both exist
             InvestigationStep step4 = new InvestigationStep("4", "Witnesses & Suspects", "Gathering case information", "evidence_collected");
-            int witnessCount = 0; // Pure online
-            int suspectCount = 0; // Pure online
-            int evidenceCount = 0; // Pure online
+            // ✅ All timeline counts in one query (zeros if the report is gone)
+            BlotterReportDao.CaseProgress loadedProgress = database.blotterReportDao().getCaseProgress(reportId);
+            BlotterReportDao.CaseProgress progress = loadedProgress != null ? loadedProgress : new BlotterReportDao.CaseProgress();
+            int witnessCount = progress.witnessCount;
+            int suspectCount = progress.suspectCount;
+            int evidenceCount = progress.evidenceCount;
         
         if (witnessCount > 0 && suspectCount > 0) {
             // Both witness and suspect collected - COMPLETED
@@ -446,7 +459,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         // Step 5: Hearing Scheduled
         // ✅ Check if hearing exists
         InvestigationStep step5 = new InvestigationStep("5", "Hearing Scheduled", "Court hearing date set", "hearing_scheduled");
-        int hearingCount = 0; // Pure online
+        int hearingCount = progress.hearingCount;
         
         if (hearingCount > 0) {
             // Hearing scheduled - COMPLETED (checkmark)
@@ -469,7 +482,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         // Step 6: Resolution Documented
         // ✅ Check if resolution exists
         InvestigationStep step6 = new InvestigationStep("6", "Resolution Documented", "Case outcome documented", "resolution_documented");
-        int resolutionCount = 0; // Pure online
+        int resolutionCount = progress.resolutionCount;
         
         if (resolutionCount > 0) {
             // Resolution documented - COMPLETED (checkmark)
@@ -496,7 +509,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
             // Check resolution type
             try {
                 java.util.List<com.example.blottermanagementsystem.data.entity.Resolution> resolutions = 
-                    new java.util.ArrayList<>(); // Pure online
+                    database.resolutionDao().getResolutionsByReportId(reportId);
                 
                 if (resolutions != null && !resolutions.isEmpty()) {
                     com.example.blottermanagementsystem.data.entity.Resolution resolution = resolutions.get(0);
@@ -616,24 +629,33 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
             investigationActionSteps.get(4).setCompleted(true);  // Document Resolution (now at index 4)
             android.util.Log.d("OfficerCaseDetail", "✅ Marked 'Document Resolution' as completed");
         }
+            } catch (Exception e) {
+                android.util.Log.e("OfficerCaseDetail", "❌ Error building timeline: " + e.getMessage(), e);
+                runOnUiThread(this::onTimelineReloadFinished);
+                return;
+            }
             
             // ✅ Update UI on main thread
             runOnUiThread(() -> {
+                this.caseProgressSteps.clear();
+                this.caseProgressSteps.addAll(caseProgressSteps);
+                this.investigationActionSteps.clear();
+                this.investigationActionSteps.addAll(investigationActionSteps);
+                
                 // Notify adapters of changes
                 if (caseProgressAdapter != null) {
-                    caseProgressAdapter.updateSteps(caseProgressSteps);
+                    caseProgressAdapter.updateSteps(this.caseProgressSteps);
                     caseProgressAdapter.notifyDataSetChanged();
                 }
                 if (investigationActionsAdapter != null) {
-                    investigationActionsAdapter.updateSteps(investigationActionSteps);
+                    investigationActionsAdapter.updateSteps(this.investigationActionSteps);
                     investigationActionsAdapter.notifyDataSetChanged();
                 }
                 
                 android.util.Log.d("OfficerCaseDetail", "✅ Investigation timeline initialized: " + caseProgressSteps.size() + " progress steps + " + investigationActionSteps.size() + " action steps");
                 android.util.Log.d("OfficerCaseDetail", "✅ Adapters notified - UI should update now");
                 
-                // ✅ Reset flag to allow next initialization
-                isTimelineInitializing = false;
+                onTimelineReloadFinished();
             });
         });
     }
@@ -672,7 +694,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
     private void loadCaseDetails() {
         GlobalLoadingManager.show(this, "Loading case details...");
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 database = BlotterDatabase.getDatabase(this);
                 if (database == null) {
@@ -684,7 +706,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
                     return;
                 }
                 
-                currentReport = null; // Pure online - load via API
+                currentReport = database.blotterReportDao().getReportById(reportId);
                 android.util.Log.d("OfficerCaseDetail", "Loaded report ID: " + reportId + ", Report: " + (currentReport != null ? currentReport.getCaseNumber() : "NULL"));
                 
                 runOnUiThread(() -> {
@@ -721,7 +743,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         }
         
         // ✅ NOW initialize timeline - database is available and report is loaded
-        initializeInvestigationTimeline();
+        reloadTimeline();
         
         // Case Information
         tvCaseNumber.setText(currentReport.getCaseNumber());
@@ -1040,7 +1062,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         GlobalLoadingManager.show(this, "Starting investigation...");
         
         // Update status from "assigned" to "ongoing"
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 String oldStatus = currentReport.getStatus();
                 currentReport.setStatus("ONGOING");
@@ -1095,7 +1117,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
                         android.util.Log.d("OfficerCaseDetail", "✅ Investigation Actions buttons ENABLED");
                     }
                     
-                    initializeInvestigationTimeline();  // ← Refresh timeline to show investigation features
+                    reloadTimeline();  // ← Refresh timeline to show investigation features
                 });
             } catch (Exception e) {
                 runOnUiThread(() -> {
@@ -1191,7 +1213,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         GlobalLoadingManager.show(this, "Resolving case...");
         
         // Update status from "ongoing" to "resolved"
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 String oldStatus = currentReport.getStatus();
                 currentReport.setStatus("RESOLVED");
@@ -1249,7 +1271,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
                     Toast.makeText(this, "Case resolved! Status changed to: Resolved", Toast.LENGTH_LONG).show();
                     chipStatus.setText("RESOLVED");
                     updateButtonVisibility();
-                    initializeInvestigationTimeline();  // ← Refresh timeline to hide all investigation features
+                    reloadTimeline();  // ← Refresh timeline to hide all investigation features
                 });
             } catch (Exception e) {
                 runOnUiThread(() -> {
@@ -1592,7 +1614,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         }
         
         // ✅ Fetch hearing details from database if available
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 List<com.example.blottermanagementsystem.data.entity.Hearing> hearings = 
                     database.hearingDao().getHearingsByReportId(reportId);
@@ -1703,7 +1725,7 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
         }
         
         // Create or get person ID from database
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 // Get or create Person record
                 com.example.blottermanagementsystem.data.entity.Person person = 
@@ -1737,44 +1759,122 @@ public class OfficerCaseDetailActivity extends AppCompatActivity {
     }
     
     @Override
-    protected void onResume() {
-        super.onResume();
-        android.util.Log.d("OfficerCaseDetail", "🔄 onResume called");
-        // ✅ Refresh case details AND timeline when returning to this screen
-        if (reportId != -1) {
-            android.util.Log.d("OfficerCaseDetail", "🔄 Loading case details...");
-            loadCaseDetails();
-            // ✅ Delay timeline refresh to ensure data is loaded
-            new Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-                android.util.Log.d("OfficerCaseDetail", "🔄 Refreshing timeline after delay...");
-                refreshInvestigationTimeline();
-            }, 1000); // 1 second delay to ensure loadCaseDetails completes
+    protected void onStart() {
+        super.onStart();
+        isScreenStarted = true;
+        // ✅ Pick up anything written while another screen was on top (dialogs, edit screens)
+        if (caseDataStale && currentReport != null) {
+            caseDataStale = false;
+            reloadReportQuietly();
+        }
+    }
+    
+    @Override
+    protected void onStop() {
+        super.onStop();
+        isScreenStarted = false;
+    }
+    
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            synchronized (observerLock) {
+                observerReleased = true;
+                if (observedDatabase != null) {
+                    observedDatabase.getInvalidationTracker().removeObserver(caseTablesObserver);
+                    observedDatabase = null;
+                }
+            }
+        });
+    }
+    
+    /**
+     * Registers for changes to the case's tables. Room reports the table names
+     * after each committed write, so the timeline reloads exactly once the data
+     * is there, however long the write took.
+     */
+    private void observeCaseTables() {
+        caseTablesObserver = new InvalidationTracker.Observer(CASE_TABLES) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                runOnUiThread(() -> onCaseTablesChanged(tables));
+            }
+        };
+        // addObserver may touch the database (trigger setup), so not on the main thread
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            synchronized (observerLock) {
+                if (!observerReleased) {
+                    // Not the field: loadCaseDetails() may not have set it yet
+                    observedDatabase = BlotterDatabase.getDatabase(getApplicationContext());
+                    observedDatabase.getInvalidationTracker().addObserver(caseTablesObserver);
+                }
+            }
+        });
+    }
+    
+    private void onCaseTablesChanged(Set<String> tables) {
+        if (isFinishing() || isDestroyed() || currentReport == null) return;
+        if (!isScreenStarted) {
+            caseDataStale = true;
+            return;
+        }
+        android.util.Log.d("OfficerCaseDetail", "🔄 Case data changed: " + tables);
+        if (tables.contains("blotter_reports")) {
+            reloadReportQuietly();    // populateViews() reloads the timeline too
+        } else {
+            reloadTimeline();
+        }
+    }
+    
+    /**
+     * Re-reads the report after a change (status, assignment) without the loading overlay
+     */
+    private void reloadReportQuietly() {
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            BlotterReport report = database.blotterReportDao().getReportById(reportId);
+            runOnUiThread(() -> {
+                if (report == null || isFinishing() || isDestroyed()) return;
+                currentReport = report;
+                populateViews();
+            });
+        });
+    }
+    
+    /**
+     * Rebuilds both timeline containers. Calls made while a rebuild is running
+     * are coalesced into one more rebuild, so none is lost or duplicated.
+     */
+    private void reloadTimeline() {
+        if (timelineReloadRunning) {
+            timelineReloadPending = true;
+            return;
+        }
+        timelineReloadRunning = true;
+        initializeInvestigationTimeline();
+    }
+    
+    private void onTimelineReloadFinished() {
+        timelineReloadRunning = false;
+        if (timelineReloadPending) {
+            timelineReloadPending = false;
+            reloadTimeline();
         }
     }
     
     /**
      * Refresh the entire investigation timeline
-     * Called when returning to this activity OR when hearing time is set
+     * Called when hearing time is set; the observer already covers database writes
      * ✅ PUBLIC - Can be called from dialog fragments
      */
     public void refreshInvestigationTimeline() {
-        // ✅ Add delay to ensure data is saved to database before refreshing
-        new Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-            android.util.Log.d("OfficerCaseDetail", "Starting timeline refresh...");
-            initializeInvestigationTimeline();
-            android.util.Log.d("OfficerCaseDetail", "Timeline refresh complete - Document Resolution button should now be enabled");
-        }, 500); // 500ms delay to ensure database write
+        reloadTimeline();
     }
     
     // ✅ PUBLIC METHOD - Called directly from dialog fragments
     public void refreshTimelineDirectly() {
         android.util.Log.d("OfficerCaseDetail", "refreshTimelineDirectly() called from dialog");
-        // Add small delay to ensure data is saved
-        new Handler(android.os.Looper.getMainLooper()).postDelayed(() -> {
-            android.util.Log.d("OfficerCaseDetail", "🔄 Direct timeline refresh starting...");
-            initializeInvestigationTimeline();
-            android.util.Log.d("OfficerCaseDetail", "✅ Direct timeline refresh complete");
-        }, 300); // 300ms delay
+        reloadTimeline();
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.example.blottermanagementsystem.ui.activities;
 
+import android.app.DatePickerDialog;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.TextView;
@@ -10,12 +11,15 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.repository.ApiRepository;
+import com.example.blottermanagementsystem.data.repository.ReportRepository;
 import com.example.blottermanagementsystem.ui.adapters.RecentCasesAdapter;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
+import com.example.blottermanagementsystem.workers.CaseFileExportWorker;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
-import com.example.blottermanagementsystem.utils.ApiClient;
 import com.example.blottermanagementsystem.utils.GlobalLoadingManager;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
 
@@ -77,6 +81,37 @@ public class OfficerDashboardActivity extends BaseActivity {
             recentCaseAdapter = new RecentCasesAdapter(recentCases);
             recyclerRecentCases.setAdapter(recentCaseAdapter);
         }
+
+        View cardExport = findViewById(R.id.cardExportExcel);
+        if (cardExport != null) {
+            cardExport.setOnClickListener(v -> showExportDatePicker());
+        }
+    }
+
+    /**
+     * Exports every case filed from the picked date until now as a ZIP (CSV, JSON,
+     * case PDFs). Runs in the background; progress and the result are notifications.
+     */
+    private void showExportDatePicker() {
+        Calendar from = Calendar.getInstance();
+        from.add(Calendar.MONTH, -1);
+        DatePickerDialog datePickerDialog = new DatePickerDialog(
+            this,
+            R.style.Theme_App_DatePickerDialog,
+            (view, year, month, dayOfMonth) -> {
+                from.set(year, month, dayOfMonth, 0, 0, 0);
+                from.set(Calendar.MILLISECOND, 0);
+                CaseFileExportWorker.enqueue(this, from.getTimeInMillis(), System.currentTimeMillis(),
+                    preferencesManager.getUserRole());
+                Toast.makeText(this, "Exporting case files in the background", Toast.LENGTH_SHORT).show();
+            },
+            from.get(Calendar.YEAR),
+            from.get(Calendar.MONTH),
+            from.get(Calendar.DAY_OF_MONTH)
+        );
+        datePickerDialog.setTitle("Export cases filed since");
+        datePickerDialog.getDatePicker().setMaxDate(System.currentTimeMillis());
+        datePickerDialog.show();
     }
 
     /**
@@ -98,7 +133,7 @@ public class OfficerDashboardActivity extends BaseActivity {
      * ✅ PURE ONLINE: Load assigned cases via API
      */
     private void loadCasesViaApi() {
-        ApiClient.getAllReports(new ApiClient.ApiCallback<List<BlotterReport>>() {
+        ReportRepository.getInstance(OfficerDashboardActivity.this).getAllReports(new ApiRepository.ApiCallback<List<BlotterReport>>() {
             @Override
             public void onSuccess(List<BlotterReport> allReports) {
                 if (isFinishing() || isDestroyed()) return;
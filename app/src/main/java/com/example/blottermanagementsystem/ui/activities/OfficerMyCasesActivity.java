@@ -20,6 +20,8 @@ import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.ui.adapters.BlotterReportAdapter;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
+import com.example.blottermanagementsystem.utils.TimelineUpdateManager;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import java.util.ArrayList;
@@ -28,7 +30,6 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.Executors;
 public class OfficerMyCasesActivity extends BaseActivity {
     
     private RecyclerView recyclerView;
@@ -269,8 +270,8 @@ public class OfficerMyCasesActivity extends BaseActivity {
         
         // Online - load from API
         android.util.Log.d("OfficerMyCases", "🌐 Loading assigned cases from API");
-        com.example.blottermanagementsystem.utils.ApiClient.getAssignedReports(
-            new com.example.blottermanagementsystem.utils.ApiClient.ApiCallback<java.util.List<BlotterReport>>() {
+        com.example.blottermanagementsystem.data.repository.ReportRepository.getInstance(OfficerMyCasesActivity.this).getAllReports(
+            new com.example.blottermanagementsystem.data.repository.ApiRepository.ApiCallback<java.util.List<BlotterReport>>() {
                 @Override
                 public void onSuccess(java.util.List<BlotterReport> assignedReports) {
                     android.util.Log.d("OfficerMyCases", "✅ Loaded " + assignedReports.size() + " assigned cases from API");
@@ -300,6 +301,7 @@ public class OfficerMyCasesActivity extends BaseActivity {
                             updateStatistics();
                             updateFilterCounts();
                             applyFilter();
+                            loadCaseProgress();
                         }
                     });
                 }
@@ -515,6 +517,20 @@ public class OfficerMyCasesActivity extends BaseActivity {
         }
     }
     
+    /**
+     * Progress badges for every loaded case, one batched query (not per row)
+     */
+    private void loadCaseProgress() {
+        List<Integer> reportIds = new ArrayList<>();
+        for (BlotterReport report : allCases) {
+            reportIds.add(report.getId());
+        }
+        new TimelineUpdateManager(database).loadProgressForReports(reportIds, stepsByReport ->
+            runOnUiThread(() -> {
+                if (adapter != null) adapter.setProgress(stepsByReport);
+            }));
+    }
+    
     @Override
     protected void onResume() {
         super.onResume();
@@ -536,42 +552,15 @@ public class OfficerMyCasesActivity extends BaseActivity {
             public void run() {
                 // Silent background refresh - NO progress bar shown
                 // Just quietly update data in background
-                Executors.newSingleThreadExecutor().execute(() -> {
+                AppExecutors.getInstance().diskIO().execute(() -> {
                     try {
                         String userId = preferencesManager.getUserId();
                         int userIdInt = Integer.parseInt(userId);
                         com.example.blottermanagementsystem.data.entity.Officer officer = database.officerDao().getOfficerByUserId(userIdInt);
                         int officerId = (officer != null) ? officer.getId() : -1;
                         
-                        List<BlotterReport> reports = database.blotterReportDao().getAllReports();
-                        
-                        // Filter only officer's assigned cases
-                        List<BlotterReport> updatedCases = new ArrayList<>();
-                        for (BlotterReport report : reports) {
-                            boolean isAssignedToOfficer = false;
-                            
-                            if (report.getAssignedOfficerId() != null && report.getAssignedOfficerId().intValue() == officerId) {
-                                isAssignedToOfficer = true;
-                            }
-                            
-                            if (!isAssignedToOfficer && report.getAssignedOfficerIds() != null && !report.getAssignedOfficerIds().isEmpty()) {
-                                String[] officerIds = report.getAssignedOfficerIds().split(",");
-                                for (String id : officerIds) {
-                                    try {
-                                        if (Integer.parseInt(id.trim()) == officerId) {
-                                            isAssignedToOfficer = true;
-                                            break;
-                                        }
-                                    } catch (NumberFormatException e) {
-                                        // Ignore
-                                    }
-                                }
-                            }
-                            
-                            if (isAssignedToOfficer) {
-                                updatedCases.add(report);
-                            }
-                        }
+                        // Index-backed caseload lookup through report_officer
+                        List<BlotterReport> updatedCases = database.blotterReportDao().getReportsByAssignedOfficer(officerId);
                         
                         // Update data silently
                         runOnUiThread(() -> {
@@ -579,6 +568,7 @@ public class OfficerMyCasesActivity extends BaseActivity {
                             allCases.addAll(updatedCases);
                             updateFilterCounts();
                             applyFilter();
+                            loadCaseProgress();
                         });
                     } catch (Exception e) {
                         android.util.Log.e("OfficerMyCases", "Error in background refresh: " + e.getMessage());
@@ -8,22 +8,24 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
+import com.example.blottermanagementsystem.data.dao.PersonHistoryDao;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.PersonHistory;
 import com.example.blottermanagementsystem.data.entity.Suspect;
 import com.example.blottermanagementsystem.ui.adapters.PersonHistoryAdapter;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.chip.Chip;
 import android.widget.Toast;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 public class OfficerViewPersonHistoryActivity extends BaseActivity {
     
     private static final String EXTRA_PERSON_ID = "person_id";
     private static final String EXTRA_PERSON_NAME = "person_name";
+    private static final int MAX_ASSOCIATES = 10;
     
     private Toolbar toolbar;
     private TextView tvPersonName, tvTotalCases, tvSuspectCount, tvRespondentCount;
@@ -140,7 +142,7 @@ public class OfficerViewPersonHistoryActivity extends BaseActivity {
     
     private void loadPersonHistory() {
         try {
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     List<PersonHistory> history = database.personHistoryDao().getHistoryByPersonId(personId);
                     
@@ -216,45 +218,42 @@ public class OfficerViewPersonHistoryActivity extends BaseActivity {
     
     // ✅ LOAD ACCOMPLICES FROM SAME CASES
     private void loadAccomplices() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        // Snapshot: the filter chips replace filteredHistory on the main thread
+        List<Integer> reportIds = new ArrayList<>();
+        for (PersonHistory history : filteredHistory) {
+            Integer reportId = history.getBlotterReportId();
+            if (reportId != null && !reportIds.contains(reportId)) {
+                reportIds.add(reportId);
+            }
+        }
+        
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
-                Map<Integer, List<Suspect>> accomplicesByCase = new HashMap<>();
+                // Keyed in history order, so cases list the same way as the history above
+                Map<Integer, List<Suspect>> accomplicesByCase = new LinkedHashMap<>();
+                for (Integer reportId : reportIds) {
+                    accomplicesByCase.put(reportId, new ArrayList<>());
+                }
                 
-                // For each case in person's history
-                for (PersonHistory history : filteredHistory) {
-                    int reportId = history.getBlotterReportId();
-                    
-                    // Get all suspects in this case
-                    List<Suspect> caseSuspects = database.suspectDao().getSuspectsByReport(reportId);
-                    
-                    if (caseSuspects != null && !caseSuspects.isEmpty()) {
-                        // Filter out the current person
-                        List<Suspect> accomplices = new ArrayList<>();
-                        for (Suspect suspect : caseSuspects) {
-                            if (suspect.getId() != personId) {
-                                accomplices.add(suspect);
-                            }
-                        }
-                        
-                        if (!accomplices.isEmpty()) {
-                            accomplicesByCase.put(reportId, accomplices);
-                            
-                            // Log accomplices found
-                            android.util.Log.d("OfficerViewPersonHistory", 
-                                "Case #" + reportId + " has " + accomplices.size() + " accomplices");
-                            
-                            for (Suspect accomplice : accomplices) {
-                                android.util.Log.d("OfficerViewPersonHistory", 
-                                    "  - Accomplice: " + accomplice.getName());
-                            }
-                        }
-                    }
+                // Suspects of all the person's cases in one query per QueryChunks.MAX_IDS cases
+                for (Suspect suspect : database.suspectDao().getSuspectsForReports(reportIds)) {
+                    // Filter out the current person
+                    if (isCurrentPerson(suspect)) continue;
+                    List<Suspect> accomplices = accomplicesByCase.get(suspect.getBlotterReportId());
+                    if (accomplices != null) accomplices.add(suspect);
                 }
+                accomplicesByCase.values().removeIf(List::isEmpty);
+                android.util.Log.d("OfficerViewPersonHistory", 
+                    "Accomplices in " + accomplicesByCase.size() + " of " + reportIds.size() + " cases");
+                
+                // Repeat associates across all cases (not only the filtered ones)
+                List<PersonHistoryDao.CoOccurrence> associates =
+                    database.personHistoryDao().getCoOccurringPersons(personId, MAX_ASSOCIATES);
                 
                 // Store accomplices for display
                 runOnUiThread(() -> {
-                    if (!accomplicesByCase.isEmpty()) {
-                        showAccomplicesInfo(accomplicesByCase);
+                    if (!accomplicesByCase.isEmpty() || !associates.isEmpty()) {
+                        showAccomplicesInfo(accomplicesByCase, associates);
                     }
                 });
                 
@@ -264,8 +263,14 @@ public class OfficerViewPersonHistoryActivity extends BaseActivity {
         });
     }
     
+    private boolean isCurrentPerson(Suspect suspect) {
+        return personName != null && suspect.getName() != null
+            && suspect.getName().trim().equalsIgnoreCase(personName.trim());
+    }
+    
     // ✅ SHOW ACCOMPLICES INFO
-    private void showAccomplicesInfo(Map<Integer, List<Suspect>> accomplicesByCase) {
+    private void showAccomplicesInfo(Map<Integer, List<Suspect>> accomplicesByCase,
+                                     List<PersonHistoryDao.CoOccurrence> associates) {
         try {
             StringBuilder accompliceInfo = new StringBuilder();
             accompliceInfo.append("Related Suspects Found:\n\n");
@@ -285,6 +290,14 @@ public class OfficerViewPersonHistoryActivity extends BaseActivity {
                 accompliceInfo.append("\n");
             }
             
+            if (!associates.isEmpty()) {
+                accompliceInfo.append("Appears With Across Cases:\n");
+                for (PersonHistoryDao.CoOccurrence associate : associates) {
+                    accompliceInfo.append("  • ").append(associate.name)
+                        .append(" (").append(associate.sharedCases).append(" cases)\n");
+                }
+            }
+            
             android.util.Log.d("OfficerViewPersonHistory", "Accomplices Info:\n" + accompliceInfo.toString());
             
             // Show toast with accomplice count
@@ -292,7 +305,10 @@ public class OfficerViewPersonHistoryActivity extends BaseActivity {
                 .mapToInt(List::size)
                 .sum();
             
-            Toast.makeText(this, "Found " + totalAccomplices + " related suspects", Toast.LENGTH_SHORT).show();
+            String message = totalAccomplices > 0
+                ? "Found " + totalAccomplices + " related suspects"
+                : "Appears with " + associates.size() + " people across cases";
+            Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
             
         } catch (Exception e) {
             android.util.Log.e("OfficerViewPersonHistory", "Error showing accomplices: " + e.getMessage());
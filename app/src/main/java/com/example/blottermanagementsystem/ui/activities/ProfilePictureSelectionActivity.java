@@ -16,7 +16,6 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 import java.io.InputStream;
-import java.util.concurrent.Executors;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
@@ -28,6 +27,7 @@ import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.entity.User;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.utils.PermissionHelper;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.button.MaterialButton;
 import java.io.File;
 import java.io.IOException;
@@ -421,7 +421,7 @@ public class ProfilePictureSelectionActivity extends BaseActivity {
             final String userId = userIdTemp;
             
             if (userId != null && !userId.isEmpty()) {
-                Executors.newSingleThreadExecutor().execute(() -> {
+                AppExecutors.getInstance().diskIO().execute(() -> {
                     com.example.blottermanagementsystem.data.database.BlotterDatabase database = 
                         com.example.blottermanagementsystem.data.database.BlotterDatabase.getDatabase(this);
                     int userIdInt = Integer.parseInt(userId);
@@ -4,23 +4,25 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.widget.LinearLayout;
 import androidx.appcompat.widget.Toolbar;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
-import com.example.blottermanagementsystem.data.entity.BlotterReport;
-import com.example.blottermanagementsystem.ui.adapters.ReportAdapter;
-import java.util.ArrayList;
+import com.example.blottermanagementsystem.data.repository.ReportPagingSource;
+import com.example.blottermanagementsystem.ui.adapters.ReportPagingAdapter;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class RecordsArchiveActivity extends BaseActivity {
     
+    // Resolved/closed reports make up the archive view
+    private static final List<String> ARCHIVE_STATUSES = Arrays.asList("Resolved", "Closed");
+    
     private RecyclerView recyclerArchive;
     private LinearLayout emptyState;
     private BlotterDatabase database;
-    private ReportAdapter adapter;
-    private List<BlotterReport> archivedReports = new ArrayList<>();
+    private ReportPagingAdapter adapter;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -51,41 +53,27 @@ public class RecordsArchiveActivity extends BaseActivity {
     }
     
     private void setupRecyclerView() {
-        adapter = new ReportAdapter(archivedReports, report -> {
+        adapter = new ReportPagingAdapter(report -> {
             Intent intent = new Intent(this, ReportDetailActivity.class);
             intent.putExtra("REPORT_ID", report.getId());
             startActivity(intent);
         });
         recyclerArchive.setLayoutManager(new LinearLayoutManager(this));
         recyclerArchive.setAdapter(adapter);
-    }
-    
-    private void loadArchivedReports() {
-        Executors.newSingleThreadExecutor().execute(() -> {
-            // Get resolved/closed reports (archived)
-            List<BlotterReport> reports = database.blotterReportDao().getReportsByStatus("Resolved");
-            List<BlotterReport> closedReports = database.blotterReportDao().getReportsByStatus("Closed");
-            reports.addAll(closedReports);
-            
-            runOnUiThread(() -> {
-                archivedReports.clear();
-                archivedReports.addAll(reports);
-                adapter.updateReports(archivedReports);
-                
-                if (reports.isEmpty()) {
-                    emptyState.setVisibility(android.view.View.VISIBLE);
-                    recyclerArchive.setVisibility(android.view.View.GONE);
-                } else {
-                    emptyState.setVisibility(android.view.View.GONE);
-                    recyclerArchive.setVisibility(android.view.View.VISIBLE);
-                }
-            });
+        
+        adapter.addLoadStateListener(loadStates -> {
+            boolean isEmpty = loadStates.getRefresh() instanceof LoadState.NotLoading
+                    && adapter.getItemCount() == 0;
+            emptyState.setVisibility(isEmpty ? android.view.View.VISIBLE : android.view.View.GONE);
+            recyclerArchive.setVisibility(isEmpty ? android.view.View.GONE : android.view.View.VISIBLE);
+            return kotlin.Unit.INSTANCE;
         });
     }
     
-    @Override
-    protected void onResume() {
-        super.onResume();
-        loadArchivedReports();
+    private void loadArchivedReports() {
+        // Pages are loaded on demand and refreshed automatically when blotter_reports changes
+        ReportPagingSource.pagedReports(
+                () -> ReportPagingSource.reportsByStatus(database, ARCHIVE_STATUSES), getLifecycle())
+            .observe(this, pagingData -> adapter.submitData(getLifecycle(), pagingData));
     }
 }
@@ -17,6 +17,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.blottermanagementsystem.R;
+import com.example.blottermanagementsystem.data.dao.BlotterReportDao;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.entity.User;
@@ -33,6 +34,7 @@ import com.example.blottermanagementsystem.utils.TimelineUpdateManager;
 import com.example.blottermanagementsystem.utils.GlobalLoadingManager;
 import com.example.blottermanagementsystem.utils.CaseEventNotificationHelper;
 import com.example.blottermanagementsystem.data.entity.Evidence;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import android.util.Log;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
@@ -45,7 +47,6 @@ import java.util.List;
 
 import java.text.SimpleDateFormat;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 import android.content.Intent;
 import androidx.core.content.FileProvider;
 import java.io.File;
@@ -596,7 +597,7 @@ public class ReportDetailActivity extends BaseActivity {
         
         com.example.blottermanagementsystem.utils.GlobalLoadingManager.show(this, "Deleting report...");
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().networkIO().execute(() -> {
             try {
                 // ✅ Delete from local database first
                 database.blotterReportDao().deleteReport(report);
@@ -784,7 +785,7 @@ public class ReportDetailActivity extends BaseActivity {
         // Initialize/refresh timeline on background thread (requires database access)
         // Timeline will refresh every time report is loaded (via onResume)
         // This ensures User and Admin see real-time updates from Officer actions
-        Executors.newSingleThreadExecutor().execute(this::initializeInvestigationTimeline);
+        AppExecutors.getInstance().diskIO().execute(this::initializeInvestigationTimeline);
     }
     
     /**
@@ -1061,9 +1062,12 @@ public class ReportDetailActivity extends BaseActivity {
             // Step 4: Witnesses & Suspects
             // ✅ Check if witness AND suspect both exist
             InvestigationStep step4 = new InvestigationStep("4", "Witnesses & Suspects", "Gathering case information", "evidence_collected");
-            int witnessCount = database.witnessDao().getWitnessCountByReport(reportId);
-            int suspectCount = database.suspectDao().getSuspectCountByReport(reportId);
-            int evidenceCount = database.evidenceDao().getEvidenceCountByReport(reportId);
+            // ✅ All timeline counts in one query (zeros if the report is gone)
+            BlotterReportDao.CaseProgress loadedProgress = database.blotterReportDao().getCaseProgress(reportId);
+            BlotterReportDao.CaseProgress progress = loadedProgress != null ? loadedProgress : new BlotterReportDao.CaseProgress();
+            int witnessCount = progress.witnessCount;
+            int suspectCount = progress.suspectCount;
+            int evidenceCount = progress.evidenceCount;
             
             if (witnessCount > 0 && suspectCount > 0) {
                 // Both witness and suspect collected - COMPLETED
@@ -1086,7 +1090,7 @@ public class ReportDetailActivity extends BaseActivity {
             // Step 5: Hearing Scheduled
             // ✅ Show hourglass if hearing exists OR if all evidence collected (current active step)
             InvestigationStep step5 = new InvestigationStep("5", "Hearing Scheduled", "Court hearing date set", "hearing_scheduled");
-            int hearingCount = database.hearingDao().getHearingCountByReport(reportId);
+            int hearingCount = progress.hearingCount;
             
             if (hearingCount > 0) {
                 // Hearing scheduled - COMPLETED (checkmark)
@@ -1109,7 +1113,7 @@ public class ReportDetailActivity extends BaseActivity {
             // Step 6: Resolution Documented
             // ✅ Show hourglass if resolution exists OR if hearing scheduled (current active step)
             InvestigationStep step6 = new InvestigationStep("6", "Resolution Documented", "Case outcome documented", "resolution_documented");
-            int resolutionCount = database.resolutionDao().getResolutionCountByReport(reportId);
+            int resolutionCount = progress.resolutionCount;
             
             if (resolutionCount > 0) {
                 // Resolution documented - COMPLETED (checkmark)
@@ -1166,7 +1170,7 @@ public class ReportDetailActivity extends BaseActivity {
     
     // Dialog methods for viewing investigation results
     private void showWitnessesDialog(int reportId) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 int witnessCount = database.witnessDao().getWitnessCountByReport(reportId);
                 runOnUiThread(() -> {
@@ -1185,7 +1189,7 @@ public class ReportDetailActivity extends BaseActivity {
     }
     
     private void showSuspectsDialog(int reportId) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 int suspectCount = database.suspectDao().getSuspectCountByReport(reportId);
                 runOnUiThread(() -> {
@@ -1204,7 +1208,7 @@ public class ReportDetailActivity extends BaseActivity {
     }
     
     private void showEvidenceDialog(int reportId) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 int evidenceCount = database.evidenceDao().getEvidenceCountByReport(reportId);
                 runOnUiThread(() -> {
@@ -1223,7 +1227,7 @@ public class ReportDetailActivity extends BaseActivity {
     }
     
     private void showHearingsDialog(int reportId) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 int hearingCount = database.hearingDao().getHearingCountByReport(reportId);
                 runOnUiThread(() -> {
@@ -1242,7 +1246,7 @@ public class ReportDetailActivity extends BaseActivity {
     }
     
     private void showResolutionDialog(int reportId) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 int resolutionCount = database.resolutionDao().getResolutionCountByReport(reportId);
                 runOnUiThread(() -> {
@@ -1345,7 +1349,7 @@ public class ReportDetailActivity extends BaseActivity {
         dialog.getWindow().setBackgroundDrawable(new android.graphics.drawable.ColorDrawable(android.graphics.Color.TRANSPARENT));
         
         // Reload report data from database for dynamic updates
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 // Fetch fresh data from database
                 BlotterReport freshReport = database.blotterReportDao().getReportById(reportId);
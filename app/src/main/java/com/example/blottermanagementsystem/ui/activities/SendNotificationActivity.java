@@ -20,7 +20,6 @@ import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.button.MaterialButton;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.concurrent.Executors;
 
 public class SendNotificationActivity extends BaseActivity {
     
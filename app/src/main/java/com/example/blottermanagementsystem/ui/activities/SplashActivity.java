@@ -18,8 +18,8 @@ import com.example.blottermanagementsystem.data.entity.User;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.data.api.ApiClient;
 import com.example.blottermanagementsystem.utils.CloudinaryHelper;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.facebook.shimmer.ShimmerFrameLayout;
-import java.util.concurrent.Executors;
 
 public class SplashActivity extends AppCompatActivity {
     
@@ -41,6 +41,14 @@ public class SplashActivity extends AppCompatActivity {
         // Initialize Cloudinary
         CloudinaryHelper.initCloudinary(this);
         
+        // Continue media uploads interrupted by the last process death
+        com.example.blottermanagementsystem.utils.MediaUploadManager.getInstance(this).resumePendingUploads();
+        
+        // Drain reports filed offline, including ones parked while the session had expired
+        if (preferencesManager.isLoggedIn()) {
+            com.example.blottermanagementsystem.workers.ReportOutboxWorker.enqueue(this);
+        }
+        
         // Create default admin account if not exists
         createAdminAccountIfNotExists();
         
@@ -117,7 +125,7 @@ public class SplashActivity extends AppCompatActivity {
     }
     
     private void createAdminAccountIfNotExists() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             // Check if admin account exists
             User existingAdmin = database.userDao().getUserByUsername("admin");
             
@@ -18,10 +18,12 @@ import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
+import com.example.blottermanagementsystem.data.dao.BlotterReportDao;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.entity.User;
 import com.example.blottermanagementsystem.ui.adapters.ReportAdapter;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.bumptech.glide.Glide;
@@ -35,7 +37,6 @@ import com.google.android.material.chip.Chip;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class UserDashboardActivity extends BaseActivity {
     
@@ -153,7 +154,7 @@ public class UserDashboardActivity extends BaseActivity {
         // If PreferencesManager fails, try to get the LAST logged in user from database
         if (userId == null || userId.isEmpty() || userId.equals("-1")) {
             android.util.Log.e("UserDashboard", "⚠️ PreferencesManager returned -1, checking database for last user");
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 java.util.List<User> allUsers = database.userDao().getAllUsers();
                 android.util.Log.d("UserDashboard", "Total users in database: " + allUsers.size());
                 
@@ -539,19 +540,21 @@ public class UserDashboardActivity extends BaseActivity {
             android.util.Log.e("UserDashboard", "❌ Error initializing ApiClient: " + e.getMessage());
         }
         
-        com.example.blottermanagementsystem.utils.ApiClient.getAllReports(
-            new com.example.blottermanagementsystem.utils.ApiClient.ApiCallback<List<BlotterReport>>() {
+        int reporterId;
+        try {
+            reporterId = Integer.parseInt(userId);
+        } catch (NumberFormatException e) {
+            android.util.Log.e("UserDashboard", "❌ Invalid user id: " + userId);
+            swipeRefresh.setRefreshing(false);
+            return;
+        }
+        
+        // Filtered by userId on the server; only this user's reports are downloaded
+        com.example.blottermanagementsystem.data.repository.ReportRepository.getInstance(UserDashboardActivity.this).getReportsByUser(reporterId,
+            new com.example.blottermanagementsystem.data.repository.ApiRepository.ApiCallback<List<BlotterReport>>() {
                 @Override
-                public void onSuccess(List<BlotterReport> allReports) {
-                    android.util.Log.d("UserDashboard", "✅ Reports loaded from API: " + allReports.size());
-                    
-                    // Filter reports by current user
-                    List<BlotterReport> userReports = new ArrayList<>(); // Filtering by String userId
-                                        for (BlotterReport report : allReports) {
-                        if (String.valueOf(report.getReportedById()).equals(userId)) {
-                            userReports.add(report);
-                        }
-                    }
+                public void onSuccess(List<BlotterReport> userReports) {
+                    android.util.Log.d("UserDashboard", "✅ Reports loaded from API: " + userReports.size());
                     
                     // Count reports by status
                     int pendingCount = 0, ongoingCount = 0, resolvedCount = 0;
@@ -619,39 +622,22 @@ public class UserDashboardActivity extends BaseActivity {
     private void loadDataQuietly() {
         String userId = preferencesManager.getUserId();
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
-                List<BlotterReport> allReports = database.blotterReportDao().getAllReports();
-                
-                // Filter reports by current user
-                List<BlotterReport> userReports = new ArrayList<>(); // Filtering by String userId
-                                for (BlotterReport report : allReports) {
-                    if (String.valueOf(report.getReportedById()).equals(userId)) {
-                        userReports.add(report);
-                    }
-                }
-                
-                // Count by status
-                int totalReports = userReports.size();
-                int pendingReports = 0;
-                int ongoingReports = 0;
-                int resolvedReports = 0;
-                
-                for (BlotterReport report : userReports) {
-                    String status = report.getStatus();
-                    if (status != null && "pending".equalsIgnoreCase(status)) {
-                        pendingReports++;
-                    } else if (status != null && ("ongoing".equalsIgnoreCase(status) || "in-progress".equalsIgnoreCase(status))) {
-                        ongoingReports++;
-                    } else if (status != null && "resolved".equalsIgnoreCase(status)) {
-                        resolvedReports++;
-                    }
+                // Only the counts and the 5 most recent rows are read - never the whole table
+                int userIdInt;
+                try {
+                    userIdInt = Integer.parseInt(userId);
+                } catch (NumberFormatException e) {
+                    userIdInt = -1;
                 }
+                BlotterReportDao.ReportStatusCounts counts = database.blotterReportDao().getStatusCountsByUser(userIdInt);
+                List<BlotterReport> recentReports = database.blotterReportDao().getRecentReportsByUser(userIdInt, 5);
                 
-                final int finalTotalReports = totalReports;
-                final int finalPendingReports = pendingReports;
-                final int finalOngoingReports = ongoingReports;
-                final int finalResolvedReports = resolvedReports;
+                final int finalTotalReports = counts.total;
+                final int finalPendingReports = counts.pending;
+                final int finalOngoingReports = counts.ongoing;
+                final int finalResolvedReports = counts.resolved;
                 
                 runOnUiThread(() -> {
                     // Update statistics quietly
@@ -662,18 +648,14 @@ public class UserDashboardActivity extends BaseActivity {
                     
                     // Update recent reports list quietly
                     reportsList.clear();
-                    if (userReports.size() > 5) {
-                        reportsList.addAll(userReports.subList(0, 5));
-                    } else {
-                        reportsList.addAll(userReports);
-                    }
+                    reportsList.addAll(recentReports);
                     
                     if (adapter != null) {
                         adapter.notifyDataSetChanged();
                     }
                     
                     // Update empty state
-                    if (userReports.isEmpty()) {
+                    if (recentReports.isEmpty()) {
                         if (emptyStateCard != null) emptyStateCard.setVisibility(View.VISIBLE);
                         if (emptyState != null) emptyState.setVisibility(View.VISIBLE);
                         if (recyclerReports != null) recyclerReports.setVisibility(View.GONE);
@@ -691,7 +673,7 @@ public class UserDashboardActivity extends BaseActivity {
 
     private void updateNotificationBadge() {
         String userId = preferencesManager.getUserId();
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             int unreadCount = 0; // TODO: Fetch from API if available
             // No unread notification count API yet, default to 0
             runOnUiThread(() -> {
@@ -1213,7 +1195,7 @@ public class UserDashboardActivity extends BaseActivity {
         android.util.Log.d("UserDashboard", "=== CHECK AND SHOW TUTORIAL ===");
         android.util.Log.d("UserDashboard", "UserId: " + userId);
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             runOnUiThread(() -> {
                 // Check if tutorial has been shown for this user
                 boolean hasSeenTutorial = preferencesManager.getBoolean("tutorial_seen_" + userId, false);
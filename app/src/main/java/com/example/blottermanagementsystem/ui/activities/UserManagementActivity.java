@@ -15,7 +15,6 @@ import com.example.blottermanagementsystem.ui.adapters.UserAdapter;
 import com.google.android.material.chip.Chip;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class UserManagementActivity extends BaseActivity {
     
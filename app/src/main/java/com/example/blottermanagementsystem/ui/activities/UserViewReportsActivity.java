@@ -9,10 +9,11 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.repository.ApiRepository;
+import com.example.blottermanagementsystem.data.repository.ReportRepository;
 import com.example.blottermanagementsystem.ui.adapters.ReportAdapter;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
-import com.example.blottermanagementsystem.utils.ApiClient;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -104,7 +105,7 @@ public class UserViewReportsActivity extends BaseActivity {
 
         String userId = preferencesManager.getUserId();
 
-        ApiClient.getAllReports(new ApiClient.ApiCallback<List<BlotterReport>>() {
+        ReportRepository.getInstance(UserViewReportsActivity.this).getAllReports(new ApiRepository.ApiCallback<List<BlotterReport>>() {
             @Override
             public void onSuccess(List<BlotterReport> apiReports) {
                 if (isFinishing() || isDestroyed()) return;
@@ -19,12 +19,12 @@ import com.example.blottermanagementsystem.data.entity.Witness;
 import com.example.blottermanagementsystem.data.entity.Suspect;
 import com.example.blottermanagementsystem.ui.adapters.ImageAdapter;
 import com.example.blottermanagementsystem.ui.adapters.VideoAdapter;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
 public class ViewPersonHistoryDetailActivity extends AppCompatActivity {
 
@@ -144,7 +144,7 @@ public class ViewPersonHistoryDetailActivity extends AppCompatActivity {
     }
 
     private void loadCaseDetails() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 currentReport = database.blotterReportDao().getReportById(reportId);
                 
@@ -201,7 +201,7 @@ public class ViewPersonHistoryDetailActivity extends AppCompatActivity {
     }
 
     private void loadEvidence() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 List<com.example.blottermanagementsystem.data.entity.Evidence> evidenceList = 
                     database.evidenceDao().getEvidenceByReport(reportId);
@@ -251,7 +251,7 @@ public class ViewPersonHistoryDetailActivity extends AppCompatActivity {
     }
 
     private void loadWitnessesAndSuspects() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 List<Witness> witnesses = database.witnessDao().getWitnessesByReport(reportId);
                 List<Suspect> suspects = database.suspectDao().getSuspectsByReport(reportId);
@@ -9,17 +9,21 @@ import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.model.InvestigationStep;
 import com.example.blottermanagementsystem.utils.StatusColorUtil;
 import com.google.android.material.chip.Chip;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class BlotterReportAdapter extends RecyclerView.Adapter<BlotterReportAdapter.ReportViewHolder> {
     
     private List<BlotterReport> reports;
     private OnReportClickListener listener;
+    private Map<Integer, List<InvestigationStep>> progressByReport = new HashMap<>();
     
     public interface OnReportClickListener {
         void onReportClick(BlotterReport report);
@@ -41,7 +45,7 @@ public class BlotterReportAdapter extends RecyclerView.Adapter<BlotterReportAdap
     @Override
     public void onBindViewHolder(@NonNull ReportViewHolder holder, int position) {
         BlotterReport report = reports.get(position);
-        holder.bind(report, listener);
+        holder.bind(report, progressByReport.get(report.getId()), listener);
     }
     
     @Override
@@ -54,10 +58,19 @@ public class BlotterReportAdapter extends RecyclerView.Adapter<BlotterReportAdap
         notifyDataSetChanged();
     }
     
+    /**
+     * Timeline steps per report id (TimelineUpdateManager.loadProgressForReports),
+     * shown as a progress badge on each row
+     */
+    public void setProgress(Map<Integer, List<InvestigationStep>> stepsByReport) {
+        this.progressByReport = stepsByReport;
+        notifyDataSetChanged();
+    }
+    
     static class ReportViewHolder extends RecyclerView.ViewHolder {
         private CardView cardView;
         private TextView tvCaseNumber, tvIncidentType, tvDate, tvLocation;
-        private TextView tvComplainantName, tvAssignedOfficers;
+        private TextView tvComplainantName, tvAssignedOfficers, tvProgress;
         private Chip chipStatus;
         
         public ReportViewHolder(@NonNull View itemView) {
@@ -69,10 +82,11 @@ public class BlotterReportAdapter extends RecyclerView.Adapter<BlotterReportAdap
             tvLocation = itemView.findViewById(R.id.tvLocation);
             tvComplainantName = itemView.findViewById(R.id.tvComplainantName);
             tvAssignedOfficers = itemView.findViewById(R.id.tvAssignedOfficers);
+            tvProgress = itemView.findViewById(R.id.tvProgress);
             chipStatus = itemView.findViewById(R.id.chipStatus);
         }
         
-        public void bind(BlotterReport report, OnReportClickListener listener) {
+        public void bind(BlotterReport report, List<InvestigationStep> steps, OnReportClickListener listener) {
             tvCaseNumber.setText(report.getCaseNumber());
             tvIncidentType.setText(report.getIncidentType());
             tvLocation.setText(report.getLocation());
@@ -111,6 +125,20 @@ public class BlotterReportAdapter extends RecyclerView.Adapter<BlotterReportAdap
                 tvAssignedOfficers.setText("0");
             }
             
+            // Progress badge - completed timeline steps
+            if (tvProgress != null) {
+                if (steps != null && !steps.isEmpty()) {
+                    int completed = 0;
+                    for (InvestigationStep step : steps) {
+                        if (step.isCompleted()) completed++;
+                    }
+                    tvProgress.setText("📊 " + completed + "/" + steps.size());
+                    tvProgress.setVisibility(View.VISIBLE);
+                } else {
+                    tvProgress.setVisibility(View.GONE);
+                }
+            }
+            
             // Click listener
             if (cardView != null) {
                 cardView.setOnClickListener(v -> {
@@ -11,12 +11,12 @@ import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.entity.Hearing;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
 public class HearingAdapter extends RecyclerView.Adapter<HearingAdapter.ViewHolder> {
     
@@ -56,7 +56,7 @@ public class HearingAdapter extends RecyclerView.Adapter<HearingAdapter.ViewHold
         
         // ✅ Fetch case number from database
         if (holder.tvCaseNumber != null) {
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     BlotterDatabase database = BlotterDatabase.getDatabase(context);
                     BlotterReport report = database.blotterReportDao().getReportById(hearing.getBlotterReportId());
@@ -101,7 +101,7 @@ public class HearingAdapter extends RecyclerView.Adapter<HearingAdapter.ViewHold
         }
         // ✅ Update hearing status based on case status
         if (holder.chipStatus != null) {
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     BlotterDatabase database = BlotterDatabase.getDatabase(context);
                     BlotterReport report = database.blotterReportDao().getReportById(hearing.getBlotterReportId());
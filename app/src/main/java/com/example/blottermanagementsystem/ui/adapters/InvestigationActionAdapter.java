@@ -16,7 +16,6 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 
 import java.util.List;
-import java.util.concurrent.Executors;
 
 /**
  * ✅ INVESTIGATION ACTIONS ADAPTER
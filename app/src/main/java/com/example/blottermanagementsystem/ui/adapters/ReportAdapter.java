@@ -106,9 +106,9 @@ public class ReportAdapter extends RecyclerView.Adapter<ReportAdapter.ReportView
             int statusColor = StatusColorUtil.getStatusColor(status);
             chipStatus.setChipBackgroundColorResource(statusColor);
             
-            // Count evidence
-            int imageCount = countItems(report.getImageUris());
-            int videoCount = countItems(report.getVideoUris());
+            // Count evidence (precomputed from report_media when the list came from Room)
+            int imageCount = report.hasMediaCounts() ? report.getImageCount() : countItems(report.getImageUris());
+            int videoCount = report.hasMediaCounts() ? report.getVideoCount() : countItems(report.getVideoUris());
             
             // Show/hide evidence indicators
             boolean hasEvidence = imageCount > 0 || videoCount > 0;
@@ -0,0 +1,60 @@
+package com.example.blottermanagementsystem.ui.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.blottermanagementsystem.R;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+
+import java.util.Objects;
+
+/**
+ * Paged variant of ReportAdapter - same item layout and binding,
+ * fed by ReportPagingSource so only visible pages are held in memory.
+ */
+public class ReportPagingAdapter extends PagingDataAdapter<BlotterReport, ReportAdapter.ReportViewHolder> {
+    
+    private final ReportAdapter.OnReportClickListener listener;
+    
+    public ReportPagingAdapter(ReportAdapter.OnReportClickListener listener) {
+        super(DIFF_CALLBACK);
+        this.listener = listener;
+    }
+    
+    @NonNull
+    @Override
+    public ReportAdapter.ReportViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+            .inflate(R.layout.item_report, parent, false);
+        return new ReportAdapter.ReportViewHolder(view);
+    }
+    
+    @Override
+    public void onBindViewHolder(@NonNull ReportAdapter.ReportViewHolder holder, int position) {
+        BlotterReport report = getItem(position);
+        if (report != null) {
+            holder.bind(report, listener);
+        }
+    }
+    
+    public static final DiffUtil.ItemCallback<BlotterReport> DIFF_CALLBACK = new DiffUtil.ItemCallback<BlotterReport>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull BlotterReport oldItem, @NonNull BlotterReport newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+        
+        @Override
+        public boolean areContentsTheSame(@NonNull BlotterReport oldItem, @NonNull BlotterReport newItem) {
+            return oldItem.getUpdatedAt() == newItem.getUpdatedAt()
+                && oldItem.getVersion() == newItem.getVersion()
+                && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                && Objects.equals(oldItem.getAssignedOfficer(), newItem.getAssignedOfficer())
+                && Objects.equals(oldItem.getImageUris(), newItem.getImageUris())
+                && Objects.equals(oldItem.getVideoUris(), newItem.getVideoUris());
+        }
+    };
+}
@@ -12,6 +12,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.blottermanagementsystem.R;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -53,7 +54,7 @@ public class VideoAdapter extends RecyclerView.Adapter<VideoAdapter.VideoViewHol
         holder.tvDuration.setText("00:00");
         
         // Load video thumbnail and duration in background
-        new Thread(() -> {
+        AppExecutors.getInstance().compute().execute(() -> {
             try {
                 MediaMetadataRetriever retriever = new MediaMetadataRetriever();
                 retriever.setDataSource(holder.itemView.getContext(), videoUri);
@@ -89,7 +90,7 @@ public class VideoAdapter extends RecyclerView.Adapter<VideoAdapter.VideoViewHol
                 android.util.Log.e("VideoAdapter", "Error loading video thumbnail: " + e.getMessage());
                 e.printStackTrace();
             }
-        }).start();
+        });
         
         holder.itemView.setOnClickListener(v -> listener.onVideoClick(videoUri));
         
@@ -21,6 +21,7 @@ import com.example.blottermanagementsystem.data.entity.PersonHistory;
 import com.example.blottermanagementsystem.ui.adapters.SuspectListAdapter;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
 import com.example.blottermanagementsystem.utils.ApiClient;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import androidx.appcompat.app.AlertDialog;
@@ -29,7 +30,6 @@ import retrofit2.Call;
 import retrofit2.Response;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.concurrent.Executors;
 import java.util.List;
 import java.util.Map;
 
@@ -150,7 +150,7 @@ public class AddSuspectDialogFragment extends DialogFragment {
     
     // ✅ CHECK SUSPECT HISTORY
     private void checkSuspectHistory(String suspectName) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -237,7 +237,7 @@ public class AddSuspectDialogFragment extends DialogFragment {
         suspect.setDateAdded(System.currentTimeMillis());
 
         // Save to database in background thread
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -308,7 +308,7 @@ public class AddSuspectDialogFragment extends DialogFragment {
         suspect.setDateAdded(System.currentTimeMillis());
 
         // Save to database in background thread
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -351,7 +351,7 @@ public class AddSuspectDialogFragment extends DialogFragment {
     }
     
     private void loadSuspects() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -379,7 +379,7 @@ public class AddSuspectDialogFragment extends DialogFragment {
     // ✅ AUTO-POPULATE RESPONDENT INFO (READ-ONLY DISPLAY)
     // Load respondent name, alias, and address from the report and display in read-only section
     private void loadAndPopulateRespondent() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -474,7 +474,7 @@ public class AddSuspectDialogFragment extends DialogFragment {
     // ✅ CONFIRM SKIP - Creates marker and closes dialog
     private void confirmSkipSuspect() {
         // Run on background thread to avoid blocking UI
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -538,7 +538,7 @@ public class AddSuspectDialogFragment extends DialogFragment {
         suspect.setDescription("None");
         suspect.setDateAdded(System.currentTimeMillis());
 
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
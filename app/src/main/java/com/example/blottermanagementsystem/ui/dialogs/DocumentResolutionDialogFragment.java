@@ -20,6 +20,7 @@ import com.example.blottermanagementsystem.data.entity.Resolution;
 import com.example.blottermanagementsystem.data.entity.Suspect;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
 import com.example.blottermanagementsystem.utils.ApiClient;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.button.MaterialButton;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -27,7 +28,6 @@ import retrofit2.Response;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 public class DocumentResolutionDialogFragment extends DialogFragment {
 
@@ -124,7 +124,7 @@ public class DocumentResolutionDialogFragment extends DialogFragment {
         resolution.setCreatedAt(System.currentTimeMillis());
 
         // Save to database in background thread
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -19,12 +19,12 @@ import com.example.blottermanagementsystem.utils.NetworkMonitor;
 import com.example.blottermanagementsystem.utils.ApiClient;
 import com.google.android.material.button.MaterialButton;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 /**
  * ✅ EDIT/RESCHEDULE HEARING DIALOG
@@ -171,7 +171,7 @@ public class EditHearingDialogFragment extends DialogFragment {
         hearing.setLocation(location);
 
         // Save to database in background
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
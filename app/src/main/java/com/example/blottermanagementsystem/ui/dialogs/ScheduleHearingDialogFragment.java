@@ -25,6 +25,7 @@ import com.example.blottermanagementsystem.utils.HearingReminderManager;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import com.example.blottermanagementsystem.utils.ApiClient;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.MaterialAutoCompleteTextView;
 import retrofit2.Call;
@@ -38,7 +39,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.Executors;
 
 public class ScheduleHearingDialogFragment extends DialogFragment {
 
@@ -147,7 +147,7 @@ public class ScheduleHearingDialogFragment extends DialogFragment {
     
     private void autoFillPresidingOfficer() {
         // ✅ FIXED: Get CURRENT officer's name (the one creating the hearing)
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 PreferencesManager prefs = new PreferencesManager(getContext());
                 String userIdStr = prefs.getUserId();
@@ -281,7 +281,7 @@ public class ScheduleHearingDialogFragment extends DialogFragment {
         }
 
         // Save to database in background thread
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
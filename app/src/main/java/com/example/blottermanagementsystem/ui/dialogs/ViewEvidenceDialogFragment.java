@@ -18,12 +18,12 @@ import com.example.blottermanagementsystem.data.entity.Evidence;
 import com.example.blottermanagementsystem.ui.adapters.EvidenceListAdapter;
 import com.example.blottermanagementsystem.utils.NetworkMonitor;
 import com.example.blottermanagementsystem.utils.ApiClient;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.card.MaterialCardView;
 import android.widget.Toast;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class ViewEvidenceDialogFragment extends DialogFragment {
     
@@ -77,7 +77,7 @@ public class ViewEvidenceDialogFragment extends DialogFragment {
     }
     
     private void loadEvidence() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
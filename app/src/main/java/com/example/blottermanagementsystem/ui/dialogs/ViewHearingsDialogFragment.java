@@ -21,9 +21,9 @@ import com.google.android.material.card.MaterialCardView;
 import android.widget.Toast;
 
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class ViewHearingsDialogFragment extends DialogFragment {
     
@@ -86,7 +86,7 @@ public class ViewHearingsDialogFragment extends DialogFragment {
             // Check case status - only show edit if "Scheduled"
             BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
             if (database != null) {
-                Executors.newSingleThreadExecutor().execute(() -> {
+                AppExecutors.getInstance().diskIO().execute(() -> {
                     try {
                         com.example.blottermanagementsystem.data.entity.BlotterReport report = 
                             database.blotterReportDao().getReportById(reportId);
@@ -138,7 +138,7 @@ public class ViewHearingsDialogFragment extends DialogFragment {
     }
     
     private void loadHearings() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -20,9 +20,9 @@ import java.util.Date;
 
 import java.text.SimpleDateFormat;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
 import java.util.Locale;
 
 public class ViewResolutionDialogFragment extends DialogFragment {
@@ -88,7 +88,7 @@ public class ViewResolutionDialogFragment extends DialogFragment {
     }
     
     private void loadResolution() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
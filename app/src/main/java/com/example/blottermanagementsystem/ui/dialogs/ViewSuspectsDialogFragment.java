@@ -20,9 +20,9 @@ import com.example.blottermanagementsystem.utils.ApiClient;
 import android.widget.Toast;
 
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class ViewSuspectsDialogFragment extends DialogFragment {
     
@@ -83,7 +83,7 @@ public class ViewSuspectsDialogFragment extends DialogFragment {
     }
     
     private void loadSuspects() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -21,9 +21,9 @@ import com.google.android.material.card.MaterialCardView;
 import android.widget.Toast;
 
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class ViewWitnessesDialogFragment extends DialogFragment {
     
@@ -84,7 +84,7 @@ public class ViewWitnessesDialogFragment extends DialogFragment {
     }
     
     private void loadWitnesses() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(getContext());
                 if (database != null) {
@@ -15,9 +15,9 @@ import com.example.blottermanagementsystem.R;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.Hearing;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment;
 import com.google.android.material.chip.Chip;
-import java.util.concurrent.Executors;
 
 /**
  * ✅ PROFESSIONAL HEARING DETAILS DIALOG
@@ -80,7 +80,7 @@ public class ViewHearingDetailsDialogFragment extends BottomSheetDialogFragment
 
         // ✅ Case Number / Title - Fetch actual case number from database
         if (tvCaseNumber != null) {
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     BlotterDatabase database = BlotterDatabase.getDatabase(requireContext());
                     BlotterReport report = database.blotterReportDao().getReportById(hearing.getBlotterReportId());
@@ -133,7 +133,7 @@ public class ViewHearingDetailsDialogFragment extends BottomSheetDialogFragment
 
         // ✅ Status Chip - Get from case status, not hearing status
         if (chipStatus != null) {
-            Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().diskIO().execute(() -> {
                 try {
                     BlotterDatabase database = BlotterDatabase.getDatabase(requireContext());
                     BlotterReport report = database.blotterReportDao().getReportById(hearing.getBlotterReportId());
@@ -91,6 +91,19 @@ public class ApiClient {
             });
     }
     
+    /**
+     * Get one page of reports filtered on the server
+     */
+    public static void getReports(com.example.blottermanagementsystem.data.api.ReportQuery query, ApiCallback<List<BlotterReport>> callback) {
+        com.example.blottermanagementsystem.data.api.ApiClient.getReports(query,
+            new com.example.blottermanagementsystem.data.api.ApiClient.ApiCallback<List<BlotterReport>>() {
+                @Override
+                public void onSuccess(List<BlotterReport> result) { callback.onSuccess(result); }
+                @Override
+                public void onError(String errorMessage) { callback.onError(errorMessage); }
+            });
+    }
+    
     /**
      * Get report by ID
      */
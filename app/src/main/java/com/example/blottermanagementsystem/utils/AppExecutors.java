@@ -0,0 +1,208 @@
+package com.example.blottermanagementsystem.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide thread pools. Use these instead of Executors.newSingleThreadExecutor():
+ * a fresh executor per call is never shut down and leaks one thread per call.
+ *
+ * - diskIO():     Room reads/writes, file access
+ * - networkIO():  blocking Retrofit/OkHttp calls (execute(), not enqueue())
+ * - compute():    CPU work such as image decoding or PDF layout
+ * - mainThread(): post results back to the UI
+ *
+ * Pools are bounded (threads and queue), threads are named "bms-<pool>-N" and run
+ * at background priority, and idle threads time out so a quiet app holds none.
+ */
+public final class AppExecutors {
+
+    private static final String TAG = "AppExecutors";
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static volatile AppExecutors INSTANCE;
+
+    // Takes main-thread work a saturated pool rejects; unbounded so nothing is lost
+    private static final ThreadPoolExecutor OVERFLOW = newOverflowExecutor();
+
+    private final BoundedPool diskIO;
+    private final BoundedPool networkIO;
+    private final BoundedPool compute;
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+        // SQLite allows one writer at a time; a second thread keeps reads flowing during a write
+        diskIO = new BoundedPool("disk", 2, 256);
+        networkIO = new BoundedPool("net", 4, 64);
+        compute = new BoundedPool("compute", cores, 128);
+        mainThread = new MainThreadExecutor();
+    }
+
+    public static AppExecutors getInstance() {
+        if (INSTANCE == null) {
+            synchronized (AppExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AppExecutors();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public Executor diskIO() { return diskIO; }
+    public Executor networkIO() { return networkIO; }
+    public Executor compute() { return compute; }
+    public Executor mainThread() { return mainThread; }
+
+    /**
+     * Snapshot of all pools, for logging or a debug screen.
+     */
+    public PoolMetrics[] getMetrics() {
+        return new PoolMetrics[]{diskIO.metrics(), networkIO.metrics(), compute.metrics()};
+    }
+
+    public void logMetrics() {
+        for (PoolMetrics metrics : getMetrics()) {
+            Log.d(TAG, "📊 " + metrics);
+        }
+    }
+
+    private static ThreadPoolExecutor newOverflowExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("overflow"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static class PoolMetrics {
+        public String name;
+        public int threads;
+        public int activeThreads;
+        public int largestThreads;
+        public int maxThreads;
+        public int queueDepth;
+        public int peakQueueDepth;
+        public int queueCapacity;
+        public long completedTasks;
+        public long rejectedTasks;
+
+        @Override
+        public String toString() {
+            return "PoolMetrics{" +
+                    "name=" + name +
+                    ", threads=" + threads + "/" + maxThreads +
+                    ", active=" + activeThreads +
+                    ", largest=" + largestThreads +
+                    ", queue=" + queueDepth + "/" + queueCapacity +
+                    ", peakQueue=" + peakQueueDepth +
+                    ", completed=" + completedTasks +
+                    ", rejected=" + rejectedTasks +
+                    '}';
+        }
+    }
+
+    /**
+     * Fixed-size pool over a bounded queue. When the queue is full a background
+     * caller runs the task itself (natural back-pressure); the main thread never
+     * does, so UI-originated work goes to a single unbounded overflow thread
+     * instead of blocking a frame.
+     */
+    private static final class BoundedPool extends ThreadPoolExecutor {
+        private final String name;
+        private final int queueCapacity;
+        private final AtomicInteger peakQueueDepth = new AtomicInteger();
+        private final AtomicLong rejectedTasks = new AtomicLong();
+
+        BoundedPool(String name, int threads, int queueCapacity) {
+            super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory(name));
+            this.name = name;
+            this.queueCapacity = queueCapacity;
+            allowCoreThreadTimeOut(true);
+            setRejectedExecutionHandler(new OverflowHandler());
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            super.execute(command);
+            int depth = getQueue().size();
+            peakQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+
+        PoolMetrics metrics() {
+            PoolMetrics metrics = new PoolMetrics();
+            metrics.name = name;
+            metrics.threads = getPoolSize();
+            metrics.activeThreads = getActiveCount();
+            metrics.largestThreads = getLargestPoolSize();
+            metrics.maxThreads = getMaximumPoolSize();
+            metrics.queueDepth = getQueue().size();
+            metrics.peakQueueDepth = peakQueueDepth.get();
+            metrics.queueCapacity = queueCapacity;
+            metrics.completedTasks = getCompletedTaskCount();
+            metrics.rejectedTasks = rejectedTasks.get();
+            return metrics;
+        }
+
+        private final class OverflowHandler implements RejectedExecutionHandler {
+            @Override
+            public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                rejectedTasks.incrementAndGet();
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException(name + " pool is shut down");
+                }
+                if (Looper.myLooper() == Looper.getMainLooper()) {
+                    Log.e(TAG, "❌ " + name + " pool saturated, moving main-thread task to overflow: " + metrics());
+                    OVERFLOW.execute(task);
+                    return;
+                }
+                Log.w(TAG, "⚠️ " + name + " pool saturated, running task on caller thread");
+                task.run();
+            }
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        NamedThreadFactory(String pool) {
+            this.prefix = "bms-" + pool + "-";
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, prefix + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static final class MainThreadExecutor implements Executor {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            handler.post(command);
+        }
+    }
+}
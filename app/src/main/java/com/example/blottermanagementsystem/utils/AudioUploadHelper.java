@@ -1,34 +1,57 @@
 package com.example.blottermanagementsystem.utils;
 
+import android.content.Context;
+import android.net.Uri;
 import android.util.Log;
 import java.io.File;
 
 public class AudioUploadHelper {
     private static final String TAG = "AudioUploadHelper";
-    
-    public static void uploadAudio(String audioFilePath, UploadCallback callback) {
+    private static final String AUDIO_FOLDER = "blotter/audio";
+
+    /**
+     * Queue a recording for streaming upload; returns the upload id (null if the file is missing)
+     */
+    public static String uploadAudio(Context context, String audioFilePath, UploadCallback callback) {
         try {
             File audioFile = new File(audioFilePath);
             if (!audioFile.exists()) {
                 callback.onError("Audio file not found");
-                return;
+                return null;
             }
-            
-            // Placeholder for audio upload
+
             Log.d(TAG, "Uploading audio: " + audioFilePath);
-            
-            // Simulate upload success
-            String uploadedUrl = "https://placeholder-url.com/audio/" + audioFile.getName();
-            callback.onSuccess(uploadedUrl);
-            
+
+            MediaUploadManager manager = MediaUploadManager.getInstance(context);
+            String uploadId = manager.enqueue(Uri.fromFile(audioFile), MediaUploadManager.MediaType.AUDIO, AUDIO_FOLDER);
+            manager.observe(uploadId, new MediaUploadManager.UploadCallback() {
+                @Override
+                public void onProgress(int percent) {
+                    callback.onProgress(percent);
+                }
+
+                @Override
+                public void onSuccess(String secureUrl) {
+                    callback.onSuccess(secureUrl);
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    callback.onError(errorMessage);
+                }
+            });
+            return uploadId;
+
         } catch (Exception e) {
             Log.e(TAG, "Error uploading audio", e);
             callback.onError(e.getMessage());
+            return null;
         }
     }
-    
+
     public interface UploadCallback {
         void onSuccess(String url);
         void onError(String error);
+        default void onProgress(int percent) {}
     }
 }
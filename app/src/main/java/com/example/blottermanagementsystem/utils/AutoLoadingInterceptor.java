@@ -1,7 +1,6 @@
 package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
-import java.util.concurrent.Executors;
 
 /**
  * AUTOMATIC Loading Interceptor - No manual coding needed!
@@ -15,7 +14,7 @@ public class AutoLoadingInterceptor {
     public static void executeWithLoading(Context context, String operation, Runnable task) {
         GlobalLoadingManager.show(context, operation + "...");
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 // Execute the task
                 task.run();
@@ -41,7 +40,7 @@ public class AutoLoadingInterceptor {
     public static void executeCloudWithLoading(Context context, String operation, Runnable task) {
         GlobalLoadingManager.showCloud(context, operation);
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 task.run();
                 
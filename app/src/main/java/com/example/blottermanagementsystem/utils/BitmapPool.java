@@ -0,0 +1,94 @@
+package com.example.blottermanagementsystem.utils;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BitmapPool - Recycles mutable bitmaps as BitmapFactory.Options.inBitmap targets
+ *
+ * Decoding a batch of evidence photos at the same target size otherwise allocates
+ * (and garbage-collects) a multi-megabyte bitmap per image. Bitmaps returned
+ * with put() are handed back by get() for any decode that fits in their allocation.
+ * The pool holds at most MAX_POOL_BYTES; beyond that put() recycles instead.
+ */
+public final class BitmapPool {
+    private static final String TAG = "BitmapPool";
+    private static final long MAX_POOL_BYTES = 16L * 1024 * 1024;
+
+    private static final BitmapPool INSTANCE = new BitmapPool();
+
+    private final List<Bitmap> pool = new ArrayList<>();
+    private long pooledBytes;
+    private int hits;
+    private int misses;
+
+    private BitmapPool() {
+    }
+
+    public static BitmapPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Smallest pooled bitmap that can hold width x height in the given config, or null.
+     * The caller owns the bitmap until it is put() back.
+     */
+    public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        long needed = (long) width * height * bytesPerPixel(config);
+        Bitmap best = null;
+        for (Bitmap candidate : pool) {
+            if (candidate.getConfig() == config && candidate.getAllocationByteCount() >= needed
+                    && (best == null || candidate.getAllocationByteCount() < best.getAllocationByteCount())) {
+                best = candidate;
+            }
+        }
+        if (best == null) {
+            misses++;
+            return null;
+        }
+        pool.remove(best);
+        pooledBytes -= best.getAllocationByteCount();
+        hits++;
+        return best;
+    }
+
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        if (!bitmap.isMutable() || bitmap.getAllocationByteCount() > MAX_POOL_BYTES) {
+            bitmap.recycle();
+            return;
+        }
+        // Evict the oldest entries to make room
+        while (!pool.isEmpty() && pooledBytes + bitmap.getAllocationByteCount() > MAX_POOL_BYTES) {
+            Bitmap evicted = pool.remove(0);
+            pooledBytes -= evicted.getAllocationByteCount();
+            evicted.recycle();
+        }
+        pool.add(bitmap);
+        pooledBytes += bitmap.getAllocationByteCount();
+    }
+
+    public synchronized void clear() {
+        for (Bitmap bitmap : pool) {
+            bitmap.recycle();
+        }
+        pool.clear();
+        pooledBytes = 0;
+    }
+
+    public synchronized void logStats() {
+        Log.d(TAG, "📊 pooled=" + pool.size() + " (" + (pooledBytes / 1024) + " KB), hits=" + hits + ", misses=" + misses);
+    }
+
+    private static int bytesPerPixel(Bitmap.Config config) {
+        if (config == Bitmap.Config.RGB_565 || config == Bitmap.Config.ARGB_4444) return 2;
+        if (config == Bitmap.Config.ALPHA_8) return 1;
+        if (config == Bitmap.Config.RGBA_F16) return 8;
+        return 4;
+    }
+}
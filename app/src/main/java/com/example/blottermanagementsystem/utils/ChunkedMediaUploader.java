@@ -0,0 +1,235 @@
+package com.example.blottermanagementsystem.utils;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+import android.provider.OpenableColumns;
+import android.util.Log;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+
+/**
+ * ChunkedMediaUploader - Streams a content Uri to Cloudinary in fixed-size chunks
+ *
+ * Follows Cloudinary's chunked upload protocol: every chunk is a multipart POST
+ * with the same X-Unique-Upload-Id and a Content-Range header. Bytes go from the
+ * ContentResolver to the socket through one 64 KB buffer, so memory use does not
+ * grow with file size (no byte[] or Base64 copy of the file).
+ * state.bytesUploaded advances after each accepted chunk; persisting it lets an
+ * interrupted upload continue with the next chunk instead of starting over.
+ */
+class ChunkedMediaUploader {
+    private static final String TAG = "ChunkedMediaUploader";
+    static final int CHUNK_SIZE = 6 * 1024 * 1024;   // Cloudinary needs >= 5 MB for every chunk but the last
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String UPLOAD_URL = "https://api.cloudinary.com/v1_1/%s/%s/upload";
+
+    interface Listener {
+        /** Throwing aborts the chunk in flight (used for pause/cancel) */
+        void onProgress(long bytesSent, long totalBytes) throws IOException;
+
+        void onChunkCommitted(MediaUploadManager.UploadState state);
+    }
+
+    // Separate from ApiClient's client: our Bearer token must never go to Cloudinary
+    private static OkHttpClient client;
+
+    private static synchronized OkHttpClient client() {
+        if (client == null) {
+            client = new OkHttpClient.Builder()
+                    .connectTimeout(30, TimeUnit.SECONDS)
+                    .writeTimeout(60, TimeUnit.SECONDS)
+                    .readTimeout(60, TimeUnit.SECONDS)
+                    .build();
+        }
+        return client;
+    }
+
+    private final ContentResolver resolver;
+
+    ChunkedMediaUploader(Context context) {
+        this.resolver = context.getApplicationContext().getContentResolver();
+    }
+
+    /**
+     * Uploads whatever is left of the given upload. On return state.secureUrl and
+     * state.publicId are set. Files of unknown length go up in one streamed request.
+     */
+    void upload(MediaUploadManager.UploadState state, Listener listener) throws IOException {
+        Uri uri = Uri.parse(state.uri);
+        if (state.totalBytes <= 0) {
+            state.totalBytes = querySize(uri);
+        }
+        String url = String.format(Locale.US, UPLOAD_URL, CloudinaryHelper.CLOUD_NAME, state.resourceType);
+
+        if (state.totalBytes <= 0) {
+            Log.d(TAG, "📤 Uploading " + state.fileName + " (unknown size, single request)");
+            complete(state, post(url, state, uri, 0, -1, listener));
+            return;
+        }
+
+        Log.d(TAG, "📤 Uploading " + state.fileName + " from byte " + state.bytesUploaded + " of " + state.totalBytes);
+        while (state.bytesUploaded < state.totalBytes) {
+            long start = state.bytesUploaded;
+            long end = Math.min(start + CHUNK_SIZE, state.totalBytes) - 1;
+            JsonObject result = post(url, state, uri, start, end, listener);
+
+            state.bytesUploaded = end + 1;
+            if (state.bytesUploaded >= state.totalBytes) {
+                complete(state, result);
+            }
+            listener.onChunkCommitted(state);
+        }
+    }
+
+    private JsonObject post(String url, MediaUploadManager.UploadState state, Uri uri,
+                            long start, long end, Listener listener) throws IOException {
+        long length = end >= 0 ? end - start + 1 : -1;
+        RequestBody file = new UriRangeBody(uri, start, length, state.totalBytes, listener);
+
+        RequestBody body = new MultipartBody.Builder()
+                .setType(MultipartBody.FORM)
+                .addFormDataPart("upload_preset", CloudinaryHelper.UPLOAD_PRESET)
+                .addFormDataPart("folder", state.folder)
+                .addFormDataPart("file", state.fileName, file)
+                .build();
+
+        Request.Builder request = new Request.Builder().url(url).post(body);
+        if (end >= 0) {
+            request.header("X-Unique-Upload-Id", state.id)
+                    .header("Content-Range", "bytes " + start + "-" + end + "/" + state.totalBytes);
+        }
+
+        try (Response response = client().newCall(request.build()).execute()) {
+            String text = response.body() != null ? response.body().string() : "";
+            int code = response.code();
+            if (!response.isSuccessful()) {
+                String message = "HTTP " + code + ": " + (text.length() > 200 ? text.substring(0, 200) : text);
+                if (code >= 400 && code < 500 && code != 408 && code != 429) {
+                    throw new MediaUploadManager.UploadRejectedException(message);
+                }
+                throw new IOException(message);
+            }
+            return text.isEmpty() ? new JsonObject() : JsonParser.parseString(text).getAsJsonObject();
+        }
+    }
+
+    private static void complete(MediaUploadManager.UploadState state, JsonObject result) throws IOException {
+        if (!result.has("secure_url")) {
+            throw new IOException("Upload finished without a URL");
+        }
+        state.secureUrl = result.get("secure_url").getAsString();
+        state.publicId = result.has("public_id") ? result.get("public_id").getAsString() : null;
+        Log.d(TAG, "✅ Uploaded " + state.fileName + ": " + state.secureUrl);
+    }
+
+    long querySize(Uri uri) {
+        if ("file".equals(uri.getScheme()) && uri.getPath() != null) {
+            return new File(uri.getPath()).length();
+        }
+        try (Cursor cursor = resolver.query(uri, new String[]{OpenableColumns.SIZE}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getLong(0);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "⚠️ Could not read size of " + uri + ": " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Streams [offset, offset + length) of a Uri; length -1 means to the end.
+     */
+    private class UriRangeBody extends RequestBody {
+        private final Uri uri;
+        private final long offset;
+        private final long length;
+        private final long totalBytes;
+        private final Listener listener;
+
+        UriRangeBody(Uri uri, long offset, long length, long totalBytes, Listener listener) {
+            this.uri = uri;
+            this.offset = offset;
+            this.length = length;
+            this.totalBytes = totalBytes;
+            this.listener = listener;
+        }
+
+        @Override
+        public MediaType contentType() {
+            String type = resolver.getType(uri);
+            return MediaType.parse(type != null ? type : "application/octet-stream");
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long sent = 0;
+            try (InputStream in = openAt(uri, offset)) {
+                while (length < 0 || sent < length) {
+                    int want = length < 0 ? buffer.length : (int) Math.min(buffer.length, length - sent);
+                    int read = in.read(buffer, 0, want);
+                    if (read < 0) {
+                        if (length >= 0) throw new EOFException("File shrank during upload");
+                        break;
+                    }
+                    sink.write(buffer, 0, read);
+                    sent += read;
+                    listener.onProgress(offset + sent, totalBytes);
+                }
+            }
+        }
+    }
+
+    private InputStream openAt(Uri uri, long offset) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new FileNotFoundException("Cannot open " + uri);
+        }
+        if (offset == 0) {
+            return in;
+        }
+        // Content providers usually hand out a FileInputStream: seek instead of reading through
+        if (in instanceof FileInputStream) {
+            ((FileInputStream) in).getChannel().position(offset);
+            return in;
+        }
+        long skipped = 0;
+        while (skipped < offset) {
+            long n = in.skip(offset - skipped);
+            if (n <= 0) {
+                if (in.read() < 0) {
+                    in.close();
+                    throw new EOFException("File shorter than resume offset");
+                }
+                n = 1;
+            }
+            skipped += n;
+        }
+        return in;
+    }
+}
@@ -19,8 +19,8 @@ import java.util.Map;
 public class CloudinaryHelper {
     
     private static final String TAG = "CloudinaryHelper";
-    private static final String CLOUD_NAME = "blotter-system"; // Replace with your Cloudinary cloud name
-    private static final String UPLOAD_PRESET = "blotter_unsigned"; // Replace with your upload preset
+    static final String CLOUD_NAME = "blotter-system"; // Replace with your Cloudinary cloud name
+    static final String UPLOAD_PRESET = "blotter_unsigned"; // Replace with your upload preset (also used by ChunkedMediaUploader)
     
     // Initialize Cloudinary (call this once in Application class)
     public static void initCloudinary(Context context) {
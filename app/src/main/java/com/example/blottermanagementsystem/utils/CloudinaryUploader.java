@@ -5,36 +5,78 @@ import android.net.Uri;
 import android.util.Log;
 import java.io.File;
 
+/**
+ * CloudinaryUploader - Queues images and videos on MediaUploadManager
+ * Uploads stream from disk, resume after interruptions and report progress.
+ */
 public class CloudinaryUploader {
     private static final String TAG = "CloudinaryUploader";
+    private static final String EVIDENCE_FOLDER = "blotter/evidence";
     private static CloudinaryUploader instance;
-    
+
+    private final Context context;
+
+    private CloudinaryUploader(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
     public static void initialize(Context context) {
         if (instance == null) {
-            instance = new CloudinaryUploader();
+            instance = new CloudinaryUploader(context);
             Log.d(TAG, "Cloudinary initialized");
         }
     }
-    
+
     public static CloudinaryUploader getInstance() {
         return instance;
     }
-    
+
     public void uploadImage(String filePath, UploadCallback callback) {
-        // Placeholder for Cloudinary upload
-        // Requires Cloudinary SDK and configuration
-        Log.d(TAG, "Upload image: " + filePath);
-        callback.onSuccess("https://placeholder-url.com/image.jpg");
+        File file = new File(filePath);
+        if (!file.exists()) {
+            callback.onError("Image file not found");
+            return;
+        }
+        upload(Uri.fromFile(file), MediaUploadManager.MediaType.IMAGE, callback);
     }
-    
+
     public void uploadImage(Uri imageUri, Context context, UploadCallback callback) {
-        // Placeholder for Cloudinary upload
-        Log.d(TAG, "Upload image from URI: " + imageUri);
-        callback.onSuccess("https://placeholder-url.com/image.jpg");
+        upload(imageUri, MediaUploadManager.MediaType.IMAGE, callback);
     }
-    
+
+    public void uploadVideo(Uri videoUri, UploadCallback callback) {
+        upload(videoUri, MediaUploadManager.MediaType.VIDEO, callback);
+    }
+
+    /**
+     * Returns the upload id so callers can pause/resume/cancel through MediaUploadManager
+     */
+    public String upload(Uri uri, MediaUploadManager.MediaType type, UploadCallback callback) {
+        MediaUploadManager manager = MediaUploadManager.getInstance(context);
+        String uploadId = manager.enqueue(uri, type, EVIDENCE_FOLDER);
+        Log.d(TAG, "📤 Upload " + type + " from URI: " + uri + " (" + uploadId + ")");
+        manager.observe(uploadId, new MediaUploadManager.UploadCallback() {
+            @Override
+            public void onProgress(int percent) {
+                callback.onProgress(percent);
+            }
+
+            @Override
+            public void onSuccess(String secureUrl) {
+                callback.onSuccess(secureUrl);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                callback.onError(errorMessage);
+            }
+        });
+        return uploadId;
+    }
+
     public interface UploadCallback {
         void onSuccess(String url);
         void onError(String error);
+        default void onProgress(int percent) {}
     }
 }
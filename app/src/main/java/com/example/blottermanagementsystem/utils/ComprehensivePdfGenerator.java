@@ -2,673 +2,438 @@ package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.RectF;
 import android.graphics.pdf.PdfDocument;
+import android.media.MediaMetadataRetriever;
 import android.net.Uri;
+import android.os.Build;
 import android.os.Environment;
-import android.print.PrintAttributes;
-import android.print.pdf.PrintedPdfDocument;
 import android.util.Log;
 
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.entity.Evidence;
-import com.example.blottermanagementsystem.data.entity.Hearing;
-import com.example.blottermanagementsystem.data.entity.Resolution;
+import com.example.blottermanagementsystem.data.entity.ReportMedia;
 import com.example.blottermanagementsystem.data.entity.Suspect;
 import com.example.blottermanagementsystem.data.entity.Witness;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
+/**
+ * ComprehensivePdfGenerator - Role-based case PDFs
+ *
+ * Content is flowed across as many pages as it needs by PdfPageWriter. The
+ * report's child rows (witnesses, suspects, evidence) are read in chunks and
+ * evidence thumbnails are decoded one at a time from the cached thumbnail
+ * renditions. Decoded bitmaps are released immediately; the document keeps
+ * only a small copy per thumbnail (see PdfPageWriter), so memory grows by
+ * tens of KB per picture rather than per decoded image.
+ * generateCaseFilePdf() streams every report filed in a date range into one
+ * document (monthly case-file printouts).
+ */
 public class ComprehensivePdfGenerator {
     private static final String TAG = "ComprehensivePdfGenerator";
-    private static final int PAGE_WIDTH = 595; // A4 width in points
-    private static final int PAGE_HEIGHT = 842; // A4 height in points
-    private static final int MARGIN = 30;
-    private static final int LINE_HEIGHT = 14;
-    private static final int HEADER_COLOR = 0xFF1E88E5; // Electric blue
-    private static final int TEXT_COLOR = 0xFF000000; // Black
-    private static final int BORDER_COLOR = 0xFFCCCCCC; // Light gray
-    
+    private static final int CHILD_CHUNK = 50;
+    private static final int REPORT_CHUNK = 20;
+    private static final int THUMB_SIZE = 80;
+    private static final int THUMB_SPACING = 6;
+
     public interface PdfGenerationCallback {
         void onSuccess(String filePath);
         void onError(String errorMessage);
     }
-    
+
     /**
      * Generate role-based PDF
      * - User Role: Summary only (no officer details, no witness/suspect names)
      * - Officer Role: Complete investigation data (all details)
      */
     public static void generateComprehensivePdf(Context context, int reportId, String userRole, PdfGenerationCallback callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().compute().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(context);
-                
-                // Fetch all data from database
                 BlotterReport report = database.blotterReportDao().getReportById(reportId);
-                List<Witness> witnesses = database.witnessDao().getWitnessesByReport(reportId);
-                List<Suspect> suspects = database.suspectDao().getSuspectsByReport(reportId);
-                List<Evidence> evidences = database.evidenceDao().getEvidenceByReport(reportId);
-                List<Hearing> hearings = database.hearingDao().getHearingsByReport(reportId);
-                List<Resolution> resolutions = database.resolutionDao().getResolutionsByReport(reportId);
-                
                 if (report == null) {
                     callback.onError("Report not found");
                     return;
                 }
-                
-                // Create PDF based on role
-                String filePath = createPdf(context, report, witnesses, suspects, evidences, hearings, resolutions, userRole, context);
-                
-                if (filePath != null) {
-                    callback.onSuccess(filePath);
-                } else {
-                    callback.onError("Failed to create PDF");
-                }
+
+                File file = outputFile("comprehensive_report_" + report.getCaseNumber());
+                int pages = writeReportPdf(context, database, report, userRole, file);
+                Log.d(TAG, "Comprehensive PDF generated (" + pages + " pages): " + file.getAbsolutePath());
+                callback.onSuccess(file.getAbsolutePath());
             } catch (Exception e) {
                 Log.e(TAG, "Error generating PDF", e);
                 callback.onError(e.getMessage());
             }
         });
     }
-    
-    private static String createPdf(Context context, BlotterReport report, List<Witness> witnesses,
-                                   List<Suspect> suspects, List<Evidence> evidences,
-                                   List<Hearing> hearings, List<Resolution> resolutions, String userRole, Context appContext) {
-        try {
-            // Save to Downloads folder
-            File exportDir = new File(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS), "BlotterReports");
-            if (!exportDir.exists()) {
-                exportDir.mkdirs();
-            }
-            
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
-            String fileName = "comprehensive_report_" + report.getCaseNumber() + "_" + timestamp + ".pdf";
-            File file = new File(exportDir, fileName);
-            
-            PdfDocument pdfDocument = new PdfDocument();
-            
-            // Single Page: Role-based content
-            addSinglePageReport(pdfDocument, report, witnesses, suspects, evidences, hearings, resolutions, userRole, appContext);
-            
-            // Write PDF to file
-            FileOutputStream fos = new FileOutputStream(file);
-            pdfDocument.writeTo(fos);
-            pdfDocument.close();
-            fos.close();
-            
-            Log.d(TAG, "Comprehensive PDF generated: " + file.getAbsolutePath());
-            return file.getAbsolutePath();
-        } catch (IOException e) {
-            Log.e(TAG, "Error creating PDF", e);
-            return null;
-        }
-    }
-    
+
     /**
-     * Single Page: Role-based content - Professional table layout
+     * One document with every report filed in [fromDate, toDate), oldest first,
+     * each starting on a new page. Reports are read REPORT_CHUNK at a time.
      */
-    private static void addSinglePageReport(PdfDocument pdfDocument, BlotterReport report,
-                                           List<Witness> witnesses, List<Suspect> suspects,
-                                           List<Evidence> evidences, List<Hearing> hearings,
-                                           List<Resolution> resolutions, String userRole, Context context) {
-        PdfDocument.PageInfo pageInfo = new PdfDocument.PageInfo.Builder(PAGE_WIDTH, PAGE_HEIGHT, 1).create();
-        PdfDocument.Page page = pdfDocument.startPage(pageInfo);
-        Canvas canvas = page.getCanvas();
-        Paint paint = createPaint(10);
-        Paint headerPaint = createPaint(10);
-        headerPaint.setColor(HEADER_COLOR);
-        
-        int y = MARGIN;
-        int contentWidth = PAGE_WIDTH - (MARGIN * 2);
-        
-        // Header - Centered with blue background
-        Paint headerBgPaint = new Paint();
-        headerBgPaint.setColor(HEADER_COLOR);
-        canvas.drawRect(MARGIN, y - LINE_HEIGHT, PAGE_WIDTH - MARGIN, y + LINE_HEIGHT + 5, headerBgPaint);
-        
-        paint.setTextSize(20);
-        paint.setFakeBoldText(true);
-        paint.setColor(0xFFFFFFFF); // White text
-        float headerWidth = paint.measureText("BLOTTER REPORT");
-        canvas.drawText("BLOTTER REPORT", (PAGE_WIDTH - headerWidth) / 2, y + 5, paint);
-        y += LINE_HEIGHT * 2.5f;
-        
-        paint.setColor(TEXT_COLOR); // Reset to black
-        
-        paint.setTextSize(10);
-        paint.setFakeBoldText(false);
-        
-        // Case Information Table
-        y = drawSectionHeader(canvas, paint, "CASE INFORMATION", y, contentWidth);
-        y += LINE_HEIGHT / 2;
-        y = drawTableRow(canvas, paint, "Case Number", report.getCaseNumber() != null ? report.getCaseNumber() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Status", report.getStatus() != null ? report.getStatus() : "Pending", y, contentWidth);
-        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-        y = drawTableRow(canvas, paint, "Date Filed", report.getIncidentDate() > 0 ? dateFormat.format(new Date(report.getIncidentDate())) : "N/A", y, contentWidth);
-        y += LINE_HEIGHT;
-        
-        // Complainant Information Table
-        y = drawSectionHeader(canvas, paint, "COMPLAINANT INFORMATION", y, contentWidth);
-        y += LINE_HEIGHT / 2;
-        y = drawTableRow(canvas, paint, "Name", report.getComplainantName() != null ? report.getComplainantName() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Contact", report.getComplainantContact() != null ? report.getComplainantContact() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Address", report.getComplainantAddress() != null ? report.getComplainantAddress() : "N/A", y, contentWidth);
-        y += LINE_HEIGHT;
-        
-        // Incident Details Table
-        y = drawSectionHeader(canvas, paint, "INCIDENT DETAILS", y, contentWidth);
-        y += LINE_HEIGHT / 2;
-        y = drawTableRow(canvas, paint, "Type", report.getIncidentType() != null ? report.getIncidentType() : "N/A", y, contentWidth);
-        SimpleDateFormat dateTimeFormat = new SimpleDateFormat("MMM dd, yyyy hh:mm a", Locale.getDefault());
-        y = drawTableRow(canvas, paint, "Date", report.getIncidentDate() > 0 ? dateTimeFormat.format(new Date(report.getIncidentDate())) : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Time", report.getIncidentDate() > 0 ? new SimpleDateFormat("hh:mm a", Locale.getDefault()).format(new Date(report.getIncidentDate())) : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Location", report.getIncidentLocation() != null ? report.getIncidentLocation() : "N/A", y, contentWidth);
-        y += LINE_HEIGHT;
-        
-        // Narrative Section
-        y = drawSectionHeader(canvas, paint, "NARRATIVE", y, contentWidth);
-        y += LINE_HEIGHT / 2;
-        y = drawWrappedText(canvas, paint, report.getNarrative() != null ? report.getNarrative() : "N/A", y, contentWidth);
-        y += LINE_HEIGHT;
-        
-        // Respondent Information Table
-        y = drawSectionHeader(canvas, paint, "RESPONDENT INFORMATION", y, contentWidth);
-        y += LINE_HEIGHT / 2;
-        y = drawTableRow(canvas, paint, "Name", report.getRespondentName() != null ? report.getRespondentName() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Alias", report.getRespondentAlias() != null ? report.getRespondentAlias() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Address", report.getRespondentAddress() != null ? report.getRespondentAddress() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Contact", report.getRespondentContact() != null ? report.getRespondentContact() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Accusation", report.getAccusation() != null ? report.getAccusation() : "N/A", y, contentWidth);
-        y = drawTableRow(canvas, paint, "Relationship", report.getRelationshipToComplainant() != null ? report.getRelationshipToComplainant() : "N/A", y, contentWidth);
-        y += LINE_HEIGHT;
-        
-        // Evidence Section
-        y = drawSectionHeader(canvas, paint, "EVIDENCE", y, contentWidth);
-        y += LINE_HEIGHT;
-        
-        int thumbSize = 80;  // Larger size for better quality (no pixelation)
-        int thumbSpacing = 6;
-        
-        // Images - All in one horizontal line
-        if (report.getImageUris() != null && !report.getImageUris().isEmpty()) {
-            String[] imageUris = report.getImageUris().split(",");
-            Log.d(TAG, "Processing " + imageUris.length + " images for PDF");
-            
-            // Draw "Photos (X)" label
-            paint.setFakeBoldText(true);
-            paint.setTextSize(11);
-            canvas.drawText("Photos (" + imageUris.length + ")", MARGIN + 5, y, paint);
-            paint.setFakeBoldText(false);
-            paint.setTextSize(10);
-            y += LINE_HEIGHT + 2;
-            
-            // Draw image thumbnails in one horizontal line (left-aligned)
-            int x = MARGIN;
-            int successCount = 0;
-            
-            for (int i = 0; i < imageUris.length; i++) {
-                try {
-                    String imageUri = imageUris[i].trim();
-                    Log.d(TAG, "Loading image " + (i + 1) + ": " + imageUri);
-                    
-                    // Load with high quality - use larger size
-                    Bitmap thumb = loadAndResizeImage(context, imageUri, thumbSize, thumbSize);
-                    if (thumb != null) {
-                        canvas.drawBitmap(thumb, x, y, paint);
-                        Log.d(TAG, "Successfully drew image thumbnail " + (i + 1) + " at size " + thumbSize + "x" + thumbSize);
-                        x += thumbSize + thumbSpacing;
-                        successCount++;
-                    } else {
-                        Log.w(TAG, "Failed to load image thumbnail " + (i + 1) + ": " + imageUri);
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, "Error drawing image thumbnail " + (i + 1) + ": " + e.getMessage());
-                }
-            }
-            
-            Log.d(TAG, "Successfully added " + successCount + " image thumbnails to PDF");
-            y += thumbSize + LINE_HEIGHT;
-        }
-        
-        // Videos - All in one horizontal line
-        if (report.getVideoUris() != null && !report.getVideoUris().isEmpty()) {
-            String[] videoUris = report.getVideoUris().split(",");
-            
-            // Draw "Videos (X)" label
-            paint.setFakeBoldText(true);
-            paint.setTextSize(11);
-            canvas.drawText("Videos (" + videoUris.length + ")", MARGIN + 5, y, paint);
-            paint.setFakeBoldText(false);
-            paint.setTextSize(10);
-            y += LINE_HEIGHT + 2;
-            
-            // Draw video thumbnails in one horizontal line (left-aligned)
-            int x = MARGIN;
-            int successCount = 0;
-            
-            for (int i = 0; i < videoUris.length; i++) {
+    public static void generateCaseFilePdf(Context context, long fromDate, long toDate, String userRole, PdfGenerationCallback callback) {
+        AppExecutors.getInstance().compute().execute(() -> {
+            try {
+                BlotterDatabase database = BlotterDatabase.getDatabase(context);
+                SimpleDateFormat day = new SimpleDateFormat("yyyyMMdd", Locale.getDefault());
+                File file = outputFile("case_file_" + day.format(new Date(fromDate)) + "_" + day.format(new Date(toDate)));
+
+                PdfDocument pdfDocument = new PdfDocument();
+                PdfPageWriter writer = new PdfPageWriter(pdfDocument, generatedOn());
+                int reports = 0;
                 try {
-                    String videoUri = videoUris[i].trim();
-                    Log.d(TAG, "Loading video thumbnail " + (i + 1) + ": " + videoUri);
-                    
-                    // Try to extract first frame from video
-                    Bitmap videoThumb = extractVideoThumbnail(context, videoUri, thumbSize, thumbSize);
-                    
-                    // Get video duration
-                    String duration = getVideoDuration(context, videoUri);
-                    
-                    if (videoThumb != null) {
-                        // Draw actual video thumbnail
-                        canvas.drawBitmap(videoThumb, x, y, paint);
-                        
-                        // Draw semi-transparent play icon overlay
-                        Paint playOverlay = new Paint();
-                        playOverlay.setColor(0x99000000); // Semi-transparent black
-                        canvas.drawRect(x, y, x + thumbSize, y + thumbSize, playOverlay);
-                        
-                        Paint playPaint = new Paint();
-                        playPaint.setColor(0xFFFFFFFF); // White play icon
-                        playPaint.setStyle(Paint.Style.FILL);
-                        playPaint.setTextSize(28);
-                        int playX = x + thumbSize / 2 - 12;
-                        int playY = y + thumbSize / 2 + 8;
-                        canvas.drawText("▶", playX, playY, playPaint);
-                        
-                        // Draw duration text at bottom
-                        if (duration != null && !duration.isEmpty()) {
-                            Paint durationPaint = new Paint();
-                            durationPaint.setColor(0xFFFFFFFF); // White text
-                            durationPaint.setTextSize(8);
-                            durationPaint.setFakeBoldText(true);
-                            
-                            // Draw semi-transparent background for duration text
-                            Paint durBgPaint = new Paint();
-                            durBgPaint.setColor(0xCC000000); // Semi-transparent black
-                            canvas.drawRect(x, y + thumbSize - 12, x + thumbSize, y + thumbSize, durBgPaint);
-                            
-                            // Draw duration text
-                            canvas.drawText(duration, x + 2, y + thumbSize - 2, durationPaint);
-                        }
-                        
-                        Log.d(TAG, "Successfully drew video thumbnail " + (i + 1) + " with duration: " + duration);
-                        successCount++;
-                    } else {
-                        // Fallback: Draw gray placeholder with play icon
-                        Paint videoBgPaint = new Paint();
-                        videoBgPaint.setColor(0xFFCCCCCC); // Light gray
-                        canvas.drawRect(x, y, x + thumbSize, y + thumbSize, videoBgPaint);
-                        
-                        Paint playPaint = new Paint();
-                        playPaint.setColor(0xFF000000); // Black
-                        playPaint.setStyle(Paint.Style.FILL);
-                        playPaint.setTextSize(28);
-                        int playX = x + thumbSize / 2 - 12;
-                        int playY = y + thumbSize / 2 + 8;
-                        canvas.drawText("▶", playX, playY, playPaint);
-                        
-                        // Draw duration if available
-                        if (duration != null && !duration.isEmpty()) {
-                            Paint durationPaint = new Paint();
-                            durationPaint.setColor(0xFF000000); // Black text
-                            durationPaint.setTextSize(8);
-                            durationPaint.setFakeBoldText(true);
-                            canvas.drawText(duration, x + 2, y + thumbSize - 2, durationPaint);
+                    long afterDate = Long.MIN_VALUE;
+                    int afterId = Integer.MIN_VALUE;
+                    while (true) {
+                        List<BlotterReport> chunk = database.blotterReportDao()
+                                .getReportsFiledBetweenPage(fromDate, toDate, afterDate, afterId, REPORT_CHUNK);
+                        for (BlotterReport report : chunk) {
+                            writer.setRunningHeader("Case " + report.getCaseNumber());
+                            writer.newPage();
+                            renderReport(context, database, writer, report, userRole);
+                            reports++;
                         }
-                        
-                        Log.w(TAG, "Could not extract video thumbnail, using placeholder for video " + (i + 1));
+                        if (chunk.size() < REPORT_CHUNK) break;
+                        BlotterReport last = chunk.get(chunk.size() - 1);
+                        afterDate = last.getDateFiled();
+                        afterId = last.getId();
+                        Log.d(TAG, "📄 Case file: " + reports + " reports, " + writer.getPageCount() + " pages so far");
                     }
-                    
-                    x += thumbSize + thumbSpacing;
-                } catch (Exception e) {
-                    Log.e(TAG, "Error processing video thumbnail " + (i + 1) + ": " + e.getMessage());
-                }
-            }
-            
-            Log.d(TAG, "Successfully added " + successCount + " video thumbnails to PDF");
-            y += thumbSize + LINE_HEIGHT;
-        }
-        
-        if ((report.getImageUris() == null || report.getImageUris().isEmpty()) &&
-            (report.getVideoUris() == null || report.getVideoUris().isEmpty())) {
-            paint.setFakeBoldText(true);
-            canvas.drawText("No evidence attachments", MARGIN + 5, y, paint);
-            paint.setFakeBoldText(false);
-            y += LINE_HEIGHT;
-        }
-        
-        y += LINE_HEIGHT;
-        
-        // Role-based detailed content
-        if ("OFFICER".equalsIgnoreCase(userRole)) {
-            // Officer sees detailed investigation data
-            drawSection(canvas, paint, "INVESTIGATION DETAILS", y);
-            y += LINE_HEIGHT;
-            
-            // Witnesses
-            if (!witnesses.isEmpty()) {
-                for (int i = 0; i < witnesses.size(); i++) {
-                    Witness w = witnesses.get(i);
-                    drawLine(canvas, paint, "Witness " + (i + 1) + ": " + w.getName() + " - " + w.getContactNumber(), y);
-                    y += LINE_HEIGHT;
-                }
-            }
-            
-            // Suspects
-            if (!suspects.isEmpty()) {
-                for (int i = 0; i < suspects.size(); i++) {
-                    Suspect s = suspects.get(i);
-                    drawLine(canvas, paint, "Suspect " + (i + 1) + ": " + s.getName() + " (" + s.getAlias() + ")", y);
-                    y += LINE_HEIGHT;
-                }
-            }
-            
-            // Evidence
-            if (!evidences.isEmpty()) {
-                for (int i = 0; i < evidences.size(); i++) {
-                    Evidence e = evidences.get(i);
-                    drawLine(canvas, paint, "Evidence " + (i + 1) + ": " + e.getEvidenceType(), y);
-                    y += LINE_HEIGHT;
+                    if (reports == 0) {
+                        writer.drawParagraph("No reports were filed in this period.");
+                    }
+                    int pages = writer.finish();
+                    write(pdfDocument, file);
+                    Log.d(TAG, "✅ Case file generated: " + reports + " reports, " + pages + " pages: " + file.getAbsolutePath());
+                } finally {
+                    pdfDocument.close();
+                    writer.releaseBitmaps();
                 }
+                callback.onSuccess(file.getAbsolutePath());
+            } catch (Exception e) {
+                Log.e(TAG, "Error generating case file", e);
+                callback.onError(e.getMessage());
             }
-            
-            y += LINE_HEIGHT;
-        }
-        
-        y += LINE_HEIGHT;
-        
-        // Footer - Centered
-        paint.setTextSize(9);
-        paint.setFakeBoldText(false);
-        String footerText = "Generated on " + new SimpleDateFormat("MMM dd, yyyy 'at' hh:mm a", Locale.getDefault()).format(new Date());
-        float footerWidth = paint.measureText(footerText);
-        canvas.drawText(footerText, (PAGE_WIDTH - footerWidth) / 2, PAGE_HEIGHT - 20, paint);
-        
-        pdfDocument.finishPage(page);
-    }
-    
-    private static Paint createPaint(int textSize) {
-        Paint paint = new Paint();
-        paint.setTextSize(textSize);
-        paint.setColor(TEXT_COLOR);
-        return paint;
-    }
-    
-    /**
-     * Draw section header with blue background
-     */
-    private static int drawSectionHeader(Canvas canvas, Paint paint, String title, int y, int width) {
-        Paint bgPaint = new Paint();
-        bgPaint.setColor(HEADER_COLOR);
-        
-        // Draw blue background
-        canvas.drawRect(MARGIN, y - LINE_HEIGHT + 2, MARGIN + width, y + 2, bgPaint);
-        
-        // Draw white text
-        paint.setFakeBoldText(true);
-        paint.setTextSize(11);
-        paint.setColor(0xFFFFFFFF); // White
-        canvas.drawText(title, MARGIN + 5, y, paint);
-        
-        // Reset paint
-        paint.setFakeBoldText(false);
-        paint.setTextSize(10);
-        paint.setColor(TEXT_COLOR);
-        
-        return y + LINE_HEIGHT;
+        });
     }
-    
+
     /**
-     * Draw a table row with label and value
+     * Blocking: renders one report to the given file and returns its page count.
+     * Safe to call from several threads at once (each call owns its document).
      */
-    private static int drawTableRow(Canvas canvas, Paint paint, String label, String value, int y, int width) {
-        int labelWidth = 120;
-        int valueX = MARGIN + labelWidth + 10;
-        
-        // Draw label (bold)
-        paint.setFakeBoldText(true);
-        canvas.drawText(label, MARGIN + 5, y, paint);
-        paint.setFakeBoldText(false);
-        
-        // Draw value
-        canvas.drawText(value, valueX, y, paint);
-        
-        // Draw bottom border
-        Paint borderPaint = new Paint();
-        borderPaint.setColor(BORDER_COLOR);
-        borderPaint.setStrokeWidth(0.5f);
-        canvas.drawLine(MARGIN, y + 3, MARGIN + width, y + 3, borderPaint);
-        
-        return y + LINE_HEIGHT;
-    }
-    
-    private static void drawSection(Canvas canvas, Paint paint, String title, int y) {
-        paint.setFakeBoldText(true);
-        paint.setTextSize(12);
-        canvas.drawText(title, MARGIN, y, paint);
-        paint.setFakeBoldText(false);
-        paint.setTextSize(10);
+    public static int writeReportPdf(Context context, BlotterDatabase database, BlotterReport report,
+                                     String userRole, File file) throws IOException {
+        PdfDocument pdfDocument = new PdfDocument();
+        PdfPageWriter writer = new PdfPageWriter(pdfDocument, generatedOn());
+        try {
+            renderReport(context, database, writer, report, userRole);
+            int pages = writer.finish();
+            write(pdfDocument, file);
+            return pages;
+        } finally {
+            pdfDocument.close();
+            writer.releaseBitmaps();
+        }
     }
-    
-    private static void drawLine(Canvas canvas, Paint paint, String text, int y) {
-        canvas.drawText(text, MARGIN, y, paint);
+
+    // ==================== Report layout ====================
+
+    private static void renderReport(Context context, BlotterDatabase database, PdfPageWriter writer,
+                                     BlotterReport report, String userRole) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        SimpleDateFormat dateTimeFormat = new SimpleDateFormat("MMM dd, yyyy hh:mm a", Locale.getDefault());
+        SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm a", Locale.getDefault());
+        boolean hasDate = report.getIncidentDate() > 0;
+
+        writer.drawTitle("BLOTTER REPORT");
+
+        writer.drawSectionHeader("CASE INFORMATION");
+        writer.drawRow("Case Number", report.getCaseNumber());
+        writer.drawRow("Status", report.getStatus() != null ? report.getStatus() : "Pending");
+        writer.drawRow("Date Filed", hasDate ? dateFormat.format(new Date(report.getIncidentDate())) : "N/A");
+        writer.space(10);
+
+        writer.drawSectionHeader("COMPLAINANT INFORMATION");
+        writer.drawRow("Name", report.getComplainantName());
+        writer.drawRow("Contact", report.getComplainantContact());
+        writer.drawRow("Address", report.getComplainantAddress());
+        writer.space(10);
+
+        writer.drawSectionHeader("INCIDENT DETAILS");
+        writer.drawRow("Type", report.getIncidentType());
+        writer.drawRow("Date", hasDate ? dateTimeFormat.format(new Date(report.getIncidentDate())) : "N/A");
+        writer.drawRow("Time", hasDate ? timeFormat.format(new Date(report.getIncidentDate())) : "N/A");
+        writer.drawRow("Location", report.getIncidentLocation());
+        writer.space(10);
+
+        writer.drawSectionHeader("NARRATIVE");
+        writer.drawParagraph(report.getNarrative() != null ? report.getNarrative() : "N/A");
+        writer.space(10);
+
+        writer.drawSectionHeader("RESPONDENT INFORMATION");
+        writer.drawRow("Name", report.getRespondentName());
+        writer.drawRow("Alias", report.getRespondentAlias());
+        writer.drawRow("Address", report.getRespondentAddress());
+        writer.drawRow("Contact", report.getRespondentContact());
+        writer.drawRow("Accusation", report.getAccusation());
+        writer.drawRow("Relationship", report.getRelationshipToComplainant());
+        writer.space(10);
+
+        renderAttachments(context, database, writer, report);
+
+        // Role-based detailed content
+        if ("OFFICER".equalsIgnoreCase(userRole)) {
+            renderInvestigation(database, writer, report.getId());
+        }
     }
-    
-    private static int drawWrappedText(Canvas canvas, Paint paint, String text, int startY, int maxWidth) {
-        String[] words = text.split(" ");
-        StringBuilder line = new StringBuilder();
-        int y = startY;
-        
-        for (String word : words) {
-            String testLine = line + word + " ";
-            if (paint.measureText(testLine) > maxWidth) {
-                canvas.drawText(line.toString(), MARGIN, y, paint);
-                y += LINE_HEIGHT;
-                line = new StringBuilder(word + " ");
-            } else {
-                line.append(word).append(" ");
-            }
+
+    private static void renderAttachments(Context context, BlotterDatabase database, PdfPageWriter writer, BlotterReport report) {
+        writer.drawSectionHeader("EVIDENCE");
+
+        List<ReportMedia> media = database.reportMediaDao().getMediaForReport(report.getId());
+        if (media.isEmpty()) {
+            // Rows not written yet (e.g. report loaded straight from the API); fall back to the legacy columns
+            media = ReportMedia.fromReport(report);
         }
-        
-        if (line.length() > 0) {
-            canvas.drawText(line.toString(), MARGIN, y, paint);
-            y += LINE_HEIGHT;
+        List<ReportMedia> images = new ArrayList<>();
+        List<ReportMedia> videos = new ArrayList<>();
+        for (ReportMedia item : media) {
+            if (ReportMedia.TYPE_IMAGE.equals(item.getMediaType())) images.add(item);
+            else if (ReportMedia.TYPE_VIDEO.equals(item.getMediaType())) videos.add(item);
+        }
+
+        if (images.isEmpty() && videos.isEmpty()) {
+            writer.drawSubheading("No evidence attachments");
+            writer.space(10);
+            return;
         }
-        
-        return y;
+        if (!images.isEmpty()) {
+            writer.drawSubheading("Photos (" + images.size() + ")");
+            drawThumbnailRows(context, writer, images, false);
+        }
+        if (!videos.isEmpty()) {
+            writer.drawSubheading("Videos (" + videos.size() + ")");
+            drawThumbnailRows(context, writer, videos, true);
+        }
+        writer.space(10);
     }
-    
+
     /**
-     * Get video duration in MM:SS format
+     * Each thumbnail is decoded, copied into the page at its drawn size and
+     * released before the next one is decoded
      */
-    private static String getVideoDuration(Context context, String videoUri) {
-        try {
-            android.media.MediaMetadataRetriever retriever = new android.media.MediaMetadataRetriever();
-            
-            // Try as file path first
-            File videoFile = new File(videoUri);
-            if (videoFile.exists()) {
-                retriever.setDataSource(videoFile.getAbsolutePath());
-            } else {
-                // Try as content URI
-                retriever.setDataSource(context, Uri.parse(videoUri));
-            }
-            
-            // Get duration in milliseconds
-            String durationStr = retriever.extractMetadata(android.media.MediaMetadataRetriever.METADATA_KEY_DURATION);
-            retriever.release();
-            
-            if (durationStr != null) {
-                long durationMs = Long.parseLong(durationStr);
-                long minutes = durationMs / 60000;
-                long seconds = (durationMs % 60000) / 1000;
-                return String.format("%d:%02d", minutes, seconds);
+    private static void drawThumbnailRows(Context context, PdfPageWriter writer, List<ReportMedia> items, boolean video) {
+        int perRow = Math.max(1, (PdfPageWriter.contentWidth() + THUMB_SPACING) / (THUMB_SIZE + THUMB_SPACING));
+        int drawn = 0;
+        for (int from = 0; from < items.size(); from += perRow) {
+            List<ReportMedia> row = items.subList(from, Math.min(from + perRow, items.size()));
+            float top = writer.reserve(THUMB_SIZE + THUMB_SPACING);
+            Canvas canvas = writer.getCanvas();
+            float x = PdfPageWriter.MARGIN;
+            for (ReportMedia item : row) {
+                try {
+                    RectF cell = new RectF(x, top, x + THUMB_SIZE, top + THUMB_SIZE);
+                    if (video) {
+                        drawVideoCell(context, writer, canvas, cell, item);
+                    } else {
+                        Bitmap thumb = loadImageThumbnail(context, item.getUri());
+                        if (thumb != null) {
+                            writer.drawBitmap(thumb, fit(thumb, cell));
+                            BitmapPool.getInstance().put(thumb);
+                            drawn++;
+                        } else {
+                            drawPlaceholder(canvas, cell, null, null);
+                            Log.w(TAG, "Failed to load image thumbnail: " + item.getUri());
+                        }
+                    }
+                } catch (Exception e) {
+                    Log.e(TAG, "Error drawing thumbnail " + item.getUri() + ": " + e.getMessage());
+                }
+                x += THUMB_SIZE + THUMB_SPACING;
             }
-        } catch (Exception e) {
-            Log.w(TAG, "Could not get video duration: " + e.getMessage());
         }
-        return null;
+        if (!video) Log.d(TAG, "Added " + drawn + "/" + items.size() + " image thumbnails");
     }
-    
-    /**
-     * Extract first frame from video file as thumbnail
-     */
-    private static Bitmap extractVideoThumbnail(Context context, String videoUri, int maxWidth, int maxHeight) {
+
+    private static void drawVideoCell(Context context, PdfPageWriter writer, Canvas canvas, RectF cell, ReportMedia item) {
+        long durationMs = item.getDurationMs();
+        Bitmap frame = null;
+        MediaMetadataRetriever retriever = new MediaMetadataRetriever();
         try {
-            android.media.MediaMetadataRetriever retriever = new android.media.MediaMetadataRetriever();
-            
-            // Try as file path first
-            File videoFile = new File(videoUri);
-            if (videoFile.exists()) {
-                retriever.setDataSource(videoFile.getAbsolutePath());
+            Uri uri = toUri(item.getUri());
+            if ("file".equals(uri.getScheme())) {
+                retriever.setDataSource(uri.getPath());
             } else {
-                // Try as content URI
-                retriever.setDataSource(context, Uri.parse(videoUri));
+                retriever.setDataSource(context, uri);
             }
-            
-            // Extract first frame
-            Bitmap bitmap = retriever.getFrameAtTime(0, android.media.MediaMetadataRetriever.OPTION_CLOSEST);
-            retriever.release();
-            
-            if (bitmap != null) {
-                // Scale to desired size
-                if (bitmap.getWidth() != maxWidth || bitmap.getHeight() != maxHeight) {
-                    Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap, maxWidth, maxHeight, true);
-                    if (scaledBitmap != bitmap) {
-                        bitmap.recycle();
-                    }
-                    return scaledBitmap;
-                }
-                return bitmap;
+            if (durationMs <= 0) {
+                String duration = retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_DURATION);
+                if (duration != null) durationMs = Long.parseLong(duration);
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1) {
+                frame = retriever.getScaledFrameAtTime(0, MediaMetadataRetriever.OPTION_CLOSEST_SYNC, THUMB_SIZE * 2, THUMB_SIZE * 2);
+            } else {
+                frame = retriever.getFrameAtTime(0, MediaMetadataRetriever.OPTION_CLOSEST_SYNC);
             }
         } catch (Exception e) {
             Log.w(TAG, "Could not extract video thumbnail: " + e.getMessage());
+        } finally {
+            try {
+                retriever.release();
+            } catch (Exception ignored) {
+            }
+        }
+
+        String duration = durationMs > 0 ? String.format(Locale.getDefault(), "%d:%02d", durationMs / 60000, (durationMs % 60000) / 1000) : null;
+        if (frame == null) {
+            drawPlaceholder(canvas, cell, "▶", duration);
+            return;
+        }
+
+        // Scaled to the cell on every API level; on 26-27 the frame itself is full resolution
+        writer.drawBitmap(frame, fit(frame, cell));
+        frame.recycle();
+
+        Paint overlay = new Paint();
+        overlay.setColor(0x99000000); // Semi-transparent black
+        canvas.drawRect(cell, overlay);
+        Paint playPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        playPaint.setColor(0xFFFFFFFF);
+        playPaint.setTextSize(28);
+        canvas.drawText("▶", cell.centerX() - 12, cell.centerY() + 8, playPaint);
+
+        if (duration != null) {
+            overlay.setColor(0xCC000000);
+            canvas.drawRect(cell.left, cell.bottom - 12, cell.right, cell.bottom, overlay);
+            Paint durationPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            durationPaint.setColor(0xFFFFFFFF);
+            durationPaint.setTextSize(8);
+            durationPaint.setFakeBoldText(true);
+            canvas.drawText(duration, cell.left + 2, cell.bottom - 2, durationPaint);
         }
-        return null;
     }
-    
-    /**
-     * Load and resize image from URI for PDF - High quality (Super HD)
-     * Uses minimal downsampling to maintain quality
-     */
-    private static Bitmap loadAndResizeImage(Context context, String imageUri, int maxWidth, int maxHeight) {
-        try {
-            // Try as file path first
-            File imageFile = new File(imageUri);
-            if (imageFile.exists()) {
-                return decodeSampledBitmapFromFile(imageFile, maxWidth, maxHeight);
+
+    private static void drawPlaceholder(Canvas canvas, RectF cell, String icon, String caption) {
+        Paint background = new Paint();
+        background.setColor(0xFFCCCCCC); // Light gray
+        canvas.drawRect(cell, background);
+        Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setColor(0xFF000000);
+        if (icon != null) {
+            textPaint.setTextSize(28);
+            canvas.drawText(icon, cell.centerX() - 12, cell.centerY() + 8, textPaint);
+        }
+        if (caption != null) {
+            textPaint.setTextSize(8);
+            textPaint.setFakeBoldText(true);
+            canvas.drawText(caption, cell.left + 2, cell.bottom - 2, textPaint);
+        }
+    }
+
+    private static void renderInvestigation(BlotterDatabase database, PdfPageWriter writer, int reportId) {
+        writer.drawSectionHeader("INVESTIGATION DETAILS");
+
+        int number = 0;
+        int afterId = 0;
+        List<Witness> witnesses;
+        do {
+            witnesses = database.witnessDao().getWitnessesByReportPage(reportId, afterId, CHILD_CHUNK);
+            for (Witness w : witnesses) {
+                writer.drawRow("Witness " + (++number), w.getName() + " - " + w.getContactNumber());
+                afterId = w.getId();
             }
-            
-            // Try as content URI
-            Uri contentUri = Uri.parse(imageUri);
-            InputStream inputStream = context.getContentResolver().openInputStream(contentUri);
-            if (inputStream != null) {
-                Bitmap bitmap = decodeSampledBitmapFromStream(inputStream, maxWidth, maxHeight);
-                inputStream.close();
-                return bitmap;
+        } while (witnesses.size() == CHILD_CHUNK);
+
+        number = 0;
+        afterId = 0;
+        List<Suspect> suspects;
+        do {
+            suspects = database.suspectDao().getSuspectsByReportPage(reportId, afterId, CHILD_CHUNK);
+            for (Suspect s : suspects) {
+                writer.drawRow("Suspect " + (++number), s.getName() + " (" + s.getAlias() + ")");
+                afterId = s.getId();
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Error loading image: " + e.getMessage());
-        }
-        return null;
+        } while (suspects.size() == CHILD_CHUNK);
+
+        number = 0;
+        afterId = 0;
+        List<Evidence> evidences;
+        do {
+            evidences = database.evidenceDao().getEvidenceByReportPage(reportId, afterId, CHILD_CHUNK);
+            for (Evidence e : evidences) {
+                String description = e.getDescription() != null && !e.getDescription().isEmpty()
+                        ? e.getEvidenceType() + " - " + e.getDescription() : e.getEvidenceType();
+                writer.drawRow("Evidence " + (++number), description);
+                afterId = e.getId();
+            }
+        } while (evidences.size() == CHILD_CHUNK);
+
+        writer.space(10);
     }
-    
+
+    // ==================== Helpers ====================
+
     /**
-     * Decode bitmap with minimal downsampling for high quality
+     * Small decode of the cached thumbnail rendition (created once, reused by every printout)
      */
-    private static Bitmap decodeSampledBitmapFromFile(File file, int reqWidth, int reqHeight) {
+    private static Bitmap loadImageThumbnail(Context context, String imageUri) {
         try {
-            // First decode with inJustDecodeBounds=true to check dimensions
-            final BitmapFactory.Options options = new BitmapFactory.Options();
-            options.inJustDecodeBounds = true;
-            BitmapFactory.decodeFile(file.getAbsolutePath(), options);
-            
-            // Calculate inSampleSize - use minimal downsampling for quality
-            options.inSampleSize = Math.max(1, calculateInSampleSize(options, reqWidth * 2, reqHeight * 2));
-            
-            // Decode bitmap with inSampleSize set
-            options.inJustDecodeBounds = false;
-            options.inDither = false;
-            options.inPreferredConfig = Bitmap.Config.ARGB_8888;
-            Bitmap bitmap = BitmapFactory.decodeFile(file.getAbsolutePath(), options);
-            
-            // Scale to exact size if needed
-            if (bitmap != null && (bitmap.getWidth() != reqWidth || bitmap.getHeight() != reqHeight)) {
-                Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap, reqWidth, reqHeight, true);
-                if (scaledBitmap != bitmap) {
-                    bitmap.recycle();
-                }
-                return scaledBitmap;
-            }
-            
-            return bitmap;
+            Uri uri = toUri(imageUri);
+            File rendition = ImageOptimizer.getRendition(context, uri, ImageOptimizer.Rendition.THUMBNAIL);
+            Uri source = rendition != null ? Uri.fromFile(rendition) : uri;
+            return ImageOptimizer.decodeSampled(context, source, THUMB_SIZE * 2, THUMB_SIZE * 2);
         } catch (Exception e) {
-            Log.e(TAG, "Error decoding bitmap from file: " + e.getMessage());
+            Log.e(TAG, "Error loading image: " + e.getMessage());
             return null;
         }
     }
-    
+
+    private static Uri toUri(String value) {
+        String trimmed = value.trim();
+        File file = new File(trimmed);
+        return file.exists() ? Uri.fromFile(file) : Uri.parse(trimmed);
+    }
+
     /**
-     * Decode bitmap from stream with minimal downsampling for high quality
+     * Largest rect with the bitmap's aspect ratio centred in the cell
      */
-    private static Bitmap decodeSampledBitmapFromStream(InputStream inputStream, int reqWidth, int reqHeight) throws IOException {
-        // Read first to get dimensions
-        byte[] byteArray = new byte[inputStream.available()];
-        inputStream.read(byteArray);
-        
-        final BitmapFactory.Options options = new BitmapFactory.Options();
-        options.inJustDecodeBounds = true;
-        BitmapFactory.decodeByteArray(byteArray, 0, byteArray.length, options);
-        
-        // Calculate inSampleSize - use minimal downsampling for quality
-        options.inSampleSize = Math.max(1, calculateInSampleSize(options, reqWidth * 2, reqHeight * 2));
-        
-        // Decode bitmap with inSampleSize set
-        options.inJustDecodeBounds = false;
-        options.inDither = false;
-        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
-        Bitmap bitmap = BitmapFactory.decodeByteArray(byteArray, 0, byteArray.length, options);
-        
-        // Scale to exact size if needed
-        if (bitmap != null && (bitmap.getWidth() != reqWidth || bitmap.getHeight() != reqHeight)) {
-            Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap, reqWidth, reqHeight, true);
-            if (scaledBitmap != bitmap) {
-                bitmap.recycle();
-            }
-            return scaledBitmap;
+    private static RectF fit(Bitmap bitmap, RectF cell) {
+        float scale = Math.min(cell.width() / bitmap.getWidth(), cell.height() / bitmap.getHeight());
+        float width = bitmap.getWidth() * scale;
+        float height = bitmap.getHeight() * scale;
+        float left = cell.left + (cell.width() - width) / 2;
+        float top = cell.top + (cell.height() - height) / 2;
+        return new RectF(left, top, left + width, top + height);
+    }
+
+    private static File outputFile(String baseName) {
+        // Save to Downloads folder
+        File exportDir = new File(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS), "BlotterReports");
+        if (!exportDir.exists()) {
+            exportDir.mkdirs();
         }
-        
-        return bitmap;
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
+        return new File(exportDir, baseName + "_" + timestamp + ".pdf");
     }
-    
-    /**
-     * Calculate inSampleSize for bitmap downsampling
-     */
-    private static int calculateInSampleSize(BitmapFactory.Options options, int reqWidth, int reqHeight) {
-        final int height = options.outHeight;
-        final int width = options.outWidth;
-        int inSampleSize = 1;
-        
-        if (height > reqHeight || width > reqWidth) {
-            final int halfHeight = height / 2;
-            final int halfWidth = width / 2;
-            
-            while ((halfHeight / inSampleSize) >= reqHeight && (halfWidth / inSampleSize) >= reqWidth) {
-                inSampleSize *= 2;
-            }
+
+    private static void write(PdfDocument pdfDocument, File file) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            pdfDocument.writeTo(fos);
         }
-        
-        return inSampleSize;
+    }
+
+    private static String generatedOn() {
+        return "Generated on " + new SimpleDateFormat("MMM dd, yyyy 'at' hh:mm a", Locale.getDefault()).format(new Date());
     }
 }
@@ -1,96 +1,383 @@
 package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.os.Build;
 import android.os.Environment;
 import android.util.Log;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.blottermanagementsystem.config.AppConfig;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.data.database.DatabaseEncryption;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * DatabaseBackupManager - Consistent, compressed backups of the Room database
+ *
+ * A backup is a transactionally consistent snapshot taken while the app keeps
+ * running: VACUUM INTO on Android 11+ (SQLite 3.28), otherwise (and always for
+ * an encrypted database, which must stay encrypted) a WAL checkpoint followed
+ * by a copy of the main file while writers are held off. The snapshot
+ * is integrity-checked, gzipped and stored with a .sha256 sidecar (checksum and
+ * size of the uncompressed database). A snapshot identical to the newest backup
+ * is not stored again, and only MAX_BACKUPS are kept.
+ *
+ * Restore verifies the archive before touching anything, closes BlotterDatabase,
+ * swaps the files (rolling back on failure) and reopens it, so migrations run if
+ * the backup is from an older version. Encrypted backups can only be restored
+ * on the device that made them. Everything here is blocking.
+ */
 public class DatabaseBackupManager {
     private static final String TAG = "DatabaseBackup";
-    private static final String DB_NAME = "blotter_database";
-    
-    public static String backupDatabase(Context context) {
+    private static final String DB_NAME = BlotterDatabase.DATABASE_NAME;
+    private static final String BACKUP_EXTENSION = ".db.gz";
+    private static final String LEGACY_EXTENSION = ".db";
+    private static final String CHECKSUM_EXTENSION = ".sha256";
+    private static final int MAX_BACKUPS = 7;
+    private static final int SNAPSHOT_ATTEMPTS = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Takes a backup and returns its path, or null on failure. Returns the newest
+     * existing backup when nothing changed since it was taken.
+     */
+    public static synchronized String backupDatabase(Context context) {
+        File backupDir = backupDir(context);
+        File snapshot = new File(context.getCacheDir(), DB_NAME + ".snapshot");
+        long start = System.currentTimeMillis();
         try {
-            File backupDir = new File(context.getExternalFilesDir(Environment.DIRECTORY_DOCUMENTS), "backups");
-            if (!backupDir.exists()) {
-                backupDir.mkdirs();
-            }
-            
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault())
-                .format(new Date());
-            String backupFileName = "blotter_backup_" + timestamp + ".db";
-            File backupFile = new File(backupDir, backupFileName);
-            
-            File currentDB = context.getDatabasePath(DB_NAME);
-            
-            if (currentDB.exists()) {
-                FileInputStream fis = new FileInputStream(currentDB);
-                FileOutputStream fos = new FileOutputStream(backupFile);
-                
-                byte[] buffer = new byte[1024];
-                int length;
-                while ((length = fis.read(buffer)) > 0) {
-                    fos.write(buffer, 0, length);
-                }
-                
-                fos.flush();
-                fos.close();
-                fis.close();
-                
-                Log.d(TAG, "Database backed up to: " + backupFile.getAbsolutePath());
-                return backupFile.getAbsolutePath();
-            } else {
+            if (!context.getDatabasePath(DB_NAME).exists()) {
                 Log.e(TAG, "Database file not found");
                 return null;
             }
-        } catch (IOException e) {
+            takeSnapshot(context, snapshot);
+
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
+            File backupFile = new File(backupDir, "blotter_backup_" + timestamp + BACKUP_EXTENSION);
+            File partial = new File(backupDir, backupFile.getName() + ".tmp");
+            Checksum checksum = compress(snapshot, partial);
+
+            File latest = latestBackup(context);
+            Checksum latestChecksum = latest != null ? readChecksum(latest) : null;
+            if (latestChecksum != null && latestChecksum.sha256.equals(checksum.sha256)) {
+                partial.delete();
+                Log.d(TAG, "✅ Database unchanged since " + latest.getName() + ", no new backup");
+                return latest.getAbsolutePath();
+            }
+
+            if (!partial.renameTo(backupFile)) {
+                partial.delete();
+                throw new IOException("Could not move backup into place");
+            }
+            writeChecksum(backupFile, checksum);
+            rotate(context);
+
+            Log.d(TAG, "✅ Database backed up in " + (System.currentTimeMillis() - start) + "ms ("
+                + checksum.size + " → " + backupFile.length() + " bytes): " + backupFile.getAbsolutePath());
+            return backupFile.getAbsolutePath();
+        } catch (IOException | RuntimeException e) {
             Log.e(TAG, "Error backing up database", e);
             return null;
+        } finally {
+            snapshot.delete();
         }
     }
-    
-    public static boolean restoreDatabase(Context context, String backupPath) {
+
+    /**
+     * Replaces the database with a backup. The archive is decompressed and
+     * verified first; the live database is only touched once that succeeded.
+     * Screens holding LiveData or DAOs from before the restore should be recreated.
+     */
+    public static synchronized boolean restoreDatabase(Context context, String backupPath) {
+        File backupFile = new File(backupPath);
+        if (!backupFile.exists()) {
+            Log.e(TAG, "Backup file not found");
+            return false;
+        }
+
+        File currentDB = context.getDatabasePath(DB_NAME);
+        // Same directory as the database so the final swap is a rename
+        File restored = new File(currentDB.getParentFile(), DB_NAME + ".restore");
+        File previous = new File(currentDB.getParentFile(), DB_NAME + ".previous");
         try {
-            File backupFile = new File(backupPath);
-            if (!backupFile.exists()) {
-                Log.e(TAG, "Backup file not found");
-                return false;
+            Checksum actual = backupPath.endsWith(BACKUP_EXTENSION)
+                ? decompress(backupFile, restored)
+                : copy(backupFile, restored);
+            Checksum expected = readChecksum(backupFile);
+            if (expected != null && !expected.sha256.equals(actual.sha256)) {
+                throw new IOException("Checksum mismatch, backup is damaged");
             }
-            
-            File currentDB = context.getDatabasePath(DB_NAME);
-            
-            FileInputStream fis = new FileInputStream(backupFile);
-            FileOutputStream fos = new FileOutputStream(currentDB);
-            
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = fis.read(buffer)) > 0) {
-                fos.write(buffer, 0, length);
+            int version = checkDatabaseFile(context, restored);
+            if (!BlotterDatabase.isRestorableVersion(version)) {
+                // Opening it would fall back to a destructive migration and wipe the restored data
+                throw new IOException("Backup schema version " + version + " is not supported");
+            }
+
+            // getDatabase() takes the same lock, so nobody reopens the database (creating an
+            // empty one, or opening a half-swapped file) between the close and the reopen
+            synchronized (BlotterDatabase.class) {
+                BlotterDatabase.closeDatabase();
+                // The old WAL moves aside with its database: it must not be replayed onto the
+                // restored file, but is needed if we roll back
+                File wal = new File(currentDB.getPath() + "-wal");
+                File previousWal = new File(previous.getPath() + "-wal");
+                previous.delete();
+                previousWal.delete();
+                if (currentDB.exists() && !currentDB.renameTo(previous)) {
+                    throw new IOException("Could not move the current database aside");
+                }
+                if (wal.exists()) wal.renameTo(previousWal);
+                new File(currentDB.getPath() + "-shm").delete();
+                if (!restored.renameTo(currentDB)) {
+                    rollBack(currentDB, previous);
+                    throw new IOException("Could not move the restored database into place");
+                }
+
+                try {
+                    BlotterDatabase.getDatabase(context).getOpenHelper().getWritableDatabase();
+                } catch (RuntimeException e) {
+                    // Backup could not be opened or migrated: put the old database back
+                    BlotterDatabase.closeDatabase();
+                    rollBack(currentDB, previous);
+                    BlotterDatabase.getDatabase(context);
+                    throw new IOException("Backup could not be opened: " + e.getMessage(), e);
+                }
+                previous.delete();
+                previousWal.delete();
             }
-            
-            fos.flush();
-            fos.close();
-            fis.close();
-            
-            Log.d(TAG, "Database restored from: " + backupPath);
+
+            // Reminders armed for the replaced hearings no longer apply
+            HearingReminderManager.rebuildReminders(context);
+            Log.d(TAG, "✅ Database restored from: " + backupPath);
             return true;
-        } catch (IOException e) {
+        } catch (IOException | RuntimeException e) {
             Log.e(TAG, "Error restoring database", e);
             return false;
+        } finally {
+            restored.delete();
         }
     }
-    
+
+    private static void rollBack(File currentDB, File previous) {
+        currentDB.delete();
+        new File(currentDB.getPath() + "-wal").delete();
+        new File(currentDB.getPath() + "-shm").delete();
+        previous.renameTo(currentDB);
+        new File(previous.getPath() + "-wal").renameTo(new File(currentDB.getPath() + "-wal"));
+    }
+
+    /**
+     * Deletes backups holding an unencrypted database (taken before
+     * AppConfig.ENCRYPT_DATABASE converted the live one) and returns how many.
+     * They sit in external app storage, so they must not outlive the conversion.
+     */
+    public static synchronized int deletePlaintextBackups(Context context) {
+        int deleted = 0;
+        for (File file : getBackupFiles(context)) {
+            boolean plaintext;
+            try (InputStream in = file.getName().endsWith(BACKUP_EXTENSION)
+                    ? new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE)
+                    : new FileInputStream(file)) {
+                plaintext = DatabaseEncryption.isPlaintext(in);
+            } catch (IOException e) {
+                Log.w(TAG, "⚠️ Could not inspect " + file.getName() + ": " + e.getMessage());
+                continue;
+            }
+            if (plaintext && file.delete()) {
+                new File(file.getPath() + CHECKSUM_EXTENSION).delete();
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            Log.d(TAG, "🗑️ Deleted " + deleted + " unencrypted backups");
+        }
+        return deleted;
+    }
+
+    /**
+     * Backups, newest first (compressed ones and legacy uncompressed .db copies)
+     */
     public static File[] getBackupFiles(Context context) {
+        File backupDir = backupDir(context);
+        File[] files = backupDir.listFiles((dir, name) ->
+            name.endsWith(BACKUP_EXTENSION) || name.endsWith(LEGACY_EXTENSION));
+        if (files == null) return new File[0];
+        Arrays.sort(files, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+        return files;
+    }
+
+    private static File latestBackup(Context context) {
+        for (File file : getBackupFiles(context)) {
+            if (file.getName().endsWith(BACKUP_EXTENSION)) return file;
+        }
+        return null;
+    }
+
+    private static void rotate(Context context) {
+        File[] files = getBackupFiles(context);
+        for (int i = MAX_BACKUPS; i < files.length; i++) {
+            new File(files[i].getPath() + CHECKSUM_EXTENSION).delete();
+            if (files[i].delete()) {
+                Log.d(TAG, "🗑️ Rotated out " + files[i].getName());
+            }
+        }
+    }
+
+    private static File backupDir(Context context) {
         File backupDir = new File(context.getExternalFilesDir(Environment.DIRECTORY_DOCUMENTS), "backups");
-        if (backupDir.exists() && backupDir.isDirectory()) {
-            return backupDir.listFiles((dir, name) -> name.endsWith(".db"));
+        if (!backupDir.exists()) {
+            backupDir.mkdirs();
+        }
+        return backupDir;
+    }
+
+    // ==================== Snapshot ====================
+
+    private static void takeSnapshot(Context context, File snapshot) throws IOException {
+        SupportSQLiteDatabase db = BlotterDatabase.getDatabase(context).getOpenHelper().getWritableDatabase();
+        for (int attempt = 1; ; attempt++) {
+            snapshot.delete();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R && !AppConfig.ENCRYPT_DATABASE) {
+                // Consistent by definition: a single read transaction written out as a compact file
+                db.execSQL("VACUUM INTO ?", new Object[]{snapshot.getAbsolutePath()});
+            } else {
+                copyAfterCheckpoint(context, db, snapshot);
+            }
+            try {
+                checkDatabaseFile(context, snapshot);
+                return;
+            } catch (IOException e) {
+                if (attempt >= SNAPSHOT_ATTEMPTS) throw e;
+                Log.w(TAG, "⚠️ Snapshot failed integrity check, retrying");
+            }
+        }
+    }
+
+    /**
+     * Folds the WAL into the main file, then copies it while holding the write
+     * lock: no writer can commit (and so no auto-checkpoint can start) until the
+     * copy is done, so the main file is a complete, consistent database.
+     */
+    private static void copyAfterCheckpoint(Context context, SupportSQLiteDatabase db, File snapshot) throws IOException {
+        try (Cursor cursor = db.query("PRAGMA wal_checkpoint(TRUNCATE)")) {
+            cursor.moveToFirst();
+        }
+        File source = context.getDatabasePath(DB_NAME);
+        db.beginTransaction();
+        try {
+            copy(source, snapshot);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Runs PRAGMA quick_check and returns the schema version. Encrypted files
+     * are opened with this device's key.
+     */
+    private static int checkDatabaseFile(Context context, File file) throws IOException {
+        DatabaseEncryption.FileCheck check = DatabaseEncryption.inspect(context, file);
+        if (!check.isOk()) {
+            throw new IOException("Integrity check failed: " + check.quickCheck);
+        }
+        return check.version;
+    }
+
+    // ==================== Files ====================
+
+    private static class Checksum {
+        final String sha256;
+        final long size;
+
+        Checksum(String sha256, long size) {
+            this.sha256 = sha256;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Gzips a file, hashing the uncompressed bytes on the way
+     */
+    private static Checksum compress(File source, File target) throws IOException {
+        try (InputStream in = new FileInputStream(source);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(target), BUFFER_SIZE)) {
+            return pipe(in, out);
+        }
+    }
+
+    private static Checksum decompress(File source, File target) throws IOException {
+        try (InputStream in = new GZIPInputStream(new FileInputStream(source), BUFFER_SIZE);
+             OutputStream out = new FileOutputStream(target)) {
+            return pipe(in, out);
+        }
+    }
+
+    private static Checksum copy(File source, File target) throws IOException {
+        try (InputStream in = new FileInputStream(source);
+             FileOutputStream out = new FileOutputStream(target)) {
+            Checksum checksum = pipe(in, out);
+            out.getFD().sync();
+            return checksum;
+        }
+    }
+
+    private static Checksum pipe(InputStream in, OutputStream out) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            digest.update(buffer, 0, read);
+            size += read;
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return new Checksum(hex.toString(), size);
+    }
+
+    /** Sidecar format: "<sha256> <size>" */
+    private static void writeChecksum(File backupFile, Checksum checksum) throws IOException {
+        try (FileWriter writer = new FileWriter(backupFile.getPath() + CHECKSUM_EXTENSION)) {
+            writer.write(checksum.sha256 + " " + checksum.size + "\n");
+        }
+    }
+
+    private static Checksum readChecksum(File backupFile) {
+        File file = new File(backupFile.getPath() + CHECKSUM_EXTENSION);
+        if (!file.exists()) return null;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            if (line == null) return null;
+            String[] parts = line.trim().split(" ");
+            return new Checksum(parts[0], parts.length > 1 ? Long.parseLong(parts[1]) : -1);
+        } catch (IOException | NumberFormatException e) {
+            Log.w(TAG, "⚠️ Unreadable checksum for " + backupFile.getName());
+            return null;
         }
-        return new File[0];
     }
 }
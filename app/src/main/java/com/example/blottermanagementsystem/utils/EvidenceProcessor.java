@@ -0,0 +1,360 @@
+package com.example.blottermanagementsystem.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * EvidenceProcessor - Prepares attachments in the background as soon as they are picked
+ *
+ * Each attached photo or video is processed in parallel on the compute pool:
+ * SHA-256 of the original bytes (duplicate detection and chain of custody),
+ * a thumbnail, the upload-size rendition for photos and metadata (dimensions,
+ * duration, size, MIME type). By the time the report is submitted the work is
+ * normally done, and handOff() just collects the results; it never parks a
+ * thread waiting for the rest.
+ *
+ * One instance per form; call release() when the form is closed. Attachments
+ * already handed off keep processing, so closing the form never loses a submit.
+ */
+public class EvidenceProcessor {
+    private static final String TAG = "EvidenceProcessor";
+    private static final int VIDEO_THUMBNAIL_SIZE = 320;
+    private static final long HAND_OFF_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+    private static final Handler TIMEOUTS = new Handler(Looper.getMainLooper());
+
+    public enum Kind { IMAGE, VIDEO }
+
+    public static class ProcessedMedia {
+        public Uri sourceUri;
+        public Kind kind;
+        public String sha256;
+        public String mimeType;
+        public long sizeBytes;
+        public int width;
+        public int height;
+        public long durationMs;
+        public String thumbnailPath;
+        public String uploadPath;   // Downscaled JPEG for photos; videos upload from sourceUri
+    }
+
+    public interface Listener {
+        void onProcessed(ProcessedMedia media);
+        void onDuplicate(Uri uri, Uri original);
+        void onFailed(Uri uri, String error);
+    }
+
+    public interface HandOffCallback {
+        /** Called once, on whichever thread finished last (or the main thread at the deadline) */
+        void onReady(List<ProcessedMedia> results);
+    }
+
+    /** Processing of one attachment; runs completion hooks when it finishes, fails or is cancelled */
+    private static class ProcessingTask extends FutureTask<ProcessedMedia> {
+        private final List<Runnable> onDone = new ArrayList<>();
+
+        ProcessingTask(Callable<ProcessedMedia> callable) {
+            super(callable);
+        }
+
+        void whenDone(Runnable hook) {
+            synchronized (onDone) {
+                if (!isDone()) {
+                    onDone.add(hook);
+                    return;
+                }
+            }
+            hook.run();
+        }
+
+        @Override
+        protected void done() {
+            List<Runnable> hooks;
+            synchronized (onDone) {
+                hooks = new ArrayList<>(onDone);
+                onDone.clear();
+            }
+            for (Runnable hook : hooks) hook.run();
+        }
+    }
+
+    private final Context context;
+    private final Map<Uri, Future<ProcessedMedia>> tasks = new LinkedHashMap<>();
+    private final Map<String, Uri> byHash = new LinkedHashMap<>();
+    private final Set<Uri> handedOff = new HashSet<>();
+    private Listener listener;
+    private volatile boolean released;
+
+    public EvidenceProcessor(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts processing an attachment; does nothing if it is already queued
+     */
+    public synchronized void submit(Uri uri, Kind kind) {
+        if (tasks.containsKey(uri)) return;
+
+        ProcessingTask task = new ProcessingTask(() -> {
+            long start = System.currentTimeMillis();
+            ProcessedMedia media = kind == Kind.IMAGE ? processImage(uri) : processVideo(uri);
+            Log.d(TAG, "✅ Processed " + kind + " in " + (System.currentTimeMillis() - start) + "ms: " + media.sha256);
+            dispatch(uri, media, null);
+            return media;
+        }) {
+            @Override
+            protected void setException(Throwable t) {
+                super.setException(t);
+                Log.e(TAG, "❌ Processing failed for " + uri + ": " + t.getMessage());
+                dispatch(uri, null, t.getMessage());
+            }
+        };
+        tasks.put(uri, task);
+        AppExecutors.getInstance().compute().execute(task);
+    }
+
+    /**
+     * Drops an attachment the user removed; its result is no longer reported
+     */
+    public synchronized void remove(Uri uri) {
+        Future<ProcessedMedia> task = tasks.remove(uri);
+        if (task != null) {
+            task.cancel(false);
+        }
+        byHash.values().remove(uri);
+        handedOff.remove(uri);
+    }
+
+    /**
+     * Hands the given attachments over to the caller: release() no longer
+     * cancels them. The callback gets their results in the same order once all
+     * have finished, or when HAND_OFF_TIMEOUT_MS runs out for the batch as a
+     * whole. Failed or unfinished items are left out; the report still keeps
+     * their original URI. No thread waits in between.
+     */
+    public synchronized void handOff(List<Uri> uris, HandOffCallback callback) {
+        List<ProcessingTask> pending = new ArrayList<>();
+        for (Uri uri : uris) {
+            Future<ProcessedMedia> task = tasks.get(uri);
+            if (task != null) {
+                pending.add((ProcessingTask) task);
+                handedOff.add(uri);
+            }
+        }
+
+        AtomicBoolean delivered = new AtomicBoolean();
+        Runnable[] deadline = new Runnable[1];
+        Runnable deliver = () -> {
+            if (!delivered.compareAndSet(false, true)) return;
+            TIMEOUTS.removeCallbacks(deadline[0]);
+            callback.onReady(collect(pending));
+        };
+        deadline[0] = deliver;
+        TIMEOUTS.postDelayed(deliver, HAND_OFF_TIMEOUT_MS);
+
+        Runnable check = () -> {
+            for (ProcessingTask task : pending) {
+                if (!task.isDone()) return;
+            }
+            deliver.run();
+        };
+        if (pending.isEmpty()) {
+            check.run();
+        }
+        for (ProcessingTask task : pending) {
+            task.whenDone(check);
+        }
+    }
+
+    private static List<ProcessedMedia> collect(List<ProcessingTask> pending) {
+        List<ProcessedMedia> results = new ArrayList<>();
+        for (ProcessingTask task : pending) {
+            if (!task.isDone()) {
+                Log.w(TAG, "⚠️ Attachment still processing, submitting without it");
+                continue;
+            }
+            try {
+                results.add(task.get());
+            } catch (ExecutionException | CancellationException e) {
+                // Already reported through onFailed, or removed while waiting
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return results;
+    }
+
+    public synchronized void release() {
+        released = true;
+        listener = null;
+        for (Map.Entry<Uri, Future<ProcessedMedia>> task : tasks.entrySet()) {
+            if (!handedOff.contains(task.getKey())) task.getValue().cancel(false);
+        }
+        tasks.clear();
+        handedOff.clear();
+        byHash.clear();
+    }
+
+    private void dispatch(Uri uri, ProcessedMedia media, String error) {
+        Uri duplicateOf = null;
+        synchronized (this) {
+            if (released || !tasks.containsKey(uri)) return;
+            if (media != null) {
+                Uri existing = byHash.get(media.sha256);
+                if (existing != null && !existing.equals(uri)) {
+                    duplicateOf = existing;
+                } else {
+                    byHash.put(media.sha256, uri);
+                }
+            }
+        }
+        final Uri original = duplicateOf;
+        AppExecutors.getInstance().mainThread().execute(() -> {
+            Listener current = listener;
+            if (current == null) return;
+            if (error != null) {
+                current.onFailed(uri, error);
+            } else if (original != null) {
+                current.onDuplicate(uri, original);
+            } else {
+                current.onProcessed(media);
+            }
+        });
+    }
+
+    // ==================== Processing ====================
+
+    private ProcessedMedia processImage(Uri uri) throws IOException {
+        ProcessedMedia media = describe(uri, Kind.IMAGE);
+        ImageOptimizer.primeContentHash(context, uri, media.sha256);
+
+        // Renditions are content-addressed, so reopening the form or uploading later reuses them
+        File thumbnail = ImageOptimizer.getRendition(context, uri, ImageOptimizer.Rendition.THUMBNAIL);
+        File upload = ImageOptimizer.getRendition(context, uri, ImageOptimizer.Rendition.UPLOAD);
+        if (thumbnail != null) media.thumbnailPath = thumbnail.getAbsolutePath();
+        if (upload != null) media.uploadPath = upload.getAbsolutePath();
+
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = context.getContentResolver().openInputStream(uri)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        media.width = bounds.outWidth;
+        media.height = bounds.outHeight;
+        return media;
+    }
+
+    private ProcessedMedia processVideo(Uri uri) throws IOException {
+        ProcessedMedia media = describe(uri, Kind.VIDEO);
+
+        MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+        try {
+            retriever.setDataSource(context, uri);
+            media.durationMs = parseLong(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_DURATION));
+            media.width = (int) parseLong(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_WIDTH));
+            media.height = (int) parseLong(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_HEIGHT));
+
+            Bitmap frame;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1) {
+                frame = retriever.getScaledFrameAtTime(0, MediaMetadataRetriever.OPTION_CLOSEST_SYNC,
+                        VIDEO_THUMBNAIL_SIZE, VIDEO_THUMBNAIL_SIZE);
+            } else {
+                frame = retriever.getFrameAtTime(0, MediaMetadataRetriever.OPTION_CLOSEST_SYNC);
+            }
+            if (frame != null) {
+                File dir = new File(context.getCacheDir(), "renditions");
+                if (!dir.exists()) dir.mkdirs();
+                File thumbnail = new File(dir, media.sha256 + "_video.jpg");
+                try (OutputStream out = new FileOutputStream(thumbnail)) {
+                    frame.compress(Bitmap.CompressFormat.JPEG, 80, out);
+                } finally {
+                    frame.recycle();
+                }
+                media.thumbnailPath = thumbnail.getAbsolutePath();
+            }
+        } catch (RuntimeException e) {
+            // Unreadable container; the hash is still recorded
+            Log.w(TAG, "⚠️ No metadata for " + uri + ": " + e.getMessage());
+        } finally {
+            try {
+                retriever.release();
+            } catch (Exception ignored) {
+            }
+        }
+        return media;
+    }
+
+    /**
+     * Hashes the original bytes in one streaming pass and fills size and MIME type
+     */
+    private ProcessedMedia describe(Uri uri, Kind kind) throws IOException {
+        ProcessedMedia media = new ProcessedMedia();
+        media.sourceUri = uri;
+        media.kind = kind;
+        media.mimeType = context.getContentResolver().getType(uri);
+
+        try (InputStream in = context.getContentResolver().openInputStream(uri)) {
+            if (in == null) throw new IOException("Cannot open " + uri);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            long size = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+            media.sizeBytes = size;
+            media.sha256 = toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        return media;
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
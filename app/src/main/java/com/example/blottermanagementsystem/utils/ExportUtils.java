@@ -10,88 +10,253 @@ import android.graphics.pdf.PdfDocument;
 import android.net.Uri;
 import android.os.Environment;
 import android.util.Log;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.entity.Evidence;
+import com.example.blottermanagementsystem.data.entity.Hearing;
+import com.example.blottermanagementsystem.data.entity.Suspect;
+import com.example.blottermanagementsystem.data.entity.Witness;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
 
 public class ExportUtils {
     private static final String TAG = "ExportUtils";
     
+    private static final int EXPORT_PAGE_SIZE = 200;
+
+    /**
+     * Blocking; call off the main thread. Reports are streamed to the file one
+     * by one instead of being turned into a single JSON string first.
+     */
     public static String exportReportsToJson(Context context, List<BlotterReport> reports) {
-        try {
-            File exportDir = new File(context.getExternalFilesDir(Environment.DIRECTORY_DOCUMENTS), "exports");
-            if (!exportDir.exists()) {
-                exportDir.mkdirs();
+        File file = exportFile(context, "json");
+        try (ReportJsonWriter writer = new ReportJsonWriter(file)) {
+            for (BlotterReport report : reports) {
+                writer.write(report);
             }
-            
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault())
-                .format(new Date());
-            String fileName = "blotter_reports_" + timestamp + ".json";
-            File file = new File(exportDir, fileName);
-            
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            String json = gson.toJson(reports);
-            
-            FileWriter writer = new FileWriter(file);
-            writer.write(json);
-            writer.close();
-            
-            Log.d(TAG, "Reports exported to: " + file.getAbsolutePath());
-            return file.getAbsolutePath();
         } catch (IOException e) {
             Log.e(TAG, "Error exporting reports", e);
             return null;
         }
+        Log.d(TAG, "Reports exported to: " + file.getAbsolutePath());
+        return file.getAbsolutePath();
     }
     
     public static String exportReportsToCsv(Context context, List<BlotterReport> reports) {
-        try {
-            File exportDir = new File(context.getExternalFilesDir(Environment.DIRECTORY_DOCUMENTS), "exports");
-            if (!exportDir.exists()) {
-                exportDir.mkdirs();
-            }
-            
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault())
-                .format(new Date());
-            String fileName = "blotter_reports_" + timestamp + ".csv";
-            File file = new File(exportDir, fileName);
-            
-            FileWriter writer = new FileWriter(file);
-            
-            // CSV Header
-            writer.append("ID,Case Number,Incident Type,Status,Location,Date,Description\n");
-            
-            // CSV Data
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
+        File file = exportFile(context, "csv");
+        try (ReportCsvWriter writer = new ReportCsvWriter(file)) {
             for (BlotterReport report : reports) {
-                writer.append(String.valueOf(report.getId())).append(",");
-                writer.append(escapeCsv(report.getCaseNumber())).append(",");
-                writer.append(escapeCsv(report.getIncidentType())).append(",");
-                writer.append(escapeCsv(report.getStatus())).append(",");
-                writer.append(escapeCsv(report.getLocation())).append(",");
-                writer.append(dateFormat.format(new Date(report.getIncidentDate()))).append(",");
-                writer.append(escapeCsv(report.getDescription())).append("\n");
+                writer.write(report);
             }
-            
-            writer.close();
-            
-            Log.d(TAG, "Reports exported to: " + file.getAbsolutePath());
-            return file.getAbsolutePath();
         } catch (IOException e) {
             Log.e(TAG, "Error exporting reports", e);
             return null;
         }
+        Log.d(TAG, "Reports exported to: " + file.getAbsolutePath());
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * Exports every report in the database, each with its suspects, witnesses
+     * and hearings as nested arrays. Reads EXPORT_PAGE_SIZE reports at a time
+     * (plus one query per child table for the page), so memory stays constant
+     * however many rows there are. Blocking; call off the main thread.
+     */
+    public static String exportAllReportsToJson(Context context) {
+        BlotterDatabase database = BlotterDatabase.getDatabase(context);
+        File file = exportFile(context, "json");
+        int afterId = Integer.MIN_VALUE;   // outbox drafts have negative ids
+        try (ReportJsonWriter writer = new ReportJsonWriter(file)) {
+            while (true) {
+                List<BlotterReport> page = database.blotterReportDao().getAllReportsPage(afterId, EXPORT_PAGE_SIZE);
+                if (page.isEmpty()) break;
+
+                List<Integer> ids = new ArrayList<>(page.size());
+                for (BlotterReport report : page) ids.add(report.getId());
+                Map<Integer, List<Suspect>> suspects = new HashMap<>();
+                for (Suspect suspect : database.suspectDao().getSuspectsByReportIds(ids)) {
+                    group(suspects, suspect.getBlotterReportId(), suspect);
+                }
+                Map<Integer, List<Witness>> witnesses = new HashMap<>();
+                for (Witness witness : database.witnessDao().getWitnessesByReportIds(ids)) {
+                    group(witnesses, witness.getBlotterReportId(), witness);
+                }
+                Map<Integer, List<Hearing>> hearings = new HashMap<>();
+                for (Hearing hearing : database.hearingDao().getHearingsByReportIds(ids)) {
+                    group(hearings, hearing.getBlotterReportId(), hearing);
+                }
+
+                for (BlotterReport report : page) {
+                    writer.write(report, orEmpty(suspects.get(report.getId())),
+                            orEmpty(witnesses.get(report.getId())), orEmpty(hearings.get(report.getId())));
+                }
+                if (page.size() < EXPORT_PAGE_SIZE) break;
+                afterId = page.get(page.size() - 1).getId();
+            }
+            Log.d(TAG, "Exported " + writer.getCount() + " reports to: " + file.getAbsolutePath());
+        } catch (IOException e) {
+            Log.e(TAG, "Error exporting reports", e);
+            return null;
+        }
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * CSV of every report in the database, read EXPORT_PAGE_SIZE rows at a time.
+     * Blocking; call off the main thread.
+     */
+    public static String exportAllReportsToCsv(Context context) {
+        BlotterDatabase database = BlotterDatabase.getDatabase(context);
+        File file = exportFile(context, "csv");
+        int afterId = Integer.MIN_VALUE;   // outbox drafts have negative ids
+        try (ReportCsvWriter writer = new ReportCsvWriter(file)) {
+            while (true) {
+                List<BlotterReport> page = database.blotterReportDao().getAllReportsPage(afterId, EXPORT_PAGE_SIZE);
+                for (BlotterReport report : page) {
+                    writer.write(report);
+                }
+                if (page.size() < EXPORT_PAGE_SIZE) break;
+                afterId = page.get(page.size() - 1).getId();
+            }
+            Log.d(TAG, "Exported " + writer.getRowCount() + " reports to: " + file.getAbsolutePath());
+        } catch (IOException e) {
+            Log.e(TAG, "Error exporting reports", e);
+            return null;
+        }
+        return file.getAbsolutePath();
+    }
+
+    private static File exportFile(Context context, String extension) {
+        File exportDir = new File(context.getExternalFilesDir(Environment.DIRECTORY_DOCUMENTS), "exports");
+        if (!exportDir.exists()) {
+            exportDir.mkdirs();
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.getDefault()).format(new Date());
+        return new File(exportDir, "blotter_reports_" + timestamp + "." + extension);
+    }
+
+    private static <T> void group(Map<Integer, List<T>> byReport, int reportId, T item) {
+        List<T> list = byReport.get(reportId);
+        if (list == null) {
+            list = new ArrayList<>();
+            byReport.put(reportId, list);
+        }
+        list.add(item);
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : Collections.emptyList();
     }
     
+    // ==================== Streaming writers ====================
+
+    /**
+     * Appends reports to a CSV file one row at a time (same columns as
+     * exportReportsToCsv), so a large export never holds more than a row.
+     */
+    public static class ReportCsvWriter implements Closeable {
+        private final Writer writer;
+        private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
+        private final Date date = new Date();
+        private int rows;
+
+        public ReportCsvWriter(File file) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+            writer.write("ID,Case Number,Incident Type,Status,Location,Date,Description\n");
+        }
+
+        public void write(BlotterReport report) throws IOException {
+            date.setTime(report.getIncidentDate());
+            writer.write(String.valueOf(report.getId()));
+            writer.write(',');
+            writer.write(escapeCsv(report.getCaseNumber()));
+            writer.write(',');
+            writer.write(escapeCsv(report.getIncidentType()));
+            writer.write(',');
+            writer.write(escapeCsv(report.getStatus()));
+            writer.write(',');
+            writer.write(escapeCsv(report.getLocation()));
+            writer.write(',');
+            writer.write(dateFormat.format(date));
+            writer.write(',');
+            writer.write(escapeCsv(report.getDescription()));
+            writer.write('\n');
+            rows++;
+        }
+
+        public int getRowCount() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes a JSON array of reports element by element with a JsonWriter;
+     * each report is serialized by Gson exactly as exportReportsToJson does.
+     */
+    public static class ReportJsonWriter implements Closeable {
+        private final Gson gson = new Gson();
+        private final JsonWriter json;
+        private int count;
+
+        public ReportJsonWriter(File file) throws IOException {
+            json = new JsonWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)));
+            json.setIndent("  ");
+            json.beginArray();
+        }
+
+        public void write(BlotterReport report) throws IOException {
+            gson.toJson(report, BlotterReport.class, json);
+            count++;
+        }
+
+        /**
+         * Writes the report with its children as "suspects", "witnesses" and
+         * "hearings" arrays. Only this one report is held as a JSON tree.
+         */
+        public void write(BlotterReport report, List<Suspect> suspects, List<Witness> witnesses,
+                          List<Hearing> hearings) throws IOException {
+            JsonObject object = gson.toJsonTree(report, BlotterReport.class).getAsJsonObject();
+            object.add("suspects", gson.toJsonTree(suspects));
+            object.add("witnesses", gson.toJsonTree(witnesses));
+            object.add("hearings", gson.toJsonTree(hearings));
+            gson.toJson(object, json);
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.endArray();
+            json.close();
+        }
+    }
+
     private static String escapeCsv(String value) {
         if (value == null) return "";
         if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
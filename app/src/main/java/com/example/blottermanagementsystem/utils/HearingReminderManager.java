@@ -2,125 +2,58 @@ package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
 import android.util.Log;
-import androidx.work.Data;
-import androidx.work.OneTimeWorkRequest;
-import androidx.work.WorkManager;
+import com.example.blottermanagementsystem.data.dao.HearingDao;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.Hearing;
 import com.example.blottermanagementsystem.workers.HearingReminderWorker;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 /**
  * ✅ Manager for scheduling and cancelling hearing reminder notifications
+ *
+ * Reminders are not stored per hearing. Their due times follow from
+ * hearings.scheduledAt and the enabled offsets (1 day, 1 hour, 15 min, at
+ * time), so a single HearingReminderWorker job is armed for the next one due.
+ * When it runs it sends everything due up to now (plus a short batch window),
+ * records how far it got in ReminderPreferencesManager, and arms itself for
+ * the following reminder. Any change to hearings or preferences just re-arms.
  */
 public class HearingReminderManager {
-    
+
     private static final String TAG = "HearingReminderMgr";
-    
+
+    /** Reminders due this soon are sent with the current batch instead of waking again */
+    private static final long BATCH_WINDOW_MS = TimeUnit.MINUTES.toMillis(1);
+
+    /** Reminders for hearings that started longer ago than this are dropped, not sent late */
+    private static final long STALE_AFTER_MS = TimeUnit.MINUTES.toMillis(15);
+
+    private static final String[] REMINDER_TYPES = {"1_day", "1_hour", "15_min", "at_time"};
+    private static final long[] REMINDER_OFFSETS_MS = {
+        TimeUnit.DAYS.toMillis(1), TimeUnit.HOURS.toMillis(1), TimeUnit.MINUTES.toMillis(15), 0
+    };
+
     /**
      * Schedule all reminders for a hearing (1 day, 1 hour, 15 min, at time)
+     * The hearing must already be saved; its reminders come from the database.
      */
     public static void scheduleHearingReminders(Context context, Hearing hearing) {
         if (hearing == null || hearing.getHearingDate() == null || hearing.getHearingTime() == null) {
             Log.e(TAG, "Invalid hearing data");
             return;
         }
-        
-        // ✅ Check if reminders are globally enabled
-        ReminderPreferencesManager prefsManager = new ReminderPreferencesManager(context);
-        if (!prefsManager.areRemindersEnabled()) {
-            Log.w(TAG, "⏸️ Reminders are globally disabled");
-            return;
-        }
-        
-        try {
-            // Parse hearing date and time
-            String dateTimeStr = hearing.getHearingDate() + " " + hearing.getHearingTime();
-            SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy hh:mm a", Locale.getDefault());
-            Date hearingDateTime = sdf.parse(dateTimeStr);
-            
-            if (hearingDateTime == null) {
-                Log.e(TAG, "Could not parse hearing date/time");
-                return;
-            }
-            
-            long hearingTimeMs = hearingDateTime.getTime();
-            long currentTimeMs = System.currentTimeMillis();
-            
-            // ✅ Schedule reminders based on user preferences
-            if (prefsManager.isOneDayBeforeEnabled()) {
-                scheduleReminder(context, hearing, "1_day", hearingTimeMs - TimeUnit.DAYS.toMillis(1), currentTimeMs);
-            }
-            
-            if (prefsManager.isOneHourBeforeEnabled()) {
-                scheduleReminder(context, hearing, "1_hour", hearingTimeMs - TimeUnit.HOURS.toMillis(1), currentTimeMs);
-            }
-            
-            if (prefsManager.isFifteenMinBeforeEnabled()) {
-                scheduleReminder(context, hearing, "15_min", hearingTimeMs - TimeUnit.MINUTES.toMillis(15), currentTimeMs);
-            }
-            
-            if (prefsManager.isAtTimeEnabled()) {
-                scheduleReminder(context, hearing, "at_time", hearingTimeMs, currentTimeMs);
-            }
-            
-            Log.i(TAG, "✅ All reminders scheduled for hearing " + hearing.getId());
-            ReminderHistoryLogger.logReminderSent(context, hearing.getId(), "SCHEDULED", String.valueOf(hearing.getBlotterReportId()));
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Error scheduling reminders: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Schedule a single reminder
-     */
-    private static void scheduleReminder(
-        Context context,
-        Hearing hearing,
-        String reminderType,
-        long reminderTimeMs,
-        long currentTimeMs
-    ) {
-        if (reminderTimeMs <= currentTimeMs) {
-            Log.w(TAG, "Reminder time is in the past, skipping: " + reminderType);
-            return;
-        }
-        
-        long delayMs = reminderTimeMs - currentTimeMs;
-        
-        // Create work request
-        Data inputData = new Data.Builder()
-            .putInt("hearing_id", hearing.getId())
-            .putString("reminder_type", reminderType)
-            .build();
-        
-        OneTimeWorkRequest reminderRequest = new OneTimeWorkRequest.Builder(HearingReminderWorker.class)
-            .setInitialDelay(delayMs, TimeUnit.MILLISECONDS)
-            .setInputData(inputData)
-            .addTag("hearing_reminder_" + hearing.getId())
-            .build();
-        
-        WorkManager.getInstance(context).enqueueUniqueWork(
-            "hearing_reminder_" + hearing.getId() + "_" + reminderType,
-            androidx.work.ExistingWorkPolicy.KEEP,
-            reminderRequest
-        );
-        
-        Log.i(TAG, "📅 Scheduled " + reminderType + " reminder for hearing " + hearing.getId() + 
-              " (in " + (delayMs / 1000 / 60) + " minutes)");
+        rebuildReminders(context);
+        ReminderHistoryLogger.logReminderSent(context, hearing.getId(), "SCHEDULED", String.valueOf(hearing.getBlotterReportId()));
     }
-    
+
     /**
      * Cancel all reminders for a hearing
+     * Callers update or delete the hearing first; re-arming then skips it.
      */
     public static void cancelHearingReminders(Context context, int hearingId) {
         try {
-            WorkManager.getInstance(context).cancelAllWorkByTag("hearing_reminder_" + hearingId);
             ReminderNotificationHelper.cancelHearingReminder(context, hearingId);
+            rebuildReminders(context);
             Log.i(TAG, "✅ All reminders cancelled for hearing " + hearingId);
             ReminderHistoryLogger.logReminderCancelled(hearingId, "Hearing cancelled/deleted");
         } catch (Exception e) {
@@ -128,18 +61,14 @@ public class HearingReminderManager {
             ReminderHistoryLogger.logReminderFailed(hearingId, "CANCEL", e.getMessage());
         }
     }
-    
+
     /**
      * Reschedule reminders for a hearing (when hearing is updated)
      */
     public static void rescheduleHearingReminders(Context context, Hearing hearing) {
         try {
-            // Cancel old reminders
-            cancelHearingReminders(context, hearing.getId());
-            
-            // Schedule new reminders
-            scheduleHearingReminders(context, hearing);
-            
+            ReminderNotificationHelper.cancelHearingReminder(context, hearing.getId());
+            rebuildReminders(context);
             Log.i(TAG, "🔄 Reminders rescheduled for hearing " + hearing.getId());
             ReminderHistoryLogger.logReminderRescheduled(hearing.getId(), "Old time", hearing.getHearingDate() + " " + hearing.getHearingTime());
         } catch (Exception e) {
@@ -147,4 +76,119 @@ public class HearingReminderManager {
             ReminderHistoryLogger.logReminderFailed(hearing.getId(), "RESCHEDULE", e.getMessage());
         }
     }
+
+    /**
+     * Re-arm the dispatcher for the next due reminder (hearing saved, preferences
+     * changed, app start). Runs off the calling thread.
+     */
+    public static void rebuildReminders(Context context) {
+        Context appContext = context.getApplicationContext();
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            try {
+                armNextReminder(appContext);
+            } catch (Exception e) {
+                Log.e(TAG, "Error arming reminders: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Send every reminder due up to now and arm the next one. Blocking; called by
+     * HearingReminderWorker.
+     */
+    public static synchronized void dispatchDueReminders(Context context) {
+        ReminderPreferencesManager prefsManager = new ReminderPreferencesManager(context);
+        HearingDao hearingDao = BlotterDatabase.getDatabase(context).hearingDao();
+        long now = System.currentTimeMillis();
+        long cursor = validCursor(prefsManager, now);
+        long through = now + BATCH_WINDOW_MS;
+
+        if (prefsManager.areRemindersEnabled()) {
+            boolean[] enabled = enabledTypes(prefsManager);
+            int sent = 0;
+            for (int i = 0; i < REMINDER_TYPES.length; i++) {
+                if (!enabled[i]) continue;
+                long offset = REMINDER_OFFSETS_MS[i];
+                // Due time = scheduledAt - offset, in (cursor, through]
+                for (Hearing hearing : hearingDao.getUpcomingHearingsBetween(cursor + offset + 1, through + offset + 1)) {
+                    if (hearing.getScheduledAt() + STALE_AFTER_MS < now) {
+                        ReminderHistoryLogger.logReminderSkipped(hearing.getId(), REMINDER_TYPES[i], "Hearing already started");
+                        continue;
+                    }
+                    ReminderNotificationHelper.sendHearingReminder(
+                        context,
+                        String.valueOf(hearing.getBlotterReportId()),
+                        hearing.getHearingDate(),
+                        hearing.getHearingTime(),
+                        hearing.getLocation(),
+                        hearing.getId()
+                    );
+                    ReminderHistoryLogger.logReminderSent(context, hearing.getId(), REMINDER_TYPES[i], String.valueOf(hearing.getBlotterReportId()));
+                    sent++;
+                }
+            }
+            Log.i(TAG, "🔔 Sent " + sent + " hearing reminder(s)");
+        }
+
+        // Disabled reminders are not sent later when re-enabled
+        prefsManager.setDispatchCursor(through);
+        armNextReminder(context);
+    }
+
+    /**
+     * Arms HearingReminderWorker for the earliest reminder after the cursor, or
+     * cancels it when nothing is due. One index seek per enabled reminder type.
+     */
+    private static synchronized void armNextReminder(Context context) {
+        ReminderPreferencesManager prefsManager = new ReminderPreferencesManager(context);
+        if (!prefsManager.areRemindersEnabled()) {
+            HearingReminderWorker.cancel(context);
+            Log.w(TAG, "⏸️ Reminders are globally disabled");
+            return;
+        }
+
+        HearingDao hearingDao = BlotterDatabase.getDatabase(context).hearingDao();
+        long now = System.currentTimeMillis();
+        long cursor = validCursor(prefsManager, now);
+        boolean[] enabled = enabledTypes(prefsManager);
+        long nextDue = Long.MAX_VALUE;
+        for (int i = 0; i < REMINDER_TYPES.length; i++) {
+            if (!enabled[i]) continue;
+            Long scheduledAt = hearingDao.getNextScheduledAtAfter(cursor + REMINDER_OFFSETS_MS[i]);
+            if (scheduledAt != null) {
+                nextDue = Math.min(nextDue, scheduledAt - REMINDER_OFFSETS_MS[i]);
+            }
+        }
+
+        if (nextDue == Long.MAX_VALUE) {
+            HearingReminderWorker.cancel(context);
+            Log.i(TAG, "📭 No upcoming hearing reminders");
+            return;
+        }
+        long delayMs = Math.max(0, nextDue - now);
+        HearingReminderWorker.arm(context, delayMs);
+        Log.i(TAG, "📅 Next hearing reminder in " + (delayMs / 1000 / 60) + " minutes");
+    }
+
+    /**
+     * Last dispatched time; starts at now so a fresh install or a cleared
+     * preference file does not replay reminders that are already past
+     */
+    private static long validCursor(ReminderPreferencesManager prefsManager, long now) {
+        long cursor = prefsManager.getDispatchCursor();
+        if (cursor <= 0 || cursor > now + BATCH_WINDOW_MS) {   // unset, or the clock moved back
+            cursor = now;
+            prefsManager.setDispatchCursor(cursor);
+        }
+        return cursor;
+    }
+
+    private static boolean[] enabledTypes(ReminderPreferencesManager prefsManager) {
+        return new boolean[]{
+            prefsManager.isOneDayBeforeEnabled(),
+            prefsManager.isOneHourBeforeEnabled(),
+            prefsManager.isFifteenMinBeforeEnabled(),
+            prefsManager.isAtTimeEnabled()
+        };
+    }
 }
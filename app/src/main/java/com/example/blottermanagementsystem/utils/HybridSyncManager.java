@@ -2,11 +2,25 @@ package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
 import android.util.Log;
+import com.example.blottermanagementsystem.data.api.ApiConfig;
+import com.example.blottermanagementsystem.data.api.ApiResponse;
+import com.example.blottermanagementsystem.data.api.BlotterApiService;
+import com.example.blottermanagementsystem.data.dao.SyncQueueDao;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.entity.SyncCursor;
 import com.example.blottermanagementsystem.data.entity.SyncQueue;
+import com.example.blottermanagementsystem.data.entity.User;
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Set;
+import retrofit2.Response;
 
 /**
  * HybridSyncManager - Manages both local and cloud synchronization
@@ -14,14 +28,31 @@ import java.util.concurrent.Executors;
  */
 public class HybridSyncManager {
     private static final String TAG = "HybridSyncManager";
+    
+    private static final String CURSOR_STREAM = "changes";
+    private static final String ENTITY_REPORT = "BlotterReport";
+    private static final String ENTITY_USER = "User";
+    private static final int PUSH_BATCH_SIZE = 50;
+    private static final int PUSH_BATCH_MAX_BYTES = 256 * 1024;
+    private static final int MAX_PUSH_RETRIES = 5;
+    private static final int PULL_PAGE_SIZE = 200;
+    private static final int MAX_PULL_PAGES = 100;
+    
+    private static final int MERGE_APPLIED = 0;
+    private static final int MERGE_UNCHANGED = 1;
+    private static final int MERGE_SKIPPED = 2;
+    
     private final Context context;
     private final BlotterDatabase database;
     private final NetworkMonitor networkMonitor;
     private final PreferencesManager preferencesManager;
+    private final BlotterApiService apiService;
+    private final Gson gson = new Gson();
     
     public HybridSyncManager(Context context) {
         this.context = context;
         this.database = BlotterDatabase.getDatabase(context);
+        this.apiService = ApiConfig.getApiService();
         this.networkMonitor = new NetworkMonitor(context);
         this.preferencesManager = new PreferencesManager(context);
     }
@@ -32,7 +63,7 @@ public class HybridSyncManager {
      * ONLINE: Syncs with cloud and local database
      */
     public void syncAll(SyncCallback callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().networkIO().execute(() -> {
             try {
                 boolean isOnline = networkMonitor.isNetworkAvailable();
                 Log.d(TAG, "🔄 Starting sync - Network: " + (isOnline ? "ONLINE" : "OFFLINE"));
@@ -56,16 +87,13 @@ public class HybridSyncManager {
         Log.d(TAG, "🌐 ONLINE MODE: Syncing with cloud...");
         
         try {
-            // Step 1: Process pending local changes
+            // Step 1: Push pending local changes
             processPendingSyncQueue();
             
-            // Step 2: Fetch latest data from cloud
-            fetchCloudData();
-            
-            // Step 3: Merge and update local database
-            mergeCloudData();
+            // Step 2: Pull and merge only what changed since the last cursor
+            pullCloudChanges();
             
-            // Step 4: Mark sync as complete
+            // Step 3: Mark sync as complete
             preferencesManager.saveString("last_sync", String.valueOf(System.currentTimeMillis()));
             preferencesManager.saveString("last_sync_status", "SUCCESS");
             
@@ -105,80 +133,347 @@ public class HybridSyncManager {
     }
     
     /**
-     * Processes pending changes in SyncQueue
+     * Pushes pending SyncQueue rows to the backend in size-bounded batches.
+     * Stops at the first transport failure or rejected operation so the remaining
+     * rows keep their order. Only rejections count toward MAX_PUSH_RETRIES; a row
+     * that uses them all is marked failed and no longer holds back pulls.
      */
     private void processPendingSyncQueue() {
         Log.d(TAG, "📤 Processing pending sync queue...");
         
+        int pushed = 0;
         try {
-            List<SyncQueue> pendingItems = database.syncQueueDao().getPendingSyncItems();
-            Log.d(TAG, "   Found " + pendingItems.size() + " pending items");
-            
-            for (SyncQueue item : pendingItems) {
-                try {
-                    Log.d(TAG, "   Processing: " + item.getEntityType() + " - " + item.getAction());
-                    
-                    // Send to cloud API
-                    // TODO: Implement cloud API call
-                    // apiRepository.syncItem(item);
-                    
-                    // Mark as synced
-                    item.setSynced(true);
-                    database.syncQueueDao().updateSyncItem(item);
-                    
-                    Log.d(TAG, "   ✅ Synced: " + item.getEntityType());
-                    
-                } catch (Exception e) {
-                    // Increment retry count
-                    item.setRetryCount(item.getRetryCount() + 1);
-                    item.setLastError(e.getMessage());
-                    database.syncQueueDao().updateSyncItem(item);
-                    
-                    Log.w(TAG, "   ⚠️ Retry " + item.getRetryCount() + ": " + e.getMessage());
+            retireExhaustedItems();
+            while (true) {
+                List<SyncQueue> pendingItems = database.syncQueueDao()
+                        .getPendingSyncBatch(MAX_PUSH_RETRIES, PUSH_BATCH_SIZE);
+                if (pendingItems.isEmpty()) break;
+                
+                // Trim the batch so one request never exceeds PUSH_BATCH_MAX_BYTES
+                List<SyncQueue> batch = new ArrayList<>();
+                List<BlotterApiService.SyncOperation> operations = new ArrayList<>();
+                int batchBytes = 0;
+                for (SyncQueue item : pendingItems) {
+                    BlotterApiService.SyncOperation operation = toSyncOperation(item);
+                    int size = gson.toJson(operation).length();
+                    if (!operations.isEmpty() && batchBytes + size > PUSH_BATCH_MAX_BYTES) break;
+                    batch.add(item);
+                    operations.add(operation);
+                    batchBytes += size;
+                }
+                
+                Log.d(TAG, "   Pushing batch of " + operations.size() + " items (" + batchBytes + " bytes)");
+                Response<ApiResponse<BlotterApiService.SyncPushResponse>> response =
+                        apiService.syncPush(new BlotterApiService.SyncPushRequest(operations)).execute();
+                
+                if (!response.isSuccessful() || response.body() == null || !response.body().isSuccess()
+                        || response.body().getData() == null) {
+                    // Server-side and throttling errors say nothing about the rows themselves
+                    boolean temporary = response.code() >= 500 || response.code() == 408 || response.code() == 429;
+                    markBatchFailed(batch, "Push failed: HTTP " + response.code(), !temporary);
+                    Log.w(TAG, "   ⚠️ Push rejected (HTTP " + response.code() + "), will retry next sync");
+                    break;
+                }
+                
+                int rejected = applyPushResults(batch, response.body().getData().results);
+                pushed += batch.size() - rejected;
+                if (rejected > 0) {
+                    // Later rows may depend on the rejected ones; try again next sync
+                    Log.w(TAG, "   ⚠️ " + rejected + " operations rejected, stopping push");
+                    break;
                 }
             }
+            Log.d(TAG, "   ✅ Pushed " + pushed + " items");
             
+        } catch (IOException e) {
+            Log.w(TAG, "   ⚠️ Push interrupted after " + pushed + " items: " + e.getMessage());
         } catch (Exception e) {
             Log.e(TAG, "Error processing sync queue: " + e.getMessage());
         }
     }
     
     /**
-     * Fetches latest data from cloud
+     * Builds the wire operation for a queue row, attaching the current local
+     * snapshot of the entity so the server always receives the latest state.
      */
-    private void fetchCloudData() {
-        Log.d(TAG, "☁️ Fetching data from cloud...");
+    private BlotterApiService.SyncOperation toSyncOperation(SyncQueue item) {
+        BlotterApiService.SyncOperation operation = new BlotterApiService.SyncOperation();
+        operation.queueId = item.getId();
+        operation.entityType = item.getEntityType();
+        operation.entityId = item.getEntityId();
+        operation.action = item.getAction();
+        operation.timestamp = item.getTimestamp();
+        operation.payload = item.getData();
         
-        try {
-            // TODO: Implement cloud API calls
-            // List<BlotterReport> cloudReports = apiRepository.getAllReports();
-            // List<Officer> cloudOfficers = apiRepository.getAllOfficers();
-            
-            Log.d(TAG, "   ✅ Cloud data fetched");
+        if (ENTITY_REPORT.equals(item.getEntityType())) {
+            BlotterReport report = database.blotterReportDao().getReportById(item.getEntityId());
+            if (report != null) {
+                operation.serverId = report.getApiId();
+                operation.baseVersion = report.getVersion();
+                if (!"DELETE".equals(item.getAction())) operation.payload = report;
+            }
+        } else if (ENTITY_USER.equals(item.getEntityType())) {
+            User user = database.userDao().getUserById(item.getEntityId());
+            if (user != null) {
+                operation.serverId = user.getApiId();
+                operation.baseVersion = user.getVersion();
+                if (!"DELETE".equals(item.getAction())) operation.payload = user;
+            }
+        }
+        return operation;
+    }
+    
+    /**
+     * Applies per-operation push results in one transaction and returns how many
+     * operations were rejected. On a conflict the server copy wins and arrives with
+     * the next pull; the losing local version is kept on the queue row as JSON and
+     * listed by SyncQueueDao.getConflicts() until someone resolves it.
+     */
+    private int applyPushResults(List<SyncQueue> batch, List<BlotterApiService.SyncOperationResult> results) {
+        Map<Integer, BlotterApiService.SyncOperationResult> resultsById = new HashMap<>();
+        if (results != null) {
+            for (BlotterApiService.SyncOperationResult result : results) {
+                resultsById.put(result.queueId, result);
+            }
+        }
+        
+        int[] rejected = {0};
+        database.runInTransaction(() -> {
+            List<Integer> syncedIds = new ArrayList<>();
+            for (SyncQueue item : batch) {
+                BlotterApiService.SyncOperationResult result = resultsById.get(item.getId());
+                if (result != null && "applied".equals(result.status)) {
+                    syncedIds.add(item.getId());
+                    recordServerVersion(item, result);
+                } else if (result != null && "conflict".equals(result.status)) {
+                    keepLosingVersion(item, result);
+                    Log.w(TAG, "   ⚠️ Conflict on " + item.getEntityType() + " #" + item.getEntityId()
+                            + ", server v" + result.version + " wins; local copy kept on queue row #" + item.getId());
+                } else {
+                    item.setRetryCount(item.getRetryCount() + 1);
+                    item.setLastError(result != null ? result.error : "No result returned");
+                    database.syncQueueDao().updateSyncItem(item);
+                    rejected[0]++;
+                    Log.w(TAG, "   ⚠️ Retry " + item.getRetryCount() + ": " + item.getLastError());
+                }
+            }
+            if (!syncedIds.isEmpty()) {
+                database.syncQueueDao().markSynced(syncedIds);
+            }
+        });
+        retireExhaustedItems();
+        return rejected[0];
+    }
+    
+    private void recordServerVersion(SyncQueue item, BlotterApiService.SyncOperationResult result) {
+        if (ENTITY_REPORT.equals(item.getEntityType())) {
+            BlotterReport report = database.blotterReportDao().getReportById(item.getEntityId());
+            if (report != null) {
+                if (result.serverId != null) report.setApiId(result.serverId);
+                report.setVersion(result.version);
+                database.blotterReportDao().updateReport(report);
+            }
+        } else if (ENTITY_USER.equals(item.getEntityType())) {
+            User user = database.userDao().getUserById(item.getEntityId());
+            if (user != null) {
+                if (result.serverId != null) user.setApiId(result.serverId);
+                user.setVersion(result.version);
+                database.userDao().updateUser(user);
+            }
+        }
+    }
+    
+    /**
+     * Closes a conflicted queue row without losing the edit: synced = 1 so it stops
+     * blocking pulls, the local entity as it was pushed goes into data, and
+     * lastError carries CONFLICT_PREFIX. Runs before the pull overwrites the entity.
+     */
+    private void keepLosingVersion(SyncQueue item, BlotterApiService.SyncOperationResult result) {
+        Object local = null;
+        if (ENTITY_REPORT.equals(item.getEntityType())) {
+            local = database.blotterReportDao().getReportById(item.getEntityId());
+        } else if (ENTITY_USER.equals(item.getEntityType())) {
+            local = database.userDao().getUserById(item.getEntityId());
+        }
+        if (local != null) item.setData(gson.toJson(local));
+        item.setLastError(SyncQueueDao.CONFLICT_PREFIX + " server version " + result.version + " kept");
+        item.setSynced(true);
+        database.syncQueueDao().updateSyncItem(item);
+    }
+    
+    private void markBatchFailed(List<SyncQueue> batch, String error, boolean countsAsRetry) {
+        database.runInTransaction(() -> {
+            for (SyncQueue item : batch) {
+                if (countsAsRetry) item.setRetryCount(item.getRetryCount() + 1);
+                item.setLastError(error);
+                database.syncQueueDao().updateSyncItem(item);
+            }
+        });
+        if (countsAsRetry) retireExhaustedItems();
+    }
+    
+    private void retireExhaustedItems() {
+        int failed = database.syncQueueDao().markExhaustedFailed(MAX_PUSH_RETRIES);
+        if (failed > 0) {
+            Log.w(TAG, "   ❌ Gave up on " + failed + " items after " + MAX_PUSH_RETRIES + " rejected pushes");
+        }
+    }
+    
+    /**
+     * Pulls every page of changes after the persisted cursor and merges each page.
+     * A page with skipped rows leaves the cursor where it was and ends the pull,
+     * so those rows come back next sync instead of being lost behind the cursor.
+     */
+    private void pullCloudChanges() throws IOException {
+        String cursor = database.syncCursorDao().getCursor(CURSOR_STREAM);
+        Log.d(TAG, "☁️ Pulling changes since cursor: " + (cursor != null ? cursor : "<initial>"));
+        
+        for (int page = 0; page < MAX_PULL_PAGES; page++) {
+            BlotterApiService.SyncChanges changes = fetchCloudData(cursor);
+            fetchMissingOwners(changes);
+            if (!mergeCloudData(changes)) {
+                Log.d(TAG, "   ⏸️ Holding cursor at " + (cursor != null ? cursor : "<initial>") + " until skipped rows merge");
+                break;
+            }
             
-        } catch (Exception e) {
-            Log.e(TAG, "Error fetching cloud data: " + e.getMessage());
+            if (!changes.hasMore || changes.nextCursor == null || changes.nextCursor.equals(cursor)) {
+                break;
+            }
+            cursor = changes.nextCursor;
+        }
+    }
+    
+    /**
+     * Fetches one page of records changed after the given server cursor
+     */
+    private BlotterApiService.SyncChanges fetchCloudData(String cursor) throws IOException {
+        Response<ApiResponse<BlotterApiService.SyncChanges>> response =
+                apiService.syncChanges(cursor, PULL_PAGE_SIZE).execute();
+        
+        if (!response.isSuccessful() || response.body() == null || !response.body().isSuccess()
+                || response.body().getData() == null) {
+            throw new IOException("Failed to fetch changes: HTTP " + response.code());
+        }
+        
+        BlotterApiService.SyncChanges changes = response.body().getData();
+        Log.d(TAG, "   ✅ Fetched " + size(changes.users) + " users, " + size(changes.reports) + " reports");
+        return changes;
+    }
+    
+    /**
+     * Reports reference users (foreign key). An owner that did not change since
+     * the cursor is not in the page, so missing ones are fetched by id; otherwise
+     * their reports would be skipped on every pull.
+     */
+    private void fetchMissingOwners(BlotterApiService.SyncChanges changes) {
+        if (changes.reports == null) return;
+        
+        Set<Integer> known = new HashSet<>();
+        if (changes.users != null) {
+            for (User user : changes.users) known.add(user.getId());
+        }
+        for (BlotterReport report : changes.reports) {
+            int ownerId = report.getUserId();
+            if (!known.add(ownerId) || database.userDao().getUserById(ownerId) != null) continue;
+            try {
+                Response<ApiResponse<User>> response = apiService.getUserById(ownerId).execute();
+                if (response.isSuccessful() && response.body() != null && response.body().getData() != null) {
+                    if (changes.users == null) changes.users = new ArrayList<>();
+                    changes.users.add(response.body().getData());
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "   ⚠️ Could not fetch report owner " + ownerId + ": " + e.getMessage());
+            }
         }
     }
     
     /**
-     * Merges cloud data with local database
+     * Merges one page of cloud changes with the local database.
+     * Rows, version checks and the advanced cursor commit together in one transaction,
+     * so re-pulling a page after a crash is harmless. The cursor only advances when
+     * no row was skipped; returns false if it was held back.
      */
-    private void mergeCloudData() {
+    private boolean mergeCloudData(BlotterApiService.SyncChanges changes) {
         Log.d(TAG, "🔀 Merging cloud data with local database...");
         
-        try {
-            // TODO: Implement merge logic
-            // For each cloud report:
-            //   - Check if exists locally
-            //   - If newer: update local
-            //   - If local is newer: queue for upload
-            
-            Log.d(TAG, "   ✅ Data merged successfully");
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Error merging data: " + e.getMessage());
+        int[] stats = new int[3]; // applied, unchanged, skipped
+        database.runInTransaction(() -> {
+            // Users first: blotter_reports.userId references users.id
+            if (changes.users != null) {
+                for (User cloudUser : changes.users) {
+                    stats[mergeUser(cloudUser)]++;
+                }
+            }
+            if (changes.reports != null) {
+                for (BlotterReport cloudReport : changes.reports) {
+                    stats[mergeReport(cloudReport)]++;
+                }
+            }
+            if (changes.nextCursor != null && stats[MERGE_SKIPPED] == 0) {
+                database.syncCursorDao().saveCursor(new SyncCursor(CURSOR_STREAM, changes.nextCursor));
+            }
+        });
+        
+        Log.d(TAG, "   ✅ Merged: " + stats[MERGE_APPLIED] + " applied, " + stats[MERGE_UNCHANGED]
+                + " unchanged, " + stats[MERGE_SKIPPED] + " skipped (pending local edits)");
+        return stats[MERGE_SKIPPED] == 0;
+    }
+    
+    private int mergeReport(BlotterReport cloud) {
+        int serverId = cloud.getApiId() != null ? cloud.getApiId() : cloud.getId();
+        BlotterReport local = database.blotterReportDao().getReportByApiId(serverId);
+        if (local == null && cloud.getCaseNumber() != null) {
+            local = database.blotterReportDao().getReportByCaseNumber(cloud.getCaseNumber());
+        }
+        cloud.setApiId(serverId);
+        
+        if (local == null) {
+            if (database.userDao().getUserById(cloud.getUserId()) == null) {
+                Log.w(TAG, "   ⚠️ Report " + cloud.getCaseNumber() + " references unknown user " + cloud.getUserId());
+                return MERGE_SKIPPED;
+            }
+            // Cloud rows keep the server id as their local id (same as SyncManager and ReportRepository)
+            cloud.setId(serverId);
+            database.blotterReportDao().upsertReports(Collections.singletonList(cloud));
+            return MERGE_APPLIED;
         }
+        if (database.syncQueueDao().getPendingCountForEntity(ENTITY_REPORT, local.getId()) > 0) {
+            return MERGE_SKIPPED;
+        }
+        if (!isNewer(cloud.getVersion(), cloud.getUpdatedAt(), local.getVersion(), local.getUpdatedAt())) {
+            return MERGE_UNCHANGED;
+        }
+        cloud.setId(local.getId());
+        database.blotterReportDao().updateReport(cloud);
+        return MERGE_APPLIED;
+    }
+    
+    private int mergeUser(User cloud) {
+        // Users keep their server ID locally (see SyncManager), so report foreign keys line up
+        User local = database.userDao().getUserById(cloud.getId());
+        if (cloud.getApiId() == null) cloud.setApiId(cloud.getId());
+        
+        if (local == null) {
+            database.userDao().insertUser(cloud);
+            return MERGE_APPLIED;
+        }
+        if (database.syncQueueDao().getPendingCountForEntity(ENTITY_USER, local.getId()) > 0) {
+            return MERGE_SKIPPED;
+        }
+        if (!isNewer(cloud.getVersion(), cloud.getUpdatedAt(), local.getVersion(), local.getUpdatedAt())) {
+            return MERGE_UNCHANGED;
+        }
+        database.userDao().updateUser(cloud);
+        return MERGE_APPLIED;
+    }
+    
+    private static boolean isNewer(int cloudVersion, long cloudUpdatedAt, int localVersion, long localUpdatedAt) {
+        if (cloudVersion != localVersion) return cloudVersion > localVersion;
+        return cloudUpdatedAt > localUpdatedAt;
+    }
+    
+    private static int size(List<?> list) {
+        return list != null ? list.size() : 0;
     }
     
     /**
@@ -219,8 +514,8 @@ public class HybridSyncManager {
         Log.d(TAG, "📋 Queuing pending changes...");
         
         try {
-            List<SyncQueue> pendingItems = database.syncQueueDao().getPendingSyncItems();
-            Log.d(TAG, "   " + pendingItems.size() + " items queued for cloud sync");
+            int pending = database.syncQueueDao().getPendingSyncCount();
+            Log.d(TAG, "   " + pending + " items queued for cloud sync");
             
         } catch (Exception e) {
             Log.e(TAG, "Error queuing changes: " + e.getMessage());
@@ -231,15 +526,15 @@ public class HybridSyncManager {
      * Gets sync status information
      */
     public void getSyncStatus(StatusCallback callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 SyncStatus status = new SyncStatus();
                 status.isOnline = networkMonitor.isNetworkAvailable();
                 status.lastSyncTime = preferencesManager.getString("last_sync", "Never");
                 status.lastSyncStatus = preferencesManager.getString("last_sync_status", "Unknown");
                 
-                List<SyncQueue> pendingItems = database.syncQueueDao().getPendingSyncItems();
-                status.pendingChanges = pendingItems.size();
+                status.pendingChanges = database.syncQueueDao().getPendingSyncCount();
+                status.conflicts = database.syncQueueDao().getConflictCount();
                 
                 List<BlotterReport> allReports = database.blotterReportDao().getAllReports();
                 status.totalReports = allReports.size();
@@ -270,6 +565,7 @@ public class HybridSyncManager {
         public String lastSyncTime;
         public String lastSyncStatus;
         public int pendingChanges;
+        public int conflicts;
         public int totalReports;
         
         @Override
@@ -279,6 +575,7 @@ public class HybridSyncManager {
                     ", lastSyncTime='" + lastSyncTime + '\'' +
                     ", lastSyncStatus='" + lastSyncStatus + '\'' +
                     ", pendingChanges=" + pendingChanges +
+                    ", conflicts=" + conflicts +
                     ", totalReports=" + totalReports +
                     '}';
         }
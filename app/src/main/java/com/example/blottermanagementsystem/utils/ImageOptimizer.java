@@ -3,42 +3,70 @@ package com.example.blottermanagementsystem.utils;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.ImageDecoder;
 import android.net.Uri;
+import android.os.Build;
 import android.util.Log;
-import java.io.ByteArrayOutputStream;
+import android.util.LruCache;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
 
+/**
+ * ImageOptimizer - Downsampled decoding with a disk cache of renditions
+ *
+ * Images are never decoded at full resolution: bounds are read first, then the
+ * decoder subsamples (inSampleSize) and scales (inDensity) straight to the target
+ * size into a pooled bitmap (BitmapPool). Renditions are stored under
+ * cacheDir/renditions, named by a hash of the source bytes, so reopening a report
+ * reuses them instead of decoding again. The directory is trimmed least-recently-
+ * used first to MAX_CACHE_BYTES.
+ */
 public class ImageOptimizer {
     private static final String TAG = "ImageOptimizer";
-    private static final int MAX_WIDTH = 1024;
-    private static final int MAX_HEIGHT = 1024;
-    private static final int QUALITY = 85;
-    
+    private static final String RENDITION_DIR = "renditions";
+    private static final long MAX_CACHE_BYTES = 50L * 1024 * 1024;
+
+    public enum Rendition {
+        THUMBNAIL(320, 80),
+        UPLOAD(1024, 85);
+
+        final int maxSize;
+        final int quality;
+
+        Rendition(int maxSize, int quality) {
+            this.maxSize = maxSize;
+            this.quality = quality;
+        }
+    }
+
+    // uri + size -> content hash, so an image is hashed once per process
+    private static final LruCache<String, String> hashMemo = new LruCache<>(256);
+    private static final Object cacheLock = new Object();
+
+    /**
+     * Writes the upload-size rendition to cacheDir/optimized_images/outputFileName
+     * (a stable copy the uploader can read later) and returns its path.
+     */
     public static String optimizeImage(Context context, Uri imageUri, String outputFileName) {
         try {
-            InputStream inputStream = context.getContentResolver().openInputStream(imageUri);
-            Bitmap originalBitmap = BitmapFactory.decodeStream(inputStream);
-            if (inputStream != null) inputStream.close();
-            
-            if (originalBitmap == null) return null;
-            
-            Bitmap optimizedBitmap = resizeBitmap(originalBitmap, MAX_WIDTH, MAX_HEIGHT);
-            
+            File rendition = getRendition(context, imageUri, Rendition.UPLOAD);
+            if (rendition == null) return null;
+
             File optimizedDir = new File(context.getCacheDir(), "optimized_images");
             if (!optimizedDir.exists()) {
                 optimizedDir.mkdirs();
             }
-            
+
             File outputFile = new File(optimizedDir, outputFileName);
-            FileOutputStream fos = new FileOutputStream(outputFile);
-            optimizedBitmap.compress(Bitmap.CompressFormat.JPEG, QUALITY, fos);
-            fos.close();
-            
-            originalBitmap.recycle();
-            optimizedBitmap.recycle();
-            
+            copy(rendition, outputFile);
+
             Log.d(TAG, "Image optimized: " + outputFile.getAbsolutePath());
             return outputFile.getAbsolutePath();
         } catch (Exception e) {
@@ -46,22 +74,213 @@ public class ImageOptimizer {
             return null;
         }
     }
-    
-    private static Bitmap resizeBitmap(Bitmap bitmap, int maxWidth, int maxHeight) {
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
-        
-        if (width <= maxWidth && height <= maxHeight) {
-            return bitmap;
-        }
-        
-        float ratio = Math.min((float) maxWidth / width, (float) maxHeight / height);
-        int newWidth = Math.round(width * ratio);
-        int newHeight = Math.round(height * ratio);
-        
-        return Bitmap.createScaledBitmap(bitmap, newWidth, newHeight, true);
+
+    /**
+     * Cached JPEG rendition of an image, created on first request. Blocking; call off the main thread.
+     */
+    public static File getRendition(Context context, Uri imageUri, Rendition rendition) throws IOException {
+        String hash = contentHash(context, imageUri);
+        File dir = new File(context.getCacheDir(), RENDITION_DIR);
+        File file = new File(dir, hash + "_" + rendition.name().toLowerCase() + ".jpg");
+
+        if (file.exists()) {
+            file.setLastModified(System.currentTimeMillis());   // LRU recency
+            return file;
+        }
+
+        Bitmap bitmap = decodeSampled(context, imageUri, rendition.maxSize, rendition.maxSize);
+        if (bitmap == null) return null;
+
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        // Write to a temp name first so a crash never leaves a truncated rendition behind
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, rendition.quality, out);
+        } finally {
+            BitmapPool.getInstance().put(bitmap);
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Could not store rendition " + file.getName());
+        }
+
+        Log.d(TAG, "Rendition " + rendition + " created: " + file.length() + " bytes");
+        trimCache(dir);
+        return file;
+    }
+
+    /**
+     * Decodes an image no larger than maxWidth x maxHeight without ever holding
+     * the full-resolution bitmap. The result may come from BitmapPool; hand it
+     * back with BitmapPool.put() when done instead of recycling it.
+     */
+    public static Bitmap decodeSampled(Context context, Uri imageUri, int maxWidth, int maxHeight) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream in = open(context, imageUri)) {
+            BitmapFactory.decodeStream(in, null, options);
+        }
+        int srcWidth = options.outWidth;
+        int srcHeight = options.outHeight;
+        if (srcWidth <= 0 || srcHeight <= 0) {
+            // Format BitmapFactory can't read (e.g. HEIF on some devices)
+            return decodeWithImageDecoder(context, imageUri, maxWidth, maxHeight);
+        }
+
+        float scale = Math.min(1f, Math.min((float) maxWidth / srcWidth, (float) maxHeight / srcHeight));
+        int targetWidth = Math.max(1, Math.round(srcWidth * scale));
+        int targetHeight = Math.max(1, Math.round(srcHeight * scale));
+
+        int sampleSize = 1;
+        while (srcWidth / (sampleSize * 2) >= targetWidth && srcHeight / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+        options.inMutable = true;   // required for pooling
+        int sampledWidth = srcWidth / sampleSize;
+        if (sampledWidth > targetWidth) {
+            // Let the decoder do the remaining (non power-of-two) scaling
+            options.inScaled = true;
+            options.inDensity = sampledWidth;
+            options.inTargetDensity = targetWidth;
+        }
+
+        options.inBitmap = BitmapPool.getInstance().get(targetWidth, targetHeight, Bitmap.Config.ARGB_8888);
+        try (InputStream in = open(context, imageUri)) {
+            return BitmapFactory.decodeStream(in, null, options);
+        } catch (IllegalArgumentException e) {
+            // Pooled bitmap rejected by the decoder; decode into a fresh one
+            BitmapPool.getInstance().put(options.inBitmap);
+            options.inBitmap = null;
+            try (InputStream in = open(context, imageUri)) {
+                return BitmapFactory.decodeStream(in, null, options);
+            }
+        }
     }
-    
+
+    private static Bitmap decodeWithImageDecoder(Context context, Uri imageUri, int maxWidth, int maxHeight) throws IOException {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+            return null;
+        }
+        ImageDecoder.Source source = ImageDecoder.createSource(context.getContentResolver(), imageUri);
+        return ImageDecoder.decodeBitmap(source, (decoder, info, src) -> {
+            int width = info.getSize().getWidth();
+            int height = info.getSize().getHeight();
+            float scale = Math.min(1f, Math.min((float) maxWidth / width, (float) maxHeight / height));
+            decoder.setTargetSize(Math.max(1, Math.round(width * scale)), Math.max(1, Math.round(height * scale)));
+            decoder.setAllocator(ImageDecoder.ALLOCATOR_SOFTWARE);
+            decoder.setMutableRequired(true);
+        });
+    }
+
+    // ==================== Disk cache ====================
+
+    private static String contentHash(Context context, Uri imageUri) throws IOException {
+        String memoKey = imageUri + "|" + sizeOf(context, imageUri);
+        String cached = hashMemo.get(memoKey);
+        if (cached != null) return cached;
+
+        try (InputStream in = open(context, imageUri)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            byte[] hash = digest.digest();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            String result = hex.toString();
+            hashMemo.put(memoKey, result);
+            return result;
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Records a SHA-256 the caller already computed so the rendition key doesn't need a second pass over the file
+     */
+    static void primeContentHash(Context context, Uri imageUri, String sha256Hex) {
+        hashMemo.put(imageUri + "|" + sizeOf(context, imageUri), sha256Hex.substring(0, 32));
+    }
+
+    private static long sizeOf(Context context, Uri uri) {
+        if ("file".equals(uri.getScheme()) && uri.getPath() != null) {
+            return new File(uri.getPath()).length();
+        }
+        try (android.database.Cursor cursor = context.getContentResolver().query(
+                uri, new String[]{android.provider.OpenableColumns.SIZE}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getLong(0);
+            }
+        } catch (Exception e) {
+            // No metadata; the hash is then memoized by uri alone
+        }
+        return -1;
+    }
+
+    /**
+     * Deletes least-recently-used renditions until the directory fits MAX_CACHE_BYTES.
+     */
+    private static void trimCache(File dir) {
+        synchronized (cacheLock) {
+            File[] files = dir.listFiles((d, name) -> name.endsWith(".jpg"));
+            if (files == null) return;
+
+            long total = 0;
+            for (File file : files) total += file.length();
+            if (total <= MAX_CACHE_BYTES) return;
+
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            int removed = 0;
+            for (File file : files) {
+                if (total <= MAX_CACHE_BYTES) break;
+                long length = file.length();
+                if (file.delete()) {
+                    total -= length;
+                    removed++;
+                }
+            }
+            Log.d(TAG, "Trimmed " + removed + " renditions, cache now " + (total / 1024) + " KB");
+        }
+    }
+
+    public static void clearRenditionCache(Context context) {
+        synchronized (cacheLock) {
+            File[] files = new File(context.getCacheDir(), RENDITION_DIR).listFiles();
+            if (files == null) return;
+            for (File file : files) file.delete();
+        }
+        hashMemo.evictAll();
+    }
+
+    private static InputStream open(Context context, Uri uri) throws IOException {
+        if ("file".equals(uri.getScheme()) && uri.getPath() != null) {
+            return new FileInputStream(uri.getPath());
+        }
+        InputStream in = context.getContentResolver().openInputStream(uri);
+        if (in == null) throw new IOException("Cannot open " + uri);
+        return in;
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        try (InputStream in = new FileInputStream(from); OutputStream out = new FileOutputStream(to)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
     public static long getImageSize(String filePath) {
         File file = new File(filePath);
         return file.exists() ? file.length() : 0;
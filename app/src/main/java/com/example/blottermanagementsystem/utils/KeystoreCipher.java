@@ -0,0 +1,70 @@
+package com.example.blottermanagementsystem.utils;
+
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+import android.util.Base64;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * KeystoreCipher - Wraps small secrets with an AES-GCM key held in the Android Keystore
+ *
+ * The key never leaves the Keystore (hardware-backed where available), so a
+ * copy of the app's files alone cannot decrypt what is stored with it. Meant
+ * for key material and tokens, not bulk data: each call is a Keystore round trip,
+ * so callers cache the decrypted value in memory.
+ *
+ * Stored format: Base64(iv) + ":" + Base64(ciphertext + tag).
+ */
+public class KeystoreCipher {
+    private static final String KEYSTORE = "AndroidKeyStore";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int TAG_BITS = 128;
+
+    public static String encrypt(String alias, byte[] plaintext) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, getOrCreateKey(alias));
+        byte[] ciphertext = cipher.doFinal(plaintext);
+        return Base64.encodeToString(cipher.getIV(), Base64.NO_WRAP) + ":"
+            + Base64.encodeToString(ciphertext, Base64.NO_WRAP);
+    }
+
+    public static byte[] decrypt(String alias, String encoded) throws GeneralSecurityException {
+        int separator = encoded.indexOf(':');
+        if (separator <= 0) {
+            throw new GeneralSecurityException("Malformed encrypted value");
+        }
+        byte[] iv = Base64.decode(encoded.substring(0, separator), Base64.NO_WRAP);
+        byte[] ciphertext = Base64.decode(encoded.substring(separator + 1), Base64.NO_WRAP);
+
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, getOrCreateKey(alias), new GCMParameterSpec(TAG_BITS, iv));
+        return cipher.doFinal(ciphertext);
+    }
+
+    private static synchronized SecretKey getOrCreateKey(String alias) throws GeneralSecurityException {
+        try {
+            KeyStore keyStore = KeyStore.getInstance(KEYSTORE);
+            keyStore.load(null);
+            KeyStore.Entry entry = keyStore.getEntry(alias, null);
+            if (entry instanceof KeyStore.SecretKeyEntry) {
+                return ((KeyStore.SecretKeyEntry) entry).getSecretKey();
+            }
+        } catch (java.io.IOException e) {
+            throw new GeneralSecurityException(e);
+        }
+
+        KeyGenerator generator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, KEYSTORE);
+        generator.init(new KeyGenParameterSpec.Builder(alias,
+                KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+            .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+            .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+            .setKeySize(256)
+            .build());
+        return generator.generateKey();
+    }
+}
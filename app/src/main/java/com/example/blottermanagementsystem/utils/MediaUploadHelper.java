@@ -10,6 +10,26 @@ public class MediaUploadHelper {
     
     public static void uploadMedia(Context context, Uri mediaUri, String mediaType, UploadCallback callback) {
         try {
+            CloudinaryUploader.initialize(context);
+            
+            // Videos and audio are streamed as-is, in resumable chunks
+            if ("video".equals(mediaType) || "audio".equals(mediaType)) {
+                MediaUploadManager.MediaType type = "video".equals(mediaType)
+                    ? MediaUploadManager.MediaType.VIDEO : MediaUploadManager.MediaType.AUDIO;
+                CloudinaryUploader.getInstance().upload(mediaUri, type, new CloudinaryUploader.UploadCallback() {
+                    @Override
+                    public void onSuccess(String url) {
+                        callback.onSuccess(url);
+                    }
+                    
+                    @Override
+                    public void onError(String error) {
+                        callback.onError(error);
+                    }
+                });
+                return;
+            }
+            
             String optimizedPath = null;
             
             if ("image".equals(mediaType)) {
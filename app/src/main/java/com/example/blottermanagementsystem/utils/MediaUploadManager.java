@@ -0,0 +1,404 @@
+package com.example.blottermanagementsystem.utils;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.net.Uri;
+import android.provider.OpenableColumns;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import com.example.blottermanagementsystem.data.dao.ReportMediaDao;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.data.entity.ReportMedia;
+import com.example.blottermanagementsystem.workers.MediaUploadWorker;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MediaUploadManager - Streaming, resumable uploads of images, videos and audio
+ *
+ * enqueue() hands the file to MediaUploadWorker: it survives process death, waits
+ * for connectivity, retries with backoff, and continues from the last uploaded
+ * chunk (see ChunkedMediaUploader). Upload state lives in SharedPreferences keyed
+ * by upload id. How many run at once is left to WorkManager's worker pool; no
+ * worker thread waits for a slot.
+ *
+ * Evidence attached to a report is queued with enqueueReportMedia(): the worker
+ * writes the outcome (remote URL, or FAILED) to the report_media row itself, so
+ * it is kept even when the process died and no observer is attached. Screens
+ * showing a report observe ReportMediaDao.observeMediaForReport().
+ *
+ * uploadNow() is the blocking variant for small files a screen waits on
+ * (profile pictures); it streams the same way but is not persisted.
+ */
+public class MediaUploadManager {
+    private static final String TAG = "MediaUploadManager";
+    private static final String PREFS_NAME = "media_uploads";
+    private static final String WORK_PREFIX = "media_upload_";
+    private static final String WORK_TAG = "media_upload";
+    private static final long INITIAL_BACKOFF_SECONDS = 30;
+
+    private static final String EVIDENCE_FOLDER = "blotter/evidence";
+
+    private static volatile MediaUploadManager INSTANCE;
+
+    public enum MediaType {
+        IMAGE("image"),
+        VIDEO("video"),
+        AUDIO("video");   // Cloudinary files audio under the video resource type
+
+        final String resourceType;
+
+        MediaType(String resourceType) {
+            this.resourceType = resourceType;
+        }
+    }
+
+    public interface UploadCallback {
+        void onProgress(int percent);
+        void onSuccess(String secureUrl);
+        void onError(String errorMessage);
+    }
+
+    public interface ProgressListener {
+        /** Throwing aborts the chunk in flight (used for pause/cancel) */
+        void onProgress(long bytesSent, long totalBytes) throws IOException;
+    }
+
+    /** The server refused the file; retrying would fail the same way (bad preset, rejected file, ...) */
+    public static class UploadRejectedException extends IOException {
+        public UploadRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Persisted progress of one upload.
+     */
+    public static class UploadState {
+        public String id;             // also Cloudinary's X-Unique-Upload-Id
+        public String uri;
+        public String resourceType;
+        public String folder;
+        public String fileName;
+        public long totalBytes;
+        public long bytesUploaded;
+        public boolean paused;
+        public String secureUrl;
+        public String publicId;
+        public long createdAt;
+        public long mediaId;          // report_media row kept up to date by the worker, 0 if none
+    }
+
+    private final Context context;
+    private final SharedPreferences prefs;
+    private final Gson gson = new Gson();
+
+    private MediaUploadManager(Context context) {
+        this.context = context;
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static MediaUploadManager getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (MediaUploadManager.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new MediaUploadManager(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // ==================== Background (durable) uploads ====================
+
+    /**
+     * Queues a file for upload and returns its upload id (for observe/pause/resume/cancel).
+     */
+    public String enqueue(Uri uri, MediaType type, String folder) {
+        // Picker grants end with the process; keep read access so a resumed upload can reopen the file
+        try {
+            context.getContentResolver().takePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (SecurityException e) {
+            Log.d(TAG, "No persistable permission for " + uri + " (fine for app-owned files)");
+        }
+
+        UploadState state = newState(uri, type, folder);
+        saveState(state);
+        enqueueWork(state.id);
+        Log.d(TAG, "📥 Queued " + type + " upload " + state.id + " (" + state.fileName + ")");
+        return state.id;
+    }
+
+    /**
+     * Queues a report attachment. Blocking (marks the row UPLOADING); call off
+     * the main thread. The worker records the result on the row.
+     */
+    public String enqueueReportMedia(ReportMedia media) {
+        MediaType type = ReportMedia.TYPE_VIDEO.equals(media.getMediaType()) ? MediaType.VIDEO
+                : ReportMedia.TYPE_AUDIO.equals(media.getMediaType()) ? MediaType.AUDIO : MediaType.IMAGE;
+        UploadState state = newState(Uri.parse(media.getUri()), type, EVIDENCE_FOLDER);
+        state.mediaId = media.getId();
+        saveState(state);
+        mediaDao().setUploadState(media.getId(), ReportMedia.STATE_UPLOADING, state.id);
+        enqueueWork(state.id);
+        Log.d(TAG, "📥 Queued " + type + " evidence #" + media.getId() + " for report " + media.getReportId());
+        return state.id;
+    }
+
+    /**
+     * Queues every attachment of a report that is still only on this device. Blocking.
+     */
+    public int uploadLocalMedia(int reportId) {
+        int queued = 0;
+        for (ReportMedia media : mediaDao().getMediaForReport(reportId)) {
+            if (ReportMedia.STATE_LOCAL.equals(media.getUploadState()) && media.getUri() != null) {
+                enqueueReportMedia(media);
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Records a finished upload on its report_media row, if it has one. Blocking.
+     */
+    public void recordOutcome(UploadState state, boolean uploaded) {
+        if (state.mediaId <= 0) return;
+        if (uploaded) {
+            mediaDao().markUploaded(state.mediaId, state.secureUrl);
+        } else {
+            mediaDao().setUploadState(state.mediaId, ReportMedia.STATE_FAILED, null);
+        }
+    }
+
+    /**
+     * Stops an upload; chunks already sent are kept and resume() continues after them.
+     */
+    public void pause(String uploadId) {
+        UploadState state = getState(uploadId);
+        if (state == null) return;
+        state.paused = true;
+        saveState(state);
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_PREFIX + uploadId);
+        Log.d(TAG, "⏸️ Paused upload " + uploadId + " at " + state.bytesUploaded + "/" + state.totalBytes);
+    }
+
+    public void resume(String uploadId) {
+        UploadState state = getState(uploadId);
+        if (state == null) return;
+        state.paused = false;
+        saveState(state);
+        enqueueWork(uploadId);
+        Log.d(TAG, "▶️ Resumed upload " + uploadId);
+    }
+
+    public void cancel(String uploadId) {
+        UploadState state = getState(uploadId);
+        removeState(uploadId);
+        if (state != null && state.mediaId > 0) {
+            AppExecutors.getInstance().diskIO().execute(() ->
+                    mediaDao().setUploadState(state.mediaId, ReportMedia.STATE_LOCAL, null));
+        }
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_PREFIX + uploadId);
+        Log.d(TAG, "🛑 Cancelled upload " + uploadId);
+    }
+
+    /**
+     * Re-queues every unfinished, unpaused upload. Call once at startup; uploads
+     * whose work is still scheduled are left as they are.
+     */
+    public void resumePendingUploads() {
+        int resumed = 0;
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            UploadState state = parse(entry.getValue());
+            if (state != null && !state.paused) {
+                enqueueWork(state.id);
+                resumed++;
+            }
+        }
+        if (resumed > 0) {
+            Log.d(TAG, "🔄 Re-queued " + resumed + " unfinished uploads");
+        }
+    }
+
+    /**
+     * Delivers progress and the final result of an upload on the main thread.
+     * The observer detaches itself once the upload succeeds, fails or is cancelled;
+     * a pause keeps it attached so progress continues after resume().
+     */
+    public void observe(String uploadId, UploadCallback callback) {
+        AppExecutors.getInstance().mainThread().execute(() -> {
+            LiveData<List<WorkInfo>> work = WorkManager.getInstance(context)
+                    .getWorkInfosForUniqueWorkLiveData(WORK_PREFIX + uploadId);
+            work.observeForever(new Observer<List<WorkInfo>>() {
+                private int lastPercent = -1;
+
+                @Override
+                public void onChanged(List<WorkInfo> infos) {
+                    if (infos == null || infos.isEmpty()) return;
+                    WorkInfo info = infos.get(infos.size() - 1);
+                    switch (info.getState()) {
+                        case SUCCEEDED:
+                            work.removeObserver(this);
+                            callback.onSuccess(info.getOutputData().getString(MediaUploadWorker.KEY_URL));
+                            break;
+                        case FAILED:
+                            work.removeObserver(this);
+                            String error = info.getOutputData().getString(MediaUploadWorker.KEY_ERROR);
+                            callback.onError(error != null ? error : "Upload failed");
+                            break;
+                        case CANCELLED:
+                            UploadState state = getState(uploadId);
+                            if (state == null || !state.paused) {
+                                work.removeObserver(this);
+                                callback.onError("Upload cancelled");
+                            }
+                            break;
+                        default:
+                            int percent = percent(info.getProgress());
+                            if (percent >= 0 && percent != lastPercent) {
+                                lastPercent = percent;
+                                callback.onProgress(percent);
+                            }
+                            break;
+                    }
+                }
+            });
+        });
+    }
+
+    private void enqueueWork(String uploadId) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(MediaUploadWorker.class)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, INITIAL_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .setInputData(new Data.Builder().putString(MediaUploadWorker.KEY_UPLOAD_ID, uploadId).build())
+                .addTag(WORK_TAG)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_PREFIX + uploadId, ExistingWorkPolicy.KEEP, request);
+    }
+
+    private static int percent(Data progress) {
+        long total = progress.getLong(MediaUploadWorker.KEY_TOTAL_BYTES, -1);
+        long sent = progress.getLong(MediaUploadWorker.KEY_BYTES_SENT, -1);
+        if (total <= 0 || sent < 0) return -1;
+        return (int) Math.min(100, sent * 100 / total);
+    }
+
+    // ==================== Blocking upload ====================
+
+    /**
+     * Streams a file to Cloudinary on the calling (background) thread and returns
+     * its secure URL. Not persisted: an interrupted call has to be repeated.
+     */
+    public String uploadNow(Uri uri, MediaType type, String folder, UploadCallback progress) throws IOException {
+        UploadState state = newState(uri, type, folder);
+        int[] lastPercent = {-1};
+        transfer(state, false, (bytesSent, totalBytes) -> {
+            if (progress == null || totalBytes <= 0) return;
+            int percent = (int) Math.min(100, bytesSent * 100 / totalBytes);
+            if (percent != lastPercent[0]) {
+                lastPercent[0] = percent;
+                progress.onProgress(percent);
+            }
+        });
+        return state.secureUrl;
+    }
+
+    /**
+     * Runs or continues a queued upload on the calling thread (MediaUploadWorker).
+     * Progress is saved after every chunk; on return state.secureUrl is set.
+     */
+    public void runUpload(UploadState state, ProgressListener progress) throws IOException {
+        transfer(state, true, progress);
+    }
+
+    private void transfer(UploadState state, boolean persist, ProgressListener progress) throws IOException {
+        new ChunkedMediaUploader(context).upload(state, new ChunkedMediaUploader.Listener() {
+            @Override
+            public void onProgress(long bytesSent, long totalBytes) throws IOException {
+                progress.onProgress(bytesSent, totalBytes);
+            }
+
+            @Override
+            public void onChunkCommitted(UploadState committed) {
+                if (persist) saveState(committed);
+            }
+        });
+    }
+
+    // ==================== State ====================
+
+    private UploadState newState(Uri uri, MediaType type, String folder) {
+        UploadState state = new UploadState();
+        state.id = UUID.randomUUID().toString();
+        state.uri = uri.toString();
+        state.resourceType = type.resourceType;
+        state.folder = folder;
+        state.fileName = displayName(uri);
+        state.totalBytes = -1;
+        state.createdAt = System.currentTimeMillis();
+        return state;
+    }
+
+    public UploadState getState(String uploadId) {
+        return parse(prefs.getString(uploadId, null));
+    }
+
+    public void saveState(UploadState state) {
+        prefs.edit().putString(state.id, gson.toJson(state)).apply();
+    }
+
+    private ReportMediaDao mediaDao() {
+        return BlotterDatabase.getDatabase(context).reportMediaDao();
+    }
+
+    public void removeState(String uploadId) {
+        prefs.edit().remove(uploadId).apply();
+    }
+
+    private UploadState parse(Object json) {
+        if (!(json instanceof String)) return null;
+        try {
+            return gson.fromJson((String) json, UploadState.class);
+        } catch (Exception e) {
+            Log.w(TAG, "⚠️ Dropping unreadable upload state: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private String displayName(Uri uri) {
+        try (Cursor cursor = context.getContentResolver()
+                .query(uri, new String[]{OpenableColumns.DISPLAY_NAME}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getString(0);
+            }
+        } catch (Exception e) {
+            // file:// and some providers have no metadata
+        }
+        String last = uri.getLastPathSegment();
+        return last != null ? last : "upload";
+    }
+}
@@ -2,6 +2,7 @@ package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
 import android.util.Log;
+import com.example.blottermanagementsystem.workers.ReportOutboxWorker;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -193,6 +194,8 @@ public class NeonAuthManager {
         preferencesManager.setFirstName(user.firstName);
         preferencesManager.setLastName(user.lastName);
         preferencesManager.setLoggedIn(true);
+        // Reports parked on a 401/403 can go now
+        ReportOutboxWorker.enqueue(context);
         Log.d(TAG, "✅ User stored: " + user.username);
     }
 }
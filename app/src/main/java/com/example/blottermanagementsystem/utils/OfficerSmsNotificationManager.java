@@ -136,7 +136,7 @@ public class OfficerSmsNotificationManager {
      */
     private void simulateSmsSend(String phoneNumber, String message, String messageType, SmsCallback callback) {
         // Simulate network delay
-        new Thread(() -> {
+        AppExecutors.getInstance().networkIO().execute(() -> {
             try {
                 Thread.sleep(1500); // Simulate 1.5 second network delay
                 
@@ -148,6 +148,6 @@ public class OfficerSmsNotificationManager {
                 callback.onError("SMS sending interrupted");
                 Log.e(TAG, "❌ SMS sending interrupted: " + e.getMessage());
             }
-        }).start();
+        });
     }
 }
@@ -0,0 +1,318 @@
+package com.example.blottermanagementsystem.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.pdf.PdfDocument;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PdfPageWriter - Flows content top to bottom across A4 pages of a PdfDocument
+ *
+ * Callers append blocks (titles, section headers, label/value rows, paragraphs,
+ * fixed-height strips); a new page is started whenever the next block does not
+ * fit. Text is measured with StaticLayout and split between pages at line
+ * boundaries, so a narrative of any length continues on the following page
+ * instead of being clipped. Every page gets a footer ("Page N") and, if set, a
+ * running header.
+ *
+ * Pictures go through drawBitmap(). PdfDocument only records a page's drawing
+ * and replays it in writeTo(), so the page gets its own small RGB_565 copy,
+ * scaled to the size it is drawn at; the caller's bitmap (pooled or full size)
+ * can be released right away. The copies (about 50 KB for an 80 pt thumbnail)
+ * stay alive until releaseBitmaps(), after the document is written and closed.
+ */
+public class PdfPageWriter {
+    public static final int PAGE_WIDTH = 595;   // A4 width in points
+    public static final int PAGE_HEIGHT = 842;  // A4 height in points
+    public static final int MARGIN = 30;
+
+    private static final int FOOTER_HEIGHT = 24;
+    private static final int RUNNING_HEADER_HEIGHT = 18;
+    private static final int LABEL_WIDTH = 120;
+    private static final int ROW_PADDING = 3;
+    private static final int HEADER_COLOR = 0xFF1E88E5; // Electric blue
+    private static final int TEXT_COLOR = 0xFF000000;   // Black
+    private static final int BORDER_COLOR = 0xFFCCCCCC; // Light gray
+    private static final int MUTED_COLOR = 0xFF757575;
+    private static final float BITMAP_PIXELS_PER_POINT = 2f;
+
+    private final PdfDocument document;
+    private final String footerText;
+    private final TextPaint bodyPaint;
+    private final TextPaint labelPaint;
+    private final TextPaint headerPaint;
+    private final TextPaint footerPaint;
+    private final Paint fillPaint = new Paint();
+    private final Paint borderPaint = new Paint();
+    private final List<Bitmap> pageBitmaps = new ArrayList<>();
+
+    private PdfDocument.Page page;
+    private Canvas canvas;
+    private float y;
+    private int pageCount;
+    private String runningHeader;
+
+    public PdfPageWriter(PdfDocument document, String footerText) {
+        this.document = document;
+        this.footerText = footerText;
+
+        bodyPaint = textPaint(10, false, TEXT_COLOR);
+        labelPaint = textPaint(10, true, TEXT_COLOR);
+        headerPaint = textPaint(11, true, 0xFFFFFFFF);
+        footerPaint = textPaint(9, false, MUTED_COLOR);
+        borderPaint.setColor(BORDER_COLOR);
+        borderPaint.setStrokeWidth(0.5f);
+    }
+
+    public static int contentWidth() {
+        return PAGE_WIDTH - MARGIN * 2;
+    }
+
+    public TextPaint getBodyPaint() {
+        return bodyPaint;
+    }
+
+    public Canvas getCanvas() {
+        ensurePage();
+        return canvas;
+    }
+
+    public float getY() {
+        ensurePage();
+        return y;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Text drawn at the top of every page started from now on (e.g. the case number)
+     */
+    public void setRunningHeader(String runningHeader) {
+        this.runningHeader = runningHeader;
+    }
+
+    // ==================== Pagination ====================
+
+    public void newPage() {
+        finishPage();
+        pageCount++;
+        PdfDocument.PageInfo pageInfo = new PdfDocument.PageInfo.Builder(PAGE_WIDTH, PAGE_HEIGHT, pageCount).create();
+        page = document.startPage(pageInfo);
+        canvas = page.getCanvas();
+        y = MARGIN;
+
+        if (runningHeader != null) {
+            canvas.drawText(runningHeader, MARGIN, y + footerPaint.getTextSize(), footerPaint);
+            canvas.drawLine(MARGIN, y + RUNNING_HEADER_HEIGHT - 4, PAGE_WIDTH - MARGIN, y + RUNNING_HEADER_HEIGHT - 4, borderPaint);
+            y += RUNNING_HEADER_HEIGHT;
+        }
+    }
+
+    /**
+     * Starts a new page unless height points still fit on the current one
+     */
+    public void ensureSpace(float height) {
+        if (page == null || y + height > bottom()) {
+            newPage();
+        }
+    }
+
+    /**
+     * Reserves a fixed-height block (e.g. a row of thumbnails) and returns its top;
+     * draw into getCanvas() between the returned value and value + height.
+     */
+    public float reserve(float height) {
+        ensureSpace(height);
+        float top = y;
+        y += height;
+        return top;
+    }
+
+    public void space(float height) {
+        ensurePage();
+        y = Math.min(y + height, bottom());
+    }
+
+    /**
+     * Draws a page-owned copy of source scaled to dst. The caller keeps source
+     * and may recycle or pool it as soon as this returns.
+     */
+    public void drawBitmap(Bitmap source, RectF dst) {
+        ensurePage();
+        int width = Math.max(1, Math.round(dst.width() * BITMAP_PIXELS_PER_POINT));
+        int height = Math.max(1, Math.round(dst.height() * BITMAP_PIXELS_PER_POINT));
+        Bitmap copy = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
+        new Canvas(copy).drawBitmap(source, null, new RectF(0, 0, width, height), new Paint(Paint.FILTER_BITMAP_FLAG));
+        canvas.drawBitmap(copy, null, dst, null);
+        pageBitmaps.add(copy);
+    }
+
+    /**
+     * Frees the copies made by drawBitmap(). Only after PdfDocument.writeTo()
+     * and close(); the recorded pages reference them until then.
+     */
+    public void releaseBitmaps() {
+        for (Bitmap bitmap : pageBitmaps) {
+            bitmap.recycle();
+        }
+        pageBitmaps.clear();
+    }
+
+    /**
+     * Finishes the last page. The document can then be written out.
+     */
+    public int finish() {
+        finishPage();
+        return pageCount;
+    }
+
+    private void ensurePage() {
+        if (page == null) newPage();
+    }
+
+    private float bottom() {
+        return PAGE_HEIGHT - MARGIN - FOOTER_HEIGHT;
+    }
+
+    private void finishPage() {
+        if (page == null) return;
+
+        String footer = "Page " + pageCount + (footerText != null ? "  •  " + footerText : "");
+        float footerWidth = footerPaint.measureText(footer);
+        canvas.drawText(footer, (PAGE_WIDTH - footerWidth) / 2, PAGE_HEIGHT - 20, footerPaint);
+
+        document.finishPage(page);
+        page = null;
+        canvas = null;
+    }
+
+    // ==================== Blocks ====================
+
+    public void drawTitle(String title) {
+        TextPaint titlePaint = textPaint(20, true, 0xFFFFFFFF);
+        float height = titlePaint.getTextSize() + 16;
+        float top = reserve(height);
+        fillPaint.setColor(HEADER_COLOR);
+        canvas.drawRect(MARGIN, top, PAGE_WIDTH - MARGIN, top + height, fillPaint);
+        float titleWidth = titlePaint.measureText(title);
+        canvas.drawText(title, (PAGE_WIDTH - titleWidth) / 2, top + height - 10, titlePaint);
+        space(10);
+    }
+
+    /**
+     * Blue section bar. Kept together with at least one following line.
+     */
+    public void drawSectionHeader(String title) {
+        float height = headerPaint.getTextSize() + 6;
+        ensureSpace(height + lineHeight(bodyPaint) * 2);
+        float top = reserve(height);
+        fillPaint.setColor(HEADER_COLOR);
+        canvas.drawRect(MARGIN, top, PAGE_WIDTH - MARGIN, top + height, fillPaint);
+        canvas.drawText(title, MARGIN + 5, top + height - 4, headerPaint);
+        space(4);
+    }
+
+    /**
+     * Bold sub-heading without background (e.g. "Photos (3)")
+     */
+    public void drawSubheading(String text) {
+        ensureSpace(lineHeight(labelPaint) * 2);
+        drawParagraph(text, labelPaint, 5);
+    }
+
+    /**
+     * Label in a fixed left column, value wrapped in the remaining width. A long
+     * value continues on the next page; the label is drawn with its first line.
+     */
+    public void drawRow(String label, String value) {
+        int valueX = MARGIN + LABEL_WIDTH + 10;
+        int valueWidth = PAGE_WIDTH - MARGIN - valueX;
+        StaticLayout valueLayout = layout(value != null && !value.isEmpty() ? value : "N/A", bodyPaint, valueWidth);
+
+        StaticLayout labelLayout = layout(label, labelPaint, LABEL_WIDTH - 5);
+        ensureSpace(Math.max(labelLayout.getHeight(), valueLayout.getLineBottom(0)) + ROW_PADDING);
+        float rowTop = y;
+        int rowPage = pageCount;
+        drawLayout(labelLayout, MARGIN + 5, rowTop, 0, labelLayout.getLineCount());
+
+        flow(valueLayout, valueX);
+        if (pageCount == rowPage) y = Math.max(y, rowTop + labelLayout.getHeight());
+        canvas.drawLine(MARGIN, y + 1, PAGE_WIDTH - MARGIN, y + 1, borderPaint);
+        y += ROW_PADDING + 2;
+    }
+
+    public void drawParagraph(String text) {
+        drawParagraph(text, bodyPaint, 0);
+    }
+
+    public void drawParagraph(String text, TextPaint paint, int indent) {
+        flow(layout(text != null ? text : "", paint, contentWidth() - indent), MARGIN + indent);
+    }
+
+    // ==================== Text layout ====================
+
+    private static StaticLayout layout(CharSequence text, TextPaint paint, int width) {
+        return StaticLayout.Builder.obtain(text, 0, text.length(), paint, Math.max(1, width))
+                .setAlignment(Layout.Alignment.ALIGN_NORMAL)
+                .setIncludePad(false)
+                .build();
+    }
+
+    /**
+     * Draws a layout at the cursor, continuing on new pages at line boundaries
+     */
+    private void flow(StaticLayout layout, float x) {
+        int line = 0;
+        int lineCount = layout.getLineCount();
+        while (line < lineCount) {
+            float lineHeight = layout.getLineBottom(line) - layout.getLineTop(line);
+            ensureSpace(lineHeight);
+
+            float available = bottom() - y;
+            int top = layout.getLineTop(line);
+            int end = line;
+            while (end < lineCount && layout.getLineBottom(end) - top <= available) end++;
+            if (end == line) end = line + 1;    // A single line taller than a page is drawn anyway
+
+            drawLayout(layout, x, y, line, end);
+            y += layout.getLineBottom(end - 1) - top;
+            line = end;
+            if (line < lineCount) newPage();
+        }
+    }
+
+    private void drawLayout(StaticLayout layout, float x, float atY, int firstLine, int endLine) {
+        ensurePage();
+        int top = layout.getLineTop(firstLine);
+        int bottom = layout.getLineBottom(endLine - 1);
+        canvas.save();
+        canvas.translate(x, atY - top);
+        // Clipping also limits StaticLayout.draw() to the visible lines
+        canvas.clipRect(0, top, layout.getWidth(), bottom);
+        layout.draw(canvas);
+        canvas.restore();
+    }
+
+    private static float lineHeight(TextPaint paint) {
+        Paint.FontMetrics metrics = paint.getFontMetrics();
+        return metrics.descent - metrics.ascent;
+    }
+
+    private static TextPaint textPaint(float size, boolean bold, int color) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(size);
+        paint.setColor(color);
+        if (bold) paint.setTypeface(Typeface.DEFAULT_BOLD);
+        return paint;
+    }
+}
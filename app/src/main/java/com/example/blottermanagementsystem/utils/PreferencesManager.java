@@ -2,6 +2,9 @@ package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import com.example.blottermanagementsystem.config.AppConfig;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 
 /**
  * PreferencesManager - Synced with Kotlin version
@@ -32,6 +35,11 @@ public class PreferencesManager {
     private static final String KEY_GOOGLE_DISPLAY_NAME = "google_display_name";
     private static final String KEY_GOOGLE_PHOTO_URL = "google_photo_url";
     private static final String KEY_IS_GOOGLE_ACCOUNT = "is_google_account";
+    private static final String KEY_AUTH_TOKEN = "auth_token_encrypted";
+    private static final String AUTH_TOKEN_KEY_ALIAS = "blotter_auth_token";
+    
+    // Decrypted once per process; the interceptor reads it on every request
+    private static volatile String cachedAuthToken;
     
     private final SharedPreferences prefs;
     
@@ -360,6 +368,49 @@ public class PreferencesManager {
         return pin != null ? pin : "";
     }
     
+    // ==================== Auth Token (encrypted) ====================
+    
+    public String getAuthToken() {
+        String token = cachedAuthToken;
+        if (token != null) return token;
+        
+        String encrypted = prefs.getString(KEY_AUTH_TOKEN, null);
+        if (encrypted == null) {
+            // One-time move of a token stored in plaintext by older versions
+            String legacy = prefs.getString(AppConfig.PREFS_USER_TOKEN, null);
+            if (legacy != null) {
+                setAuthToken(legacy);
+                prefs.edit().remove(AppConfig.PREFS_USER_TOKEN).apply();
+            }
+            return legacy;
+        }
+        try {
+            token = new String(KeystoreCipher.decrypt(AUTH_TOKEN_KEY_ALIAS, encrypted), StandardCharsets.UTF_8);
+            cachedAuthToken = token;
+            return token;
+        } catch (GeneralSecurityException e) {
+            // Keystore key gone (e.g. restored onto another device): the user signs in again
+            android.util.Log.e("PreferencesManager", "❌ Stored auth token unreadable, clearing it", e);
+            prefs.edit().remove(KEY_AUTH_TOKEN).apply();
+            return null;
+        }
+    }
+    
+    public void setAuthToken(String token) {
+        if (token == null) {
+            cachedAuthToken = null;
+            prefs.edit().remove(KEY_AUTH_TOKEN).apply();
+            return;
+        }
+        try {
+            String encrypted = KeystoreCipher.encrypt(AUTH_TOKEN_KEY_ALIAS, token.getBytes(StandardCharsets.UTF_8));
+            prefs.edit().putString(KEY_AUTH_TOKEN, encrypted).apply();
+            cachedAuthToken = token;
+        } catch (GeneralSecurityException e) {
+            android.util.Log.e("PreferencesManager", "❌ Could not encrypt auth token", e);
+        }
+    }
+    
     // ==================== FCM Token ====================
     
     public String getFcmToken() {
@@ -416,6 +467,9 @@ public class PreferencesManager {
         editor.remove(KEY_GOOGLE_DISPLAY_NAME);
         editor.remove(KEY_GOOGLE_PHOTO_URL);
         editor.remove(KEY_IS_GOOGLE_ACCOUNT);
+        editor.remove(KEY_AUTH_TOKEN);
+        editor.remove(AppConfig.PREFS_USER_TOKEN);
+        cachedAuthToken = null;
         
         // ✅ IMPORTANT: DO NOT remove password_changed flag on logout!
         // Each officer's password_changed flag is stored per-user ID (password_changed_user_X)
@@ -427,6 +481,9 @@ public class PreferencesManager {
         // This allows users to keep their profile pictures when they log back in
         editor.apply();
         
+        // Cached API responses belong to the user that just logged out
+        com.example.blottermanagementsystem.data.api.ApiClient.clearHttpCache();
+        
         android.util.Log.d("PreferencesManager", "✅ Session cleared (password_changed flag preserved for each officer)");
     }
     
@@ -4,7 +4,6 @@ import android.content.Context;
 import android.util.Log;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.Notification;
-import java.util.concurrent.Executors;
 
 /**
  * PushNotificationManager - SYNCED WITH KOTLIN VERSION
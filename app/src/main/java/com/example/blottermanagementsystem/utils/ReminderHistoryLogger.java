@@ -7,7 +7,6 @@ import com.example.blottermanagementsystem.data.entity.Hearing;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
 /**
  * ✅ Logger for tracking reminder history
@@ -21,7 +20,7 @@ public class ReminderHistoryLogger {
      * Log reminder sent event
      */
     public static void logReminderSent(Context context, int hearingId, String reminderType, String caseNumber) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
                 String message = String.format(
@@ -107,7 +106,7 @@ public class ReminderHistoryLogger {
      * Log reminder statistics
      */
     public static void logReminderStatistics(Context context) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
                 BlotterDatabase database = BlotterDatabase.getDatabase(context);
                 int totalHearings = database.hearingDao().getAllHearings().size();
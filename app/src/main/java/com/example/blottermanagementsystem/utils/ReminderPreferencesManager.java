@@ -21,10 +21,13 @@ public class ReminderPreferencesManager {
     private static final String KEY_AT_TIME = "at_time";
     private static final String KEY_SOUND_ENABLED = "sound_enabled";
     private static final String KEY_VIBRATION_ENABLED = "vibration_enabled";
+    private static final String KEY_DISPATCH_CURSOR = "dispatch_cursor";
     
+    private final Context context;
     private final SharedPreferences prefs;
     
     public ReminderPreferencesManager(Context context) {
+        this.context = context.getApplicationContext();
         this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
     }
     
@@ -40,6 +43,7 @@ public class ReminderPreferencesManager {
      */
     public void setRemindersEnabled(boolean enabled) {
         prefs.edit().putBoolean(KEY_REMINDERS_ENABLED, enabled).apply();
+        HearingReminderManager.rebuildReminders(context);
         Log.i(TAG, "🔔 Reminders " + (enabled ? "enabled" : "disabled"));
     }
     
@@ -55,6 +59,7 @@ public class ReminderPreferencesManager {
      */
     public void setOneDayBefore(boolean enabled) {
         prefs.edit().putBoolean(KEY_ONE_DAY_BEFORE, enabled).apply();
+        HearingReminderManager.rebuildReminders(context);
         Log.i(TAG, "📅 1-day reminder " + (enabled ? "enabled" : "disabled"));
     }
     
@@ -70,6 +75,7 @@ public class ReminderPreferencesManager {
      */
     public void setOneHourBefore(boolean enabled) {
         prefs.edit().putBoolean(KEY_ONE_HOUR_BEFORE, enabled).apply();
+        HearingReminderManager.rebuildReminders(context);
         Log.i(TAG, "⏰ 1-hour reminder " + (enabled ? "enabled" : "disabled"));
     }
     
@@ -85,6 +91,7 @@ public class ReminderPreferencesManager {
      */
     public void setFifteenMinBefore(boolean enabled) {
         prefs.edit().putBoolean(KEY_FIFTEEN_MIN_BEFORE, enabled).apply();
+        HearingReminderManager.rebuildReminders(context);
         Log.i(TAG, "⏱️ 15-min reminder " + (enabled ? "enabled" : "disabled"));
     }
     
@@ -100,6 +107,7 @@ public class ReminderPreferencesManager {
      */
     public void setAtTime(boolean enabled) {
         prefs.edit().putBoolean(KEY_AT_TIME, enabled).apply();
+        HearingReminderManager.rebuildReminders(context);
         Log.i(TAG, "🔔 At-time reminder " + (enabled ? "enabled" : "disabled"));
     }
     
@@ -133,11 +141,26 @@ public class ReminderPreferencesManager {
         Log.i(TAG, "📳 Vibration " + (enabled ? "enabled" : "disabled"));
     }
     
+    /**
+     * Time up to which hearing reminders have been dispatched (0 if never)
+     */
+    public long getDispatchCursor() {
+        return prefs.getLong(KEY_DISPATCH_CURSOR, 0);
+    }
+    
+    /**
+     * Record how far the reminder dispatcher got
+     */
+    public void setDispatchCursor(long time) {
+        prefs.edit().putLong(KEY_DISPATCH_CURSOR, time).apply();
+    }
+    
     /**
      * Reset all preferences to defaults
      */
     public void resetToDefaults() {
         prefs.edit().clear().apply();
+        HearingReminderManager.rebuildReminders(context);
         Log.i(TAG, "🔄 Preferences reset to defaults");
     }
     
@@ -1,20 +1,27 @@
 package com.example.blottermanagementsystem.utils;
 
 import android.content.Context;
+import android.os.SystemClock;
 import android.util.Log;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.entity.User;
 import com.example.blottermanagementsystem.data.repository.ApiRepository;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 public class SyncManager {
     private static final String TAG = "SyncManager";
+    
+    // Rows applied per write transaction: large enough to amortize the commit/fsync,
+    // small enough to keep readers from waiting on one long write lock
+    private static final int WRITE_PAGE_SIZE = 500;
+    
     private final Context context;
     private final BlotterDatabase database;
     private final ApiRepository apiRepository;
     private final PreferencesManager preferencesManager;
+    private final Executor executor = AppExecutors.getInstance().diskIO();
     
     public SyncManager(Context context) {
         this.context = context;
@@ -31,53 +38,53 @@ public class SyncManager {
             return;
         }
         
-        Executors.newSingleThreadExecutor().execute(() -> {
-            try {
-                // Sync reports from cloud
-                apiRepository.getAllReports(new ApiRepository.ApiCallback<List<BlotterReport>>() {
-                    @Override
-                    public void onSuccess(List<BlotterReport> cloudReports) {
-                        for (BlotterReport report : cloudReports) {
-                            BlotterReport existing = database.blotterReportDao().getReportById(report.getId());
-                            if (existing == null) {
-                                database.blotterReportDao().insertReport(report);
-                            } else {
-                                database.blotterReportDao().updateReport(report);
-                            }
-                        }
-                        
-                        // Sync users
-                        syncUsers(callback);
-                    }
-                    
-                    @Override
-                    public void onError(String error) {
-                        Log.e(TAG, "Sync failed: " + error);
-                        callback.onError(error);
-                    }
-                });
-            } catch (Exception e) {
-                Log.e(TAG, "Sync error", e);
-                callback.onError(e.getMessage());
-            }
-        });
+        long startedAt = SystemClock.elapsedRealtime();
+        try {
+            // Sync reports from cloud
+            apiRepository.getAllReports(new ApiRepository.ApiCallback<List<BlotterReport>>() {
+                @Override
+                public void onSuccess(List<BlotterReport> cloudReports) {
+                    // Users are fetched next; reports are written after them (userId foreign key)
+                    syncUsers(cloudReports, startedAt, callback);
+                }
+                
+                @Override
+                public void onError(String error) {
+                    Log.e(TAG, "Sync failed: " + error);
+                    callback.onError(error);
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "Sync error", e);
+            callback.onError(e.getMessage());
+        }
     }
     
-    private void syncUsers(SyncCallback callback) {
+    private void syncUsers(List<BlotterReport> cloudReports, long startedAt, SyncCallback callback) {
         apiRepository.getAllUsers(new ApiRepository.ApiCallback<List<User>>() {
             @Override
             public void onSuccess(List<User> cloudUsers) {
-                for (User user : cloudUsers) {
-                    User existing = database.userDao().getUserById(user.getId());
-                    if (existing == null) {
-                        database.userDao().insertUser(user);
-                    } else {
-                        database.userDao().updateUser(user);
+                // Retrofit delivers on the main thread; all writes happen on the executor
+                executor.execute(() -> {
+                    try {
+                        SyncMetrics metrics = new SyncMetrics();
+                        metrics.downloadMillis = SystemClock.elapsedRealtime() - startedAt;
+                        
+                        long writeStart = SystemClock.elapsedRealtime();
+                        metrics.usersWritten = applyInPages(cloudUsers, page -> database.userDao().upsertUsers(page), metrics);
+                        metrics.reportsWritten = applyInPages(cloudReports, page -> database.blotterReportDao().upsertReports(page), metrics);
+                        metrics.writeMillis = SystemClock.elapsedRealtime() - writeStart;
+                        metrics.totalMillis = SystemClock.elapsedRealtime() - startedAt;
+                        
+                        preferencesManager.saveString("last_sync", String.valueOf(System.currentTimeMillis()));
+                        Log.d(TAG, "✅ Sync applied: " + metrics);
+                        callback.onMetrics(metrics);
+                        callback.onSuccess();
+                    } catch (Exception e) {
+                        Log.e(TAG, "Sync write failed", e);
+                        callback.onError(e.getMessage());
                     }
-                }
-                
-                preferencesManager.saveString("last_sync", String.valueOf(System.currentTimeMillis()));
-                callback.onSuccess();
+                });
             }
             
             @Override
@@ -87,8 +94,50 @@ public class SyncManager {
         });
     }
     
+    /**
+     * Writes rows in pages of WRITE_PAGE_SIZE, one transaction per page
+     */
+    private <T> int applyInPages(List<T> rows, PageWriter<T> writer, SyncMetrics metrics) {
+        if (rows == null || rows.isEmpty()) return 0;
+        
+        for (int from = 0; from < rows.size(); from += WRITE_PAGE_SIZE) {
+            List<T> page = rows.subList(from, Math.min(from + WRITE_PAGE_SIZE, rows.size()));
+            database.runInTransaction(() -> writer.write(page));
+            metrics.pages++;
+        }
+        return rows.size();
+    }
+    
+    private interface PageWriter<T> {
+        void write(List<T> page);
+    }
+    
     public interface SyncCallback {
         void onSuccess();
         void onError(String error);
+        
+        // Optional: row counts and latency of the last successful sync
+        default void onMetrics(SyncMetrics metrics) {}
+    }
+    
+    public static class SyncMetrics {
+        public int reportsWritten;
+        public int usersWritten;
+        public int pages;
+        public long downloadMillis;
+        public long writeMillis;
+        public long totalMillis;
+        
+        @Override
+        public String toString() {
+            return "SyncMetrics{" +
+                    "reportsWritten=" + reportsWritten +
+                    ", usersWritten=" + usersWritten +
+                    ", pages=" + pages +
+                    ", downloadMillis=" + downloadMillis +
+                    ", writeMillis=" + writeMillis +
+                    ", totalMillis=" + totalMillis +
+                    '}';
+        }
     }
 }
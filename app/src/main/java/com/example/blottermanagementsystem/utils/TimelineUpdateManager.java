@@ -1,11 +1,13 @@
 package com.example.blottermanagementsystem.utils;
 
 import android.util.Log;
+import com.example.blottermanagementsystem.data.dao.BlotterReportDao;
 import com.example.blottermanagementsystem.data.database.BlotterDatabase;
 import com.example.blottermanagementsystem.data.model.InvestigationStep;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.Map;
 
 /**
  * Centralized Timeline Update Manager
@@ -40,81 +42,24 @@ public class TimelineUpdateManager {
      * @param callback Callback to update UI on main thread
      */
     public void updateTimelineForReport(int reportId, TimelineUpdateCallback callback) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             try {
-                // Get all required data from database
-                String assignedOfficer = database.blotterReportDao().getReportById(reportId).getAssignedOfficer();
-                int witnessCount = database.witnessDao().getWitnessCountByReport(reportId);
-                int suspectCount = database.suspectDao().getSuspectCountByReport(reportId);
-                int evidenceCount = database.evidenceDao().getEvidenceCountByReport(reportId);
-                int hearingCount = database.hearingDao().getHearingCountByReport(reportId);
-                int resolutionCount = database.resolutionDao().getResolutionCountByReport(reportId);
+                // Report state and all five counts in one query
+                BlotterReportDao.CaseProgress progress = database.blotterReportDao().getCaseProgress(reportId);
+                if (progress == null) {
+                    throw new IllegalStateException("Report " + reportId + " not found");
+                }
                 
                 Log.d(TAG, "📊 Timeline Update - Report ID: " + reportId);
-                Log.d(TAG, "   Assigned Officer: " + (assignedOfficer != null ? assignedOfficer : "None"));
-                Log.d(TAG, "   Witnesses: " + witnessCount + ", Suspects: " + suspectCount + ", Evidence: " + evidenceCount);
-                Log.d(TAG, "   Hearings: " + hearingCount + ", Resolutions: " + resolutionCount);
-                
-                // Create timeline steps with updated statuses
-                List<InvestigationStep> steps = new ArrayList<>();
-                
-                // Step 1: Case Created (Always completed)
-                InvestigationStep step1 = new InvestigationStep("1", "Case Created", "Initial report submitted", "case_created");
-                step1.setCompleted(true);
-                steps.add(step1);
-                
-                // Step 2: Case Assigned (Completed if officer assigned)
-                InvestigationStep step2 = new InvestigationStep("2", "Case Assigned", "Waiting for officer assignment", "case_assigned");
-                boolean isAssigned = assignedOfficer != null && !assignedOfficer.isEmpty();
-                step2.setCompleted(isAssigned);
-                step2.setInProgress(false);
-                steps.add(step2);
-                Log.d(TAG, "   Step 2 (Case Assigned): " + (isAssigned ? "✅ COMPLETED" : "⭕ PENDING"));
-                
-                // Step 3: Investigation Started (In-progress if any action taken)
-                InvestigationStep step3 = new InvestigationStep("3", "Investigation Started", "Officer begins investigation", "investigation_started");
-                boolean hasActions = witnessCount > 0 || suspectCount > 0 || evidenceCount > 0 || hearingCount > 0 || resolutionCount > 0;
-                step3.setInProgress(hasActions);
-                step3.setCompleted(false);
-                steps.add(step3);
-                Log.d(TAG, "   Step 3 (Investigation Started): " + (hasActions ? "⏳ IN PROGRESS" : "⭕ PENDING"));
+                Log.d(TAG, "   Assigned Officer: " + (progress.assignedOfficer != null ? progress.assignedOfficer : "None"));
+                Log.d(TAG, "   Witnesses: " + progress.witnessCount + ", Suspects: " + progress.suspectCount + ", Evidence: " + progress.evidenceCount);
+                Log.d(TAG, "   Hearings: " + progress.hearingCount + ", Resolutions: " + progress.resolutionCount);
                 
-                // Step 4: Witnesses & Suspects (Completed if both witnesses AND suspects present)
-                InvestigationStep step4 = new InvestigationStep("4", "Witnesses & Suspects", "Gathering case information", "evidence_collected");
-                boolean allWitnessesAndSuspects = witnessCount > 0 && suspectCount > 0;
-                if (allWitnessesAndSuspects) {
-                    step4.setCompleted(true);
-                    step4.setInProgress(false);
-                } else if (witnessCount > 0 || suspectCount > 0) {
-                    step4.setCompleted(false);
-                    step4.setInProgress(true);
-                } else {
-                    step4.setCompleted(false);
-                    step4.setInProgress(false);
+                List<InvestigationStep> steps = buildSteps(progress);
+                for (InvestigationStep step : steps) {
+                    Log.d(TAG, "   Step " + step.getId() + " (" + step.getTitle() + "): "
+                        + (step.isCompleted() ? "✅ COMPLETED" : (step.isInProgress() ? "⏳ IN PROGRESS" : "⭕ PENDING")));
                 }
-                steps.add(step4);
-                Log.d(TAG, "   Step 4 (Witnesses & Suspects): " + (allWitnessesAndSuspects ? "✅ COMPLETED" : (step4.isInProgress() ? "⏳ IN PROGRESS" : "⭕ PENDING")));
-                
-                // Step 5: Hearing Scheduled (In-progress if hearing created)
-                InvestigationStep step5 = new InvestigationStep("5", "Hearing Scheduled", "Court hearing date set", "hearing_scheduled");
-                step5.setInProgress(hearingCount > 0);
-                step5.setCompleted(false);
-                steps.add(step5);
-                Log.d(TAG, "   Step 5 (Hearing Scheduled): " + (hearingCount > 0 ? "⏳ IN PROGRESS" : "⭕ PENDING"));
-                
-                // Step 6: Resolution Documented (In-progress if resolution created)
-                InvestigationStep step6 = new InvestigationStep("6", "Resolution Documented", "Case outcome documented", "resolution_documented");
-                step6.setInProgress(resolutionCount > 0);
-                step6.setCompleted(false);
-                steps.add(step6);
-                Log.d(TAG, "   Step 6 (Resolution Documented): " + (resolutionCount > 0 ? "⏳ IN PROGRESS" : "⭕ PENDING"));
-                
-                // Step 7: Case Closed (Auto-completed when resolution documented)
-                InvestigationStep step7 = new InvestigationStep("7", "Case Closed", "Case finalized", "case_closed");
-                step7.setCompleted(resolutionCount > 0);
-                step7.setInProgress(false);
-                steps.add(step7);
-                Log.d(TAG, "   Step 7 (Case Closed): " + (resolutionCount > 0 ? "✅ COMPLETED" : "⭕ PENDING"));
                 
                 Log.d(TAG, "✅ Timeline update complete - Ready for all 3 roles");
                 
@@ -132,6 +77,97 @@ public class TimelineUpdateManager {
         });
     }
     
+    /**
+     * Progress for many reports at once (progress badges in case lists)
+     * One query per QueryChunks.MAX_IDS reports; reports that no longer exist are left out
+     * 
+     * @param reportIds Reports shown in the list
+     * @param callback Receives the steps per report id (background thread)
+     */
+    public void loadProgressForReports(List<Integer> reportIds, ProgressCallback callback) {
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            try {
+                Map<Integer, BlotterReportDao.CaseProgress> progressByReport =
+                    database.blotterReportDao().getCaseProgressMap(reportIds);
+                Map<Integer, List<InvestigationStep>> stepsByReport = new HashMap<>();
+                for (Map.Entry<Integer, BlotterReportDao.CaseProgress> entry : progressByReport.entrySet()) {
+                    stepsByReport.put(entry.getKey(), buildSteps(entry.getValue()));
+                }
+                Log.d(TAG, "📊 Progress loaded for " + stepsByReport.size() + " reports");
+                callback.onProgressLoaded(stepsByReport);
+            } catch (Exception e) {
+                Log.e(TAG, "❌ Error loading progress: " + e.getMessage());
+                callback.onProgressLoaded(new HashMap<>());
+            }
+        });
+    }
+    
+    /**
+     * Timeline steps with updated statuses for one report's progress
+     */
+    public static List<InvestigationStep> buildSteps(BlotterReportDao.CaseProgress progress) {
+        int witnessCount = progress.witnessCount;
+        int suspectCount = progress.suspectCount;
+        int evidenceCount = progress.evidenceCount;
+        int hearingCount = progress.hearingCount;
+        int resolutionCount = progress.resolutionCount;
+        
+        List<InvestigationStep> steps = new ArrayList<>();
+        
+        // Step 1: Case Created (Always completed)
+        InvestigationStep step1 = new InvestigationStep("1", "Case Created", "Initial report submitted", "case_created");
+        step1.setCompleted(true);
+        steps.add(step1);
+        
+        // Step 2: Case Assigned (Completed if officer assigned)
+        InvestigationStep step2 = new InvestigationStep("2", "Case Assigned", "Waiting for officer assignment", "case_assigned");
+        step2.setCompleted(progress.isAssigned());
+        step2.setInProgress(false);
+        steps.add(step2);
+        
+        // Step 3: Investigation Started (In-progress if any action taken)
+        InvestigationStep step3 = new InvestigationStep("3", "Investigation Started", "Officer begins investigation", "investigation_started");
+        boolean hasActions = witnessCount > 0 || suspectCount > 0 || evidenceCount > 0 || hearingCount > 0 || resolutionCount > 0;
+        step3.setInProgress(hasActions);
+        step3.setCompleted(false);
+        steps.add(step3);
+        
+        // Step 4: Witnesses & Suspects (Completed if both witnesses AND suspects present)
+        InvestigationStep step4 = new InvestigationStep("4", "Witnesses & Suspects", "Gathering case information", "evidence_collected");
+        boolean allWitnessesAndSuspects = witnessCount > 0 && suspectCount > 0;
+        if (allWitnessesAndSuspects) {
+            step4.setCompleted(true);
+            step4.setInProgress(false);
+        } else if (witnessCount > 0 || suspectCount > 0) {
+            step4.setCompleted(false);
+            step4.setInProgress(true);
+        } else {
+            step4.setCompleted(false);
+            step4.setInProgress(false);
+        }
+        steps.add(step4);
+        
+        // Step 5: Hearing Scheduled (In-progress if hearing created)
+        InvestigationStep step5 = new InvestigationStep("5", "Hearing Scheduled", "Court hearing date set", "hearing_scheduled");
+        step5.setInProgress(hearingCount > 0);
+        step5.setCompleted(false);
+        steps.add(step5);
+        
+        // Step 6: Resolution Documented (In-progress if resolution created)
+        InvestigationStep step6 = new InvestigationStep("6", "Resolution Documented", "Case outcome documented", "resolution_documented");
+        step6.setInProgress(resolutionCount > 0);
+        step6.setCompleted(false);
+        steps.add(step6);
+        
+        // Step 7: Case Closed (Auto-completed when resolution documented)
+        InvestigationStep step7 = new InvestigationStep("7", "Case Closed", "Case finalized", "case_closed");
+        step7.setCompleted(resolutionCount > 0);
+        step7.setInProgress(false);
+        steps.add(step7);
+        
+        return steps;
+    }
+    
     /**
      * Callback interface for timeline updates
      * Implemented by all 3 activities (User, Officer, Admin)
@@ -149,4 +185,14 @@ public class TimelineUpdateManager {
          */
         void onTimelineUpdateFailed(String errorMessage);
     }
+    
+    /**
+     * Callback for batch progress loads
+     */
+    public interface ProgressCallback {
+        /**
+         * @param stepsByReport Timeline steps keyed by report id
+         */
+        void onProgressLoaded(Map<Integer, List<InvestigationStep>> stepsByReport);
+    }
 }
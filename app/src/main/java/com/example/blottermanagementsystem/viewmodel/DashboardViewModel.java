@@ -9,8 +9,8 @@ import androidx.lifecycle.MutableLiveData;
 import com.example.blottermanagementsystem.data.entity.BlotterReport;
 import com.example.blottermanagementsystem.data.entity.Officer;
 import com.example.blottermanagementsystem.data.entity.User;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class DashboardViewModel extends AndroidViewModel {
     // private final BlotterDatabase database; // Pure online
@@ -26,7 +26,7 @@ public class DashboardViewModel extends AndroidViewModel {
     }
     
     private void loadData() {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             List<BlotterReport> reports = new java.util.ArrayList<>(); // Pure online
             List<User> users = new java.util.ArrayList<>(); // Pure online
             List<Officer> officers = new java.util.ArrayList<>(); // Pure online
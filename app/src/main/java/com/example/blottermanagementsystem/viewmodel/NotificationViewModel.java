@@ -7,9 +7,9 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 // import com.example.blottermanagementsystem.data.database.BlotterDatabase; // Pure online
 import com.example.blottermanagementsystem.data.entity.Notification;
+import com.example.blottermanagementsystem.utils.AppExecutors;
 import com.example.blottermanagementsystem.utils.PreferencesManager;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 public class NotificationViewModel extends AndroidViewModel {
     // private final BlotterDatabase database; // Pure online
@@ -27,7 +27,7 @@ public class NotificationViewModel extends AndroidViewModel {
     private void loadNotifications() {
         String userId = preferencesManager.getUserId();
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             List<Notification> notifList = new java.util.ArrayList<>(); // Pure online
             notifications.postValue(notifList);
             
@@ -37,7 +37,7 @@ public class NotificationViewModel extends AndroidViewModel {
     }
     
     public void markAsRead(Notification notification) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             notification.setRead(true);
             // database.notificationDao().updateNotification(notification); // Pure online
             loadNotifications();
@@ -47,7 +47,7 @@ public class NotificationViewModel extends AndroidViewModel {
     public void markAllAsRead() {
         String userId = preferencesManager.getUserId();
         
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskIO().execute(() -> {
             // database.notificationDao().markAllAsRead(userId); // Pure online
             loadNotifications();
         });
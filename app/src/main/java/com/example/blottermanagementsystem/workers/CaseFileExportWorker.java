@@ -0,0 +1,451 @@
+package com.example.blottermanagementsystem.workers;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.pm.ServiceInfo;
+import android.os.Build;
+import android.os.Environment;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.ForegroundInfo;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.blottermanagementsystem.R;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.utils.AppExecutors;
+import com.example.blottermanagementsystem.utils.ComprehensivePdfGenerator;
+import com.example.blottermanagementsystem.utils.ExportUtils;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ✅ Background worker that exports every case filed in a date range as one ZIP
+ *
+ * Reports are read from Room in keyset pages, never all at once. Each one is
+ * appended to reports.csv and reports.json as it is read and its case PDF is
+ * rendered on the compute pool, at most MAX_PARALLEL_RENDERS at a time; this
+ * thread alone writes the archive, adding each PDF as soon as it is done and
+ * deleting its temp file. manifest.json (last entry) lists every file with its
+ * size and SHA-256. Progress is published as KEY_DONE / KEY_TOTAL and shown in
+ * a notification; the result carries KEY_ZIP_PATH or KEY_ERROR.
+ *
+ * A large export outlives WorkManager's ten-minute limit for ordinary work, so
+ * the worker runs as a dataSync foreground service with the progress
+ * notification as its foreground notification.
+ */
+public class CaseFileExportWorker extends Worker {
+
+    private static final String TAG = "CaseFileExport";
+    private static final String UNIQUE_WORK = "case_file_export";
+    private static final String CHANNEL_ID = "exports";
+    private static final String CHANNEL_NAME = "Exports";
+    private static final int NOTIFICATION_ID = 3001;
+    private static final int FINISHED_NOTIFICATION_ID = 3002;   // outlives the foreground notification
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_PARALLEL_RENDERS =
+        Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+    private static final long PROGRESS_INTERVAL_MS = 1000;
+
+    public static final String KEY_FROM_DATE = "from_date";
+    public static final String KEY_TO_DATE = "to_date";
+    public static final String KEY_USER_ROLE = "user_role";
+    public static final String KEY_DONE = "done";
+    public static final String KEY_TOTAL = "total";
+    public static final String KEY_ZIP_PATH = "zip_path";
+    public static final String KEY_REPORT_COUNT = "report_count";
+    public static final String KEY_ERROR = "error";
+
+    private long lastProgressAt;
+
+    public CaseFileExportWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Starts an export of reports filed in [fromDate, toDate). While one export is
+     * running a second request is ignored; observe the returned id for progress.
+     */
+    public static UUID enqueue(Context context, long fromDate, long toDate, String userRole) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CaseFileExportWorker.class)
+            .setInputData(new Data.Builder()
+                .putLong(KEY_FROM_DATE, fromDate)
+                .putLong(KEY_TO_DATE, toDate)
+                .putString(KEY_USER_ROLE, userRole)
+                .build())
+            .addTag(UNIQUE_WORK)
+            .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_WORK, ExistingWorkPolicy.KEEP, request);
+        return request.getId();
+    }
+
+    public static void cancel(Context context) {
+        WorkManager.getInstance(context).cancelUniqueWork(UNIQUE_WORK);
+    }
+
+    /** A case PDF rendered to a temp file, or the reason it failed */
+    private static class RenderedCase {
+        String caseNumber;
+        File file;
+        String error;
+    }
+
+    /** One archive entry as listed in manifest.json */
+    private static class ManifestEntry {
+        final String name;
+        final long size;
+        final String sha256;
+
+        ManifestEntry(String name, long size, String sha256) {
+            this.name = name;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        long fromDate = getInputData().getLong(KEY_FROM_DATE, 0);
+        long toDate = getInputData().getLong(KEY_TO_DATE, Long.MAX_VALUE);
+        String userRole = getInputData().getString(KEY_USER_ROLE);
+        BlotterDatabase database = BlotterDatabase.getDatabase(context);
+
+        File workDir = new File(context.getCacheDir(), "export_" + getId());
+        File exportDir = new File(context.getExternalFilesDir(Environment.DIRECTORY_DOCUMENTS), "exports");
+        if (!workDir.exists()) workDir.mkdirs();
+        if (!exportDir.exists()) exportDir.mkdirs();
+
+        SimpleDateFormat day = new SimpleDateFormat("yyyyMMdd", Locale.getDefault());
+        File zipFile = new File(exportDir, "case_files_" + day.format(new Date(fromDate)) + "_"
+            + day.format(new Date(toDate)) + "_" + System.currentTimeMillis() + ".zip");
+
+        int total = database.blotterReportDao().countReportsFiledBetween(fromDate, toDate);
+        int done = 0;
+        List<ManifestEntry> manifest = new ArrayList<>();
+        List<String> failedCases = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+        byte[] buffer = new byte[64 * 1024];
+        long start = System.currentTimeMillis();
+        Log.d(TAG, "📦 Exporting " + total + " cases with " + MAX_PARALLEL_RENDERS + " parallel renders");
+        createNotificationChannel(context);
+        try {
+            // A refused foreground start fails the returned future; it never throws here
+            setForegroundAsync(foregroundInfo(progressNotification(context, done, total))).get();
+        } catch (ExecutionException e) {
+            // Not allowed to start a foreground service right now; run as ordinary work
+            Log.w(TAG, "⚠️ Export running without foreground service: " + e.getCause());
+        } catch (InterruptedException e) {
+            Log.w(TAG, "⚠️ Export cancelled before it started");
+            deleteDir(workDir);
+            NotificationManagerCompat.from(context).cancel(NOTIFICATION_ID);
+            return Result.failure(error("Cancelled"));
+        }
+        showProgress(context, done, total);
+
+        CompletionService<RenderedCase> renders =
+            new ExecutorCompletionService<>(AppExecutors.getInstance().compute());
+        int inFlight = 0;
+
+        File csvFile = new File(workDir, "reports.csv");
+        File jsonFile = new File(workDir, "reports.json");
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+            try (ExportUtils.ReportCsvWriter csv = new ExportUtils.ReportCsvWriter(csvFile);
+                 ExportUtils.ReportJsonWriter json = new ExportUtils.ReportJsonWriter(jsonFile)) {
+                long afterDate = Long.MIN_VALUE;
+                int afterId = Integer.MIN_VALUE;
+                while (true) {
+                    List<BlotterReport> page = database.blotterReportDao()
+                        .getReportsFiledBetweenPage(fromDate, toDate, afterDate, afterId, PAGE_SIZE);
+                    for (BlotterReport report : page) {
+                        if (isStopped()) throw new InterruptedException("Export stopped");
+                        csv.write(report);
+                        json.write(report);
+
+                        // Keep at most MAX_PARALLEL_RENDERS PDFs rendering; archive finished ones meanwhile
+                        while (inFlight >= MAX_PARALLEL_RENDERS) {
+                            addCase(zip, renders.take().get(), usedNames, manifest, failedCases, buffer);
+                            inFlight--;
+                            showProgress(context, ++done, total);
+                        }
+                        File pdf = new File(workDir, "case_" + report.getId() + ".pdf");
+                        renders.submit(() -> render(context, database, report, userRole, pdf));
+                        inFlight++;
+                    }
+                    if (page.size() < PAGE_SIZE) break;
+                    BlotterReport last = page.get(page.size() - 1);
+                    afterDate = last.getDateFiled();
+                    afterId = last.getId();
+                }
+                while (inFlight > 0) {
+                    addCase(zip, renders.take().get(), usedNames, manifest, failedCases, buffer);
+                    inFlight--;
+                    showProgress(context, ++done, total);
+                }
+            }
+
+            manifest.add(addFile(zip, "reports.csv", csvFile, buffer));
+            manifest.add(addFile(zip, "reports.json", jsonFile, buffer));
+            writeManifest(zip, fromDate, toDate, userRole, done, manifest, failedCases);
+        } catch (InterruptedException e) {
+            Log.w(TAG, "⚠️ Export cancelled after " + done + "/" + total + " cases");
+            drain(renders, inFlight);
+            zipFile.delete();
+            deleteDir(workDir);
+            NotificationManagerCompat.from(context).cancel(NOTIFICATION_ID);
+            return Result.failure(error("Cancelled"));
+        } catch (IOException | ExecutionException | RuntimeException e) {
+            Log.e(TAG, "❌ Export failed: " + e.getMessage(), e);
+            drain(renders, inFlight);
+            zipFile.delete();
+            deleteDir(workDir);
+            showFinished(context, "Export failed", e.getMessage());
+            return Result.failure(error(e.getMessage()));
+        }
+
+        deleteDir(workDir);
+        Log.i(TAG, "✅ Exported " + done + " cases (" + failedCases.size() + " without PDF) in "
+            + (System.currentTimeMillis() - start) + "ms: " + zipFile.getAbsolutePath());
+        showFinished(context, "Export ready", done + " cases • " + zipFile.getName());
+        return Result.success(new Data.Builder()
+            .putString(KEY_ZIP_PATH, zipFile.getAbsolutePath())
+            .putInt(KEY_REPORT_COUNT, done)
+            .build());
+    }
+
+    // ==================== Rendering ====================
+
+    /**
+     * Runs on the compute pool. Failures are returned, not thrown, so one
+     * unreadable case does not abort the whole export.
+     */
+    private static RenderedCase render(Context context, BlotterDatabase database, BlotterReport report,
+                                       String userRole, File file) {
+        RenderedCase rendered = new RenderedCase();
+        rendered.caseNumber = report.getCaseNumber() != null ? report.getCaseNumber() : "report_" + report.getId();
+        try {
+            ComprehensivePdfGenerator.writeReportPdf(context, database, report, userRole, file);
+            rendered.file = file;
+        } catch (Exception e) {
+            Log.e(TAG, "❌ PDF failed for " + rendered.caseNumber + ": " + e.getMessage());
+            rendered.error = e.getMessage();
+            file.delete();
+        }
+        return rendered;
+    }
+
+    private void addCase(ZipOutputStream zip, RenderedCase rendered, Set<String> usedNames,
+                         List<ManifestEntry> manifest, List<String> failedCases, byte[] buffer) throws IOException {
+        if (rendered.file == null) {
+            failedCases.add(rendered.caseNumber);
+            return;
+        }
+        String base = "cases/" + rendered.caseNumber.replaceAll("[^A-Za-z0-9._-]", "_");
+        String name = base + ".pdf";
+        for (int n = 2; !usedNames.add(name); n++) {
+            name = base + "_" + n + ".pdf";
+        }
+        try {
+            manifest.add(addFile(zip, name, rendered.file, buffer));
+        } finally {
+            rendered.file.delete();
+        }
+    }
+
+    /**
+     * Waits for renders still running after a failure so their temp files can be removed
+     */
+    private static void drain(CompletionService<RenderedCase> renders, int inFlight) {
+        for (int i = 0; i < inFlight; i++) {
+            try {
+                RenderedCase rendered = renders.take().get();
+                if (rendered.file != null) rendered.file.delete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ignored) {
+            }
+        }
+    }
+
+    // ==================== Archive ====================
+
+    /**
+     * Copies a file into the archive, hashing it on the way
+     */
+    private static ManifestEntry addFile(ZipOutputStream zip, String name, File file, byte[] buffer) throws IOException {
+        MessageDigest digest = sha256();
+        long size = 0;
+        zip.putNextEntry(new ZipEntry(name));
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                zip.write(buffer, 0, read);
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        zip.closeEntry();
+        return new ManifestEntry(name, size, toHex(digest.digest()));
+    }
+
+    private static void writeManifest(ZipOutputStream zip, long fromDate, long toDate, String userRole,
+                                      int reportCount, List<ManifestEntry> entries, List<String> failedCases) throws IOException {
+        zip.putNextEntry(new ZipEntry("manifest.json"));
+        // Not closed: that would close the archive; flushed before the entry is closed
+        JsonWriter json = new JsonWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("generatedAt").value(System.currentTimeMillis());
+        json.name("fromDate").value(fromDate);
+        json.name("toDate").value(toDate);
+        json.name("userRole").value(userRole);
+        json.name("reportCount").value(reportCount);
+        json.name("files").beginArray();
+        for (ManifestEntry entry : entries) {
+            json.beginObject();
+            json.name("name").value(entry.name);
+            json.name("size").value(entry.size);
+            json.name("sha256").value(entry.sha256);
+            json.endObject();
+        }
+        json.endArray();
+        json.name("failedCases").beginArray();
+        for (String caseNumber : failedCases) {
+            json.value(caseNumber);
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+        zip.closeEntry();
+    }
+
+    private static MessageDigest sha256() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void deleteDir(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) file.delete();
+        }
+        dir.delete();
+    }
+
+    private static Data error(String message) {
+        return new Data.Builder().putString(KEY_ERROR, message).build();
+    }
+
+    // ==================== Progress ====================
+
+    private void showProgress(Context context, int done, int total) {
+        long now = System.currentTimeMillis();
+        if (done != 0 && done != total && now - lastProgressAt < PROGRESS_INTERVAL_MS) return;
+        lastProgressAt = now;
+
+        setProgressAsync(new Data.Builder()
+            .putInt(KEY_DONE, done)
+            .putInt(KEY_TOTAL, total)
+            .build());
+
+        notify(context, NOTIFICATION_ID, progressNotification(context, done, total));
+    }
+
+    private static NotificationCompat.Builder progressNotification(Context context, int done, int total) {
+        return new NotificationCompat.Builder(context, CHANNEL_ID)
+            .setSmallIcon(R.drawable.ic_notification)
+            .setContentTitle("📦 Exporting case files")
+            .setContentText(done + " of " + total + " cases")
+            .setProgress(total, done, total == 0)
+            .setOngoing(true)
+            .setOnlyAlertOnce(true)
+            .setPriority(NotificationCompat.PRIORITY_LOW);
+    }
+
+    private static ForegroundInfo foregroundInfo(NotificationCompat.Builder builder) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            return new ForegroundInfo(NOTIFICATION_ID, builder.build(), ServiceInfo.FOREGROUND_SERVICE_TYPE_DATA_SYNC);
+        }
+        return new ForegroundInfo(NOTIFICATION_ID, builder.build());
+    }
+
+    private static void showFinished(Context context, String title, String text) {
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+            .setSmallIcon(R.drawable.ic_notification)
+            .setContentTitle(title)
+            .setContentText(text)
+            .setAutoCancel(true)
+            .setPriority(NotificationCompat.PRIORITY_DEFAULT);
+        NotificationManagerCompat.from(context).cancel(NOTIFICATION_ID);
+        notify(context, FINISHED_NOTIFICATION_ID, builder);
+    }
+
+    private static void notify(Context context, int id, NotificationCompat.Builder builder) {
+        createNotificationChannel(context);
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (!manager.areNotificationsEnabled()) return;
+        try {
+            manager.notify(id, builder.build());
+        } catch (SecurityException e) {
+            // POST_NOTIFICATIONS revoked; progress is still published to WorkManager
+        }
+    }
+
+    private static void createNotificationChannel(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                CHANNEL_ID,
+                CHANNEL_NAME,
+                NotificationManager.IMPORTANCE_LOW
+            );
+            channel.setDescription("Progress of case file exports");
+            NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+            if (notificationManager != null) {
+                notificationManager.createNotificationChannel(channel);
+            }
+        }
+    }
+}
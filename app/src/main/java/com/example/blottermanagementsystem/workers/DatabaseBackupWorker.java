@@ -0,0 +1,66 @@
+package com.example.blottermanagementsystem.workers;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.blottermanagementsystem.utils.DatabaseBackupManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Background worker that takes the scheduled database backup
+ *
+ * Runs once a day while the battery and storage are not low. Unchanged
+ * databases are not stored again and old backups are rotated out by
+ * DatabaseBackupManager, so a daily run costs little.
+ */
+public class DatabaseBackupWorker extends Worker {
+
+    private static final String TAG = "DatabaseBackupWorker";
+    private static final String UNIQUE_WORK = "database_backup";
+    private static final long INTERVAL_HOURS = 24;
+
+    public DatabaseBackupWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedules the daily backup. Safe to call on every start: an existing
+     * schedule is kept.
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+            .setRequiresBatteryNotLow(true)
+            .setRequiresStorageNotLow(true)
+            .build();
+
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                DatabaseBackupWorker.class, INTERVAL_HOURS, TimeUnit.HOURS)
+            .setConstraints(constraints)
+            .addTag(UNIQUE_WORK)
+            .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+            UNIQUE_WORK,
+            ExistingPeriodicWorkPolicy.KEEP,
+            request
+        );
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String path = DatabaseBackupManager.backupDatabase(getApplicationContext());
+        if (path == null) {
+            Log.e(TAG, "❌ Scheduled backup failed");
+            return Result.retry();
+        }
+        Log.i(TAG, "✅ Scheduled backup: " + path);
+        return Result.success();
+    }
+}
@@ -3,65 +3,59 @@ package com.example.blottermanagementsystem.workers;
 import android.content.Context;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
-// import com.example.blottermanagementsystem.data.database.BlotterDatabase; // Pure online
-import com.example.blottermanagementsystem.data.entity.Hearing;
-import com.example.blottermanagementsystem.utils.ReminderNotificationHelper;
+import com.example.blottermanagementsystem.utils.HearingReminderManager;
+import java.util.concurrent.TimeUnit;
 
 /**
- * ✅ Background worker for sending hearing reminder notifications
+ * ✅ Background worker that dispatches hearing reminder notifications
+ *
+ * There is only ever one of these enqueued, delayed until the next reminder
+ * is due (see HearingReminderManager). WorkManager keeps it across reboots;
+ * each run sends the due batch and re-arms for the next reminder.
  */
 public class HearingReminderWorker extends Worker {
     
     private static final String TAG = "HearingReminder";
+    private static final String UNIQUE_WORK = "hearing_reminder_dispatch";
     
     public HearingReminderWorker(@NonNull Context context, @NonNull WorkerParameters params) {
         super(context, params);
     }
     
+    /**
+     * Replaces the armed dispatch with one that runs after delayMs. When called
+     * from a running dispatch, that run has already finished its batch.
+     */
+    public static void arm(Context context, long delayMs) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(HearingReminderWorker.class)
+            .setInitialDelay(delayMs, TimeUnit.MILLISECONDS)
+            .addTag(UNIQUE_WORK)
+            .build();
+        
+        WorkManager.getInstance(context).enqueueUniqueWork(
+            UNIQUE_WORK,
+            ExistingWorkPolicy.REPLACE,
+            request
+        );
+    }
+    
+    public static void cancel(Context context) {
+        WorkManager.getInstance(context).cancelUniqueWork(UNIQUE_WORK);
+    }
+    
     @NonNull
     @Override
     public Result doWork() {
         try {
-            int hearingId = getInputData().getInt("hearing_id", -1);
-            String reminderType = getInputData().getString("reminder_type"); // "1_day", "1_hour", "15_min", "at_time"
-            
-            if (hearingId == -1 || reminderType == null) {
-                Log.e(TAG, "Invalid hearing ID or reminder type");
-                return Result.failure();
-            }
-            
-            // Get hearing from database
-            // BlotterDatabase database = BlotterDatabase.getDatabase(getApplicationContext()); // Pure online
-            Hearing hearing = null; // Pure online
-            
-            if (hearing == null) {
-                Log.e(TAG, "Hearing not found: " + hearingId);
-                return Result.failure();
-            }
-            
-            // Check if hearing is still scheduled
-            if (!hearing.getStatus().equalsIgnoreCase("Scheduled")) {
-                Log.w(TAG, "Hearing is not scheduled, skipping reminder");
-                return Result.success();
-            }
-            
-            // Send notification
-            ReminderNotificationHelper.sendHearingReminder(
-                getApplicationContext(),
-                String.valueOf(hearing.getBlotterReportId()),
-                hearing.getHearingDate(),
-                hearing.getHearingTime(),
-                hearing.getLocation(),
-                hearingId
-            );
-            
-            Log.i(TAG, "✅ Reminder sent for hearing " + hearingId + " (" + reminderType + ")");
+            HearingReminderManager.dispatchDueReminders(getApplicationContext());
             return Result.success();
-            
         } catch (Exception e) {
-            Log.e(TAG, "Error sending reminder: " + e.getMessage());
+            Log.e(TAG, "Error sending reminders: " + e.getMessage());
             return Result.retry();
         }
     }
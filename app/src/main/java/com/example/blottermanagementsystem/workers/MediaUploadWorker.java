@@ -0,0 +1,105 @@
+package com.example.blottermanagementsystem.workers;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.blottermanagementsystem.utils.MediaUploadManager;
+import java.io.IOException;
+
+/**
+ * ✅ Background worker that streams one queued media file to Cloudinary
+ *
+ * Progress is published as KEY_BYTES_SENT / KEY_TOTAL_BYTES; the result carries
+ * KEY_URL or KEY_ERROR. Network failures retry with backoff and pick up after
+ * the last uploaded chunk; a pause cancels this work and aborts the chunk in flight.
+ * Report attachments also get their outcome written to report_media, which
+ * is what screens read; the WorkInfo result is only for live observers.
+ */
+public class MediaUploadWorker extends Worker {
+
+    private static final String TAG = "MediaUpload";
+    private static final int MAX_ATTEMPTS = 8;
+
+    public static final String KEY_UPLOAD_ID = "upload_id";
+    public static final String KEY_BYTES_SENT = "bytes_sent";
+    public static final String KEY_TOTAL_BYTES = "total_bytes";
+    public static final String KEY_URL = "secure_url";
+    public static final String KEY_PUBLIC_ID = "public_id";
+    public static final String KEY_ERROR = "error";
+
+    public MediaUploadWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String uploadId = getInputData().getString(KEY_UPLOAD_ID);
+        MediaUploadManager manager = MediaUploadManager.getInstance(getApplicationContext());
+        MediaUploadManager.UploadState state = uploadId != null ? manager.getState(uploadId) : null;
+        if (state == null) {
+            Log.e(TAG, "Upload not found: " + uploadId);
+            return Result.failure(error("Upload not found"));
+        }
+        if (state.paused) {
+            return Result.failure(error("Paused"));
+        }
+
+        try {
+            manager.runUpload(state, new MediaUploadManager.ProgressListener() {
+                private int lastPercent = -1;
+
+                @Override
+                public void onProgress(long bytesSent, long totalBytes) throws IOException {
+                    if (isStopped()) {
+                        throw new IOException("Upload stopped");
+                    }
+                    int percent = totalBytes > 0 ? (int) (bytesSent * 100 / totalBytes) : -1;
+                    if (percent != lastPercent) {
+                        lastPercent = percent;
+                        setProgressAsync(new Data.Builder()
+                            .putLong(KEY_BYTES_SENT, bytesSent)
+                            .putLong(KEY_TOTAL_BYTES, totalBytes)
+                            .build());
+                    }
+                }
+            });
+
+            manager.recordOutcome(state, true);
+            manager.removeState(uploadId);
+            Log.i(TAG, "✅ Upload " + uploadId + " complete");
+            return Result.success(new Data.Builder()
+                .putString(KEY_URL, state.secureUrl)
+                .putString(KEY_PUBLIC_ID, state.publicId)
+                .build());
+
+        } catch (MediaUploadManager.UploadRejectedException e) {
+            manager.recordOutcome(state, false);
+            manager.removeState(uploadId);
+            Log.e(TAG, "❌ Upload " + uploadId + " rejected: " + e.getMessage());
+            return Result.failure(error(e.getMessage()));
+
+        } catch (IOException e) {
+            if (isStopped()) {
+                return Result.retry();   // paused or cancelled; WorkManager ignores the result
+            }
+            if (getRunAttemptCount() + 1 >= MAX_ATTEMPTS) {
+                // Terminal; keeping the state would make resumePendingUploads() re-queue it forever
+                manager.recordOutcome(state, false);
+                manager.removeState(uploadId);
+                Log.e(TAG, "❌ Upload " + uploadId + " failed after " + MAX_ATTEMPTS + " attempts: " + e.getMessage());
+                return Result.failure(error(e.getMessage()));
+            }
+            Log.w(TAG, "⚠️ Upload " + uploadId + " interrupted at " + state.bytesUploaded + "/" + state.totalBytes
+                + ", retrying: " + e.getMessage());
+            return Result.retry();
+        }
+    }
+
+    private static Data error(String message) {
+        return new Data.Builder().putString(KEY_ERROR, message != null ? message : "Upload failed").build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.blottermanagementsystem.workers;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.blottermanagementsystem.data.api.ApiClient;
+import com.example.blottermanagementsystem.data.api.ApiService;
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+import com.example.blottermanagementsystem.data.entity.BlotterReport;
+import com.example.blottermanagementsystem.data.entity.SyncQueue;
+import com.example.blottermanagementsystem.data.repository.ReportRepository;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import retrofit2.Response;
+
+/**
+ * ✅ Background worker that uploads reports filed offline (SyncQueue action SUBMIT)
+ *
+ * Runs only with connectivity. Each report is POSTed with its BLT- case number as
+ * Idempotency-Key, so a retry after a lost response cannot create a duplicate.
+ * Transient failures (no network, timeouts, 408/429, 5xx) stop the run and
+ * let WorkManager retry with exponential backoff; the queue order is preserved.
+ * 401/403 mean the session is gone, which backoff cannot fix: the run ends and
+ * the rows wait untouched until the next sign-in enqueues the outbox again.
+ * A report the server keeps rejecting (other 4xx) is parked after MAX_REJECTIONS
+ * with its local draft kept, so nothing the officer typed is lost.
+ */
+public class ReportOutboxWorker extends Worker {
+
+    private static final String TAG = "ReportOutbox";
+    private static final String UNIQUE_WORK = "report_outbox";
+    private static final long INITIAL_BACKOFF_SECONDS = 30;
+    private static final int MAX_REJECTIONS = 3;
+
+    public ReportOutboxWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedules a drain of the outbox. Safe to call after every submission:
+     * a run already in progress is followed by one more, never duplicated.
+     */
+    public static void enqueue(Context context) {
+        Constraints constraints = new Constraints.Builder()
+            .setRequiredNetworkType(NetworkType.CONNECTED)
+            .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ReportOutboxWorker.class)
+            .setConstraints(constraints)
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, INITIAL_BACKOFF_SECONDS, TimeUnit.SECONDS)
+            .addTag(UNIQUE_WORK)
+            .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(
+            UNIQUE_WORK,
+            ExistingWorkPolicy.APPEND_OR_REPLACE,
+            request
+        );
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        BlotterDatabase database = BlotterDatabase.getDatabase(context);
+        ReportRepository repository = ReportRepository.getInstance(context);
+
+        ApiService service = ApiClient.getApiService();
+        if (service == null) {
+            ApiClient.initApiClient(context);
+            service = ApiClient.getApiService();
+        }
+        if (service == null) {
+            Log.e(TAG, "❌ ApiService unavailable, will retry");
+            return Result.retry();
+        }
+
+        List<SyncQueue> outbox = database.syncQueueDao().getPendingByAction(
+            ReportRepository.ENTITY_REPORT, ReportRepository.ACTION_SUBMIT, MAX_REJECTIONS);
+        Log.d(TAG, "📤 " + outbox.size() + " reports waiting to upload (attempt " + (getRunAttemptCount() + 1) + ")");
+
+        int uploaded = 0;
+        for (SyncQueue item : outbox) {
+            if (isStopped()) {
+                return Result.retry();
+            }
+
+            BlotterReport draft = database.blotterReportDao().getReportById(item.getEntityId());
+            if (draft == null) {
+                // Draft deleted locally before it was sent; nothing left to upload
+                database.syncQueueDao().deleteSyncQueue(item);
+                continue;
+            }
+
+            String idempotencyKey = item.getData() != null ? item.getData() : draft.getCaseNumber();
+            draft.setId(0);   // the server assigns the id; local draft ids are negative
+            try {
+                Response<BlotterReport> response = service.createReport(idempotencyKey, draft).execute();
+                int code = response.code();
+
+                if (response.isSuccessful()) {
+                    repository.completeSubmission(item, response.body());
+                    uploaded++;
+                    Log.i(TAG, "✅ Uploaded " + idempotencyKey);
+                } else if (code == 409) {
+                    // Already created by an earlier attempt whose response never arrived
+                    repository.completeSubmission(item, null);
+                    uploaded++;
+                    Log.i(TAG, "✅ " + idempotencyKey + " already on server");
+                } else if (code == 401 || code == 403) {
+                    recordError(database, item, "Signed out: HTTP " + code, false);
+                    Log.w(TAG, "🔒 Upload of " + idempotencyKey + " needs sign-in (HTTP " + code + "), waiting for login");
+                    return Result.failure();
+                } else if (isTransient(code)) {
+                    recordError(database, item, "HTTP " + code, false);
+                    Log.w(TAG, "⚠️ Upload of " + idempotencyKey + " failed (HTTP " + code + "), retrying later");
+                    return Result.retry();
+                } else {
+                    recordError(database, item, "Rejected: HTTP " + code, true);
+                    Log.e(TAG, "❌ Server rejected " + idempotencyKey + " (HTTP " + code + ")");
+                }
+            } catch (IOException e) {
+                recordError(database, item, e.getMessage(), false);
+                Log.w(TAG, "⚠️ Network error uploading " + idempotencyKey + ": " + e.getMessage());
+                return Result.retry();
+            }
+        }
+
+        Log.d(TAG, "✅ Outbox drained, " + uploaded + " uploaded");
+        return Result.success();
+    }
+
+    private static boolean isTransient(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    private static void recordError(BlotterDatabase database, SyncQueue item, String error, boolean rejected) {
+        item.setLastError(error);
+        if (rejected) {
+            item.setRetryCount(item.getRetryCount() + 1);
+        }
+        database.syncQueueDao().updateSyncQueue(item);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.blottermanagementsystem.data.dao;
+
+import android.app.Application;
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.blottermanagementsystem.data.database.BlotterDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs EXPLAIN QUERY PLAN for every @Query in the data/dao package against the
+ * real Room schema and fails when a filtered query has any SCAN step, including
+ * SCAN ... USING (COVERING) INDEX, which walks a whole index instead of seeking.
+ * A LIKE with a leading wildcard also fails: the plan may show a SEARCH on
+ * another column, but every row in that range is still matched one by one.
+ *
+ * Queries are read straight from the DAO sources, so a new DAO method is covered
+ * the moment it is written. Unfiltered queries (no WHERE) are full reads by design
+ * and are skipped; anything else that legitimately scans goes in ALLOWED_SCANS
+ * with a reason.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33, application = Application.class)
+public class QueryPlanTest {
+
+    private static final String DAO_SOURCE_DIR = "src/main/java/com/example/blottermanagementsystem/data/dao";
+
+    private static final Map<String, String> ALLOWED_SCANS = new HashMap<>();
+    static {
+        ALLOWED_SCANS.put("SELECT COUNT(*) FROM users WHERE role NOT IN ('Admin', 'Officer') AND isActive = 1",
+                "NOT IN cannot seek an index; users is a small table");
+        ALLOWED_SCANS.put("SELECT * FROM person WHERE LOWER(firstName || ' ' || lastName) LIKE '%' || LOWER(:searchTerm) || '%' "
+                        + "AND isActive = 1 ORDER BY firstName, lastName",
+                "Substring search on a typed name; seeks the isActive range, person is a small table");
+    }
+
+    private static final Pattern PARAM = Pattern.compile(":\\w+");
+    private static final Pattern WHERE = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SCAN = Pattern.compile("^SCAN ");
+    private static final Pattern LEADING_WILDCARD = Pattern.compile("\\bLIKE\\s+'%'", Pattern.CASE_INSENSITIVE);
+
+    private BlotterDatabase database;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, BlotterDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void daoQueries_doNotFallBackToFullScan() throws IOException {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        List<String> failures = new ArrayList<>();
+        int checked = 0;
+
+        for (File source : daoSources()) {
+            for (String query : extractQueries(source)) {
+                checked++;
+                if (!WHERE.matcher(query).find() || ALLOWED_SCANS.containsKey(query)) {
+                    continue;
+                }
+
+                if (LEADING_WILDCARD.matcher(query).find()) {
+                    failures.add(source.getName() + ": " + query + "\n    -> LIKE with a leading wildcard");
+                }
+                for (String step : explain(db, query)) {
+                    if (SCAN.matcher(step).find()) {
+                        failures.add(source.getName() + ": " + query + "\n    -> " + step);
+                    }
+                }
+            }
+        }
+
+        assertTrue("No @Query found under " + DAO_SOURCE_DIR, checked > 0);
+        assertTrue("Queries scanning a table or index (add an @Index or an ALLOWED_SCANS entry):\n"
+                + String.join("\n", failures), failures.isEmpty());
+    }
+
+    private List<String> explain(SupportSQLiteDatabase db, String query) {
+        String sql = PARAM.matcher(query).replaceAll("?");
+        int params = sql.length() - sql.replace("?", "").length();
+        List<String> steps = new ArrayList<>();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + sql, new Object[params]))) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                steps.add(cursor.getString(detail));
+            }
+        }
+        return steps;
+    }
+
+    private static List<File> daoSources() {
+        // Gradle runs unit tests from the module directory; fall back for IDE runs from the root
+        File dir = new File(DAO_SOURCE_DIR);
+        if (!dir.isDirectory()) {
+            dir = new File("app", DAO_SOURCE_DIR);
+        }
+        File[] files = dir.listFiles((d, name) -> name.endsWith("Dao.java"));
+        assertNotNull("DAO sources not found at " + dir.getAbsolutePath(), files);
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Pulls the SQL out of each @Query("..." + "...") annotation, joining
+     * concatenated string literals.
+     */
+    static List<String> extractQueries(File source) throws IOException {
+        String text = new String(Files.readAllBytes(source.toPath()), StandardCharsets.UTF_8);
+        List<String> queries = new ArrayList<>();
+        int start = text.indexOf("@Query(");
+        while (start >= 0) {
+            StringBuilder sql = new StringBuilder();
+            int i = start + "@Query(".length();
+            while (i < text.length() && text.charAt(i) != ')') {
+                if (text.charAt(i) == '"') {
+                    int end = i + 1;
+                    while (text.charAt(end) != '"') {
+                        if (text.charAt(end) == '\\') {
+                            end++;
+                        }
+                        sql.append(text.charAt(end));
+                        end++;
+                    }
+                    i = end + 1;
+                } else {
+                    i++;
+                }
+            }
+            queries.add(sql.toString().trim());
+            start = text.indexOf("@Query(", i);
+        }
+        return queries;
+    }
+}